@@ -4,6 +4,8 @@ import android.os.Bundle;
 import com.badlogic.gdx.backends.android.AndroidApplication;
 import com.badlogic.gdx.backends.android.AndroidApplicationConfiguration;
 import com.tactics.client.TacticsGame;
+import com.tactics.client.prediction.ActionPredictors;
+import com.tactics.client.prediction.EngineActionPredictor;
 
 /**
  * Android launcher for 5x5 Tactics Client.
@@ -13,6 +15,8 @@ public class AndroidLauncher extends AndroidApplication {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        // Predict battle actions locally with the rules engine
+        ActionPredictors.registerCreator(EngineActionPredictor::new);
         AndroidApplicationConfiguration config = new AndroidApplicationConfiguration();
         config.useImmersiveMode = true;
         initialize(new TacticsGame(), config);
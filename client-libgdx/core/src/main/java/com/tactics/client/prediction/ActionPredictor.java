@@ -0,0 +1,68 @@
+package com.tactics.client.prediction;
+
+import com.badlogic.gdx.utils.IntSet;
+import com.badlogic.gdx.utils.JsonValue;
+
+import java.util.List;
+
+/**
+ * Client-side prediction of battle actions.
+ * Computes exact legal targets and applies the player's actions locally
+ * before the server confirms them. Every server state replaces the prediction;
+ * a rejected action rolls back to the last server state.
+ *
+ * Implemented by the prediction module with the real rules engine, registered
+ * by platform launchers through ActionPredictors. Web builds have none.
+ *
+ * Target cells are keyed by BoardRenderer.cellKey(x, y).
+ */
+public interface ActionPredictor {
+
+    /**
+     * Adopt a state_update state as the authoritative state, dropping any prediction.
+     */
+    void onServerState(JsonValue state);
+
+    /**
+     * Roll back to the last server state after the server rejected an action.
+     */
+    void onServerRejected();
+
+    /**
+     * True once a server state has been received.
+     */
+    boolean hasState();
+
+    void collectMoveTargets(String unitId, IntSet out);
+
+    void collectAttackTargets(String unitId, IntSet out);
+
+    void collectSkillTargets(String unitId, IntSet out);
+
+    /**
+     * Apply a MOVE locally. Returns false (state unchanged) if the rules reject it.
+     */
+    boolean predictMove(String unitId, int x, int y);
+
+    /**
+     * Apply an ATTACK locally. Returns false (state unchanged) if the rules reject it.
+     */
+    boolean predictAttack(String unitId, String targetUnitId);
+
+    /**
+     * Apply an END_TURN locally. Returns false (state unchanged) if the rules reject it.
+     */
+    boolean predictEndTurn(String unitId);
+
+    /**
+     * Units of the predicted state, in server order.
+     */
+    List<PredictedUnit> getUnits();
+
+    /**
+     * Player to act in the predicted state ("P1" or "P2"), or null without state.
+     */
+    String getCurrentPlayer();
+
+    int getCurrentRound();
+}
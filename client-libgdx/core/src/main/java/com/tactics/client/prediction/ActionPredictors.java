@@ -0,0 +1,36 @@
+package com.tactics.client.prediction;
+
+/**
+ * Registry for the platform's ActionPredictor.
+ * Platforms that can run the rules engine (desktop, Android) register a creator
+ * in their launcher; elsewhere create() returns null and screens fall back to
+ * server-only state.
+ */
+public class ActionPredictors {
+
+    private static ActionPredictorCreator creator;
+
+    /**
+     * Functional interface for creating predictors.
+     */
+    public interface ActionPredictorCreator {
+        ActionPredictor create();
+    }
+
+    /**
+     * Register the platform's predictor creator.
+     * Should be called by platform launchers during initialization.
+     *
+     * @param creator The creator function for the platform
+     */
+    public static void registerCreator(ActionPredictorCreator creator) {
+        ActionPredictors.creator = creator;
+    }
+
+    /**
+     * Create a new predictor, or null if the platform registered none.
+     */
+    public static ActionPredictor create() {
+        return creator != null ? creator.create() : null;
+    }
+}
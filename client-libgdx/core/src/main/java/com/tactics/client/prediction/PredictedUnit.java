@@ -0,0 +1,35 @@
+package com.tactics.client.prediction;
+
+import java.util.List;
+
+/**
+ * Read-only view of a unit in the predicted state.
+ */
+public class PredictedUnit {
+    public final String id;
+    public final String owner;
+    public final int x, y;
+    public final int hp, maxHp;
+    public final int attack;
+    public final boolean isHero;
+    public final String heroClass;
+    public final boolean alive;
+    public final int skillCooldown;
+    public final List<String> buffs;
+
+    public PredictedUnit(String id, String owner, int x, int y, int hp, int maxHp, int attack,
+                         boolean isHero, String heroClass, boolean alive, int skillCooldown, List<String> buffs) {
+        this.id = id;
+        this.owner = owner;
+        this.x = x;
+        this.y = y;
+        this.hp = hp;
+        this.maxHp = maxHp;
+        this.attack = attack;
+        this.isHero = isHero;
+        this.heroClass = heroClass;
+        this.alive = alive;
+        this.skillCooldown = skillCooldown;
+        this.buffs = buffs;
+    }
+}
@@ -4,11 +4,11 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.IntSet;
 import com.tactics.client.ui.GameColors;
 import com.tactics.client.util.TextRenderer;
 
 import java.util.List;
-import java.util.Set;
 
 /**
  * Renders the 5x5 game board, units, and related visual elements.
@@ -41,6 +41,13 @@ public class BoardRenderer {
         this.font = font;
     }
 
+    /**
+     * Key of a board cell in target sets.
+     */
+    public static int cellKey(int x, int y) {
+        return y * GRID_SIZE + x;
+    }
+
     /**
      * Check if running in web browser (dynamically, not cached).
      */
@@ -51,14 +58,14 @@ public class BoardRenderer {
     /**
      * Render the game board grid with highlighting for valid targets.
      *
-     * @param validMoveTargets   Set of "x,y" strings for valid move positions
-     * @param validAttackTargets Set of "x,y" strings for valid attack positions
+     * @param validMoveTargets   Cell keys (see cellKey) of valid move positions
+     * @param validAttackTargets Cell keys (see cellKey) of valid attack positions
      * @param actionMode         Current action mode: "MOVE", "ATTACK", "SKILL", or "NONE"
      * @param selectedX          X position of selected unit (-1 if none)
      * @param selectedY          Y position of selected unit (-1 if none)
      * @param showCoordinates    Whether to show debug coordinates
      */
-    public void renderGrid(Set<String> validMoveTargets, Set<String> validAttackTargets,
+    public void renderGrid(IntSet validMoveTargets, IntSet validAttackTargets,
                           String actionMode, int selectedX, int selectedY, boolean showCoordinates) {
         // Draw tile backgrounds
         for (int x = 0; x < GRID_SIZE; x++) {
@@ -70,7 +77,7 @@ public class BoardRenderer {
                 Color tileColor = GameColors.TILE_EMPTY;
                 Color borderColor = Color.DARK_GRAY;
 
-                String posKey = x + "," + y;
+                int posKey = cellKey(x, y);
 
                 // Highlight valid targets based on action mode
                 if ("MOVE".equals(actionMode) && validMoveTargets.contains(posKey)) {
@@ -2,6 +2,7 @@ package com.tactics.client.screens;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.IntSet;
 import com.badlogic.gdx.utils.JsonValue;
 import com.tactics.client.GameSession;
 import com.tactics.client.TacticsGame;
@@ -9,14 +10,15 @@ import com.tactics.client.net.GameMessageHandler;
 import com.tactics.client.net.IWebSocketClient;
 import com.tactics.client.net.WebSocketFactory;
 import com.tactics.client.net.WebSocketListener;
+import com.tactics.client.prediction.ActionPredictor;
+import com.tactics.client.prediction.ActionPredictors;
+import com.tactics.client.prediction.PredictedUnit;
 import com.tactics.client.render.BoardRenderer;
 import com.tactics.client.ui.DeathChoiceDialog;
 import com.tactics.client.ui.GameColors;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Battle screen - main game screen with 5x5 grid.
@@ -57,12 +59,26 @@ public class BattleScreen extends BaseScreen implements WebSocketListener, GameM
             this.heroClass = isHero ? "WARRIOR" : null;
             this.skillCooldown = 0;
         }
+
+        UnitData(PredictedUnit unit, boolean isAlly) {
+            this.id = unit.id;
+            this.x = unit.x;
+            this.y = unit.y;
+            this.isHero = unit.isHero;
+            this.isAlly = isAlly;
+            this.hp = unit.hp;
+            this.maxHp = unit.maxHp;
+            this.atk = unit.attack;
+            this.heroClass = unit.heroClass;
+            this.buffs.addAll(unit.buffs);
+            this.skillCooldown = unit.skillCooldown;
+        }
     }
 
     private List<UnitData> units = new ArrayList<>();
     private UnitData selectedUnit = null;
-    private Set<String> validMoveTargets = new HashSet<>();
-    private Set<String> validAttackTargets = new HashSet<>();
+    private IntSet validMoveTargets = new IntSet();
+    private IntSet validAttackTargets = new IntSet();
 
     // ========== Buff Tiles ==========
     private List<BoardRenderer.BuffTileData> buffTiles = new ArrayList<>();
@@ -96,6 +112,9 @@ public class BattleScreen extends BaseScreen implements WebSocketListener, GameM
     private IWebSocketClient webSocket;
     private GameMessageHandler messageHandler;
 
+    // ========== Prediction ==========
+    private final ActionPredictor predictor;  // null on web builds
+
     public BattleScreen(TacticsGame game) {
         super(game);
         backgroundColor = GameColors.BG_BATTLE;
@@ -105,6 +124,7 @@ public class BattleScreen extends BaseScreen implements WebSocketListener, GameM
 
         boardRenderer = new BoardRenderer(shapeRenderer, batch, font);
         deathChoiceDialog = new DeathChoiceDialog(WORLD_WIDTH, WORLD_HEIGHT);
+        predictor = ActionPredictors.create();
 
         initPlaceholderUnits();
     }
@@ -402,6 +422,17 @@ public class BattleScreen extends BaseScreen implements WebSocketListener, GameM
         validAttackTargets.clear();
         if (selectedUnit == null) return;
 
+        // Exact targets from the rules engine when available
+        if (canPredict()) {
+            switch (currentActionMode) {
+                case MOVE: predictor.collectMoveTargets(selectedUnit.id, validMoveTargets); break;
+                case ATTACK: predictor.collectAttackTargets(selectedUnit.id, validAttackTargets); break;
+                case SKILL: predictor.collectSkillTargets(selectedUnit.id, validAttackTargets); break;
+            }
+            return;
+        }
+
+        // Approximate ranges otherwise
         int gridSize = BoardRenderer.GRID_SIZE;
 
         switch (currentActionMode) {
@@ -412,7 +443,7 @@ public class BattleScreen extends BaseScreen implements WebSocketListener, GameM
                         if (Math.abs(dx) + Math.abs(dy) > 2) continue;
                         int tx = selectedUnit.x + dx, ty = selectedUnit.y + dy;
                         if (tx >= 0 && tx < gridSize && ty >= 0 && ty < gridSize && getUnitAt(tx, ty) == null) {
-                            validMoveTargets.add(tx + "," + ty);
+                            validMoveTargets.add(BoardRenderer.cellKey(tx, ty));
                         }
                     }
                 }
@@ -421,7 +452,7 @@ public class BattleScreen extends BaseScreen implements WebSocketListener, GameM
                 for (UnitData unit : units) {
                     if (unit.hp <= 0 || unit.isAlly) continue;
                     if (Math.abs(unit.x - selectedUnit.x) + Math.abs(unit.y - selectedUnit.y) <= 1) {
-                        validAttackTargets.add(unit.x + "," + unit.y);
+                        validAttackTargets.add(BoardRenderer.cellKey(unit.x, unit.y));
                     }
                 }
                 break;
@@ -432,7 +463,7 @@ public class BattleScreen extends BaseScreen implements WebSocketListener, GameM
                         if (dist > 3 || dist == 0) continue;
                         int tx = selectedUnit.x + dx, ty = selectedUnit.y + dy;
                         if (tx >= 0 && tx < gridSize && ty >= 0 && ty < gridSize) {
-                            validAttackTargets.add(tx + "," + ty);
+                            validAttackTargets.add(BoardRenderer.cellKey(tx, ty));
                         }
                     }
                 }
@@ -445,7 +476,7 @@ public class BattleScreen extends BaseScreen implements WebSocketListener, GameM
         int cellY = boardRenderer.screenToGridY(worldY);
         if (cellX < 0 || cellY < 0) return false;
 
-        String posKey = cellX + "," + cellY;
+        int posKey = BoardRenderer.cellKey(cellX, cellY);
         Gdx.app.log(TAG, "Grid click: " + cellX + ", " + cellY + " Mode: " + currentActionMode);
 
         switch (currentActionMode) {
@@ -501,8 +532,12 @@ public class BattleScreen extends BaseScreen implements WebSocketListener, GameM
         if (webSocket != null && webSocket.isConnected() && session.hasValidSession()) {
             webSocket.send(messageHandler.createMoveAction(session.getMatchId(), session.getPlayerId(), selectedUnit.id, targetX, targetY));
         }
-        selectedUnit.x = targetX;
-        selectedUnit.y = targetY;
+        if (canPredict()) {
+            if (predictor.predictMove(selectedUnit.id, targetX, targetY)) refreshFromPredictor();
+        } else {
+            selectedUnit.x = targetX;
+            selectedUnit.y = targetY;
+        }
         currentActionMode = ActionMode.NONE;
         validMoveTargets.clear();
     }
@@ -517,6 +552,9 @@ public class BattleScreen extends BaseScreen implements WebSocketListener, GameM
         if (webSocket != null && webSocket.isConnected() && session.hasValidSession()) {
             webSocket.send(messageHandler.createAttackAction(session.getMatchId(), session.getPlayerId(), selectedUnit.id, targetX, targetY, targetId));
         }
+        if (canPredict() && predictor.predictAttack(selectedUnit.id, targetId)) {
+            refreshFromPredictor();
+        }
         currentActionMode = ActionMode.NONE;
         validAttackTargets.clear();
     }
@@ -539,6 +577,9 @@ public class BattleScreen extends BaseScreen implements WebSocketListener, GameM
         if (webSocket != null && webSocket.isConnected() && session.hasValidSession()) {
             webSocket.send(messageHandler.createEndTurnAction(session.getMatchId(), session.getPlayerId(), unitId));
         }
+        if (canPredict() && unitId != null && predictor.predictEndTurn(unitId)) {
+            refreshFromPredictor();
+        }
         currentActionMode = ActionMode.NONE;
         validMoveTargets.clear();
         validAttackTargets.clear();
@@ -553,6 +594,34 @@ public class BattleScreen extends BaseScreen implements WebSocketListener, GameM
         return null;
     }
 
+    // ========== Prediction ==========
+
+    private boolean canPredict() {
+        return predictor != null && predictor.hasState();
+    }
+
+    /**
+     * Rebuild units and turn state from the predicted state, keeping the selection.
+     */
+    private void refreshFromPredictor() {
+        String myPlayerId = GameSession.getInstance().getPlayerId();
+        String selectedId = selectedUnit != null ? selectedUnit.id : null;
+        units.clear();
+        selectedUnit = null;
+        for (PredictedUnit unit : predictor.getUnits()) {
+            if (!unit.alive) continue;
+            UnitData data = new UnitData(unit, unit.owner.equals(myPlayerId));
+            units.add(data);
+            if (data.id.equals(selectedId)) selectedUnit = data;
+        }
+        isPlayerTurn = myPlayerId != null && myPlayerId.equals(predictor.getCurrentPlayer());
+        currentRound = predictor.getCurrentRound();
+        if (selectedUnit == null) {
+            currentActionMode = ActionMode.NONE;
+        }
+        calculateValidTargets();
+    }
+
     // ========== WebSocket Listener ==========
 
     @Override
@@ -600,6 +669,15 @@ public class BattleScreen extends BaseScreen implements WebSocketListener, GameM
                     deathChoiceDialog.show(killerId, this::sendDeathChoice);
                 }
             }
+
+            if (predictor != null) {
+                try {
+                    predictor.onServerState(state);
+                    refreshFromPredictor();
+                } catch (IllegalArgumentException e) {
+                    Gdx.app.error(TAG, "Cannot predict from state: " + e.getMessage());
+                }
+            }
         }
     }
 
@@ -609,6 +687,10 @@ public class BattleScreen extends BaseScreen implements WebSocketListener, GameM
         currentActionMode = ActionMode.NONE;
         validMoveTargets.clear();
         validAttackTargets.clear();
+        if (canPredict()) {
+            predictor.onServerRejected();
+            refreshFromPredictor();
+        }
     }
 
     @Override
@@ -5,6 +5,8 @@ import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
 import com.tactics.client.TacticsGame;
 import com.tactics.client.net.DesktopWebSocketClient;
 import com.tactics.client.net.WebSocketFactory;
+import com.tactics.client.prediction.ActionPredictors;
+import com.tactics.client.prediction.EngineActionPredictor;
 
 /**
  * Desktop launcher for 5x5 Tactics Client.
@@ -15,6 +17,8 @@ public class DesktopLauncher {
     public static void main(String[] args) {
         // Register desktop WebSocket client creator
         WebSocketFactory.registerCreator(DesktopWebSocketClient::new);
+        // Predict battle actions locally with the rules engine
+        ActionPredictors.registerCreator(EngineActionPredictor::new);
 
         Lwjgl3ApplicationConfiguration config = new Lwjgl3ApplicationConfiguration();
         config.setTitle("5x5 Tactics");
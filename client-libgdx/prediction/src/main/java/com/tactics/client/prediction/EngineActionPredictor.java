@@ -0,0 +1,216 @@
+package com.tactics.client.prediction;
+
+import com.badlogic.gdx.utils.IntSet;
+import com.badlogic.gdx.utils.JsonValue;
+import com.tactics.client.render.BoardRenderer;
+import com.tactics.engine.action.Action;
+import com.tactics.engine.action.ActionType;
+import com.tactics.engine.buff.BuffInstance;
+import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.PlayerId;
+import com.tactics.engine.model.Position;
+import com.tactics.engine.model.Unit;
+import com.tactics.engine.rules.ApplyResult;
+import com.tactics.engine.rules.RuleEngine;
+import com.tactics.engine.search.ActionGenerator;
+import com.tactics.engine.util.GameStateSerializer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ActionPredictor backed by the server's rules engine.
+ * Server states arrive as the GameStateSerializer JSON map inside state_update,
+ * so they are rebuilt into a GameState with the same serializer; targets come
+ * from ActionGenerator's legal actions and predictions from RuleEngine.tryApply.
+ *
+ * Randomised effects (e.g. tile spawns) may differ from the server; the next
+ * server state corrects them.
+ */
+public class EngineActionPredictor implements ActionPredictor {
+
+    private final RuleEngine ruleEngine = new RuleEngine();
+    private final ActionGenerator actionGenerator = new ActionGenerator();
+    private final GameStateSerializer serializer = new GameStateSerializer();
+
+    private GameState serverState;
+    private GameState predictedState;
+    private List<Action> legalActions;      // Of predictedState, computed on first use
+    private List<PredictedUnit> units = Collections.emptyList();
+
+    // ========== Server State ==========
+
+    @Override
+    public void onServerState(JsonValue state) {
+        if (state == null) return;
+        @SuppressWarnings("unchecked")
+        Map<String, Object> map = (Map<String, Object>) toJava(state);
+        serverState = serializer.fromJsonMap(map);
+        setPredictedState(serverState);
+    }
+
+    @Override
+    public void onServerRejected() {
+        if (serverState != null) {
+            setPredictedState(serverState);
+        }
+    }
+
+    @Override
+    public boolean hasState() {
+        return predictedState != null;
+    }
+
+    // ========== Targets ==========
+
+    @Override
+    public void collectMoveTargets(String unitId, IntSet out) {
+        collectTargets(unitId, ActionType.MOVE, out);
+    }
+
+    @Override
+    public void collectAttackTargets(String unitId, IntSet out) {
+        collectTargets(unitId, ActionType.ATTACK, out);
+    }
+
+    @Override
+    public void collectSkillTargets(String unitId, IntSet out) {
+        collectTargets(unitId, ActionType.USE_SKILL, out);
+    }
+
+    private void collectTargets(String unitId, ActionType type, IntSet out) {
+        out.clear();
+        if (predictedState == null) return;
+        if (legalActions == null) {
+            legalActions = actionGenerator.generateLegal(ruleEngine, predictedState);
+        }
+        for (Action action : legalActions) {
+            if (action.getType() != type || !unitId.equals(action.getActingUnitId())) continue;
+            // Untargeted skills are cast on the hero's own cell
+            Position target = action.getTargetPosition() != null
+                    ? action.getTargetPosition()
+                    : findUnit(unitId).getPosition();
+            out.add(BoardRenderer.cellKey(target.getX(), target.getY()));
+        }
+    }
+
+    // ========== Prediction ==========
+
+    @Override
+    public boolean predictMove(String unitId, int x, int y) {
+        Unit unit = findUnit(unitId);
+        return unit != null && predict(new Action(ActionType.MOVE, unit.getOwner(), new Position(x, y),
+                null, unitId, null, null));
+    }
+
+    @Override
+    public boolean predictAttack(String unitId, String targetUnitId) {
+        Unit unit = findUnit(unitId);
+        Unit target = findUnit(targetUnitId);
+        return unit != null && target != null && predict(new Action(ActionType.ATTACK, unit.getOwner(),
+                target.getPosition(), targetUnitId, unitId, null, null));
+    }
+
+    @Override
+    public boolean predictEndTurn(String unitId) {
+        Unit unit = findUnit(unitId);
+        return unit != null && predict(new Action(ActionType.END_TURN, unit.getOwner(), null,
+                null, unitId, null, null));
+    }
+
+    private boolean predict(Action action) {
+        if (predictedState == null) return false;
+        ApplyResult result = ruleEngine.tryApply(predictedState, action);
+        if (!result.isValid()) return false;
+        setPredictedState(result.getNewState());
+        return true;
+    }
+
+    // ========== Predicted State ==========
+
+    @Override
+    public List<PredictedUnit> getUnits() {
+        return units;
+    }
+
+    @Override
+    public String getCurrentPlayer() {
+        if (predictedState == null) return null;
+        PlayerId player = predictedState.getCurrentPlayer();
+        return player != null ? player.getValue() : null;
+    }
+
+    @Override
+    public int getCurrentRound() {
+        return predictedState != null ? predictedState.getCurrentRound() : 0;
+    }
+
+    private void setPredictedState(GameState state) {
+        predictedState = state;
+        legalActions = null;
+        units = toPredictedUnits(state);
+    }
+
+    private Unit findUnit(String unitId) {
+        if (predictedState == null || unitId == null) return null;
+        for (Unit unit : predictedState.getUnits()) {
+            if (unit.getId().equals(unitId)) return unit;
+        }
+        return null;
+    }
+
+    private static List<PredictedUnit> toPredictedUnits(GameState state) {
+        List<PredictedUnit> result = new ArrayList<>(state.getUnits().size());
+        for (Unit unit : state.getUnits()) {
+            List<String> buffs = new ArrayList<>();
+            List<BuffInstance> instances = state.getUnitBuffs().get(unit.getId());
+            if (instances != null) {
+                for (BuffInstance buff : instances) {
+                    if (buff.getType() != null) buffs.add(buff.getType().name());
+                }
+            }
+            result.add(new PredictedUnit(unit.getId(), unit.getOwner().getValue(),
+                    unit.getPosition().getX(), unit.getPosition().getY(),
+                    unit.getHp(), unit.getMaxHp(), unit.getAttack(),
+                    unit.isHero(), unit.getHeroClass() != null ? unit.getHeroClass().name() : null,
+                    unit.isAlive(), unit.getSkillCooldown(), buffs));
+        }
+        return result;
+    }
+
+    // ========== JSON Conversion ==========
+
+    /**
+     * Convert a JsonValue tree into the Map/List/Number/Boolean/String structure
+     * GameStateSerializer.fromJsonMap expects.
+     */
+    static Object toJava(JsonValue value) {
+        switch (value.type()) {
+            case object:
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (JsonValue child = value.child; child != null; child = child.next) {
+                    map.put(child.name, toJava(child));
+                }
+                return map;
+            case array:
+                List<Object> list = new ArrayList<>(value.size);
+                for (JsonValue child = value.child; child != null; child = child.next) {
+                    list.add(toJava(child));
+                }
+                return list;
+            case longValue:
+                return value.asLong();
+            case doubleValue:
+                return value.asDouble();
+            case booleanValue:
+                return value.asBoolean();
+            case stringValue:
+                return value.asString();
+            default:
+                return null;
+        }
+    }
+}
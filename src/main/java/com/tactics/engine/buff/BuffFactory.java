@@ -1,13 +1,15 @@
 package com.tactics.engine.buff;
 
-import java.util.UUID;
-
 /**
  * Factory for creating standard V3 buff instances.
  * All buffs have:
  * - Default duration of 2 rounds
  * - Not stackable (same type refreshes duration)
- * - Correct modifiers and flags for each type
+ * - Correct modifiers and flags for each type, from the shared BuffTemplate
+ *
+ * Engine code passes an id allocated from GameState.getNextBuffId(); the
+ * overloads without one create buffs with BuffInstance.NO_ID, for tests
+ * and tools that place buffs directly.
  */
 public class BuffFactory {
 
@@ -18,232 +20,212 @@ public class BuffFactory {
     }
 
     /**
-     * Create a buff instance of the specified type.
+     * Create a buff instance of the specified type, without an allocated id.
      */
     public static BuffInstance create(BuffType type, String sourceUnitId) {
+        return create(type, sourceUnitId, BuffInstance.NO_ID);
+    }
+
+    /**
+     * Create a buff instance of the specified type.
+     *
+     * @param buffId id allocated from GameState.getNextBuffId()
+     */
+    public static BuffInstance create(BuffType type, String sourceUnitId, int buffId) {
         switch (type) {
             case POWER:
-                return createPower(sourceUnitId);
+                return createPower(sourceUnitId, buffId);
             case LIFE:
-                return createLife(sourceUnitId);
+                return createLife(sourceUnitId, buffId);
             case SPEED:
-                return createSpeed(sourceUnitId);
+                return createSpeed(sourceUnitId, buffId);
             case WEAKNESS:
-                return createWeakness(sourceUnitId);
+                return createWeakness(sourceUnitId, buffId);
             case BLEED:
-                return createBleed(sourceUnitId);
+                return createBleed(sourceUnitId, buffId);
             case SLOW:
-                return createSlow(sourceUnitId);
+                return createSlow(sourceUnitId, buffId);
             case BLIND:
-                return createBlind(sourceUnitId);
+                return createBlind(sourceUnitId, buffId);
             case DEATH_MARK:
-                return createDeathMark(sourceUnitId);
+                return createDeathMark(sourceUnitId, buffId);
             case FEINT:
-                return createFeint(sourceUnitId);
+                return createFeint(sourceUnitId, buffId);
             case CHALLENGE:
-                return createChallenge(sourceUnitId);
+                return createChallenge(sourceUnitId, buffId);
             case INVULNERABLE:
-                return createInvulnerable(sourceUnitId);
+                return createInvulnerable(sourceUnitId, buffId);
             default:
                 throw new IllegalArgumentException("Unknown buff type: " + type);
         }
     }
 
+    /**
+     * createPower without an allocated id.
+     */
+    public static BuffInstance createPower(String sourceUnitId) {
+        return createPower(sourceUnitId, BuffInstance.NO_ID);
+    }
+
     /**
      * Create a POWER buff.
      * Effects: +3 ATK, +1 HP (instant), blocks MOVE_AND_ATTACK, instant obstacle destroy via ATTACK
      */
-    public static BuffInstance createPower(String sourceUnitId) {
-        return new BuffInstance(
-            generateBuffId(),
-            sourceUnitId,
-            BuffType.POWER,
-            DEFAULT_DURATION,
-            false,  // not stackable
-            new BuffModifier(0, 3, 0, 0),  // +3 ATK (HP is instant, not ongoing)
-            BuffFlags.power(),
-            1  // +1 HP instant
-        );
+    public static BuffInstance createPower(String sourceUnitId, int buffId) {
+        return new BuffInstance(buffId, sourceUnitId, BuffTemplate.of(BuffType.POWER), DEFAULT_DURATION);
+    }
+
+    /**
+     * createLife without an allocated id.
+     */
+    public static BuffInstance createLife(String sourceUnitId) {
+        return createLife(sourceUnitId, BuffInstance.NO_ID);
     }
 
     /**
      * Create a LIFE buff.
      * Effects: +3 HP (instant only, no ongoing modifier)
      */
-    public static BuffInstance createLife(String sourceUnitId) {
-        return new BuffInstance(
-            generateBuffId(),
-            sourceUnitId,
-            BuffType.LIFE,
-            DEFAULT_DURATION,
-            false,  // not stackable
-            new BuffModifier(0, 0, 0, 0),  // No ongoing modifiers
-            BuffFlags.life(),
-            3  // +3 HP instant
-        );
+    public static BuffInstance createLife(String sourceUnitId, int buffId) {
+        return new BuffInstance(buffId, sourceUnitId, BuffTemplate.of(BuffType.LIFE), DEFAULT_DURATION);
+    }
+
+    /**
+     * createSpeed without an allocated id.
+     */
+    public static BuffInstance createSpeed(String sourceUnitId) {
+        return createSpeed(sourceUnitId, BuffInstance.NO_ID);
     }
 
     /**
      * Create a SPEED buff.
      * Effects: -1 ATK, grants double action per round
      */
-    public static BuffInstance createSpeed(String sourceUnitId) {
-        return new BuffInstance(
-            generateBuffId(),
-            sourceUnitId,
-            BuffType.SPEED,
-            DEFAULT_DURATION,
-            false,  // not stackable
-            new BuffModifier(0, -1, 0, 0),  // -1 ATK
-            BuffFlags.speed(),
-            0  // no instant HP change
-        );
+    public static BuffInstance createSpeed(String sourceUnitId, int buffId) {
+        return new BuffInstance(buffId, sourceUnitId, BuffTemplate.of(BuffType.SPEED), DEFAULT_DURATION);
+    }
+
+    /**
+     * createWeakness without an allocated id.
+     */
+    public static BuffInstance createWeakness(String sourceUnitId) {
+        return createWeakness(sourceUnitId, BuffInstance.NO_ID);
     }
 
     /**
      * Create a WEAKNESS buff.
      * Effects: -2 ATK, -1 HP (instant)
      */
-    public static BuffInstance createWeakness(String sourceUnitId) {
-        return new BuffInstance(
-            generateBuffId(),
-            sourceUnitId,
-            BuffType.WEAKNESS,
-            DEFAULT_DURATION,
-            false,  // not stackable
-            new BuffModifier(0, -2, 0, 0),  // -2 ATK
-            BuffFlags.none(),
-            -1  // -1 HP instant
-        );
+    public static BuffInstance createWeakness(String sourceUnitId, int buffId) {
+        return new BuffInstance(buffId, sourceUnitId, BuffTemplate.of(BuffType.WEAKNESS), DEFAULT_DURATION);
+    }
+
+    /**
+     * createBleed without an allocated id.
+     */
+    public static BuffInstance createBleed(String sourceUnitId) {
+        return createBleed(sourceUnitId, BuffInstance.NO_ID);
     }
 
     /**
      * Create a BLEED buff.
      * Effects: -1 HP per round at round end
      */
-    public static BuffInstance createBleed(String sourceUnitId) {
-        return new BuffInstance(
-            generateBuffId(),
-            sourceUnitId,
-            BuffType.BLEED,
-            DEFAULT_DURATION,
-            false,  // not stackable - but damage stacks if multiple applications
-            new BuffModifier(0, 0, 0, 0),  // No stat modifiers
-            BuffFlags.bleed(),
-            0  // no instant HP change
-        );
+    public static BuffInstance createBleed(String sourceUnitId, int buffId) {
+        return new BuffInstance(buffId, sourceUnitId, BuffTemplate.of(BuffType.BLEED), DEFAULT_DURATION);
+    }
+
+    /**
+     * createSlow without an allocated id.
+     */
+    public static BuffInstance createSlow(String sourceUnitId) {
+        return createSlow(sourceUnitId, BuffInstance.NO_ID);
     }
 
     /**
      * Create a SLOW buff.
      * Effects: Actions are delayed by 1 round (preparing state)
      */
-    public static BuffInstance createSlow(String sourceUnitId) {
-        return new BuffInstance(
-            generateBuffId(),
-            sourceUnitId,
-            BuffType.SLOW,
-            DEFAULT_DURATION,
-            false,  // not stackable
-            new BuffModifier(0, 0, 0, 0),  // No stat modifiers
-            BuffFlags.slow(),
-            0  // no instant HP change
-        );
+    public static BuffInstance createSlow(String sourceUnitId, int buffId) {
+        return new BuffInstance(buffId, sourceUnitId, BuffTemplate.of(BuffType.SLOW), DEFAULT_DURATION);
+    }
+
+    /**
+     * createBlind without an allocated id.
+     */
+    public static BuffInstance createBlind(String sourceUnitId) {
+        return createBlind(sourceUnitId, BuffInstance.NO_ID);
     }
 
     /**
      * Create a BLIND buff.
      * Effects: Cannot attack for 1 round (from Smoke Bomb)
      */
-    public static BuffInstance createBlind(String sourceUnitId) {
-        return new BuffInstance(
-            generateBuffId(),
-            sourceUnitId,
-            BuffType.BLIND,
-            1,  // Duration: 1 round only
-            false,  // not stackable
-            new BuffModifier(0, 0, 0, 0),  // No stat modifiers
-            BuffFlags.blind(),
-            0  // no instant HP change
-        );
+    public static BuffInstance createBlind(String sourceUnitId, int buffId) {
+        return new BuffInstance(buffId, sourceUnitId, BuffTemplate.of(BuffType.BLIND), 1);  // Duration: 1 round only
     }
 
     // =========================================================================
     // Phase 4D Skill-specific Buffs
     // =========================================================================
 
+    /**
+     * createDeathMark without an allocated id.
+     */
+    public static BuffInstance createDeathMark(String sourceUnitId) {
+        return createDeathMark(sourceUnitId, BuffInstance.NO_ID);
+    }
+
     /**
      * Create a DEATH_MARK buff.
      * Effects: +2 damage taken, source heals 2 HP on kill. Duration: 2 rounds.
      */
-    public static BuffInstance createDeathMark(String sourceUnitId) {
-        return new BuffInstance(
-            generateBuffId(),
-            sourceUnitId,
-            BuffType.DEATH_MARK,
-            DEFAULT_DURATION,  // 2 rounds
-            false,  // not stackable
-            new BuffModifier(0, 0, 0, 0),  // No stat modifiers (damage bonus handled separately)
-            BuffFlags.deathMark(),
-            0  // no instant HP change
-        );
+    public static BuffInstance createDeathMark(String sourceUnitId, int buffId) {
+        return new BuffInstance(buffId, sourceUnitId, BuffTemplate.of(BuffType.DEATH_MARK), DEFAULT_DURATION);
+    }
+
+    /**
+     * createFeint without an allocated id.
+     */
+    public static BuffInstance createFeint(String sourceUnitId) {
+        return createFeint(sourceUnitId, BuffInstance.NO_ID);
     }
 
     /**
      * Create a FEINT buff.
      * Effects: Dodge next attack, counter 2 damage. Duration: 2 rounds or until triggered.
      */
-    public static BuffInstance createFeint(String sourceUnitId) {
-        return new BuffInstance(
-            generateBuffId(),
-            sourceUnitId,
-            BuffType.FEINT,
-            DEFAULT_DURATION,  // 2 rounds or until triggered
-            false,  // not stackable
-            new BuffModifier(0, 0, 0, 0),  // No stat modifiers
-            BuffFlags.feint(),
-            0  // no instant HP change
-        );
+    public static BuffInstance createFeint(String sourceUnitId, int buffId) {
+        return new BuffInstance(buffId, sourceUnitId, BuffTemplate.of(BuffType.FEINT), DEFAULT_DURATION);  // 2 rounds or until triggered
+    }
+
+    /**
+     * createChallenge without an allocated id.
+     */
+    public static BuffInstance createChallenge(String sourceUnitId) {
+        return createChallenge(sourceUnitId, BuffInstance.NO_ID);
     }
 
     /**
      * Create a CHALLENGE buff.
      * Effects: Challenged enemy deals 50% damage to non-Duelist, Duelist counter-attacks for 2 damage.
      */
-    public static BuffInstance createChallenge(String sourceUnitId) {
-        return new BuffInstance(
-            generateBuffId(),
-            sourceUnitId,
-            BuffType.CHALLENGE,
-            DEFAULT_DURATION,  // 2 rounds
-            false,  // not stackable
-            new BuffModifier(0, 0, 0, 0),  // No stat modifiers
-            BuffFlags.challenge(),
-            0  // no instant HP change
-        );
+    public static BuffInstance createChallenge(String sourceUnitId, int buffId) {
+        return new BuffInstance(buffId, sourceUnitId, BuffTemplate.of(BuffType.CHALLENGE), DEFAULT_DURATION);
     }
 
     /**
-     * Create an INVULNERABLE buff.
-     * Effects: Cannot take damage for 1 round (from Ascended Form).
+     * createInvulnerable without an allocated id.
      */
     public static BuffInstance createInvulnerable(String sourceUnitId) {
-        return new BuffInstance(
-            generateBuffId(),
-            sourceUnitId,
-            BuffType.INVULNERABLE,
-            1,  // Duration: 1 round only
-            false,  // not stackable
-            new BuffModifier(0, 0, 0, 0),  // No stat modifiers
-            BuffFlags.invulnerable(),
-            0  // no instant HP change
-        );
+        return createInvulnerable(sourceUnitId, BuffInstance.NO_ID);
     }
 
     /**
-     * Generate a unique buff ID.
+     * Create an INVULNERABLE buff.
+     * Effects: Cannot take damage for 1 round (from Ascended Form).
      */
-    private static String generateBuffId() {
-        return "buff_" + UUID.randomUUID().toString().substring(0, 8);
+    public static BuffInstance createInvulnerable(String sourceUnitId, int buffId) {
+        return new BuffInstance(buffId, sourceUnitId, BuffTemplate.of(BuffType.INVULNERABLE), 1);  // Duration: 1 round only
     }
 }
@@ -1,16 +1,50 @@
 package com.tactics.engine.buff;
 
-import java.util.Objects;
-
 /**
  * Immutable value object representing behavioral flags from a buff.
  *
  * V1 flags: stunned, rooted, poison, silenced, taunted
  * V3 flags: powerBuff, speedBuff, slowBuff, bleedBuff
  * Phase 4D flags: deathMarkBuff, feintBuff, challengeBuff, invulnerableBuff
+ *
+ * Each flag also has a bit in getMask(), so hot checks test one int
+ * instead of calling a getter per flag. The static factories return
+ * shared instances; BuffFlags is immutable, so sharing is safe.
  */
 public class BuffFlags {
 
+    // Flag bits, as returned by getMask()
+    public static final int STUNNED = 1 << 0;
+    public static final int ROOTED = 1 << 1;
+    public static final int POISON = 1 << 2;
+    public static final int SILENCED = 1 << 3;
+    public static final int TAUNTED = 1 << 4;
+    public static final int POWER_BUFF = 1 << 5;
+    public static final int SPEED_BUFF = 1 << 6;
+    public static final int SLOW_BUFF = 1 << 7;
+    public static final int BLEED_BUFF = 1 << 8;
+    public static final int LIFE_BUFF = 1 << 9;
+    public static final int BLIND_BUFF = 1 << 10;
+    public static final int DEATH_MARK_BUFF = 1 << 11;
+    public static final int FEINT_BUFF = 1 << 12;
+    public static final int CHALLENGE_BUFF = 1 << 13;
+    public static final int INVULNERABLE_BUFF = 1 << 14;
+
+    private static final BuffFlags NONE = new BuffFlags(0);
+    private static final BuffFlags ONLY_STUNNED = new BuffFlags(STUNNED);
+    private static final BuffFlags ONLY_ROOTED = new BuffFlags(ROOTED);
+    private static final BuffFlags ONLY_POISON = new BuffFlags(POISON);
+    private static final BuffFlags ONLY_POWER_BUFF = new BuffFlags(POWER_BUFF);
+    private static final BuffFlags ONLY_SPEED_BUFF = new BuffFlags(SPEED_BUFF);
+    private static final BuffFlags ONLY_SLOW_BUFF = new BuffFlags(SLOW_BUFF);
+    private static final BuffFlags ONLY_BLEED_BUFF = new BuffFlags(BLEED_BUFF);
+    private static final BuffFlags ONLY_LIFE_BUFF = new BuffFlags(LIFE_BUFF);
+    private static final BuffFlags ONLY_BLIND_BUFF = new BuffFlags(BLIND_BUFF);
+    private static final BuffFlags ONLY_DEATH_MARK_BUFF = new BuffFlags(DEATH_MARK_BUFF);
+    private static final BuffFlags ONLY_FEINT_BUFF = new BuffFlags(FEINT_BUFF);
+    private static final BuffFlags ONLY_CHALLENGE_BUFF = new BuffFlags(CHALLENGE_BUFF);
+    private static final BuffFlags ONLY_INVULNERABLE_BUFF = new BuffFlags(INVULNERABLE_BUFF);
+
     // V1 flags
     private final boolean stunned;
     private final boolean rooted;
@@ -32,6 +66,8 @@ public class BuffFlags {
     private final boolean challengeBuff;     // Taunt: 50% damage to others, counter on attack
     private final boolean invulnerableBuff;  // Cannot take damage
 
+    private final int mask;
+
     /**
      * V1/V2 backward-compatible constructor.
      */
@@ -90,6 +126,56 @@ public class BuffFlags {
         this.feintBuff = feintBuff;
         this.challengeBuff = challengeBuff;
         this.invulnerableBuff = invulnerableBuff;
+        int mask = 0;
+        mask |= stunned ? STUNNED : 0;
+        mask |= rooted ? ROOTED : 0;
+        mask |= poison ? POISON : 0;
+        mask |= silenced ? SILENCED : 0;
+        mask |= taunted ? TAUNTED : 0;
+        mask |= powerBuff ? POWER_BUFF : 0;
+        mask |= speedBuff ? SPEED_BUFF : 0;
+        mask |= slowBuff ? SLOW_BUFF : 0;
+        mask |= bleedBuff ? BLEED_BUFF : 0;
+        mask |= lifeBuff ? LIFE_BUFF : 0;
+        mask |= blindBuff ? BLIND_BUFF : 0;
+        mask |= deathMarkBuff ? DEATH_MARK_BUFF : 0;
+        mask |= feintBuff ? FEINT_BUFF : 0;
+        mask |= challengeBuff ? CHALLENGE_BUFF : 0;
+        mask |= invulnerableBuff ? INVULNERABLE_BUFF : 0;
+        this.mask = mask;
+    }
+
+    private BuffFlags(int mask) {
+        this.stunned = (mask & STUNNED) != 0;
+        this.rooted = (mask & ROOTED) != 0;
+        this.poison = (mask & POISON) != 0;
+        this.silenced = (mask & SILENCED) != 0;
+        this.taunted = (mask & TAUNTED) != 0;
+        this.powerBuff = (mask & POWER_BUFF) != 0;
+        this.speedBuff = (mask & SPEED_BUFF) != 0;
+        this.slowBuff = (mask & SLOW_BUFF) != 0;
+        this.bleedBuff = (mask & BLEED_BUFF) != 0;
+        this.lifeBuff = (mask & LIFE_BUFF) != 0;
+        this.blindBuff = (mask & BLIND_BUFF) != 0;
+        this.deathMarkBuff = (mask & DEATH_MARK_BUFF) != 0;
+        this.feintBuff = (mask & FEINT_BUFF) != 0;
+        this.challengeBuff = (mask & CHALLENGE_BUFF) != 0;
+        this.invulnerableBuff = (mask & INVULNERABLE_BUFF) != 0;
+        this.mask = mask;
+    }
+
+    /**
+     * All set flags as a bit mask of the flag constants.
+     */
+    public int getMask() {
+        return mask;
+    }
+
+    /**
+     * Check if the given flag bit (e.g. SPEED_BUFF) is set.
+     */
+    public boolean has(int flag) {
+        return (mask & flag) != 0;
     }
 
     // V1 getters
@@ -159,144 +245,113 @@ public class BuffFlags {
     }
 
     /**
-     * Create a new BuffFlags with all flags set to false.
+     * Shared BuffFlags with all flags set to false.
      */
     public static BuffFlags none() {
-        return new BuffFlags(false, false, false, false, false, false, false, false, false, false, false,
-                            false, false, false, false);
+        return NONE;
     }
 
     /**
-     * Create a BuffFlags with only powerBuff set.
+     * Shared BuffFlags with only powerBuff set.
      */
     public static BuffFlags power() {
-        return new BuffFlags(false, false, false, false, false, true, false, false, false, false, false,
-                            false, false, false, false);
+        return ONLY_POWER_BUFF;
     }
 
     /**
-     * Create a BuffFlags with only speedBuff set.
+     * Shared BuffFlags with only speedBuff set.
      */
     public static BuffFlags speed() {
-        return new BuffFlags(false, false, false, false, false, false, true, false, false, false, false,
-                            false, false, false, false);
+        return ONLY_SPEED_BUFF;
     }
 
     /**
-     * Create a BuffFlags with only slowBuff set.
+     * Shared BuffFlags with only slowBuff set.
      */
     public static BuffFlags slow() {
-        return new BuffFlags(false, false, false, false, false, false, false, true, false, false, false,
-                            false, false, false, false);
+        return ONLY_SLOW_BUFF;
     }
 
     /**
-     * Create a BuffFlags with only bleedBuff set.
+     * Shared BuffFlags with only bleedBuff set.
      */
     public static BuffFlags bleed() {
-        return new BuffFlags(false, false, false, false, false, false, false, false, true, false, false,
-                            false, false, false, false);
+        return ONLY_BLEED_BUFF;
     }
 
     /**
-     * Create a BuffFlags with only lifeBuff set.
+     * Shared BuffFlags with only lifeBuff set.
      */
     public static BuffFlags life() {
-        return new BuffFlags(false, false, false, false, false, false, false, false, false, true, false,
-                            false, false, false, false);
+        return ONLY_LIFE_BUFF;
     }
 
     /**
-     * Create a BuffFlags with only blindBuff set.
+     * Shared BuffFlags with only blindBuff set.
      */
     public static BuffFlags blind() {
-        return new BuffFlags(false, false, false, false, false, false, false, false, false, false, true,
-                            false, false, false, false);
+        return ONLY_BLIND_BUFF;
     }
 
     /**
-     * Create a BuffFlags with only stunned set.
+     * Shared BuffFlags with only stunned set.
      */
     public static BuffFlags stunned() {
-        return new BuffFlags(true, false, false, false, false, false, false, false, false, false, false,
-                            false, false, false, false);
+        return ONLY_STUNNED;
     }
 
     /**
-     * Create a BuffFlags with only rooted set.
+     * Shared BuffFlags with only rooted set.
      */
     public static BuffFlags rooted() {
-        return new BuffFlags(false, true, false, false, false, false, false, false, false, false, false,
-                            false, false, false, false);
+        return ONLY_ROOTED;
     }
 
     /**
-     * Create a BuffFlags with only poison set.
+     * Shared BuffFlags with only poison set.
      */
     public static BuffFlags poison() {
-        return new BuffFlags(false, false, true, false, false, false, false, false, false, false, false,
-                            false, false, false, false);
+        return ONLY_POISON;
     }
 
     /**
-     * Create a BuffFlags with only deathMarkBuff set.
+     * Shared BuffFlags with only deathMarkBuff set.
      */
     public static BuffFlags deathMark() {
-        return new BuffFlags(false, false, false, false, false, false, false, false, false, false, false,
-                            true, false, false, false);
+        return ONLY_DEATH_MARK_BUFF;
     }
 
     /**
-     * Create a BuffFlags with only feintBuff set.
+     * Shared BuffFlags with only feintBuff set.
      */
     public static BuffFlags feint() {
-        return new BuffFlags(false, false, false, false, false, false, false, false, false, false, false,
-                            false, true, false, false);
+        return ONLY_FEINT_BUFF;
     }
 
     /**
-     * Create a BuffFlags with only challengeBuff set.
+     * Shared BuffFlags with only challengeBuff set.
      */
     public static BuffFlags challenge() {
-        return new BuffFlags(false, false, false, false, false, false, false, false, false, false, false,
-                            false, false, true, false);
+        return ONLY_CHALLENGE_BUFF;
     }
 
     /**
-     * Create a BuffFlags with only invulnerableBuff set.
+     * Shared BuffFlags with only invulnerableBuff set.
      */
     public static BuffFlags invulnerable() {
-        return new BuffFlags(false, false, false, false, false, false, false, false, false, false, false,
-                            false, false, false, true);
+        return ONLY_INVULNERABLE_BUFF;
     }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
-        BuffFlags buffFlags = (BuffFlags) o;
-        return stunned == buffFlags.stunned &&
-               rooted == buffFlags.rooted &&
-               poison == buffFlags.poison &&
-               silenced == buffFlags.silenced &&
-               taunted == buffFlags.taunted &&
-               powerBuff == buffFlags.powerBuff &&
-               speedBuff == buffFlags.speedBuff &&
-               slowBuff == buffFlags.slowBuff &&
-               bleedBuff == buffFlags.bleedBuff &&
-               lifeBuff == buffFlags.lifeBuff &&
-               blindBuff == buffFlags.blindBuff &&
-               deathMarkBuff == buffFlags.deathMarkBuff &&
-               feintBuff == buffFlags.feintBuff &&
-               challengeBuff == buffFlags.challengeBuff &&
-               invulnerableBuff == buffFlags.invulnerableBuff;
+        return mask == ((BuffFlags) o).mask;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(stunned, rooted, poison, silenced, taunted,
-                           powerBuff, speedBuff, slowBuff, bleedBuff, lifeBuff, blindBuff,
-                           deathMarkBuff, feintBuff, challengeBuff, invulnerableBuff);
+        return mask;
     }
 
     @Override
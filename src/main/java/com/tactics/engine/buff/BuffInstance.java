@@ -10,17 +10,34 @@ import java.util.Objects;
  * - BuffType enum for the 6 buff types
  * - instantHpBonus for one-time HP changes on acquisition
  * - withDecreasedDuration() for immutable duration decrement
+ *
+ * Buffs created by the engine carry a compact int id allocated from
+ * GameState.getNextBuffId(); the string form ("b" + id) only exists at the
+ * serialization boundary. Buffs built from other strings (tests, older
+ * snapshots) keep that string as their id.
+ *
+ * The type-fixed parts (stacking, modifiers, flags, instant HP) live in a
+ * BuffTemplate shared by all buffs of a standard type.
  */
 public class BuffInstance {
 
-    private final String buffId;
+    /**
+     * First id allocated in a match.
+     */
+    public static final int FIRST_ID = 1;
+
+    /**
+     * Id of buffs that were not allocated by the engine.
+     */
+    public static final int NO_ID = 0;
+
+    private static final char ID_PREFIX = 'b';
+
+    private final int id;
+    private final String externalId;    // null for engine-allocated ids
     private final String sourceUnitId;  // nullable: unit that applied this buff
-    private final BuffType type;        // V3: the buff type (POWER, LIFE, etc.)
     private final int duration;
-    private final boolean stackable;
-    private final BuffModifier modifiers;
-    private final BuffFlags flags;
-    private final int instantHpBonus;   // V3: one-time HP change on acquisition
+    private final BuffTemplate template;
 
     /**
      * V1/V2 backward-compatible constructor (no type, no instantHpBonus).
@@ -35,18 +52,71 @@ public class BuffInstance {
      */
     public BuffInstance(String buffId, String sourceUnitId, BuffType type, int duration, boolean stackable,
                         BuffModifier modifiers, BuffFlags flags, int instantHpBonus) {
-        this.buffId = buffId;
+        this(Math.max(parseId(buffId), NO_ID), parseId(buffId) < 0 ? buffId : null,
+             sourceUnitId, type, duration, stackable, modifiers, flags, instantHpBonus);
+    }
+
+    /**
+     * Constructor for engine-created buffs with an allocated id.
+     */
+    public BuffInstance(int id, String sourceUnitId, BuffType type, int duration, boolean stackable,
+                        BuffModifier modifiers, BuffFlags flags, int instantHpBonus) {
+        this(id, null, sourceUnitId, type, duration, stackable, modifiers, flags, instantHpBonus);
+    }
+
+    /**
+     * Constructor for engine-created buffs of a template.
+     */
+    public BuffInstance(int id, String sourceUnitId, BuffTemplate template, int duration) {
+        this(id, null, sourceUnitId, duration, template);
+    }
+
+    private BuffInstance(int id, String externalId, String sourceUnitId, BuffType type, int duration,
+                         boolean stackable, BuffModifier modifiers, BuffFlags flags, int instantHpBonus) {
+        this(id, externalId, sourceUnitId, duration,
+             BuffTemplate.intern(type, stackable, modifiers, flags, instantHpBonus));
+    }
+
+    private BuffInstance(int id, String externalId, String sourceUnitId, int duration, BuffTemplate template) {
+        this.id = id;
+        this.externalId = externalId;
         this.sourceUnitId = sourceUnitId;
-        this.type = type;
         this.duration = duration;
-        this.stackable = stackable;
-        this.modifiers = modifiers;
-        this.flags = flags;
-        this.instantHpBonus = instantHpBonus;
+        this.template = template;
+    }
+
+    /**
+     * Allocated id, or NO_ID for buffs identified by an external string.
+     */
+    public int getId() {
+        return id;
     }
 
+    /**
+     * String id, as serialized ("b" + id for allocated ids).
+     */
     public String getBuffId() {
-        return buffId;
+        return externalId != null ? externalId : ID_PREFIX + Integer.toString(id);
+    }
+
+    /**
+     * Parses the serialized form of an allocated id.
+     *
+     * @return the id, or -1 if the string is not in that form
+     */
+    public static int parseId(String buffId) {
+        if (buffId == null || buffId.length() < 2 || buffId.length() > 10 || buffId.charAt(0) != ID_PREFIX) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 1; i < buffId.length(); i++) {
+            char c = buffId.charAt(i);
+            if (c < '0' || c > '9' || (i == 1 && c == '0' && buffId.length() > 2)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
     }
 
     public String getSourceUnitId() {
@@ -54,7 +124,7 @@ public class BuffInstance {
     }
 
     public BuffType getType() {
-        return type;
+        return template.getType();
     }
 
     public int getDuration() {
@@ -62,19 +132,31 @@ public class BuffInstance {
     }
 
     public boolean isStackable() {
-        return stackable;
+        return template.isStackable();
     }
 
     public BuffModifier getModifiers() {
-        return modifiers;
+        return template.getModifiers();
     }
 
     public BuffFlags getFlags() {
-        return flags;
+        return template.getFlags();
     }
 
     public int getInstantHpBonus() {
-        return instantHpBonus;
+        return template.getInstantHpBonus();
+    }
+
+    public BuffTemplate getTemplate() {
+        return template;
+    }
+
+    /**
+     * Check if the given BuffFlags flag bit (e.g. BuffFlags.SPEED_BUFF) is set.
+     * False for buffs without flags.
+     */
+    public boolean hasFlag(int flag) {
+        return (template.getFlagMask() & flag) != 0;
     }
 
     /**
@@ -82,7 +164,7 @@ public class BuffInstance {
      * Returns a new instance (immutable).
      */
     public BuffInstance withDecreasedDuration() {
-        return new BuffInstance(buffId, sourceUnitId, type, duration - 1, stackable, modifiers, flags, instantHpBonus);
+        return new BuffInstance(id, externalId, sourceUnitId, duration - 1, template);
     }
 
     /**
@@ -90,7 +172,7 @@ public class BuffInstance {
      * Used for refreshing same-type buffs.
      */
     public BuffInstance withDuration(int newDuration) {
-        return new BuffInstance(buffId, sourceUnitId, type, newDuration, stackable, modifiers, flags, instantHpBonus);
+        return new BuffInstance(id, externalId, sourceUnitId, newDuration, template);
     }
 
     /**
@@ -105,37 +187,34 @@ public class BuffInstance {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         BuffInstance that = (BuffInstance) o;
-        return duration == that.duration &&
-               stackable == that.stackable &&
-               instantHpBonus == that.instantHpBonus &&
-               Objects.equals(buffId, that.buffId) &&
+        return id == that.id &&
+               duration == that.duration &&
+               Objects.equals(externalId, that.externalId) &&
                Objects.equals(sourceUnitId, that.sourceUnitId) &&
-               type == that.type &&
-               Objects.equals(modifiers, that.modifiers) &&
-               Objects.equals(flags, that.flags);
+               template.equals(that.template);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(buffId, sourceUnitId, type, duration, stackable, modifiers, flags, instantHpBonus);
+        return Objects.hash(id, externalId, sourceUnitId, duration, template);
     }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        sb.append("BuffInstance{buffId='").append(buffId).append("'");
+        sb.append("BuffInstance{buffId='").append(getBuffId()).append("'");
         if (sourceUnitId != null) {
             sb.append(", sourceUnitId='").append(sourceUnitId).append("'");
         }
-        if (type != null) {
-            sb.append(", type=").append(type);
+        if (getType() != null) {
+            sb.append(", type=").append(getType());
         }
         sb.append(", duration=").append(duration);
-        sb.append(", stackable=").append(stackable);
-        sb.append(", modifiers=").append(modifiers);
-        sb.append(", flags=").append(flags);
-        if (instantHpBonus != 0) {
-            sb.append(", instantHpBonus=").append(instantHpBonus);
+        sb.append(", stackable=").append(isStackable());
+        sb.append(", modifiers=").append(getModifiers());
+        sb.append(", flags=").append(getFlags());
+        if (getInstantHpBonus() != 0) {
+            sb.append(", instantHpBonus=").append(getInstantHpBonus());
         }
         sb.append("}");
         return sb.toString();
@@ -8,6 +8,11 @@ import java.util.Objects;
  */
 public class BuffModifier {
 
+    /**
+     * Shared modifier with no stat changes.
+     */
+    public static final BuffModifier NONE = new BuffModifier(0, 0, 0, 0);
+
     private final int bonusHp;
     private final int bonusAttack;
     private final int bonusMoveRange;
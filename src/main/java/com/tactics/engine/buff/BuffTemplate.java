@@ -0,0 +1,124 @@
+package com.tactics.engine.buff;
+
+import java.util.Objects;
+
+/**
+ * The parts of a buff fixed by its type: stacking rule, modifiers, flags
+ * and instant HP change.
+ *
+ * Each BuffType has one shared template (see of()), so a BuffInstance only
+ * carries its id, source and remaining duration, and ticking the duration
+ * copies just those. Buffs with non-standard effects (skill-specific
+ * modifiers, tests, older snapshots) get a template of their own.
+ *
+ * Immutable and safe to share across threads.
+ */
+public final class BuffTemplate {
+
+    private static final BuffTemplate[] STANDARD = new BuffTemplate[BuffType.values().length];
+
+    static {
+        define(BuffType.POWER, new BuffModifier(0, 3, 0, 0), BuffFlags.power(), 1);    // +3 ATK, +1 HP instant
+        define(BuffType.LIFE, BuffModifier.NONE, BuffFlags.life(), 3);                  // +3 HP instant
+        define(BuffType.SPEED, new BuffModifier(0, -1, 0, 0), BuffFlags.speed(), 0);    // -1 ATK, double action
+        define(BuffType.WEAKNESS, new BuffModifier(0, -2, 0, 0), BuffFlags.none(), -1); // -2 ATK, -1 HP instant
+        define(BuffType.BLEED, BuffModifier.NONE, BuffFlags.bleed(), 0);
+        define(BuffType.SLOW, BuffModifier.NONE, BuffFlags.slow(), 0);
+        define(BuffType.BLIND, BuffModifier.NONE, BuffFlags.blind(), 0);
+        define(BuffType.DEATH_MARK, BuffModifier.NONE, BuffFlags.deathMark(), 0);       // damage bonus handled separately
+        define(BuffType.FEINT, BuffModifier.NONE, BuffFlags.feint(), 0);
+        define(BuffType.CHALLENGE, BuffModifier.NONE, BuffFlags.challenge(), 0);
+        define(BuffType.INVULNERABLE, BuffModifier.NONE, BuffFlags.invulnerable(), 0);
+    }
+
+    private final BuffType type;            // null for untyped (V1/V2) buffs
+    private final boolean stackable;
+    private final BuffModifier modifiers;
+    private final BuffFlags flags;          // nullable: some skill buffs carry modifiers only
+    private final int instantHpBonus;
+    private final int flagMask;             // flags.getMask(), or 0 without flags
+
+    private BuffTemplate(BuffType type, boolean stackable, BuffModifier modifiers, BuffFlags flags,
+                         int instantHpBonus) {
+        this.type = type;
+        this.stackable = stackable;
+        this.modifiers = modifiers;
+        this.flags = flags;
+        this.instantHpBonus = instantHpBonus;
+        this.flagMask = flags != null ? flags.getMask() : 0;
+    }
+
+    private static void define(BuffType type, BuffModifier modifiers, BuffFlags flags, int instantHpBonus) {
+        // Standard buffs are not stackable: reapplying the type refreshes its duration
+        STANDARD[type.ordinal()] = new BuffTemplate(type, false, modifiers, flags, instantHpBonus);
+    }
+
+    /**
+     * The shared template of a standard buff type.
+     */
+    public static BuffTemplate of(BuffType type) {
+        return STANDARD[type.ordinal()];
+    }
+
+    /**
+     * Template with the given parts: the shared template of the type when
+     * they match it, otherwise a new one.
+     */
+    public static BuffTemplate intern(BuffType type, boolean stackable, BuffModifier modifiers, BuffFlags flags,
+                                      int instantHpBonus) {
+        if (type != null) {
+            BuffTemplate shared = STANDARD[type.ordinal()];
+            if (shared.stackable == stackable
+                    && shared.instantHpBonus == instantHpBonus
+                    && Objects.equals(shared.modifiers, modifiers)
+                    && Objects.equals(shared.flags, flags)) {
+                return shared;
+            }
+        }
+        return new BuffTemplate(type, stackable, modifiers, flags, instantHpBonus);
+    }
+
+    public BuffType getType() {
+        return type;
+    }
+
+    public boolean isStackable() {
+        return stackable;
+    }
+
+    public BuffModifier getModifiers() {
+        return modifiers;
+    }
+
+    public BuffFlags getFlags() {
+        return flags;
+    }
+
+    public int getInstantHpBonus() {
+        return instantHpBonus;
+    }
+
+    /**
+     * Bit mask of the BuffFlags flag constants; 0 when there are no flags.
+     */
+    public int getFlagMask() {
+        return flagMask;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BuffTemplate that = (BuffTemplate) o;
+        return stackable == that.stackable &&
+               instantHpBonus == that.instantHpBonus &&
+               type == that.type &&
+               Objects.equals(modifiers, that.modifiers) &&
+               Objects.equals(flags, that.flags);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, stackable, modifiers, flags, instantHpBonus);
+    }
+}
@@ -0,0 +1,80 @@
+package com.tactics.engine.event;
+
+import com.tactics.engine.buff.BuffType;
+
+import java.util.Objects;
+
+/**
+ * One event read out of a GameEventLog. Column meaning depends on the type,
+ * see GameEventType.
+ *
+ * Immutable. The log itself stores events in primitive columns; instances
+ * are only created when a caller asks for them.
+ */
+public final class GameEvent {
+
+    private final GameEventType type;
+    private final String unitId;
+    private final String sourceId;
+    private final int value;
+
+    public GameEvent(GameEventType type, String unitId, String sourceId, int value) {
+        this.type = type;
+        this.unitId = unitId;
+        this.sourceId = sourceId;
+        this.value = value;
+    }
+
+    public GameEventType getType() {
+        return type;
+    }
+
+    public String getUnitId() {
+        return unitId;
+    }
+
+    /**
+     * Attacker, protected unit, buff source or tile id; null if not applicable.
+     */
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    /**
+     * HP amount for DAMAGE/HEAL, BuffType ordinal (-1 if untyped) for
+     * BUFF_APPLIED/TILE_TRIGGERED, else 0.
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Buff type of a BUFF_APPLIED or TILE_TRIGGERED event; null for other
+     * types and for untyped (custom) buffs.
+     */
+    public BuffType getBuffType() {
+        boolean buffEvent = type == GameEventType.BUFF_APPLIED || type == GameEventType.TILE_TRIGGERED;
+        return buffEvent && value >= 0 ? BuffType.values()[value] : null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GameEvent that = (GameEvent) o;
+        return value == that.value && type == that.type
+            && Objects.equals(unitId, that.unitId) && Objects.equals(sourceId, that.sourceId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, unitId, sourceId, value);
+    }
+
+    @Override
+    public String toString() {
+        return "GameEvent{" + type + " " + unitId
+            + (sourceId != null ? " source=" + sourceId : "")
+            + (value != 0 ? " value=" + value : "") + "}";
+    }
+}
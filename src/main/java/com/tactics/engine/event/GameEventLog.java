@@ -0,0 +1,200 @@
+package com.tactics.engine.event;
+
+import com.tactics.engine.buff.BuffInstance;
+import com.tactics.engine.buff.BuffType;
+import com.tactics.engine.model.Unit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Events emitted by the executors while applying one action: damage, heals,
+ * deaths, buffs, tile triggers, guardian intercepts and feint dodges, in the
+ * order they happened.
+ *
+ * Events are stored in parallel primitive/reference columns that grow as
+ * needed and are kept across clear(), so a log reused for every action of a
+ * match allocates nothing once warm. Read them by index, or as GameEvent
+ * objects with get/toList.
+ *
+ * Recording is off unless a log is bound with record (RuleEngine does this
+ * for the applyAction/tryApply overloads taking a log). Executors look the
+ * log up with current() only once their engine has been asked to record;
+ * executors of an engine that never records check a plain field instead,
+ * so bots, search and tournaments pay nothing for the feature, whatever
+ * other engines in the process do.
+ *
+ * One instance per thread at a time; not thread-safe.
+ */
+public final class GameEventLog {
+
+    private static final ThreadLocal<GameEventLog> CURRENT = new ThreadLocal<>();
+    private static final GameEventType[] TYPES = GameEventType.values();
+
+    private byte[] types;
+    private String[] unitIds;
+    private String[] sourceIds;
+    private int[] values;
+    private int size;
+
+    public GameEventLog() {
+        this(16);
+    }
+
+    public GameEventLog(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.types = new byte[capacity];
+        this.unitIds = new String[capacity];
+        this.sourceIds = new String[capacity];
+        this.values = new int[capacity];
+    }
+
+    // =========================================================================
+    // Recording
+    // =========================================================================
+
+    /**
+     * Log bound to the calling thread, or null when events are not recorded.
+     */
+    public static GameEventLog current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Clear this log, then run the body with the log bound to the calling thread.
+     * A log bound by an enclosing call is restored afterwards.
+     */
+    public <T> T record(Supplier<T> body) {
+        clear();
+        GameEventLog previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return body.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Forget all events, keeping the allocated columns.
+     */
+    public void clear() {
+        Arrays.fill(unitIds, 0, size, null);
+        Arrays.fill(sourceIds, 0, size, null);
+        size = 0;
+    }
+
+    public void add(GameEventType type, String unitId, String sourceId, int value) {
+        if (size == types.length) {
+            int capacity = size * 2;
+            types = Arrays.copyOf(types, capacity);
+            unitIds = Arrays.copyOf(unitIds, capacity);
+            sourceIds = Arrays.copyOf(sourceIds, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        types[size] = (byte) type.ordinal();
+        unitIds[size] = unitId;
+        sourceIds[size] = sourceId;
+        values[size] = value;
+        size++;
+    }
+
+    /**
+     * DAMAGE or HEAL for the HP difference, then DEATH if the unit died.
+     * Either side may be null (unit added or removed), which emits nothing.
+     */
+    public void unitChanged(Unit before, Unit after) {
+        if (before == null || after == null || before == after) {
+            return;
+        }
+        int delta = after.getHp() - before.getHp();
+        if (delta < 0) {
+            add(GameEventType.DAMAGE, after.getId(), null, -delta);
+        } else if (delta > 0) {
+            add(GameEventType.HEAL, after.getId(), null, delta);
+        }
+        if (before.isAlive() && !after.isAlive()) {
+            add(GameEventType.DEATH, after.getId(), null, 0);
+        }
+    }
+
+    /**
+     * BUFF_APPLIED with the buff's type ordinal, or -1 for untyped (custom) buffs.
+     */
+    public void buffApplied(String unitId, BuffInstance buff) {
+        BuffType type = buff.getType();
+        add(GameEventType.BUFF_APPLIED, unitId, buff.getSourceUnitId(), type != null ? type.ordinal() : -1);
+    }
+
+    public void tileTriggered(String unitId, String tileId, BuffType buffType) {
+        add(GameEventType.TILE_TRIGGERED, unitId, tileId, buffType.ordinal());
+    }
+
+    public void guardianIntercept(String guardianId, String protectedId) {
+        add(GameEventType.GUARDIAN_INTERCEPT, guardianId, protectedId, 0);
+    }
+
+    public void feintDodge(String dodgerId, String attackerId) {
+        add(GameEventType.FEINT_DODGE, dodgerId, attackerId, 0);
+    }
+
+    // =========================================================================
+    // Reading
+    // =========================================================================
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public GameEventType getType(int index) {
+        return TYPES[types[checkIndex(index)]];
+    }
+
+    public String getUnitId(int index) {
+        return unitIds[checkIndex(index)];
+    }
+
+    public String getSourceId(int index) {
+        return sourceIds[checkIndex(index)];
+    }
+
+    public int getValue(int index) {
+        return values[checkIndex(index)];
+    }
+
+    /**
+     * Event at the index as a new GameEvent.
+     */
+    public GameEvent get(int index) {
+        checkIndex(index);
+        return new GameEvent(TYPES[types[index]], unitIds[index], sourceIds[index], values[index]);
+    }
+
+    /**
+     * All events in order, as a new list.
+     */
+    public List<GameEvent> toList() {
+        List<GameEvent> events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            events.add(get(i));
+        }
+        return events;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Event " + index + " of " + size);
+        }
+        return index;
+    }
+}
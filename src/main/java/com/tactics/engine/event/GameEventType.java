@@ -0,0 +1,22 @@
+package com.tactics.engine.event;
+
+/**
+ * What a GameEvent reports. Meaning of the unit, source and value columns per type:
+ *
+ * - DAMAGE: unit lost value HP
+ * - HEAL: unit gained value HP (heals and instant HP bonuses)
+ * - DEATH: unit died
+ * - BUFF_APPLIED: unit received a buff of BuffType ordinal value (-1 if untyped) from source
+ * - TILE_TRIGGERED: unit stepped on buff tile source, of BuffType ordinal value
+ * - GUARDIAN_INTERCEPT: unit (a TANK) takes the damage aimed at source
+ * - FEINT_DODGE: unit dodged the attack of source
+ */
+public enum GameEventType {
+    DAMAGE,
+    HEAL,
+    DEATH,
+    BUFF_APPLIED,
+    TILE_TRIGGERED,
+    GUARDIAN_INTERCEPT,
+    FEINT_DODGE
+}
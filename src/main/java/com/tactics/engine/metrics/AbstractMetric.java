@@ -0,0 +1,39 @@
+package com.tactics.engine.metrics;
+
+/**
+ * Name, help text and optional label shared by every metric type.
+ */
+abstract class AbstractMetric implements Metric {
+
+    private final String name;
+    private final String help;
+    private final String labelName;
+    private final String labelValue;
+
+    AbstractMetric(String name, String help, String labelName, String labelValue) {
+        this.name = name;
+        this.help = help;
+        this.labelName = labelName;
+        this.labelValue = labelValue;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getHelp() {
+        return help;
+    }
+
+    @Override
+    public String getLabelName() {
+        return labelName;
+    }
+
+    @Override
+    public String getLabelValue() {
+        return labelValue;
+    }
+}
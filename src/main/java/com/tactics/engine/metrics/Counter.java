@@ -0,0 +1,33 @@
+package com.tactics.engine.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic count. Increments are striped (LongAdder), so hot paths on
+ * many threads do not contend on one cache line.
+ */
+public class Counter extends AbstractMetric {
+
+    private final LongAdder count = new LongAdder();
+
+    Counter(String name, String help, String labelName, String labelValue) {
+        super(name, help, labelName, labelValue);
+    }
+
+    @Override
+    public Type getType() {
+        return Type.COUNTER;
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    public long get() {
+        return count.sum();
+    }
+}
@@ -0,0 +1,56 @@
+package com.tactics.engine.metrics;
+
+import com.tactics.engine.action.ActionType;
+
+/**
+ * Recorders for the rule engine's hot path: validation, apply per action
+ * type, round-end processing and state serialization.
+ *
+ * Attached per instance (RuleEngine.setMetrics, GameStateSerializer.setMetrics)
+ * so only the server's engine is measured; search and bots running in the
+ * same JVM keep their own, uninstrumented engines.
+ */
+public class EngineMetrics {
+
+    private final LatencyRecorder validate;
+    private final Counter rejected;
+    private final LatencyRecorder[] apply;
+    private final LatencyRecorder roundEnd;
+    private final LatencyRecorder serialize;
+
+    public EngineMetrics(MetricsRegistry registry) {
+        this.validate = registry.recorder("tactics_validate_action_seconds",
+                "ActionValidator.validateAction latency");
+        this.rejected = registry.counter("tactics_actions_rejected_total",
+                "Actions that failed validation");
+        ActionType[] types = ActionType.values();
+        this.apply = new LatencyRecorder[types.length];
+        for (ActionType type : types) {
+            apply[type.ordinal()] = registry.recorder("tactics_apply_action_seconds",
+                    "ActionExecutor.applyAction latency by action type", "action_type", type.name());
+        }
+        this.roundEnd = registry.recorder("tactics_round_end_seconds",
+                "TurnManager.processRoundEnd latency");
+        this.serialize = registry.recorder("tactics_serialize_state_seconds",
+                "GameStateSerializer.toJsonMap latency");
+    }
+
+    public void recordValidate(long nanos, boolean valid) {
+        validate.recordNanos(nanos);
+        if (!valid) {
+            rejected.increment();
+        }
+    }
+
+    public void recordApply(ActionType type, long nanos) {
+        apply[type.ordinal()].recordNanos(nanos);
+    }
+
+    public void recordRoundEnd(long nanos) {
+        roundEnd.recordNanos(nanos);
+    }
+
+    public void recordSerialize(long nanos) {
+        serialize.recordNanos(nanos);
+    }
+}
@@ -0,0 +1,28 @@
+package com.tactics.engine.metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Value read from its owner when metrics are exported. Also used for
+ * counters that the owner already keeps (type COUNTER).
+ */
+public class Gauge extends AbstractMetric {
+
+    private final Type type;
+    private final LongSupplier value;
+
+    Gauge(String name, String help, Type type, LongSupplier value) {
+        super(name, help, null, null);
+        this.type = type;
+        this.value = value;
+    }
+
+    @Override
+    public Type getType() {
+        return type;
+    }
+
+    public long get() {
+        return value.getAsLong();
+    }
+}
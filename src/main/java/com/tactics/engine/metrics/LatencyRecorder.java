@@ -0,0 +1,72 @@
+package com.tactics.engine.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with power-of-two nanosecond buckets.
+ *
+ * Recording is a leading-zero count plus two LongAdder increments: no
+ * locks, no allocation, and no shared cache line under contention, so it
+ * can stay on in production. Bucket b holds values in (2^(b-1), 2^b] ns
+ * (bucket 0 holds 0 and 1), matching Prometheus' inclusive "le" bounds;
+ * the top bucket also takes anything larger.
+ */
+public class LatencyRecorder extends AbstractMetric {
+
+    /**
+     * Buckets 0..MAX_BUCKET; 2^35 ns is about 34 seconds.
+     */
+    public static final int MAX_BUCKET = 35;
+
+    private final LongAdder[] buckets = new LongAdder[MAX_BUCKET + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    LatencyRecorder(String name, String help, String labelName, String labelValue) {
+        super(name, help, labelName, labelValue);
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public Type getType() {
+        return Type.HISTOGRAM;
+    }
+
+    public void recordNanos(long nanos) {
+        long value = Math.max(0, nanos);
+        int bucket = value <= 1 ? 0 : Math.min(64 - Long.numberOfLeadingZeros(value - 1), MAX_BUCKET);
+        buckets[bucket].increment();
+        sumNanos.add(value);
+    }
+
+    /**
+     * Inclusive upper bound of a bucket in nanoseconds.
+     */
+    public static long upperBoundNanos(int bucket) {
+        return 1L << bucket;
+    }
+
+    /**
+     * Count per bucket, read bucket by bucket (not an atomic snapshot).
+     */
+    public long[] getBucketCounts() {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    public long getCount() {
+        long total = 0;
+        for (LongAdder bucket : buckets) {
+            total += bucket.sum();
+        }
+        return total;
+    }
+
+    public long getSumNanos() {
+        return sumNanos.sum();
+    }
+}
@@ -0,0 +1,22 @@
+package com.tactics.engine.metrics;
+
+/**
+ * One named series in a MetricsRegistry, with at most one label.
+ */
+public interface Metric {
+
+    enum Type { COUNTER, GAUGE, HISTOGRAM }
+
+    String getName();
+
+    String getHelp();
+
+    Type getType();
+
+    /**
+     * Label name, or null for an unlabelled series.
+     */
+    String getLabelName();
+
+    String getLabelValue();
+}
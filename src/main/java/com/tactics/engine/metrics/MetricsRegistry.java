@@ -0,0 +1,71 @@
+package com.tactics.engine.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+
+/**
+ * Named metrics for one process (or one test).
+ *
+ * Asking twice for the same name and label returns the same instance, so
+ * components can look up their recorders independently. Registration is
+ * meant for startup; recording on the returned objects is lock-free.
+ */
+public class MetricsRegistry {
+
+    private final Map<String, Metric> byKey = new ConcurrentHashMap<>();
+    private final List<Metric> metrics = new CopyOnWriteArrayList<>();
+
+    public LatencyRecorder recorder(String name, String help) {
+        return recorder(name, help, null, null);
+    }
+
+    public LatencyRecorder recorder(String name, String help, String labelName, String labelValue) {
+        return register(LatencyRecorder.class, new LatencyRecorder(name, help, labelName, labelValue));
+    }
+
+    public Counter counter(String name, String help) {
+        return counter(name, help, null, null);
+    }
+
+    public Counter counter(String name, String help, String labelName, String labelValue) {
+        return register(Counter.class, new Counter(name, help, labelName, labelValue));
+    }
+
+    /**
+     * Registers a value read at export time.
+     */
+    public Gauge gauge(String name, String help, LongSupplier value) {
+        return register(Gauge.class, new Gauge(name, help, Metric.Type.GAUGE, value));
+    }
+
+    /**
+     * Registers a running total that its owner already keeps.
+     */
+    public Gauge counter(String name, String help, LongSupplier value) {
+        return register(Gauge.class, new Gauge(name, help, Metric.Type.COUNTER, value));
+    }
+
+    /**
+     * All metrics, in registration order.
+     */
+    public List<Metric> getMetrics() {
+        return new ArrayList<>(metrics);
+    }
+
+    private <M extends Metric> M register(Class<M> kind, M metric) {
+        String key = metric.getName() + "{" + metric.getLabelName() + "=" + metric.getLabelValue() + "}";
+        Metric existing = byKey.putIfAbsent(key, metric);
+        if (existing == null) {
+            metrics.add(metric);
+            return metric;
+        }
+        if (!kind.isInstance(existing) || existing.getType() != metric.getType()) {
+            throw new IllegalArgumentException("Metric " + key + " already registered as " + existing.getType());
+        }
+        return kind.cast(existing);
+    }
+}
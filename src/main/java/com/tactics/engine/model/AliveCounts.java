@@ -0,0 +1,161 @@
+package com.tactics.engine.model;
+
+/**
+ * Per-player hero and living unit counts for one unit list.
+ *
+ * Game-over detection only needs to know, per player, whether any hero
+ * exists, whether any hero is alive and whether any unit is alive. These
+ * counts answer that in O(1) and are kept up to date incrementally with
+ * replace/add/remove as executors change units, instead of rescanning
+ * the list after every action and round-end stage.
+ *
+ * Immutable; replace returns the same instance when nothing it counts changed.
+ */
+public final class AliveCounts {
+
+    private final int p1Heroes;
+    private final int p2Heroes;
+    private final int p1HeroesAlive;
+    private final int p2HeroesAlive;
+    private final int p1Alive;
+    private final int p2Alive;
+
+    private AliveCounts(int p1Heroes, int p2Heroes, int p1HeroesAlive, int p2HeroesAlive,
+                        int p1Alive, int p2Alive) {
+        this.p1Heroes = p1Heroes;
+        this.p2Heroes = p2Heroes;
+        this.p1HeroesAlive = p1HeroesAlive;
+        this.p2HeroesAlive = p2HeroesAlive;
+        this.p1Alive = p1Alive;
+        this.p2Alive = p2Alive;
+    }
+
+    /**
+     * Count a unit list from scratch.
+     */
+    public static AliveCounts of(Iterable<Unit> units) {
+        int p1Heroes = 0;
+        int p2Heroes = 0;
+        int p1HeroesAlive = 0;
+        int p2HeroesAlive = 0;
+        int p1Alive = 0;
+        int p2Alive = 0;
+        for (Unit u : units) {
+            boolean p1 = u.getOwner().isPlayer1();
+            if (u.isHero()) {
+                if (p1) {
+                    p1Heroes++;
+                    p1HeroesAlive += u.isAlive() ? 1 : 0;
+                } else {
+                    p2Heroes++;
+                    p2HeroesAlive += u.isAlive() ? 1 : 0;
+                }
+            }
+            if (u.isAlive()) {
+                if (p1) {
+                    p1Alive++;
+                } else {
+                    p2Alive++;
+                }
+            }
+        }
+        return new AliveCounts(p1Heroes, p2Heroes, p1HeroesAlive, p2HeroesAlive, p1Alive, p2Alive);
+    }
+
+    /**
+     * Counts after one unit in the list was replaced by another.
+     * Either side may be null (unit added or removed).
+     */
+    public AliveCounts replace(Unit before, Unit after) {
+        if (before != null && after != null
+                && before.isAlive() == after.isAlive()
+                && before.isHero() == after.isHero()
+                && before.getOwner().isPlayer1() == after.getOwner().isPlayer1()) {
+            return this;
+        }
+        int[] c = {p1Heroes, p2Heroes, p1HeroesAlive, p2HeroesAlive, p1Alive, p2Alive};
+        if (before != null) {
+            count(c, before, -1);
+        }
+        if (after != null) {
+            count(c, after, 1);
+        }
+        return new AliveCounts(c[0], c[1], c[2], c[3], c[4], c[5]);
+    }
+
+    public AliveCounts add(Unit unit) {
+        return replace(null, unit);
+    }
+
+    public AliveCounts remove(Unit unit) {
+        return replace(unit, null);
+    }
+
+    private static void count(int[] c, Unit u, int delta) {
+        int player = u.getOwner().isPlayer1() ? 0 : 1;
+        if (u.isHero()) {
+            c[player] += delta;
+            if (u.isAlive()) {
+                c[2 + player] += delta;
+            }
+        }
+        if (u.isAlive()) {
+            c[4 + player] += delta;
+        }
+    }
+
+    // =========================================================================
+    // Queries
+    // =========================================================================
+
+    public boolean hasHero(PlayerId player) {
+        return (player.isPlayer1() ? p1Heroes : p2Heroes) > 0;
+    }
+
+    public boolean hasLivingHero(PlayerId player) {
+        return (player.isPlayer1() ? p1HeroesAlive : p2HeroesAlive) > 0;
+    }
+
+    public boolean hasLivingUnit(PlayerId player) {
+        return (player.isPlayer1() ? p1Alive : p2Alive) > 0;
+    }
+
+    public int getHeroCount(PlayerId player) {
+        return player.isPlayer1() ? p1Heroes : p2Heroes;
+    }
+
+    public int getLivingHeroCount(PlayerId player) {
+        return player.isPlayer1() ? p1HeroesAlive : p2HeroesAlive;
+    }
+
+    public int getLivingUnitCount(PlayerId player) {
+        return player.isPlayer1() ? p1Alive : p2Alive;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AliveCounts that = (AliveCounts) o;
+        return p1Heroes == that.p1Heroes && p2Heroes == that.p2Heroes
+            && p1HeroesAlive == that.p1HeroesAlive && p2HeroesAlive == that.p2HeroesAlive
+            && p1Alive == that.p1Alive && p2Alive == that.p2Alive;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = p1Heroes;
+        result = 31 * result + p2Heroes;
+        result = 31 * result + p1HeroesAlive;
+        result = 31 * result + p2HeroesAlive;
+        result = 31 * result + p1Alive;
+        result = 31 * result + p2Alive;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "AliveCounts{p1=" + p1HeroesAlive + "/" + p1Heroes + " heroes, " + p1Alive + " alive"
+            + "; p2=" + p2HeroesAlive + "/" + p2Heroes + " heroes, " + p2Alive + " alive}";
+    }
+}
@@ -16,6 +16,7 @@ import java.util.Map;
  * - currentRound: Current round number
  * - pendingDeathChoice: Awaiting player decision after minion death
  * - player1TurnEnded/player2TurnEnded: Track turn completion for round processing
+ * - nextBuffId: per-match buff id counter, so replays allocate the same ids
  */
 public class GameState {
 
@@ -36,6 +37,11 @@ public class GameState {
     private final DeathChoice pendingDeathChoice;  // Awaiting player choice after minion death
     private final boolean player1TurnEnded;        // P1 has ended their turn this round
     private final boolean player2TurnEnded;        // P2 has ended their turn this round
+    private final int nextBuffId;                  // Next id handed to a buff created in this match
+
+    // Derived lookups, built on first use (not part of equals/hashCode)
+    private GuardianIndex guardianIndex;
+    private AliveCounts aliveCounts;
 
     /**
      * V1 constructor - no buffs.
@@ -65,13 +71,26 @@ public class GameState {
     }
 
     /**
-     * V3 full constructor with all fields.
+     * V3 constructor with turn ended flags; buff ids start from BuffInstance.FIRST_ID.
      */
     public GameState(Board board, List<Unit> units, PlayerId currentPlayer, boolean isGameOver, PlayerId winner,
                      Map<String, List<BuffInstance>> unitBuffs,
                      List<BuffTile> buffTiles, List<Obstacle> obstacles,
                      int currentRound, DeathChoice pendingDeathChoice,
                      boolean player1TurnEnded, boolean player2TurnEnded) {
+        this(board, units, currentPlayer, isGameOver, winner, unitBuffs,
+             buffTiles, obstacles, currentRound, pendingDeathChoice,
+             player1TurnEnded, player2TurnEnded, BuffInstance.FIRST_ID);
+    }
+
+    /**
+     * Full constructor with all fields.
+     */
+    public GameState(Board board, List<Unit> units, PlayerId currentPlayer, boolean isGameOver, PlayerId winner,
+                     Map<String, List<BuffInstance>> unitBuffs,
+                     List<BuffTile> buffTiles, List<Obstacle> obstacles,
+                     int currentRound, DeathChoice pendingDeathChoice,
+                     boolean player1TurnEnded, boolean player2TurnEnded, int nextBuffId) {
         this.board = board;
         this.units = units != null ? Collections.unmodifiableList(units) : Collections.emptyList();
         this.currentPlayer = currentPlayer;
@@ -84,6 +103,7 @@ public class GameState {
         this.pendingDeathChoice = pendingDeathChoice;
         this.player1TurnEnded = player1TurnEnded;
         this.player2TurnEnded = player2TurnEnded;
+        this.nextBuffId = nextBuffId;
     }
 
     // V1/V2 Core getters
@@ -140,6 +160,15 @@ public class GameState {
         return player2TurnEnded;
     }
 
+    /**
+     * Id for the next buff created in this match. Executors create buffs
+     * with this id and return a state advanced past it, so the same
+     * actions always produce the same ids.
+     */
+    public int getNextBuffId() {
+        return nextBuffId;
+    }
+
     // Helper methods
 
     /**
@@ -156,6 +185,55 @@ public class GameState {
         return player1TurnEnded && player2TurnEnded;
     }
 
+    /**
+     * Guardian (TANK) interception lookup for this state, built on first use.
+     * A race only builds an identical index twice; GuardianIndex is immutable.
+     */
+    public GuardianIndex getGuardianIndex() {
+        GuardianIndex index = guardianIndex;
+        if (index == null) {
+            index = new GuardianIndex(board, units);
+            guardianIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Per-player hero and living unit counts for this state's units.
+     * Counted on first use unless an executor primed them incrementally.
+     */
+    public AliveCounts getAliveCounts() {
+        AliveCounts counts = aliveCounts;
+        if (counts == null) {
+            counts = AliveCounts.of(units);
+            aliveCounts = counts;
+        }
+        return counts;
+    }
+
+    /**
+     * Seed the alive counts with counts the caller kept up to date while
+     * building this state's units, so they are not recounted.
+     * The counts must equal AliveCounts.of(getUnits()).
+     *
+     * @return this state
+     */
+    public GameState primeAliveCounts(AliveCounts counts) {
+        if (aliveCounts == null) {
+            aliveCounts = counts;
+        }
+        return this;
+    }
+
+    /**
+     * Share derived lookups with a copy that has the same board and units.
+     */
+    private GameState withDerivedFrom(GameState source) {
+        guardianIndex = source.guardianIndex;
+        aliveCounts = source.aliveCounts;
+        return this;
+    }
+
     /**
      * Check if a position has an obstacle.
      */
@@ -200,7 +278,7 @@ public class GameState {
     public GameState withUnits(List<Unit> newUnits) {
         return new GameState(board, newUnits, currentPlayer, isGameOver, winner, unitBuffs,
                              buffTiles, obstacles, currentRound, pendingDeathChoice,
-                             player1TurnEnded, player2TurnEnded);
+                             player1TurnEnded, player2TurnEnded, nextBuffId);
     }
 
     /**
@@ -209,7 +287,7 @@ public class GameState {
     public GameState withCurrentPlayer(PlayerId newCurrentPlayer) {
         return new GameState(board, units, newCurrentPlayer, isGameOver, winner, unitBuffs,
                              buffTiles, obstacles, currentRound, pendingDeathChoice,
-                             player1TurnEnded, player2TurnEnded);
+                             player1TurnEnded, player2TurnEnded, nextBuffId).withDerivedFrom(this);
     }
 
     /**
@@ -218,7 +296,7 @@ public class GameState {
     public GameState withGameOver(boolean newIsGameOver, PlayerId newWinner) {
         return new GameState(board, units, currentPlayer, newIsGameOver, newWinner, unitBuffs,
                              buffTiles, obstacles, currentRound, pendingDeathChoice,
-                             player1TurnEnded, player2TurnEnded);
+                             player1TurnEnded, player2TurnEnded, nextBuffId).withDerivedFrom(this);
     }
 
     /**
@@ -227,7 +305,7 @@ public class GameState {
     public GameState withUnitBuffs(Map<String, List<BuffInstance>> newUnitBuffs) {
         return new GameState(board, units, currentPlayer, isGameOver, winner, newUnitBuffs,
                              buffTiles, obstacles, currentRound, pendingDeathChoice,
-                             player1TurnEnded, player2TurnEnded);
+                             player1TurnEnded, player2TurnEnded, nextBuffId).withDerivedFrom(this);
     }
 
     /**
@@ -236,7 +314,7 @@ public class GameState {
     public GameState withBuffTiles(List<BuffTile> newBuffTiles) {
         return new GameState(board, units, currentPlayer, isGameOver, winner, unitBuffs,
                              newBuffTiles, obstacles, currentRound, pendingDeathChoice,
-                             player1TurnEnded, player2TurnEnded);
+                             player1TurnEnded, player2TurnEnded, nextBuffId).withDerivedFrom(this);
     }
 
     /**
@@ -245,7 +323,7 @@ public class GameState {
     public GameState withObstacles(List<Obstacle> newObstacles) {
         return new GameState(board, units, currentPlayer, isGameOver, winner, unitBuffs,
                              buffTiles, newObstacles, currentRound, pendingDeathChoice,
-                             player1TurnEnded, player2TurnEnded);
+                             player1TurnEnded, player2TurnEnded, nextBuffId).withDerivedFrom(this);
     }
 
     /**
@@ -254,7 +332,7 @@ public class GameState {
     public GameState withCurrentRound(int newCurrentRound) {
         return new GameState(board, units, currentPlayer, isGameOver, winner, unitBuffs,
                              buffTiles, obstacles, newCurrentRound, pendingDeathChoice,
-                             player1TurnEnded, player2TurnEnded);
+                             player1TurnEnded, player2TurnEnded, nextBuffId).withDerivedFrom(this);
     }
 
     /**
@@ -263,7 +341,7 @@ public class GameState {
     public GameState withPendingDeathChoice(DeathChoice newPendingDeathChoice) {
         return new GameState(board, units, currentPlayer, isGameOver, winner, unitBuffs,
                              buffTiles, obstacles, currentRound, newPendingDeathChoice,
-                             player1TurnEnded, player2TurnEnded);
+                             player1TurnEnded, player2TurnEnded, nextBuffId).withDerivedFrom(this);
     }
 
     /**
@@ -272,7 +350,16 @@ public class GameState {
     public GameState withTurnEndedFlags(boolean newPlayer1TurnEnded, boolean newPlayer2TurnEnded) {
         return new GameState(board, units, currentPlayer, isGameOver, winner, unitBuffs,
                              buffTiles, obstacles, currentRound, pendingDeathChoice,
-                             newPlayer1TurnEnded, newPlayer2TurnEnded);
+                             newPlayer1TurnEnded, newPlayer2TurnEnded, nextBuffId).withDerivedFrom(this);
+    }
+
+    /**
+     * Create a copy with the buff id counter advanced (after creating buffs).
+     */
+    public GameState withNextBuffId(int newNextBuffId) {
+        return new GameState(board, units, currentPlayer, isGameOver, winner, unitBuffs,
+                             buffTiles, obstacles, currentRound, pendingDeathChoice,
+                             player1TurnEnded, player2TurnEnded, newNextBuffId).withDerivedFrom(this);
     }
 
     /**
@@ -283,7 +370,17 @@ public class GameState {
                                   boolean newIsGameOver, PlayerId newWinner) {
         return new GameState(board, newUnits, currentPlayer, newIsGameOver, newWinner, newUnitBuffs,
                              buffTiles, obstacles, currentRound, pendingDeathChoice,
-                             player1TurnEnded, player2TurnEnded);
+                             player1TurnEnded, player2TurnEnded, nextBuffId);
+    }
+
+    /**
+     * withUpdates for actions that created buffs: also advances the buff id counter.
+     */
+    public GameState withUpdates(List<Unit> newUnits, Map<String, List<BuffInstance>> newUnitBuffs,
+                                  boolean newIsGameOver, PlayerId newWinner, int newNextBuffId) {
+        return new GameState(board, newUnits, currentPlayer, newIsGameOver, newWinner, newUnitBuffs,
+                             buffTiles, obstacles, currentRound, pendingDeathChoice,
+                             player1TurnEnded, player2TurnEnded, newNextBuffId);
     }
 
     /**
@@ -294,7 +391,7 @@ public class GameState {
                                      List<BuffTile> newBuffTiles, boolean newIsGameOver, PlayerId newWinner) {
         return new GameState(board, newUnits, currentPlayer, newIsGameOver, newWinner, newUnitBuffs,
                              newBuffTiles, obstacles, currentRound, pendingDeathChoice,
-                             player1TurnEnded, player2TurnEnded);
+                             player1TurnEnded, player2TurnEnded, nextBuffId);
     }
 
     /**
@@ -305,6 +402,6 @@ public class GameState {
                                    PlayerId newCurrentPlayer, boolean newIsGameOver, PlayerId newWinner) {
         return new GameState(board, newUnits, newCurrentPlayer, newIsGameOver, newWinner, newUnitBuffs,
                              newBuffTiles, newObstacles, currentRound + 1, pendingDeathChoice,
-                             false, false);
+                             false, false, nextBuffId);
     }
 }
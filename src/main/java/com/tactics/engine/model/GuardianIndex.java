@@ -0,0 +1,104 @@
+package com.tactics.engine.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Guardian (TANK) interception lookup for one GameState.
+ *
+ * For every board cell and owner it records the lowest-id living TANK
+ * orthogonally adjacent to that cell, so routing damage to a target's
+ * guardian needs no unit scan. Built lazily by GameState.getGuardianIndex.
+ *
+ * Immutable and safe to share across threads.
+ */
+public final class GuardianIndex {
+
+    private static final int[][] NEIGHBOURS = {{0, 1}, {0, -1}, {1, 0}, {-1, 0}};
+
+    private final List<Unit> units;
+    private final int width;
+    private final int height;
+    private final Map<String, Unit[]> guardsByOwner;   // owner -> lowest-id guarding TANK per cell
+
+    GuardianIndex(Board board, List<Unit> units) {
+        this.units = units;
+        this.width = board.getWidth();
+        this.height = board.getHeight();
+        Map<String, Unit[]> guards = new HashMap<>();
+        for (Unit u : units) {
+            if (!u.isAlive() || u.getMinionType() != MinionType.TANK || u.getPosition() == null) {
+                continue;
+            }
+            Unit[] cells = guards.computeIfAbsent(u.getOwner().getValue(), k -> new Unit[width * height]);
+            for (int[] d : NEIGHBOURS) {
+                int x = u.getPosition().getX() + d[0];
+                int y = u.getPosition().getY() + d[1];
+                int cell = y * width + x;
+                if (inBounds(x, y) && (cells[cell] == null || u.getId().compareTo(cells[cell].getId()) < 0)) {
+                    cells[cell] = u;
+                }
+            }
+        }
+        this.guardsByOwner = guards;
+    }
+
+    private boolean inBounds(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    /**
+     * Find the TANK that intercepts damage aimed at the target: a living
+     * allied TANK adjacent to it, other than the target, lowest id first.
+     *
+     * @return the guardian, or null if none
+     */
+    public Unit findGuardian(Unit target) {
+        if (target == null) {
+            return null;
+        }
+        Position pos = target.getPosition();
+        if (pos == null || !inBounds(pos.getX(), pos.getY())) {
+            return scan(target);
+        }
+        Unit[] cells = guardsByOwner.get(target.getOwner().getValue());
+        if (cells == null) {
+            return null;
+        }
+        Unit guardian = cells[pos.getY() * width + pos.getX()];
+        if (guardian != null && guardian.getId().equals(target.getId())) {
+            // Only possible with duplicate ids; a unit never guards itself
+            return scan(target);
+        }
+        return guardian;
+    }
+
+    /**
+     * Full scan, for targets off the board or sharing an id with their guard.
+     */
+    private Unit scan(Unit target) {
+        if (target.getPosition() == null) {
+            return null;
+        }
+        Unit guardian = null;
+        for (Unit u : units) {
+            if (!u.isAlive()
+                    || u.getMinionType() != MinionType.TANK
+                    || !u.getOwner().getValue().equals(target.getOwner().getValue())
+                    || u.getId().equals(target.getId())
+                    || u.getPosition() == null) {
+                continue;
+            }
+            int dx = Math.abs(u.getPosition().getX() - target.getPosition().getX());
+            int dy = Math.abs(u.getPosition().getY() - target.getPosition().getY());
+            if (dx + dy != 1) {
+                continue;
+            }
+            if (guardian == null || u.getId().compareTo(guardian.getId()) < 0) {
+                guardian = u;
+            }
+        }
+        return guardian;
+    }
+}
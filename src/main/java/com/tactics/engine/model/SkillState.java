@@ -0,0 +1,80 @@
+package com.tactics.engine.model;
+
+/**
+ * Per-unit state kept by skills between uses.
+ * Immutable; units without any skill state share EMPTY.
+ *
+ * Currently holds the Warp Beacon position, packed into a single int
+ * as (x << 16) | y so that reading it needs no boxing or map lookup.
+ */
+public final class SkillState {
+
+    private static final int NO_CELL = -1;
+
+    /**
+     * State of a unit with no pending skill state.
+     */
+    public static final SkillState EMPTY = new SkillState(NO_CELL);
+
+    private final int beaconCell;   // Packed Warp Beacon position, or NO_CELL
+
+    private SkillState(int beaconCell) {
+        this.beaconCell = beaconCell;
+    }
+
+    /**
+     * State with a Warp Beacon placed at the given position.
+     */
+    public static SkillState ofBeacon(Position beacon) {
+        return new SkillState(pack(beacon.getX(), beacon.getY()));
+    }
+
+    private static int pack(int x, int y) {
+        if (x < 0 || y < 0 || x > 0x7FFF || y > 0xFFFF) {
+            throw new IllegalArgumentException("Beacon position out of range: " + x + "," + y);
+        }
+        return (x << 16) | y;
+    }
+
+    public boolean isEmpty() {
+        return beaconCell == NO_CELL;
+    }
+
+    public boolean hasBeacon() {
+        return beaconCell != NO_CELL;
+    }
+
+    public int getBeaconX() {
+        return beaconCell >>> 16;
+    }
+
+    public int getBeaconY() {
+        return beaconCell & 0xFFFF;
+    }
+
+    /**
+     * @return the beacon position, or null if no beacon is placed
+     */
+    public Position getBeaconPosition() {
+        return hasBeacon() ? new Position(getBeaconX(), getBeaconY()) : null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return beaconCell == ((SkillState) o).beaconCell;
+    }
+
+    @Override
+    public int hashCode() {
+        return beaconCell;
+    }
+
+    @Override
+    public String toString() {
+        return hasBeacon()
+            ? "SkillState{beacon=" + getBeaconX() + "," + getBeaconY() + "}"
+            : "SkillState{}";
+    }
+}
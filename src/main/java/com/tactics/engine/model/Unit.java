@@ -37,7 +37,7 @@ public class Unit {
     private final boolean invulnerable;       // Ascended Form effect
     private final boolean isTemporary;        // Shadow Clone - temporary unit
     private final int temporaryDuration;      // Rounds remaining for temporary unit
-    private final Map<String, Object> skillState;  // Skill-specific state (e.g., Warp Beacon position)
+    private final SkillState skillState;      // Skill-specific state (e.g., Warp Beacon position)
 
     // V3 Action State fields (for SPEED/SLOW buffs)
     private final int actionsUsed;            // Number of actions used this round (0, 1, or 2 with SPEED)
@@ -68,7 +68,7 @@ public class Unit {
                 UnitCategory category, MinionType minionType, HeroClass heroClass, int maxHp,
                 String selectedSkillId, int skillCooldown,
                 int shield, boolean invisible, boolean invulnerable, boolean isTemporary, int temporaryDuration,
-                Map<String, Object> skillState) {
+                SkillState skillState) {
         this(id, owner, hp, attack, moveRange, attackRange, position, alive,
              category, minionType, heroClass, maxHp,
              selectedSkillId, skillCooldown,
@@ -84,7 +84,7 @@ public class Unit {
                 UnitCategory category, MinionType minionType, HeroClass heroClass, int maxHp,
                 String selectedSkillId, int skillCooldown,
                 int shield, boolean invisible, boolean invulnerable, boolean isTemporary, int temporaryDuration,
-                Map<String, Object> skillState,
+                SkillState skillState,
                 int actionsUsed, boolean preparing, Map<String, Object> preparingAction) {
         this(id, owner, hp, attack, moveRange, attackRange, position, alive,
              category, minionType, heroClass, maxHp,
@@ -101,7 +101,7 @@ public class Unit {
                 UnitCategory category, MinionType minionType, HeroClass heroClass, int maxHp,
                 String selectedSkillId, int skillCooldown,
                 int shield, boolean invisible, boolean invulnerable, boolean isTemporary, int temporaryDuration,
-                Map<String, Object> skillState,
+                SkillState skillState,
                 int actionsUsed, boolean preparing, Map<String, Object> preparingAction,
                 int bonusAttackDamage, int bonusAttackCharges) {
         this.id = id;
@@ -123,7 +123,7 @@ public class Unit {
         this.invulnerable = invulnerable;
         this.isTemporary = isTemporary;
         this.temporaryDuration = temporaryDuration;
-        this.skillState = skillState != null ? Collections.unmodifiableMap(skillState) : Collections.emptyMap();
+        this.skillState = skillState != null ? skillState : SkillState.EMPTY;
         this.actionsUsed = actionsUsed;
         this.preparing = preparing;
         this.preparingAction = preparingAction != null ? Collections.unmodifiableMap(preparingAction) : null;
@@ -215,7 +215,7 @@ public class Unit {
         return temporaryDuration;
     }
 
-    public Map<String, Object> getSkillState() {
+    public SkillState getSkillState() {
         return skillState;
     }
 
@@ -292,7 +292,7 @@ public class Unit {
     public Unit withHp(int newHp) {
         boolean newAlive = newHp > 0;
         // Clear skillState when unit dies (e.g., Warp Beacon disappears on Mage death)
-        Map<String, Object> newSkillState = newAlive ? skillState : null;
+        SkillState newSkillState = newAlive ? skillState : SkillState.EMPTY;
         return new Unit(id, owner, newHp, attack, moveRange, attackRange, position, newAlive,
                         category, minionType, heroClass, maxHp,
                         selectedSkillId, skillCooldown,
@@ -498,9 +498,9 @@ public class Unit {
     }
 
     /**
-     * Create a copy with updated skill state map.
+     * Create a copy with updated skill state.
      */
-    public Unit withSkillState(Map<String, Object> newSkillState) {
+    public Unit withSkillState(SkillState newSkillState) {
         return new Unit(id, owner, hp, attack, moveRange, attackRange, position, alive,
                         category, minionType, heroClass, maxHp,
                         selectedSkillId, skillCooldown,
@@ -552,7 +552,7 @@ public class Unit {
      * Create a copy with skill state updated and action used (no cooldown change).
      * Used for Warp Beacon place action.
      */
-    public Unit withSkillStateAndActionUsed(Map<String, Object> newSkillState) {
+    public Unit withSkillStateAndActionUsed(SkillState newSkillState) {
         return new Unit(id, owner, hp, attack, moveRange, attackRange, position, alive,
                         category, minionType, heroClass, maxHp,
                         selectedSkillId, skillCooldown,
@@ -569,7 +569,7 @@ public class Unit {
         return new Unit(id, owner, hp, attack, moveRange, attackRange, newPosition, alive,
                         category, minionType, heroClass, maxHp,
                         selectedSkillId, newCooldown,
-                        shield, invisible, invulnerable, isTemporary, temporaryDuration, null,
+                        shield, invisible, invulnerable, isTemporary, temporaryDuration, SkillState.EMPTY,
                         actionsUsed + 1, preparing, preparingAction,
                         bonusAttackDamage, bonusAttackCharges);
     }
@@ -0,0 +1,34 @@
+package com.tactics.engine.rules;
+
+import com.tactics.engine.buff.BuffInstance;
+import com.tactics.engine.model.Unit;
+
+import java.util.List;
+
+/**
+ * Acting unit resolved during validation, handed to the executors so they
+ * do not repeat the unit scan and buff lookup.
+ *
+ * Only produced when the executor would resolve the same unit itself:
+ * - MOVE: specific-unit or legacy resolution
+ * - ATTACK: legacy resolution only (applyAttack always scans by range)
+ * - MOVE_AND_ATTACK: legacy resolution
+ */
+public class ActionContext {
+
+    private final Unit actingUnit;
+    private final List<BuffInstance> actingUnitBuffs;
+
+    public ActionContext(Unit actingUnit, List<BuffInstance> actingUnitBuffs) {
+        this.actingUnit = actingUnit;
+        this.actingUnitBuffs = actingUnitBuffs;
+    }
+
+    public Unit getActingUnit() {
+        return actingUnit;
+    }
+
+    public List<BuffInstance> getActingUnitBuffs() {
+        return actingUnitBuffs;
+    }
+}
@@ -4,6 +4,8 @@ import com.tactics.engine.action.Action;
 import com.tactics.engine.action.ActionType;
 import com.tactics.engine.buff.BuffInstance;
 import com.tactics.engine.buff.BuffType;
+import com.tactics.engine.metrics.EngineMetrics;
+import com.tactics.engine.model.AliveCounts;
 import com.tactics.engine.model.BuffTile;
 import com.tactics.engine.model.DeathChoice;
 import com.tactics.engine.model.GameState;
@@ -41,6 +43,7 @@ public class ActionExecutor {
     private final AttackExecutor attackExecutor;
     private final SkillExecutor skillExecutor;
     private RngProvider rngProvider;
+    private EngineMetrics metrics;
 
     public ActionExecutor() {
         this.gameOverChecker = new GameOverChecker();
@@ -59,6 +62,25 @@ public class ActionExecutor {
         this.skillExecutor.setRngProvider(rngProvider);
     }
 
+    /**
+     * Times applyAction (per action type) and round ends into the given
+     * metrics; null turns timing off.
+     */
+    public void setMetrics(EngineMetrics metrics) {
+        this.metrics = metrics;
+        this.turnManager.setMetrics(metrics);
+    }
+
+    /**
+     * Turn event reporting on for every sub-executor (see GameEventLog).
+     */
+    public void enableEvents() {
+        this.turnManager.enableEvents();
+        this.moveExecutor.enableEvents();
+        this.attackExecutor.enableEvents();
+        this.skillExecutor.enableEvents();
+    }
+
     /**
      * Get a random buff type for death choice buff tile spawn.
      */
@@ -73,17 +95,37 @@ public class ActionExecutor {
     // =========================================================================
 
     public GameState applyAction(GameState state, Action action) {
+        return applyAction(state, action, null);
+    }
+
+    /**
+     * Apply an action, reusing the acting unit resolved during validation.
+     * A null context falls back to resolving the acting unit from the state.
+     */
+    public GameState applyAction(GameState state, Action action, ActionContext context) {
         ActionType type = action.getType();
+        EngineMetrics m = metrics;
+        if (m == null || type == null) {
+            return dispatch(state, action, context, type);
+        }
+        long start = System.nanoTime();
+        try {
+            return dispatch(state, action, context, type);
+        } finally {
+            m.recordApply(type, System.nanoTime() - start);
+        }
+    }
 
+    private GameState dispatch(GameState state, Action action, ActionContext context, ActionType type) {
         switch (type) {
             case END_TURN:
                 return applyEndTurn(state, action);
             case MOVE:
-                return moveExecutor.applyMove(state, action);
+                return moveExecutor.applyMove(state, action, context);
             case ATTACK:
-                return attackExecutor.applyAttack(state, action);
+                return attackExecutor.applyAttack(state, action, context);
             case MOVE_AND_ATTACK:
-                return attackExecutor.applyMoveAndAttack(state, action);
+                return attackExecutor.applyMoveAndAttack(state, action, context);
             case DEATH_CHOICE:
                 return applyDeathChoice(state, action);
             case USE_SKILL:
@@ -120,7 +162,9 @@ public class ActionExecutor {
         TurnManager.TurnEndResult turnEndResult = turnManager.processTurnEnd(
             unitsAfterEndTurn, state.getUnitBuffs());
 
-        GameOverChecker.GameOverResult gameOver = gameOverChecker.checkGameOver(turnEndResult.getUnits());
+        // Marking units as acted changes no one's alive status
+        AliveCounts aliveCounts = state.getAliveCounts();
+        GameOverChecker.GameOverResult gameOver = gameOverChecker.checkGameOver(aliveCounts);
 
         GameState tempState = new GameState(
             state.getBoard(),
@@ -134,11 +178,12 @@ public class ActionExecutor {
             state.getCurrentRound(),
             state.getPendingDeathChoice(),
             state.isPlayer1TurnEnded(),
-            state.isPlayer2TurnEnded()
-        );
+            state.isPlayer2TurnEnded(),
+            state.getNextBuffId()
+        ).primeAliveCounts(aliveCounts);
 
         if (allUnitsActed(tempState)) {
-            return turnManager.processRoundEnd(state, turnEndResult, gameOver);
+            return turnManager.processRoundEnd(state, turnEndResult, aliveCounts, gameOver);
         }
 
         PlayerId nextPlayer = getNextActingPlayer(tempState, currentPlayer);
@@ -155,8 +200,9 @@ public class ActionExecutor {
             state.getCurrentRound(),
             state.getPendingDeathChoice(),
             state.isPlayer1TurnEnded(),
-            state.isPlayer2TurnEnded()
-        );
+            state.isPlayer2TurnEnded(),
+            state.getNextBuffId()
+        ).primeAliveCounts(aliveCounts);
     }
 
     // =========================================================================
@@ -220,10 +266,10 @@ public class ActionExecutor {
         newBuffTiles.removeIf(t -> t.getPosition().equals(deathPos) && !t.isTriggered());
 
         if (choiceType == DeathChoice.ChoiceType.SPAWN_OBSTACLE) {
-            String obstacleId = "obstacle_" + System.currentTimeMillis();
+            String obstacleId = Obstacle.ID_PREFIX + deathChoice.getDeadUnitId() + "_" + state.getCurrentRound();
             newObstacles.add(new Obstacle(obstacleId, deathPos));
         } else if (choiceType == DeathChoice.ChoiceType.SPAWN_BUFF_TILE) {
-            String tileId = "bufftile_" + System.currentTimeMillis();
+            String tileId = "bufftile_" + deathChoice.getDeadUnitId() + "_" + state.getCurrentRound();
             BuffType buffType = getRandomBuffType();  // Random buff type per spec
             newBuffTiles.add(new BuffTile(tileId, deathPos, buffType, 2, false));
         }
@@ -239,7 +285,10 @@ public class ActionExecutor {
             newBuffTiles,
             newObstacles,
             state.getCurrentRound(),
-            null  // Clear pending death choice
+            null,  // Clear pending death choice
+            false,
+            false,
+            state.getNextBuffId()
         );
 
         // After death choice is resolved, determine next player
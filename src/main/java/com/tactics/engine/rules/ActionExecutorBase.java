@@ -1,9 +1,10 @@
 package com.tactics.engine.rules;
 
+import com.tactics.engine.buff.BuffFlags;
 import com.tactics.engine.buff.BuffInstance;
 import com.tactics.engine.buff.BuffType;
+import com.tactics.engine.event.GameEventLog;
 import com.tactics.engine.model.GameState;
-import com.tactics.engine.model.MinionType;
 import com.tactics.engine.model.PlayerId;
 import com.tactics.engine.model.Position;
 import com.tactics.engine.model.Unit;
@@ -23,6 +24,7 @@ import static com.tactics.engine.rules.RuleEngineHelper.*;
 public class ActionExecutorBase {
 
     protected RngProvider rngProvider;
+    private boolean eventsEnabled;
 
     public ActionExecutorBase() {
         this.rngProvider = new RngProvider();
@@ -32,6 +34,23 @@ public class ActionExecutorBase {
         this.rngProvider = rngProvider;
     }
 
+    /**
+     * Turn event reporting on for this executor. Until then events() is
+     * null without consulting GameEventLog. Only ever switched on, so a
+     * plain field is enough: the recording thread sees its own write, and
+     * other threads find no log bound either way.
+     */
+    public void enableEvents() {
+        this.eventsEnabled = true;
+    }
+
+    /**
+     * Log recording the current action, or null.
+     */
+    protected GameEventLog events() {
+        return eventsEnabled ? GameEventLog.current() : null;
+    }
+
     // =========================================================================
     // Unit Transformer Interface
     // =========================================================================
@@ -172,19 +191,6 @@ public class ActionExecutorBase {
         return newUnits;
     }
 
-    protected List<Unit> updateUnitsInList(List<Unit> units, Map<String, UnitTransformer> transformers) {
-        List<Unit> newUnits = new ArrayList<>();
-        for (Unit u : units) {
-            UnitTransformer transformer = transformers.get(u.getId());
-            if (transformer != null) {
-                newUnits.add(transformer.transform(u));
-            } else {
-                newUnits.add(u);
-            }
-        }
-        return newUnits;
-    }
-
     // =========================================================================
     // Buff Helper Methods
     // =========================================================================
@@ -222,7 +228,7 @@ public class ActionExecutorBase {
     protected int getPoisonDamage(List<BuffInstance> buffs) {
         int count = 0;
         for (BuffInstance buff : buffs) {
-            if (buff.getFlags() != null && buff.getFlags().isPoison()) {
+            if (buff.hasFlag(BuffFlags.POISON)) {
                 count++;
             }
         }
@@ -232,7 +238,7 @@ public class ActionExecutorBase {
     protected int getBleedDamage(List<BuffInstance> buffs) {
         int count = 0;
         for (BuffInstance buff : buffs) {
-            if (buff.getFlags() != null && buff.getFlags().isBleedBuff()) {
+            if (buff.hasFlag(BuffFlags.BLEED_BUFF)) {
                 count++;
             }
         }
@@ -249,35 +255,16 @@ public class ActionExecutorBase {
     // Guardian Helper
     // =========================================================================
 
+    /**
+     * Find the TANK intercepting damage aimed at the target, reporting the
+     * intercept to the event log if one is recording.
+     */
     protected Unit findGuardian(GameState state, Unit target) {
-        if (target == null) {
-            return null;
-        }
-
-        Unit guardian = null;
-
-        for (Unit u : state.getUnits()) {
-            if (!u.isAlive()) {
-                continue;
-            }
-            if (!u.getOwner().getValue().equals(target.getOwner().getValue())) {
-                continue;
-            }
-            if (u.getMinionType() != MinionType.TANK) {
-                continue;
-            }
-            if (u.getId().equals(target.getId())) {
-                continue;
-            }
-            if (!isAdjacent(u.getPosition(), target.getPosition())) {
-                continue;
-            }
-
-            if (guardian == null || u.getId().compareTo(guardian.getId()) < 0) {
-                guardian = u;
-            }
+        Unit guardian = state.getGuardianIndex().findGuardian(target);
+        GameEventLog events = events();
+        if (guardian != null && events != null) {
+            events.guardianIntercept(guardian.getId(), target.getId());
         }
-
         return guardian;
     }
 
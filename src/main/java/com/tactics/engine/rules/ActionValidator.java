@@ -2,10 +2,13 @@ package com.tactics.engine.rules;
 
 import com.tactics.engine.action.Action;
 import com.tactics.engine.action.ActionType;
+import com.tactics.engine.buff.BuffFlags;
 import com.tactics.engine.buff.BuffInstance;
+import com.tactics.engine.metrics.EngineMetrics;
 import com.tactics.engine.model.Board;
 import com.tactics.engine.model.GameState;
 import com.tactics.engine.model.Position;
+import com.tactics.engine.model.SkillState;
 import com.tactics.engine.model.Unit;
 import com.tactics.engine.model.UnitCategory;
 import com.tactics.engine.skill.SkillDefinition;
@@ -15,6 +18,7 @@ import com.tactics.engine.skill.TargetType;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -32,11 +36,39 @@ import static com.tactics.engine.rules.RuleEngineHelper.*;
  */
 public class ActionValidator {
 
+    private EngineMetrics metrics;
+
+    /**
+     * Times validateAction into the given metrics; null turns timing off.
+     */
+    public void setMetrics(EngineMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     // =========================================================================
     // Main Validation Entry Point
     // =========================================================================
 
     public ValidationResult validateAction(GameState state, Action action) {
+        return validateAction(state, action, null);
+    }
+
+    /**
+     * Validate an action, reading parent-derived data from a shared context.
+     * A null context derives everything from the state (same result either way).
+     */
+    public ValidationResult validateAction(GameState state, Action action, ParentContext parent) {
+        EngineMetrics m = metrics;
+        if (m == null) {
+            return doValidateAction(state, action, parent);
+        }
+        long start = System.nanoTime();
+        ValidationResult result = doValidateAction(state, action, parent);
+        m.recordValidate(System.nanoTime() - start, result.isValid());
+        return result;
+    }
+
+    private ValidationResult doValidateAction(GameState state, Action action, ParentContext parent) {
         // G1: Null action type
         if (action.getType() == null) {
             return new ValidationResult(false, "Invalid action type");
@@ -69,15 +101,15 @@ public class ActionValidator {
         }
 
         if (type == ActionType.MOVE) {
-            return validateMove(state, action);
+            return validateMove(state, action, parent);
         }
 
         if (type == ActionType.ATTACK) {
-            return validateAttack(state, action);
+            return validateAttack(state, action, parent);
         }
 
         if (type == ActionType.MOVE_AND_ATTACK) {
-            return validateMoveAndAttack(state, action);
+            return validateMoveAndAttack(state, action, parent);
         }
 
         // V3: DEATH_CHOICE action
@@ -94,6 +126,44 @@ public class ActionValidator {
         return new ValidationResult(false, "Invalid action type");
     }
 
+    // =========================================================================
+    // Parent Context
+    // =========================================================================
+
+    /**
+     * Precompute parent-derived data for evaluating many actions on one state.
+     */
+    public ParentContext buildParentContext(GameState state) {
+        int width = state.getBoard().getWidth();
+        int height = state.getBoard().getHeight();
+        boolean[] blocked = new boolean[width * height];
+        Map<String, Unit> unitsById = new HashMap<>();
+        Map<String, List<ParentContext.UnitSummary>> livingUnitsByOwner = new HashMap<>();
+
+        for (Unit u : state.getUnits()) {
+            unitsById.putIfAbsent(u.getId(), u);
+            if (!u.isAlive()) {
+                continue;
+            }
+            markBlocked(blocked, width, height, u.getPosition());
+            List<BuffInstance> buffs = getBuffsForUnit(state, u.getId());
+            livingUnitsByOwner.computeIfAbsent(u.getOwner().getValue(), k -> new ArrayList<>())
+                .add(new ParentContext.UnitSummary(u, buffs,
+                    getEffectiveMoveRange(u, buffs), getEffectiveAttackRange(u, buffs)));
+        }
+        for (com.tactics.engine.model.Obstacle obstacle : state.getObstacles()) {
+            markBlocked(blocked, width, height, obstacle.getPosition());
+        }
+
+        return new ParentContext(state, unitsById, blocked, width, livingUnitsByOwner);
+    }
+
+    private void markBlocked(boolean[] blocked, int width, int height, Position pos) {
+        if (pos != null && pos.getX() >= 0 && pos.getX() < width && pos.getY() >= 0 && pos.getY() < height) {
+            blocked[pos.getY() * width + pos.getX()] = true;
+        }
+    }
+
     // =========================================================================
     // Helper Methods
     // =========================================================================
@@ -134,6 +204,10 @@ public class ActionValidator {
 
     // findUnitById moved to RuleEngineHelper
 
+    private Unit findUnit(GameState state, String unitId, ParentContext parent) {
+        return parent != null ? parent.getUnit(unitId) : findUnitById(state.getUnits(), unitId);
+    }
+
     private boolean isTileOccupied(List<Unit> units, Position pos) {
         for (Unit u : units) {
             if (u.isAlive() && u.getPosition().getX() == pos.getX() &&
@@ -148,7 +222,10 @@ public class ActionValidator {
         return state.hasObstacleAt(pos);
     }
 
-    private boolean isTileBlocked(GameState state, Position pos) {
+    private boolean isTileBlocked(GameState state, Position pos, ParentContext parent) {
+        if (parent != null) {
+            return parent.isBlocked(pos);
+        }
         return isTileOccupied(state.getUnits(), pos) || hasObstacleAt(state, pos);
     }
 
@@ -160,7 +237,7 @@ public class ActionValidator {
 
     private boolean isUnitStunned(List<BuffInstance> buffs) {
         for (BuffInstance buff : buffs) {
-            if (buff.getFlags() != null && buff.getFlags().isStunned()) {
+            if (buff.hasFlag(BuffFlags.STUNNED)) {
                 return true;
             }
         }
@@ -169,7 +246,7 @@ public class ActionValidator {
 
     private boolean isUnitRooted(List<BuffInstance> buffs) {
         for (BuffInstance buff : buffs) {
-            if (buff.getFlags() != null && buff.getFlags().isRooted()) {
+            if (buff.hasFlag(BuffFlags.ROOTED)) {
                 return true;
             }
         }
@@ -178,7 +255,7 @@ public class ActionValidator {
 
     private boolean isUnitBlinded(List<BuffInstance> buffs) {
         for (BuffInstance buff : buffs) {
-            if (buff.getFlags() != null && buff.getFlags().isBlindBuff()) {
+            if (buff.hasFlag(BuffFlags.BLIND_BUFF)) {
                 return true;
             }
         }
@@ -221,7 +298,20 @@ public class ActionValidator {
      * A unit is mid-SPEED if it has a SPEED buff and actionsUsed == 1 (still has second action).
      */
     private ValidationResult validateNoMidSpeedSwitch(GameState state, Unit actingUnit,
-                                                       com.tactics.engine.model.PlayerId playerId) {
+                                                       com.tactics.engine.model.PlayerId playerId,
+                                                       ParentContext parent) {
+        if (parent != null) {
+            for (ParentContext.UnitSummary summary : parent.getLivingUnits(playerId.getValue())) {
+                Unit u = summary.getUnit();
+                if (u.getId().equals(actingUnit.getId())) continue;
+                if (hasSpeedBuff(summary.getBuffs()) && u.getActionsUsed() == 1) {
+                    return new ValidationResult(false,
+                        "Must complete SPEED actions with " + u.getId() + " before switching units");
+                }
+            }
+            return new ValidationResult(true, null);
+        }
+
         // Find if there's a unit mid-SPEED for this player
         for (Unit u : state.getUnits()) {
             if (!u.isAlive()) continue;
@@ -427,7 +517,7 @@ public class ActionValidator {
         }
 
         if (skill.getEffects().contains(SkillEffect.MOVE_SELF)) {
-            if (isTileBlocked(state, targetPos)) {
+            if (isTileBlocked(state, targetPos, null)) {
                 return new ValidationResult(false, "Target tile is blocked");
             }
         }
@@ -437,10 +527,9 @@ public class ActionValidator {
 
     private ValidationResult validateWarpBeaconTarget(GameState state, Unit actingUnit,
                                                        SkillDefinition skill, Position targetPos) {
-        Map<String, Object> skillState = actingUnit.getSkillState();
-        boolean hasBeacon = skillState != null && skillState.containsKey("beacon_x");
+        SkillState skillState = actingUnit.getSkillState();
 
-        if (!hasBeacon) {
+        if (!skillState.hasBeacon()) {
             if (targetPos == null) {
                 return new ValidationResult(false, "Target position is required to place beacon");
             }
@@ -454,17 +543,15 @@ public class ActionValidator {
                 return new ValidationResult(false, "Target is out of range (range: " + skill.getRange() + ")");
             }
 
-            if (isTileBlocked(state, targetPos)) {
+            if (isTileBlocked(state, targetPos, null)) {
                 return new ValidationResult(false, "Cannot place beacon on blocked tile");
             }
 
             return new ValidationResult(true, null);
         } else {
-            int beaconX = (Integer) skillState.get("beacon_x");
-            int beaconY = (Integer) skillState.get("beacon_y");
-            Position beaconPos = new Position(beaconX, beaconY);
+            Position beaconPos = skillState.getBeaconPosition();
 
-            if (isTileBlocked(state, beaconPos)) {
+            if (isTileBlocked(state, beaconPos, null)) {
                 return new ValidationResult(false, "Cannot teleport - beacon position is blocked");
             }
 
@@ -522,15 +609,18 @@ public class ActionValidator {
      */
     private static class UnitResolutionResult {
         final Unit unit;
+        final List<BuffInstance> buffs;
         final ValidationResult error;
 
-        UnitResolutionResult(Unit unit) {
+        UnitResolutionResult(Unit unit, List<BuffInstance> buffs) {
             this.unit = unit;
+            this.buffs = buffs;
             this.error = null;
         }
 
         UnitResolutionResult(ValidationResult error) {
             this.unit = null;
+            this.buffs = null;
             this.error = error;
         }
 
@@ -539,19 +629,21 @@ public class ActionValidator {
         }
     }
 
-    private UnitResolutionResult resolveActingUnitForMove(GameState state, Action action, Position targetPos) {
+    private UnitResolutionResult resolveActingUnitForMove(GameState state, Action action, Position targetPos,
+                                                          ParentContext parent) {
         String actingUnitId = action.getActingUnitId();
 
         if (actingUnitId != null) {
-            return resolveSpecificUnitForMove(state, action, actingUnitId, targetPos);
+            return resolveSpecificUnitForMove(state, action, actingUnitId, targetPos, parent);
         } else {
-            return resolveLegacyMover(state, action, targetPos);
+            return resolveLegacyMover(state, action, targetPos, parent);
         }
     }
 
     private UnitResolutionResult resolveSpecificUnitForMove(GameState state, Action action,
-                                                             String actingUnitId, Position targetPos) {
-        Unit unit = findUnitById(state.getUnits(), actingUnitId);
+                                                             String actingUnitId, Position targetPos,
+                                                             ParentContext parent) {
+        Unit unit = findUnit(state, actingUnitId, parent);
         ValidationResult basicCheck = validateActingUnitBasics(unit, action.getPlayerId());
         if (!basicCheck.isValid()) {
             return new UnitResolutionResult(basicCheck);
@@ -562,7 +654,7 @@ public class ActionValidator {
             return new UnitResolutionResult(new ValidationResult(false, "Unit has already acted this round"));
         }
 
-        ValidationResult speedCheck = validateNoMidSpeedSwitch(state, unit, action.getPlayerId());
+        ValidationResult speedCheck = validateNoMidSpeedSwitch(state, unit, action.getPlayerId(), parent);
         if (!speedCheck.isValid()) {
             return new UnitResolutionResult(speedCheck);
         }
@@ -572,17 +664,29 @@ public class ActionValidator {
             return new UnitResolutionResult(new ValidationResult(false, "Unit cannot reach target position"));
         }
 
-        return new UnitResolutionResult(unit);
+        return new UnitResolutionResult(unit, buffs);
     }
 
-    private UnitResolutionResult resolveLegacyMover(GameState state, Action action, Position targetPos) {
+    private UnitResolutionResult resolveLegacyMover(GameState state, Action action, Position targetPos,
+                                                    ParentContext parent) {
         List<Unit> potentialMovers = new ArrayList<>();
-        for (Unit u : state.getUnits()) {
-            if (u.isAlive() && u.getOwner().getValue().equals(action.getPlayerId().getValue())) {
-                List<BuffInstance> buffs = getBuffsForUnit(state, u.getId());
-                int effectiveMoveRange = getEffectiveMoveRange(u, buffs);
-                if (canMoveToPositionWithBuffs(u, targetPos, effectiveMoveRange)) {
-                    potentialMovers.add(u);
+        List<BuffInstance> moverBuffs = null;
+        if (parent != null) {
+            for (ParentContext.UnitSummary summary : parent.getLivingUnits(action.getPlayerId().getValue())) {
+                if (canMoveToPositionWithBuffs(summary.getUnit(), targetPos, summary.getEffectiveMoveRange())) {
+                    potentialMovers.add(summary.getUnit());
+                    moverBuffs = summary.getBuffs();
+                }
+            }
+        } else {
+            for (Unit u : state.getUnits()) {
+                if (u.isAlive() && u.getOwner().getValue().equals(action.getPlayerId().getValue())) {
+                    List<BuffInstance> buffs = getBuffsForUnit(state, u.getId());
+                    int effectiveMoveRange = getEffectiveMoveRange(u, buffs);
+                    if (canMoveToPositionWithBuffs(u, targetPos, effectiveMoveRange)) {
+                        potentialMovers.add(u);
+                        moverBuffs = buffs;
+                    }
                 }
             }
         }
@@ -595,22 +699,24 @@ public class ActionValidator {
             return new UnitResolutionResult(new ValidationResult(false, "Ambiguous move"));
         }
 
-        return new UnitResolutionResult(potentialMovers.get(0));
+        return new UnitResolutionResult(potentialMovers.get(0), moverBuffs);
     }
 
-    private UnitResolutionResult resolveActingUnitForAttack(GameState state, Action action, Position targetPos) {
+    private UnitResolutionResult resolveActingUnitForAttack(GameState state, Action action, Position targetPos,
+                                                            ParentContext parent) {
         String actingUnitId = action.getActingUnitId();
 
         if (actingUnitId != null) {
-            return resolveSpecificUnitForAttack(state, action, actingUnitId, targetPos);
+            return resolveSpecificUnitForAttack(state, action, actingUnitId, targetPos, parent);
         } else {
-            return resolveLegacyAttacker(state, action, targetPos);
+            return resolveLegacyAttacker(state, action, targetPos, parent);
         }
     }
 
     private UnitResolutionResult resolveSpecificUnitForAttack(GameState state, Action action,
-                                                               String actingUnitId, Position targetPos) {
-        Unit unit = findUnitById(state.getUnits(), actingUnitId);
+                                                               String actingUnitId, Position targetPos,
+                                                               ParentContext parent) {
+        Unit unit = findUnit(state, actingUnitId, parent);
         ValidationResult basicCheck = validateActingUnitBasics(unit, action.getPlayerId());
         if (!basicCheck.isValid()) {
             return new UnitResolutionResult(basicCheck);
@@ -621,7 +727,7 @@ public class ActionValidator {
             return new UnitResolutionResult(new ValidationResult(false, "Unit has already acted this round"));
         }
 
-        ValidationResult speedCheck = validateNoMidSpeedSwitch(state, unit, action.getPlayerId());
+        ValidationResult speedCheck = validateNoMidSpeedSwitch(state, unit, action.getPlayerId(), parent);
         if (!speedCheck.isValid()) {
             return new UnitResolutionResult(speedCheck);
         }
@@ -631,17 +737,30 @@ public class ActionValidator {
             return new UnitResolutionResult(new ValidationResult(false, "Unit cannot attack target position"));
         }
 
-        return new UnitResolutionResult(unit);
+        return new UnitResolutionResult(unit, buffs);
     }
 
-    private UnitResolutionResult resolveLegacyAttacker(GameState state, Action action, Position targetPos) {
+    private UnitResolutionResult resolveLegacyAttacker(GameState state, Action action, Position targetPos,
+                                                       ParentContext parent) {
         List<Unit> potentialAttackers = new ArrayList<>();
-        for (Unit u : state.getUnits()) {
-            if (u.isAlive() && u.getOwner().getValue().equals(action.getPlayerId().getValue())) {
-                List<BuffInstance> buffs = getBuffsForUnit(state, u.getId());
-                int effectiveAttackRange = getEffectiveAttackRange(u, buffs);
-                if (canAttackFromPositionWithBuffs(u.getPosition(), targetPos, effectiveAttackRange)) {
+        List<BuffInstance> attackerBuffs = null;
+        if (parent != null) {
+            for (ParentContext.UnitSummary summary : parent.getLivingUnits(action.getPlayerId().getValue())) {
+                Unit u = summary.getUnit();
+                if (canAttackFromPositionWithBuffs(u.getPosition(), targetPos, summary.getEffectiveAttackRange())) {
                     potentialAttackers.add(u);
+                    attackerBuffs = summary.getBuffs();
+                }
+            }
+        } else {
+            for (Unit u : state.getUnits()) {
+                if (u.isAlive() && u.getOwner().getValue().equals(action.getPlayerId().getValue())) {
+                    List<BuffInstance> buffs = getBuffsForUnit(state, u.getId());
+                    int effectiveAttackRange = getEffectiveAttackRange(u, buffs);
+                    if (canAttackFromPositionWithBuffs(u.getPosition(), targetPos, effectiveAttackRange)) {
+                        potentialAttackers.add(u);
+                        attackerBuffs = buffs;
+                    }
                 }
             }
         }
@@ -654,7 +773,7 @@ public class ActionValidator {
             return new UnitResolutionResult(new ValidationResult(false, "Ambiguous attacker"));
         }
 
-        return new UnitResolutionResult(potentialAttackers.get(0));
+        return new UnitResolutionResult(potentialAttackers.get(0), attackerBuffs);
     }
 
     private ValidationResult validateActingUnitBasics(Unit unit, com.tactics.engine.model.PlayerId playerId) {
@@ -705,7 +824,7 @@ public class ActionValidator {
 
     private boolean isUnitInvulnerable(List<BuffInstance> buffs) {
         for (BuffInstance buff : buffs) {
-            if (buff.getFlags() != null && buff.getFlags().isInvulnerableBuff()) {
+            if (buff.hasFlag(BuffFlags.INVULNERABLE_BUFF)) {
                 return true;
             }
         }
@@ -735,45 +854,50 @@ public class ActionValidator {
     // V1/V2 Action Validation Methods
     // =========================================================================
 
-    private ValidationResult validateMove(GameState state, Action action) {
+    private ValidationResult validateMove(GameState state, Action action, ParentContext parent) {
         // Basic input validation
         if (action.getTargetUnitId() != null) {
             return new ValidationResult(false, "MOVE must not specify targetUnitId");
         }
 
         Position targetPos = action.getTargetPosition();
-        ValidationResult posCheck = validateMoveTargetPosition(state, targetPos);
+        ValidationResult posCheck = validateMoveTargetPosition(state, targetPos, parent);
         if (!posCheck.isValid()) {
             return posCheck;
         }
 
         // Resolve the acting unit
-        UnitResolutionResult resolution = resolveActingUnitForMove(state, action, targetPos);
+        UnitResolutionResult resolution = resolveActingUnitForMove(state, action, targetPos, parent);
         if (resolution.hasError()) {
             return resolution.error;
         }
 
         Unit mover = resolution.unit;
-        List<BuffInstance> moverBuffs = getBuffsForUnit(state, mover.getId());
+        List<BuffInstance> moverBuffs = resolution.buffs;
 
         // Validate buff state
-        return validateMoveBuffState(mover, moverBuffs);
+        ValidationResult buffCheck = validateMoveBuffState(mover, moverBuffs);
+        if (!buffCheck.isValid()) {
+            return buffCheck;
+        }
+
+        return ValidationResult.valid(new ActionContext(mover, moverBuffs));
     }
 
-    private ValidationResult validateMoveTargetPosition(GameState state, Position targetPos) {
+    private ValidationResult validateMoveTargetPosition(GameState state, Position targetPos, ParentContext parent) {
         if (targetPos == null) {
             return new ValidationResult(false, "Target position is required for MOVE");
         }
         if (!isInBounds(targetPos, state.getBoard())) {
             return new ValidationResult(false, "Target position is outside the board");
         }
-        if (isTileBlocked(state, targetPos)) {
+        if (isTileBlocked(state, targetPos, parent)) {
             return new ValidationResult(false, "Target tile is occupied");
         }
         return new ValidationResult(true, null);
     }
 
-    private ValidationResult validateAttack(GameState state, Action action) {
+    private ValidationResult validateAttack(GameState state, Action action, ParentContext parent) {
         if (action.getTargetPosition() == null) {
             return new ValidationResult(false, "Target position is required for ATTACK");
         }
@@ -788,13 +912,13 @@ public class ActionValidator {
         }
 
         // Resolve the attacking unit
-        UnitResolutionResult resolution = resolveActingUnitForAttack(state, action, targetPos);
+        UnitResolutionResult resolution = resolveActingUnitForAttack(state, action, targetPos, parent);
         if (resolution.hasError()) {
             return resolution.error;
         }
 
         Unit attacker = resolution.unit;
-        List<BuffInstance> attackerBuffs = getBuffsForUnit(state, attacker.getId());
+        List<BuffInstance> attackerBuffs = resolution.buffs;
 
         // Validate buff state
         ValidationResult buffCheck = validateAttackBuffState(attacker, attackerBuffs);
@@ -804,13 +928,18 @@ public class ActionValidator {
 
         // Check invisible target
         if (!targetResult.isObstacle) {
-            Unit targetUnit = findUnitById(state.getUnits(), targetUnitId);
+            Unit targetUnit = findUnit(state, targetUnitId, parent);
             if (targetUnit != null && targetUnit.isInvisible()) {
                 return new ValidationResult(false, "Cannot target invisible unit");
             }
         }
 
-        return new ValidationResult(true, null);
+        // applyAttack always picks the first attacker in range, so the resolved
+        // unit is only reusable when it came from the (unambiguous) legacy scan
+        if (action.getActingUnitId() != null) {
+            return new ValidationResult(true, null);
+        }
+        return ValidationResult.valid(new ActionContext(attacker, attackerBuffs));
     }
 
     /**
@@ -895,7 +1024,7 @@ public class ActionValidator {
         return new ValidationResult(true, null);
     }
 
-    private ValidationResult validateMoveAndAttack(GameState state, Action action) {
+    private ValidationResult validateMoveAndAttack(GameState state, Action action, ParentContext parent) {
         // Validate basic input
         ValidationResult inputCheck = validateMoveAndAttackInput(action);
         if (!inputCheck.isValid()) {
@@ -906,26 +1035,26 @@ public class ActionValidator {
         String targetUnitId = action.getTargetUnitId();
 
         // Validate move target position
-        ValidationResult posCheck = validateMoveTargetPosition(state, targetPos);
+        ValidationResult posCheck = validateMoveTargetPosition(state, targetPos, parent);
         if (!posCheck.isValid()) {
             return posCheck;
         }
 
         // Validate target unit for attack
-        Unit targetUnit = findUnitById(state.getUnits(), targetUnitId);
+        Unit targetUnit = findUnit(state, targetUnitId, parent);
         ValidationResult targetCheck = validateMoveAndAttackTarget(targetUnit, action.getPlayerId());
         if (!targetCheck.isValid()) {
             return targetCheck;
         }
 
         // Resolve the mover
-        UnitResolutionResult resolution = resolveLegacyMover(state, action, targetPos);
+        UnitResolutionResult resolution = resolveLegacyMover(state, action, targetPos, parent);
         if (resolution.hasError()) {
             return resolution.error;
         }
 
         Unit mover = resolution.unit;
-        List<BuffInstance> moverBuffs = getBuffsForUnit(state, mover.getId());
+        List<BuffInstance> moverBuffs = resolution.buffs;
 
         // Validate buff state
         ValidationResult buffCheck = validateMoveAndAttackBuffState(mover, moverBuffs);
@@ -945,7 +1074,13 @@ public class ActionValidator {
         }
 
         // Check for ambiguous attacker after move
-        return validateNoAmbiguousAttackerAfterMove(state, action, mover, targetPos, targetUnit);
+        ValidationResult ambiguityCheck = validateNoAmbiguousAttackerAfterMove(
+            state, action, mover, targetPos, targetUnit, parent);
+        if (!ambiguityCheck.isValid()) {
+            return ambiguityCheck;
+        }
+
+        return ValidationResult.valid(new ActionContext(mover, moverBuffs));
     }
 
     private ValidationResult validateMoveAndAttackInput(Action action) {
@@ -981,8 +1116,22 @@ public class ActionValidator {
     }
 
     private ValidationResult validateNoAmbiguousAttackerAfterMove(GameState state, Action action,
-                                                                   Unit mover, Position targetPos, Unit targetUnit) {
+                                                                   Unit mover, Position targetPos, Unit targetUnit,
+                                                                   ParentContext parent) {
         int attackerCountAfterMove = 0;
+        if (parent != null) {
+            for (ParentContext.UnitSummary summary : parent.getLivingUnits(action.getPlayerId().getValue())) {
+                Unit u = summary.getUnit();
+                Position unitPos = u.getId().equals(mover.getId()) ? targetPos : u.getPosition();
+                if (canAttackFromPositionWithBuffs(unitPos, targetUnit.getPosition(), summary.getEffectiveAttackRange())) {
+                    attackerCountAfterMove++;
+                }
+            }
+            return attackerCountAfterMove > 1
+                ? new ValidationResult(false, "Ambiguous attacker after movement")
+                : new ValidationResult(true, null);
+        }
+
         for (Unit u : state.getUnits()) {
             if (u.isAlive() && u.getOwner().getValue().equals(action.getPlayerId().getValue())) {
                 Position unitPos = u.getId().equals(mover.getId()) ? targetPos : u.getPosition();
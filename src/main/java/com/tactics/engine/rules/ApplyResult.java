@@ -0,0 +1,44 @@
+package com.tactics.engine.rules;
+
+import com.tactics.engine.model.GameState;
+
+/**
+ * Result of RuleEngine.tryApply: either the validation error or the new state.
+ */
+public class ApplyResult {
+
+    private final ValidationResult validation;
+    private final GameState newState;
+
+    private ApplyResult(ValidationResult validation, GameState newState) {
+        this.validation = validation;
+        this.newState = newState;
+    }
+
+    public static ApplyResult applied(ValidationResult validation, GameState newState) {
+        return new ApplyResult(validation, newState);
+    }
+
+    public static ApplyResult rejected(ValidationResult validation) {
+        return new ApplyResult(validation, null);
+    }
+
+    public boolean isValid() {
+        return validation.isValid();
+    }
+
+    public ValidationResult getValidation() {
+        return validation;
+    }
+
+    public String getErrorMessage() {
+        return validation.getErrorMessage();
+    }
+
+    /**
+     * New game state after the action, or null if validation failed.
+     */
+    public GameState getNewState() {
+        return newState;
+    }
+}
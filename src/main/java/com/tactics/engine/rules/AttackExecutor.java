@@ -1,13 +1,17 @@
 package com.tactics.engine.rules;
 
 import com.tactics.engine.action.Action;
+import com.tactics.engine.buff.BuffFlags;
 import com.tactics.engine.buff.BuffInstance;
+import com.tactics.engine.event.GameEventLog;
+import com.tactics.engine.model.AliveCounts;
 import com.tactics.engine.model.DeathChoice;
 import com.tactics.engine.model.GameState;
 import com.tactics.engine.model.Obstacle;
 import com.tactics.engine.model.PlayerId;
 import com.tactics.engine.model.Position;
 import com.tactics.engine.model.Unit;
+import com.tactics.engine.skill.UnitListUpdate;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -40,6 +44,13 @@ public class AttackExecutor extends ActionExecutorBase {
      * Apply an ATTACK action.
      */
     public GameState applyAttack(GameState state, Action action) {
+        return applyAttack(state, action, null);
+    }
+
+    /**
+     * Apply an ATTACK action, reusing the attacker resolved during validation if given.
+     */
+    public GameState applyAttack(GameState state, Action action, ActionContext context) {
         String targetUnitId = action.getTargetUnitId();
         Position targetPos = action.getTargetPosition();
 
@@ -47,14 +58,19 @@ public class AttackExecutor extends ActionExecutorBase {
 
         Unit attacker = null;
         List<BuffInstance> attackerBuffs = null;
-        for (Unit u : state.getUnits()) {
-            if (u.isAlive() && u.getOwner().getValue().equals(action.getPlayerId().getValue())) {
-                List<BuffInstance> buffs = getBuffsForUnit(state, u.getId());
-                int effectiveAttackRange = getEffectiveAttackRange(u, buffs);
-                if (canAttackFromPositionWithBuffs(u.getPosition(), targetPos, effectiveAttackRange)) {
-                    attacker = u;
-                    attackerBuffs = buffs;
-                    break;
+        if (context != null) {
+            attacker = context.getActingUnit();
+            attackerBuffs = context.getActingUnitBuffs();
+        } else {
+            for (Unit u : state.getUnits()) {
+                if (u.isAlive() && u.getOwner().getValue().equals(action.getPlayerId().getValue())) {
+                    List<BuffInstance> buffs = getBuffsForUnit(state, u.getId());
+                    int effectiveAttackRange = getEffectiveAttackRange(u, buffs);
+                    if (canAttackFromPositionWithBuffs(u.getPosition(), targetPos, effectiveAttackRange)) {
+                        attacker = u;
+                        attackerBuffs = buffs;
+                        break;
+                    }
                 }
             }
         }
@@ -104,33 +120,24 @@ public class AttackExecutor extends ActionExecutorBase {
         int totalDamage = challengedAttackingNonDuelist ? baseDamage / 2 : baseDamage;
 
         final boolean hasBonusCharges = attacker.getBonusAttackCharges() > 0;
-        Map<String, UnitTransformer> transformers = new HashMap<>();
-        transformers.put(damageReceiverId, u -> u.withDamage(totalDamage));
-        if (!attacker.getId().equals(damageReceiverId)) {
-            if (attacker.isInvisible() && hasBonusCharges) {
-                transformers.put(attacker.getId(), u -> u.withActionUsed().withInvisible(false).withBonusAttackConsumed());
-            } else if (attacker.isInvisible()) {
-                transformers.put(attacker.getId(), u -> u.withActionUsed().withInvisible(false));
-            } else if (hasBonusCharges) {
-                transformers.put(attacker.getId(), u -> u.withActionUsed().withBonusAttackConsumed());
-            } else {
-                transformers.put(attacker.getId(), Unit::withActionUsed);
+        // Invisibility is only broken by attacking someone else
+        final boolean revealsAttacker = attacker.isInvisible() && !attacker.getId().equals(damageReceiverId);
+        UnitListUpdate update = new UnitListUpdate(state, events());
+        update.update(damageReceiverId, u -> u.withDamage(totalDamage));
+        update.update(attacker.getId(), u -> {
+            Unit used = u.withActionUsed();
+            if (revealsAttacker) {
+                used = used.withInvisible(false);
             }
-        } else {
-            if (hasBonusCharges) {
-                transformers.put(damageReceiverId, u -> u.withDamage(totalDamage).withActionUsed().withBonusAttackConsumed());
-            } else {
-                transformers.put(damageReceiverId, u -> u.withDamage(totalDamage).withActionUsed());
-            }
-        }
-        List<Unit> newUnits = updateUnitsInList(state.getUnits(), transformers);
+            return hasBonusCharges ? used.withBonusAttackConsumed() : used;
+        });
 
         // DEATH_MARK heal on kill: if target died and had death mark, heal the source 2 HP
         if (deathMarkSource != null) {
-            Unit targetAfterDamage = findUnitById(newUnits, damageReceiverId);
-            if (targetAfterDamage != null && !targetAfterDamage.isAlive()) {
+            int receiverIndex = update.indexOf(damageReceiverId);
+            if (receiverIndex >= 0 && !update.get(receiverIndex).isAlive()) {
                 // Target died, heal the death mark source 2 HP
-                newUnits = updateUnitInList(newUnits, deathMarkSource, u -> u.withHpBonus(2));
+                update.update(deathMarkSource, u -> u.withHpBonus(2));
             }
         }
 
@@ -142,10 +149,12 @@ public class AttackExecutor extends ActionExecutorBase {
                 counterTarget = attacker;
             }
             String counterTargetId = counterTarget.getId();
-            newUnits = updateUnitInList(newUnits, counterTargetId, u -> u.withDamage(2));
+            update.update(counterTargetId, u -> u.withDamage(2));
         }
 
-        GameOverChecker.GameOverResult gameOver = gameOverChecker.checkGameOver(newUnits, action.getPlayerId());
+        List<Unit> newUnits = update.commit();
+        GameOverChecker.GameOverResult gameOver = gameOverChecker.checkGameOver(
+            update.getAliveCounts(), action.getPlayerId());
 
         // Check for minion death - only if game is not over (hero death takes priority)
         DeathChoice deathChoice = null;
@@ -166,8 +175,9 @@ public class AttackExecutor extends ActionExecutorBase {
             state.getCurrentRound(),
             deathChoice != null ? deathChoice : state.getPendingDeathChoice(),
             state.isPlayer1TurnEnded(),
-            state.isPlayer2TurnEnded()
-        );
+            state.isPlayer2TurnEnded(),
+            state.getNextBuffId()
+        ).primeAliveCounts(update.getAliveCounts());
 
         // Unit-by-unit turn system: switch player after action if not game over and no death choice
         if (!gameOver.isGameOver() && deathChoice == null) {
@@ -242,19 +252,31 @@ public class AttackExecutor extends ActionExecutorBase {
      * Apply a MOVE_AND_ATTACK action.
      */
     public GameState applyMoveAndAttack(GameState state, Action action) {
+        return applyMoveAndAttack(state, action, null);
+    }
+
+    /**
+     * Apply a MOVE_AND_ATTACK action, reusing the mover resolved during validation if given.
+     */
+    public GameState applyMoveAndAttack(GameState state, Action action, ActionContext context) {
         Position targetPos = action.getTargetPosition();
         String targetUnitId = action.getTargetUnitId();
 
         Unit mover = null;
         List<BuffInstance> moverBuffs = null;
-        for (Unit u : state.getUnits()) {
-            if (u.isAlive() && u.getOwner().getValue().equals(action.getPlayerId().getValue())) {
-                List<BuffInstance> buffs = getBuffsForUnit(state, u.getId());
-                int effectiveMoveRange = getEffectiveMoveRange(u, buffs);
-                if (canMoveToPositionWithBuffs(u, targetPos, effectiveMoveRange)) {
-                    mover = u;
-                    moverBuffs = buffs;
-                    break;
+        if (context != null) {
+            mover = context.getActingUnit();
+            moverBuffs = context.getActingUnitBuffs();
+        } else {
+            for (Unit u : state.getUnits()) {
+                if (u.isAlive() && u.getOwner().getValue().equals(action.getPlayerId().getValue())) {
+                    List<BuffInstance> buffs = getBuffsForUnit(state, u.getId());
+                    int effectiveMoveRange = getEffectiveMoveRange(u, buffs);
+                    if (canMoveToPositionWithBuffs(u, targetPos, effectiveMoveRange)) {
+                        mover = u;
+                        moverBuffs = buffs;
+                        break;
+                    }
                 }
             }
         }
@@ -275,6 +297,8 @@ public class AttackExecutor extends ActionExecutorBase {
 
         final boolean hasBonusCharges = mover.getBonusAttackCharges() > 0;
         List<Unit> newUnits = new ArrayList<>();
+        AliveCounts aliveCounts = state.getAliveCounts();
+        GameEventLog events = events();
         Unit movedUnit = null;
         for (Unit u : state.getUnits()) {
             if (u.getId().equals(mover.getId())) {
@@ -285,22 +309,29 @@ public class AttackExecutor extends ActionExecutorBase {
                 if (hasBonusCharges) {
                     movedUnit = movedUnit.withBonusAttackConsumed();
                 }
+                aliveCounts = aliveCounts.replace(u, movedUnit);
                 newUnits.add(movedUnit);
             } else if (u.getId().equals(damageReceiverId)) {
-                newUnits.add(u.withDamage(totalDamage));
+                Unit damaged = u.withDamage(totalDamage);
+                aliveCounts = aliveCounts.replace(u, damaged);
+                if (events != null) {
+                    events.unitChanged(u, damaged);
+                }
+                newUnits.add(damaged);
             } else {
                 newUnits.add(u);
             }
         }
 
         MoveExecutor.BuffTileTriggerResult tileResult = moveExecutor.checkBuffTileTrigger(
-            state, movedUnit, targetPos, newUnits, state.getUnitBuffs());
+            state, movedUnit, targetPos, newUnits, state.getUnitBuffs(), aliveCounts);
 
         TurnManager.TurnEndResult turnEndResult = turnManager.processTurnEnd(
             tileResult.getUnits(), tileResult.getUnitBuffs());
 
+        // processTurnEnd passes units through unchanged, so the tile result's counts still hold
         GameOverChecker.GameOverResult gameOver = gameOverChecker.checkGameOver(
-            turnEndResult.getUnits(), action.getPlayerId());
+            tileResult.getAliveCounts(), action.getPlayerId());
 
         // Check for minion death - only if game is not over (hero death takes priority)
         DeathChoice deathChoice = null;
@@ -320,11 +351,12 @@ public class AttackExecutor extends ActionExecutorBase {
             state.getCurrentRound(),
             deathChoice != null ? deathChoice : state.getPendingDeathChoice(),
             state.isPlayer1TurnEnded(),
-            state.isPlayer2TurnEnded()
-        );
+            state.isPlayer2TurnEnded(),
+            tileResult.getNextBuffId()
+        ).primeAliveCounts(tileResult.getAliveCounts());
 
         if (allUnitsActed(tempState)) {
-            return turnManager.processRoundEnd(state, turnEndResult, gameOver);
+            return turnManager.processRoundEnd(state, turnEndResult, tileResult.getAliveCounts(), gameOver);
         }
 
         PlayerId nextPlayer = getNextActingPlayer(tempState, state.getCurrentPlayer());
@@ -341,8 +373,9 @@ public class AttackExecutor extends ActionExecutorBase {
             state.getCurrentRound(),
             deathChoice != null ? deathChoice : state.getPendingDeathChoice(),
             state.isPlayer1TurnEnded(),
-            state.isPlayer2TurnEnded()
-        );
+            state.isPlayer2TurnEnded(),
+            tileResult.getNextBuffId()
+        ).primeAliveCounts(tileResult.getAliveCounts());
     }
 
     // =========================================================================
@@ -366,6 +399,11 @@ public class AttackExecutor extends ActionExecutorBase {
      * Apply FEINT dodge: attack misses, counter-attack for 2 damage, consume FEINT buff.
      */
     private GameState applyFeintDodge(GameState state, Action action, Unit attacker, Unit target) {
+        GameEventLog events = events();
+        if (events != null) {
+            events.feintDodge(target.getId(), attacker.getId());
+        }
+
         // Attack misses - no damage to target
         // Counter-attack: target deals 2 damage to attacker (or guardian)
         Unit counterTarget = findGuardian(state, attacker);
@@ -375,20 +413,17 @@ public class AttackExecutor extends ActionExecutorBase {
         String counterTargetId = counterTarget.getId();
 
         // Apply counter damage and mark attacker as used action
-        Map<String, UnitTransformer> transformers = new HashMap<>();
-        transformers.put(counterTargetId, u -> u.withDamage(2));
-        if (!attacker.getId().equals(counterTargetId)) {
-            transformers.put(attacker.getId(), Unit::withActionUsed);
-        } else {
-            transformers.put(counterTargetId, u -> u.withDamage(2).withActionUsed());
-        }
-        List<Unit> newUnits = updateUnitsInList(state.getUnits(), transformers);
+        UnitListUpdate update = new UnitListUpdate(state, events());
+        update.update(counterTargetId, u -> u.withDamage(2));
+        update.update(attacker.getId(), Unit::withActionUsed);
+        List<Unit> newUnits = update.commit();
 
         // Remove FEINT buff from target (consumed after dodge)
         Map<String, List<BuffInstance>> newUnitBuffs = removeBuffFromUnit(
-            state.getUnitBuffs(), target.getId(), buff -> buff.getFlags() != null && buff.getFlags().isFeintBuff());
+            state.getUnitBuffs(), target.getId(), buff -> buff.hasFlag(BuffFlags.FEINT_BUFF));
 
-        GameOverChecker.GameOverResult gameOver = gameOverChecker.checkGameOver(newUnits, action.getPlayerId());
+        GameOverChecker.GameOverResult gameOver = gameOverChecker.checkGameOver(
+            update.getAliveCounts(), action.getPlayerId());
 
         DeathChoice deathChoice = null;
         if (!gameOver.isGameOver()) {
@@ -407,8 +442,9 @@ public class AttackExecutor extends ActionExecutorBase {
             state.getCurrentRound(),
             deathChoice != null ? deathChoice : state.getPendingDeathChoice(),
             state.isPlayer1TurnEnded(),
-            state.isPlayer2TurnEnded()
-        );
+            state.isPlayer2TurnEnded(),
+            state.getNextBuffId()
+        ).primeAliveCounts(update.getAliveCounts());
 
         // Unit-by-unit turn system: switch player after action if not game over and no death choice
         if (!gameOver.isGameOver() && deathChoice == null) {
@@ -446,7 +482,8 @@ public class AttackExecutor extends ActionExecutorBase {
             state.getCurrentRound(),
             state.getPendingDeathChoice(),
             state.isPlayer1TurnEnded(),
-            state.isPlayer2TurnEnded()
+            state.isPlayer2TurnEnded(),
+            state.getNextBuffId()
         );
 
         // Unit-by-unit turn system: switch player after action
@@ -0,0 +1,137 @@
+package com.tactics.engine.rules;
+
+import com.tactics.engine.action.Action;
+import com.tactics.engine.model.GameState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Evaluates many candidate actions against one parent state.
+ *
+ * The parent-derived data (unit index, occupancy mask, per-owner buff
+ * summaries) is built once via ActionValidator.buildParentContext and shared
+ * by every candidate. Each candidate then goes through the same
+ * validate + apply path as RuleEngine.tryApply.
+ *
+ * With a ForkJoinPool the candidates are split across workers. Candidates
+ * that consume randomness (buff tiles, death choice, some skills) draw from
+ * the shared RngProvider in scheduling order, so only the sequential path
+ * is reproducible for those.
+ */
+public class BatchEvaluator {
+
+    /**
+     * Score reported for candidates that fail validation.
+     */
+    public static final int INVALID_SCORE = Integer.MIN_VALUE;
+
+    // Below this many candidates per task the work is not split further
+    private static final int SEQUENTIAL_THRESHOLD = 8;
+
+    private final ActionValidator actionValidator;
+    private final ActionExecutor actionExecutor;
+
+    public BatchEvaluator(ActionValidator actionValidator, ActionExecutor actionExecutor) {
+        this.actionValidator = actionValidator;
+        this.actionExecutor = actionExecutor;
+    }
+
+    // =========================================================================
+    // Child States
+    // =========================================================================
+
+    /**
+     * Evaluate every candidate, returning results in candidate order.
+     *
+     * @param parent the shared parent state
+     * @param candidates actions to evaluate
+     * @param pool pool to fan out on, or null to run on the calling thread
+     */
+    public List<ApplyResult> applyAll(GameState parent, List<Action> candidates, ForkJoinPool pool) {
+        ParentContext context = actionValidator.buildParentContext(parent);
+        ApplyResult[] results = new ApplyResult[candidates.size()];
+        run(candidates.size(), pool, i -> results[i] = evaluate(context, candidates.get(i)));
+        return new ArrayList<>(Arrays.asList(results));
+    }
+
+    // =========================================================================
+    // Score Vectors
+    // =========================================================================
+
+    /**
+     * Evaluate every candidate and score the resulting child state.
+     * Child states are dropped as soon as they are scored.
+     *
+     * @return one score per candidate, INVALID_SCORE where validation failed
+     */
+    public int[] scoreAll(GameState parent, List<Action> candidates,
+                          ToIntFunction<GameState> scorer, ForkJoinPool pool) {
+        ParentContext context = actionValidator.buildParentContext(parent);
+        int[] scores = new int[candidates.size()];
+        run(candidates.size(), pool, i -> {
+            ApplyResult result = evaluate(context, candidates.get(i));
+            scores[i] = result.isValid() ? scorer.applyAsInt(result.getNewState()) : INVALID_SCORE;
+        });
+        return scores;
+    }
+
+    // =========================================================================
+    // Internals
+    // =========================================================================
+
+    private ApplyResult evaluate(ParentContext context, Action action) {
+        GameState parent = context.getState();
+        ValidationResult validation = actionValidator.validateAction(parent, action, context);
+        if (!validation.isValid()) {
+            return ApplyResult.rejected(validation);
+        }
+        GameState child = actionExecutor.applyAction(parent, action, validation.getContext());
+        return ApplyResult.applied(validation, child);
+    }
+
+    private interface IndexTask {
+        void run(int index);
+    }
+
+    private void run(int count, ForkJoinPool pool, IndexTask task) {
+        if (pool == null || count <= SEQUENTIAL_THRESHOLD) {
+            for (int i = 0; i < count; i++) {
+                task.run(i);
+            }
+            return;
+        }
+        pool.invoke(new RangeTask(0, count, task));
+    }
+
+    /**
+     * Splits [from, to) in halves until it is small enough to run directly.
+     */
+    private static class RangeTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final IndexTask task;
+
+        RangeTask(int from, int to, IndexTask task) {
+            this.from = from;
+            this.to = to;
+            this.task = task;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    task.run(i);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, mid, task), new RangeTask(mid, to, task));
+        }
+    }
+}
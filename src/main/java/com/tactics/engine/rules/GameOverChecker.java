@@ -1,5 +1,6 @@
 package com.tactics.engine.rules;
 
+import com.tactics.engine.model.AliveCounts;
 import com.tactics.engine.model.DeathChoice;
 import com.tactics.engine.model.PlayerId;
 import com.tactics.engine.model.Unit;
@@ -37,6 +38,8 @@ public class GameOverChecker {
         }
     }
 
+    private static final GameOverResult NOT_OVER = new GameOverResult(false, null);
+
     /**
      * Check if the game is over (without active player info for ties).
      */
@@ -123,6 +126,44 @@ public class GameOverChecker {
         return new GameOverResult(false, null);
     }
 
+    /**
+     * Check if the game is over from alive counts (without active player info for ties).
+     */
+    public GameOverResult checkGameOver(AliveCounts counts) {
+        return checkGameOver(counts, null);
+    }
+
+    /**
+     * Check if the game is over from incrementally kept alive counts.
+     * Same rules and tie-break as checkGameOver(List, PlayerId), in O(1).
+     *
+     * @param counts Alive counts of the units to check
+     * @param activePlayer Active player (for tie-breaking in simultaneous death)
+     * @return GameOverResult with isGameOver and winner
+     */
+    public GameOverResult checkGameOver(AliveCounts counts, PlayerId activePlayer) {
+        boolean p1Lost;
+        boolean p2Lost;
+        if (counts.hasHero(PlayerId.PLAYER_1) && counts.hasHero(PlayerId.PLAYER_2)) {
+            p1Lost = !counts.hasLivingHero(PlayerId.PLAYER_1);
+            p2Lost = !counts.hasLivingHero(PlayerId.PLAYER_2);
+        } else {
+            p1Lost = !counts.hasLivingUnit(PlayerId.PLAYER_1);
+            p2Lost = !counts.hasLivingUnit(PlayerId.PLAYER_2);
+        }
+
+        if (p1Lost && p2Lost) {
+            return new GameOverResult(true, activePlayer != null ? activePlayer : PlayerId.PLAYER_1);
+        }
+        if (p1Lost) {
+            return new GameOverResult(true, PlayerId.PLAYER_2);
+        }
+        if (p2Lost) {
+            return new GameOverResult(true, PlayerId.PLAYER_1);
+        }
+        return NOT_OVER;
+    }
+
     /**
      * Check if any minion died in the units list (HP <= 0 but was created alive).
      * Returns a DeathChoice for the first dead minion found (by ID order for determinism).
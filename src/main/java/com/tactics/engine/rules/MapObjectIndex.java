@@ -0,0 +1,134 @@
+package com.tactics.engine.rules;
+
+import com.tactics.engine.model.Board;
+import com.tactics.engine.model.BuffTile;
+import com.tactics.engine.model.Obstacle;
+import com.tactics.engine.model.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Obstacles and buff tiles of one round end, indexed by board cell.
+ *
+ * System deaths apply the overwrite rule (V3 Spec Section 2.4): the map
+ * object on the dead minion's cell is removed before a new one spawns.
+ * The index finds that object without scanning both lists. List order is
+ * kept and spawned objects are appended, as with the plain lists.
+ *
+ * One instance per round end; not thread-safe.
+ */
+final class MapObjectIndex {
+
+    private static final int NONE = -1;
+    private static final int SCAN = -2;   // Several objects share the cell: fall back to a scan
+
+    private final int width;
+    private final int height;
+    private final List<Obstacle> obstacles;   // Removed entries are null until copied out
+    private final List<BuffTile> buffTiles;
+    private final int[] obstacleAt;           // Cell -> list index, NONE or SCAN
+    private final int[] buffTileAt;           // Cell -> list index of the untriggered tile, NONE or SCAN
+
+    MapObjectIndex(Board board, List<Obstacle> obstacles, List<BuffTile> buffTiles) {
+        this.width = board != null ? board.getWidth() : 0;
+        this.height = board != null ? board.getHeight() : 0;
+        this.obstacles = new ArrayList<>(obstacles);
+        this.buffTiles = new ArrayList<>(buffTiles);
+        this.obstacleAt = new int[width * height];
+        this.buffTileAt = new int[width * height];
+        Arrays.fill(obstacleAt, NONE);
+        Arrays.fill(buffTileAt, NONE);
+        for (int i = 0; i < this.obstacles.size(); i++) {
+            index(obstacleAt, this.obstacles.get(i).getPosition(), i);
+        }
+        for (int i = 0; i < this.buffTiles.size(); i++) {
+            if (!this.buffTiles.get(i).isTriggered()) {
+                index(buffTileAt, this.buffTiles.get(i).getPosition(), i);
+            }
+        }
+    }
+
+    private int cellOf(Position pos) {
+        if (pos == null || pos.getX() < 0 || pos.getX() >= width || pos.getY() < 0 || pos.getY() >= height) {
+            return NONE;
+        }
+        return pos.getY() * width + pos.getX();
+    }
+
+    private void index(int[] cells, Position pos, int listIndex) {
+        int cell = cellOf(pos);
+        if (cell != NONE) {
+            cells[cell] = cells[cell] == NONE ? listIndex : SCAN;
+        }
+    }
+
+    /**
+     * Remove the obstacle and the untriggered buff tile at a position, if any.
+     */
+    void removeAt(Position pos) {
+        int cell = cellOf(pos);
+        int obstacle = cell != NONE ? obstacleAt[cell] : SCAN;
+        if (obstacle >= 0) {
+            obstacles.set(obstacle, null);
+            obstacleAt[cell] = NONE;
+        } else if (obstacle == SCAN) {
+            for (int i = 0; i < obstacles.size(); i++) {
+                Obstacle o = obstacles.get(i);
+                if (o != null && o.getPosition().equals(pos)) {
+                    obstacles.set(i, null);
+                }
+            }
+        }
+
+        int tile = cell != NONE ? buffTileAt[cell] : SCAN;
+        if (tile >= 0) {
+            buffTiles.set(tile, null);
+            buffTileAt[cell] = NONE;
+        } else if (tile == SCAN) {
+            for (int i = 0; i < buffTiles.size(); i++) {
+                BuffTile t = buffTiles.get(i);
+                if (t != null && t.getPosition().equals(pos) && !t.isTriggered()) {
+                    buffTiles.set(i, null);
+                }
+            }
+        }
+    }
+
+    void addObstacle(Obstacle obstacle) {
+        obstacles.add(obstacle);
+        index(obstacleAt, obstacle.getPosition(), obstacles.size() - 1);
+    }
+
+    void addBuffTile(BuffTile tile) {
+        buffTiles.add(tile);
+        if (!tile.isTriggered()) {
+            index(buffTileAt, tile.getPosition(), buffTiles.size() - 1);
+        }
+    }
+
+    /**
+     * Remaining obstacles in list order, as a new mutable list.
+     */
+    List<Obstacle> getObstacles() {
+        return withoutRemoved(obstacles);
+    }
+
+    /**
+     * Remaining buff tiles in list order, as a new mutable list.
+     */
+    List<BuffTile> getBuffTiles() {
+        return withoutRemoved(buffTiles);
+    }
+
+    private static <T> List<T> withoutRemoved(List<T> objects) {
+        List<T> result = new ArrayList<>(objects.size());
+        for (T o : objects) {
+            if (o != null) {
+                result.add(o);
+            }
+        }
+        return result;
+    }
+}
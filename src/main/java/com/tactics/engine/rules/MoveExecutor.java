@@ -4,6 +4,8 @@ import com.tactics.engine.action.Action;
 import com.tactics.engine.buff.BuffFactory;
 import com.tactics.engine.buff.BuffInstance;
 import com.tactics.engine.buff.BuffType;
+import com.tactics.engine.event.GameEventLog;
+import com.tactics.engine.model.AliveCounts;
 import com.tactics.engine.model.BuffTile;
 import com.tactics.engine.model.GameState;
 import com.tactics.engine.model.PlayerId;
@@ -43,12 +45,16 @@ public class MoveExecutor extends ActionExecutorBase {
         private final List<Unit> units;
         private final Map<String, List<BuffInstance>> unitBuffs;
         private final List<BuffTile> buffTiles;
+        private final int nextBuffId;
+        private final AliveCounts aliveCounts;
 
         public BuffTileTriggerResult(List<Unit> units, Map<String, List<BuffInstance>> unitBuffs,
-                                     List<BuffTile> buffTiles) {
+                                     List<BuffTile> buffTiles, int nextBuffId, AliveCounts aliveCounts) {
             this.units = units;
             this.unitBuffs = unitBuffs;
             this.buffTiles = buffTiles;
+            this.nextBuffId = nextBuffId;
+            this.aliveCounts = aliveCounts;
         }
 
         public List<Unit> getUnits() {
@@ -62,6 +68,20 @@ public class MoveExecutor extends ActionExecutorBase {
         public List<BuffTile> getBuffTiles() {
             return buffTiles;
         }
+
+        /**
+         * Buff id counter after the trigger (advanced if a buff was created).
+         */
+        public int getNextBuffId() {
+            return nextBuffId;
+        }
+
+        /**
+         * Alive counts of getUnits().
+         */
+        public AliveCounts getAliveCounts() {
+            return aliveCounts;
+        }
     }
 
     // =========================================================================
@@ -72,14 +92,24 @@ public class MoveExecutor extends ActionExecutorBase {
      * Apply a MOVE action.
      */
     public GameState applyMove(GameState state, Action action) {
+        return applyMove(state, action, null);
+    }
+
+    /**
+     * Apply a MOVE action, reusing the mover resolved during validation if given.
+     */
+    public GameState applyMove(GameState state, Action action, ActionContext context) {
         Position targetPos = action.getTargetPosition();
         String actingUnitId = action.getActingUnitId();
 
         Unit mover = null;
         List<BuffInstance> moverBuffs = null;
 
-        // Unit-by-unit turn system: if actingUnitId is provided, use it to identify the mover
-        if (actingUnitId != null) {
+        if (context != null) {
+            mover = context.getActingUnit();
+            moverBuffs = context.getActingUnitBuffs();
+        } else if (actingUnitId != null) {
+            // Unit-by-unit turn system: if actingUnitId is provided, use it to identify the mover
             mover = findUnitById(state.getUnits(), actingUnitId);
             moverBuffs = getBuffsForUnit(state, mover.getId());
         } else {
@@ -103,10 +133,12 @@ public class MoveExecutor extends ActionExecutorBase {
 
         Unit movedUnit = mover.withPositionAndActionUsed(targetPos);
         List<Unit> newUnits = updateUnitInList(state.getUnits(), mover.getId(), u -> movedUnit);
+        AliveCounts aliveCounts = state.getAliveCounts().replace(mover, movedUnit);
 
-        BuffTileTriggerResult tileResult = checkBuffTileTrigger(state, movedUnit, targetPos, newUnits, state.getUnitBuffs());
+        BuffTileTriggerResult tileResult = checkBuffTileTrigger(state, movedUnit, targetPos, newUnits,
+            state.getUnitBuffs(), aliveCounts);
 
-        GameOverChecker.GameOverResult gameOver = gameOverChecker.checkGameOver(tileResult.getUnits());
+        GameOverChecker.GameOverResult gameOver = gameOverChecker.checkGameOver(tileResult.getAliveCounts());
 
         // Create intermediate state to check for turn switch
         GameState tempState = new GameState(
@@ -121,8 +153,9 @@ public class MoveExecutor extends ActionExecutorBase {
             state.getCurrentRound(),
             state.getPendingDeathChoice(),
             state.isPlayer1TurnEnded(),
-            state.isPlayer2TurnEnded()
-        );
+            state.isPlayer2TurnEnded(),
+            tileResult.getNextBuffId()
+        ).primeAliveCounts(tileResult.getAliveCounts());
 
         // Unit-by-unit turn system: switch player after action if not game over
         if (!gameOver.isGameOver()) {
@@ -164,12 +197,16 @@ public class MoveExecutor extends ActionExecutorBase {
 
     /**
      * Check if a unit stepped on a buff tile and trigger it.
+     *
+     * @param aliveCounts Alive counts of units, kept up to date in the result
      */
     public BuffTileTriggerResult checkBuffTileTrigger(GameState state, Unit movedUnit, Position newPos,
-                                                      List<Unit> units, Map<String, List<BuffInstance>> unitBuffs) {
+                                                      List<Unit> units, Map<String, List<BuffInstance>> unitBuffs,
+                                                      AliveCounts aliveCounts) {
         BuffTile tile = state.getBuffTileAt(newPos);
         if (tile == null) {
-            return new BuffTileTriggerResult(units, unitBuffs, state.getBuffTiles());
+            return new BuffTileTriggerResult(units, unitBuffs, state.getBuffTiles(), state.getNextBuffId(),
+                aliveCounts);
         }
 
         BuffType buffType = tile.getBuffType();
@@ -177,7 +214,12 @@ public class MoveExecutor extends ActionExecutorBase {
             buffType = getRandomBuffType();
         }
 
-        BuffInstance newBuff = BuffFactory.create(buffType, "bufftile_" + tile.getId());
+        BuffInstance newBuff = BuffFactory.create(buffType, "bufftile_" + tile.getId(), state.getNextBuffId());
+        GameEventLog events = events();
+        if (events != null) {
+            events.tileTriggered(movedUnit.getId(), tile.getId(), buffType);
+            events.buffApplied(movedUnit.getId(), newBuff);
+        }
 
         Map<String, List<BuffInstance>> newUnitBuffs = new HashMap<>(unitBuffs);
         List<BuffInstance> currentBuffs = new ArrayList<>(
@@ -205,7 +247,12 @@ public class MoveExecutor extends ActionExecutorBase {
             newUnits = new ArrayList<>();
             for (Unit u : units) {
                 if (u.getId().equals(movedUnit.getId())) {
-                    newUnits.add(u.withHpBonus(newBuff.getInstantHpBonus()));
+                    Unit buffed = u.withHpBonus(newBuff.getInstantHpBonus());
+                    aliveCounts = aliveCounts.replace(u, buffed);
+                    if (events != null) {
+                        events.unitChanged(u, buffed);
+                    }
+                    newUnits.add(buffed);
                 } else {
                     newUnits.add(u);
                 }
@@ -223,6 +270,7 @@ public class MoveExecutor extends ActionExecutorBase {
             }
         }
 
-        return new BuffTileTriggerResult(newUnits, newUnitBuffs, newBuffTiles);
+        return new BuffTileTriggerResult(newUnits, newUnitBuffs, newBuffTiles, state.getNextBuffId() + 1,
+            aliveCounts);
     }
 }
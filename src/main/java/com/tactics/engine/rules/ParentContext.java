@@ -0,0 +1,98 @@
+package com.tactics.engine.rules;
+
+import com.tactics.engine.buff.BuffInstance;
+import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.Position;
+import com.tactics.engine.model.Unit;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parent-derived data shared by every candidate action evaluated against the
+ * same GameState (see RuleEngine.applyAll).
+ *
+ * Built once per parent by ActionValidator.buildParentContext:
+ * - unit index by ID
+ * - occupancy mask (living units + obstacles)
+ * - per-owner living units with their buffs and effective ranges
+ *
+ * Immutable and safe to share across threads.
+ */
+public class ParentContext {
+
+    /**
+     * A living unit with its buffs and buff-adjusted ranges.
+     */
+    public static class UnitSummary {
+        private final Unit unit;
+        private final List<BuffInstance> buffs;
+        private final int effectiveMoveRange;
+        private final int effectiveAttackRange;
+
+        UnitSummary(Unit unit, List<BuffInstance> buffs, int effectiveMoveRange, int effectiveAttackRange) {
+            this.unit = unit;
+            this.buffs = buffs;
+            this.effectiveMoveRange = effectiveMoveRange;
+            this.effectiveAttackRange = effectiveAttackRange;
+        }
+
+        public Unit getUnit() {
+            return unit;
+        }
+
+        public List<BuffInstance> getBuffs() {
+            return buffs;
+        }
+
+        public int getEffectiveMoveRange() {
+            return effectiveMoveRange;
+        }
+
+        public int getEffectiveAttackRange() {
+            return effectiveAttackRange;
+        }
+    }
+
+    private final GameState state;
+    private final Map<String, Unit> unitsById;
+    private final boolean[] blocked;
+    private final int width;
+    private final Map<String, List<UnitSummary>> livingUnitsByOwner;
+
+    ParentContext(GameState state, Map<String, Unit> unitsById, boolean[] blocked, int width,
+                  Map<String, List<UnitSummary>> livingUnitsByOwner) {
+        this.state = state;
+        this.unitsById = unitsById;
+        this.blocked = blocked;
+        this.width = width;
+        this.livingUnitsByOwner = livingUnitsByOwner;
+    }
+
+    public GameState getState() {
+        return state;
+    }
+
+    /**
+     * Find a unit by ID, or null if not present.
+     */
+    public Unit getUnit(String unitId) {
+        return unitsById.get(unitId);
+    }
+
+    /**
+     * Check if an in-bounds tile holds a living unit or an obstacle.
+     */
+    public boolean isBlocked(Position pos) {
+        return blocked[pos.getY() * width + pos.getX()];
+    }
+
+    /**
+     * Living units owned by a player, in GameState order.
+     */
+    public List<UnitSummary> getLivingUnits(String ownerValue) {
+        List<UnitSummary> units = livingUnitsByOwner.get(ownerValue);
+        return units != null ? units : Collections.emptyList();
+    }
+}
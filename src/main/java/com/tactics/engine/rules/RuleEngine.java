@@ -1,10 +1,16 @@
 package com.tactics.engine.rules;
 
 import com.tactics.engine.action.Action;
+import com.tactics.engine.event.GameEventLog;
+import com.tactics.engine.metrics.EngineMetrics;
 import com.tactics.engine.model.GameState;
 import com.tactics.engine.skill.SkillExecutor;
 import com.tactics.engine.util.RngProvider;
 
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToIntFunction;
+
 /**
  * Facade for validating and applying game actions.
  *
@@ -42,11 +48,18 @@ public class RuleEngine {
     // ActionExecutor for action execution logic
     private final ActionExecutor actionExecutor;
 
+    // BatchEvaluator for many candidates against one parent state
+    private final BatchEvaluator batchEvaluator;
+
+    // Set by the first recording call; engines that never record skip event lookups
+    private boolean eventsEnabled;
+
     public RuleEngine() {
         this.rngProvider = new RngProvider();  // Default with time-based seed
         this.skillExecutor = new SkillExecutor();
         this.actionValidator = new ActionValidator();
         this.actionExecutor = new ActionExecutor();
+        this.batchEvaluator = new BatchEvaluator(actionValidator, actionExecutor);
     }
 
     /**
@@ -58,6 +71,16 @@ public class RuleEngine {
         this.actionExecutor.setRngProvider(rngProvider);  // Keep in sync
     }
 
+    /**
+     * Times validation, apply (per action type) and round ends into the
+     * given metrics; null turns timing off. Only this engine's components
+     * are affected.
+     */
+    public void setMetrics(EngineMetrics metrics) {
+        this.actionValidator.setMetrics(metrics);
+        this.actionExecutor.setMetrics(metrics);
+    }
+
     /**
      * V3: Get the RngProvider.
      */
@@ -95,4 +118,106 @@ public class RuleEngine {
     public GameState applyAction(GameState state, Action action) {
         return actionExecutor.applyAction(state, action);
     }
+
+    /**
+     * Apply an action, recording what happened into the given event log.
+     * The log is cleared first; a null log records nothing.
+     *
+     * @param state the current game state
+     * @param action the action to apply
+     * @param events log to fill, reusable across actions
+     * @return the new game state after applying the action
+     */
+    public GameState applyAction(GameState state, Action action, GameEventLog events) {
+        if (events == null) {
+            return actionExecutor.applyAction(state, action);
+        }
+        enableEvents();
+        return events.record(() -> actionExecutor.applyAction(state, action));
+    }
+
+    private void enableEvents() {
+        if (!eventsEnabled) {
+            eventsEnabled = true;
+            actionExecutor.enableEvents();
+        }
+    }
+
+    // =========================================================================
+    // Fused Validate + Apply
+    // =========================================================================
+
+    /**
+     * Validate and apply an action in one pass.
+     * The acting unit resolved during validation is handed to the executor,
+     * so it is not looked up a second time. Produces the same state as
+     * validateAction followed by applyAction.
+     *
+     * @param state the current game state
+     * @param action the action to validate and apply
+     * @return the new state, or the validation error if the action is invalid
+     */
+    public ApplyResult tryApply(GameState state, Action action) {
+        ValidationResult validation = actionValidator.validateAction(state, action);
+        if (!validation.isValid()) {
+            return ApplyResult.rejected(validation);
+        }
+        GameState newState = actionExecutor.applyAction(state, action, validation.getContext());
+        return ApplyResult.applied(validation, newState);
+    }
+
+    /**
+     * Same as tryApply(state, action), recording what happened into the
+     * given event log. The log is cleared first, and stays empty if the
+     * action is invalid; a null log records nothing.
+     */
+    public ApplyResult tryApply(GameState state, Action action, GameEventLog events) {
+        if (events == null) {
+            return tryApply(state, action);
+        }
+        enableEvents();
+        events.clear();
+        ValidationResult validation = actionValidator.validateAction(state, action);
+        if (!validation.isValid()) {
+            return ApplyResult.rejected(validation);
+        }
+        GameState newState = events.record(
+            () -> actionExecutor.applyAction(state, action, validation.getContext()));
+        return ApplyResult.applied(validation, newState);
+    }
+
+    // =========================================================================
+    // Batch Evaluation (delegates to BatchEvaluator)
+    // =========================================================================
+
+    /**
+     * Validate and apply each candidate against the same parent state.
+     * Parent-derived data is computed once and shared by all candidates.
+     *
+     * @param parent the shared parent state
+     * @param candidates actions to evaluate
+     * @return one result per candidate, in candidate order
+     */
+    public List<ApplyResult> applyAll(GameState parent, List<Action> candidates) {
+        return batchEvaluator.applyAll(parent, candidates, null);
+    }
+
+    /**
+     * Same as applyAll(parent, candidates), fanned out across a ForkJoinPool.
+     * RNG-dependent candidates are not reproducible on this path.
+     */
+    public List<ApplyResult> applyAll(GameState parent, List<Action> candidates, ForkJoinPool pool) {
+        return batchEvaluator.applyAll(parent, candidates, pool);
+    }
+
+    /**
+     * Score each candidate's child state without keeping the children.
+     *
+     * @param pool pool to fan out on, or null to run on the calling thread
+     * @return one score per candidate, BatchEvaluator.INVALID_SCORE where invalid
+     */
+    public int[] scoreAll(GameState parent, List<Action> candidates,
+                          ToIntFunction<GameState> scorer, ForkJoinPool pool) {
+        return batchEvaluator.scoreAll(parent, candidates, scorer, pool);
+    }
 }
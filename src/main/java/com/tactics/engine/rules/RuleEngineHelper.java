@@ -1,5 +1,6 @@
 package com.tactics.engine.rules;
 
+import com.tactics.engine.buff.BuffFlags;
 import com.tactics.engine.buff.BuffInstance;
 import com.tactics.engine.model.GameState;
 import com.tactics.engine.model.Unit;
@@ -64,7 +65,7 @@ public class RuleEngineHelper {
     public static boolean hasSpeedBuff(List<BuffInstance> buffs) {
         if (buffs == null) return false;
         for (BuffInstance buff : buffs) {
-            if (buff.getFlags() != null && buff.getFlags().isSpeedBuff()) {
+            if (buff.hasFlag(BuffFlags.SPEED_BUFF)) {
                 return true;
             }
         }
@@ -79,7 +80,7 @@ public class RuleEngineHelper {
     public static boolean hasPowerBuff(List<BuffInstance> buffs) {
         if (buffs == null) return false;
         for (BuffInstance buff : buffs) {
-            if (buff.getFlags() != null && buff.getFlags().isPowerBuff()) {
+            if (buff.hasFlag(BuffFlags.POWER_BUFF)) {
                 return true;
             }
         }
@@ -94,7 +95,7 @@ public class RuleEngineHelper {
     public static boolean hasSlowBuff(List<BuffInstance> buffs) {
         if (buffs == null) return false;
         for (BuffInstance buff : buffs) {
-            if (buff.getFlags() != null && buff.getFlags().isSlowBuff()) {
+            if (buff.hasFlag(BuffFlags.SLOW_BUFF)) {
                 return true;
             }
         }
@@ -109,7 +110,7 @@ public class RuleEngineHelper {
     public static boolean hasLifeBuff(List<BuffInstance> buffs) {
         if (buffs == null) return false;
         for (BuffInstance buff : buffs) {
-            if (buff.getFlags() != null && buff.getFlags().isLifeBuff()) {
+            if (buff.hasFlag(BuffFlags.LIFE_BUFF)) {
                 return true;
             }
         }
@@ -124,7 +125,7 @@ public class RuleEngineHelper {
     public static boolean hasBleedBuff(List<BuffInstance> buffs) {
         if (buffs == null) return false;
         for (BuffInstance buff : buffs) {
-            if (buff.getFlags() != null && buff.getFlags().isBleedBuff()) {
+            if (buff.hasFlag(BuffFlags.BLEED_BUFF)) {
                 return true;
             }
         }
@@ -139,7 +140,7 @@ public class RuleEngineHelper {
     public static boolean hasDeathMarkBuff(List<BuffInstance> buffs) {
         if (buffs == null) return false;
         for (BuffInstance buff : buffs) {
-            if (buff.getFlags() != null && buff.getFlags().isDeathMarkBuff()) {
+            if (buff.hasFlag(BuffFlags.DEATH_MARK_BUFF)) {
                 return true;
             }
         }
@@ -154,7 +155,7 @@ public class RuleEngineHelper {
     public static String getDeathMarkSource(List<BuffInstance> buffs) {
         if (buffs == null) return null;
         for (BuffInstance buff : buffs) {
-            if (buff.getFlags() != null && buff.getFlags().isDeathMarkBuff()) {
+            if (buff.hasFlag(BuffFlags.DEATH_MARK_BUFF)) {
                 return buff.getSourceUnitId();
             }
         }
@@ -169,7 +170,7 @@ public class RuleEngineHelper {
     public static boolean hasChallengeBuff(List<BuffInstance> buffs) {
         if (buffs == null) return false;
         for (BuffInstance buff : buffs) {
-            if (buff.getFlags() != null && buff.getFlags().isChallengeBuff()) {
+            if (buff.hasFlag(BuffFlags.CHALLENGE_BUFF)) {
                 return true;
             }
         }
@@ -184,7 +185,7 @@ public class RuleEngineHelper {
     public static String getChallengeSource(List<BuffInstance> buffs) {
         if (buffs == null) return null;
         for (BuffInstance buff : buffs) {
-            if (buff.getFlags() != null && buff.getFlags().isChallengeBuff()) {
+            if (buff.hasFlag(BuffFlags.CHALLENGE_BUFF)) {
                 return buff.getSourceUnitId();
             }
         }
@@ -199,7 +200,7 @@ public class RuleEngineHelper {
     public static boolean hasFeintBuff(List<BuffInstance> buffs) {
         if (buffs == null) return false;
         for (BuffInstance buff : buffs) {
-            if (buff.getFlags() != null && buff.getFlags().isFeintBuff()) {
+            if (buff.hasFlag(BuffFlags.FEINT_BUFF)) {
                 return true;
             }
         }
@@ -214,7 +215,7 @@ public class RuleEngineHelper {
     public static boolean hasInvulnerableBuff(List<BuffInstance> buffs) {
         if (buffs == null) return false;
         for (BuffInstance buff : buffs) {
-            if (buff.getFlags() != null && buff.getFlags().isInvulnerableBuff()) {
+            if (buff.hasFlag(BuffFlags.INVULNERABLE_BUFF)) {
                 return true;
             }
         }
@@ -2,6 +2,9 @@ package com.tactics.engine.rules;
 
 import com.tactics.engine.buff.BuffInstance;
 import com.tactics.engine.buff.BuffType;
+import com.tactics.engine.event.GameEventLog;
+import com.tactics.engine.metrics.EngineMetrics;
+import com.tactics.engine.model.AliveCounts;
 import com.tactics.engine.model.BuffTile;
 import com.tactics.engine.model.GameState;
 import com.tactics.engine.model.Obstacle;
@@ -23,6 +26,7 @@ import java.util.Map;
 public class TurnManager extends ActionExecutorBase {
 
     private final GameOverChecker gameOverChecker;
+    private EngineMetrics metrics;
 
     public TurnManager() {
         this.gameOverChecker = new GameOverChecker();
@@ -30,6 +34,13 @@ public class TurnManager extends ActionExecutorBase {
 
     // setRngProvider() inherited from ActionExecutorBase
 
+    /**
+     * Times processRoundEnd into the given metrics; null turns timing off.
+     */
+    public void setMetrics(EngineMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     // =========================================================================
     // Result Classes
     // =========================================================================
@@ -89,6 +100,58 @@ public class TurnManager extends ActionExecutorBase {
         }
     }
 
+    /**
+     * Alive counts and deaths carried through the round-end stages. Each
+     * stage reports the units it replaces or removes, so the game-over check
+     * after a stage reads the counts instead of rescanning the unit list, and
+     * system-death processing reads the stage's deaths instead of diffing
+     * the lists before and after it. Replacements are also reported to the
+     * event log, if one is given.
+     */
+    private static final class RoundEndTracker {
+        private AliveCounts aliveCounts;
+        private final List<Unit> deaths = new ArrayList<>();   // System deaths of the current stage
+        private final GameEventLog events;
+
+        RoundEndTracker(AliveCounts aliveCounts, GameEventLog events) {
+            this.aliveCounts = aliveCounts;
+            this.events = events;
+        }
+
+        Unit replaced(Unit before, Unit after) {
+            aliveCounts = aliveCounts.replace(before, after);
+            if (events != null) {
+                events.unitChanged(before, after);
+            }
+            if (isSystemDeath(before, after)) {
+                deaths.add(after);
+            }
+            return after;
+        }
+
+        /**
+         * A non-temporary minion killed by the replacement. Both versions must
+         * be minions: the poison/bleed path rebuilds units without a category,
+         * and those deaths never spawned map objects.
+         */
+        private static boolean isSystemDeath(Unit before, Unit after) {
+            return before.isAlive() && !after.isAlive()
+                && before.getCategory() == UnitCategory.MINION && !before.isTemporary()
+                && after.getCategory() == UnitCategory.MINION && !after.isTemporary();
+        }
+
+        /**
+         * Start a stage whose deaths are processed as system deaths.
+         */
+        void startStage() {
+            deaths.clear();
+        }
+
+        void removed(Unit unit) {
+            aliveCounts = aliveCounts.remove(unit);
+        }
+    }
+
     // =========================================================================
     // Turn-End Processing
     // =========================================================================
@@ -107,6 +170,11 @@ public class TurnManager extends ActionExecutorBase {
      * Called at round end (not per-turn).
      */
     public List<Unit> applyPoisonAndBleedDamage(List<Unit> units, Map<String, List<BuffInstance>> unitBuffs) {
+        return applyPoisonAndBleedDamage(units, unitBuffs, new RoundEndTracker(AliveCounts.of(units), events()));
+    }
+
+    private List<Unit> applyPoisonAndBleedDamage(List<Unit> units, Map<String, List<BuffInstance>> unitBuffs,
+                                                 RoundEndTracker tracker) {
         if (unitBuffs == null || unitBuffs.isEmpty()) {
             return units;
         }
@@ -125,7 +193,7 @@ public class TurnManager extends ActionExecutorBase {
 
             int poisonDamage = getPoisonDamage(buffs);
             if (poisonDamage > 0) {
-                newUnits = applyDamageToUnit(newUnits, unitId, poisonDamage);
+                newUnits = applyDamageToUnit(newUnits, unitId, poisonDamage, tracker);
             }
         }
 
@@ -138,7 +206,7 @@ public class TurnManager extends ActionExecutorBase {
 
             int bleedDamage = getBleedDamage(buffs);
             if (bleedDamage > 0) {
-                newUnits = applyDamageToUnit(newUnits, unitId, bleedDamage);
+                newUnits = applyDamageToUnit(newUnits, unitId, bleedDamage, tracker);
             }
         }
 
@@ -180,14 +248,14 @@ public class TurnManager extends ActionExecutorBase {
         return newUnitBuffs;
     }
 
-    private List<Unit> applyDamageToUnit(List<Unit> units, String unitId, int damage) {
+    private List<Unit> applyDamageToUnit(List<Unit> units, String unitId, int damage, RoundEndTracker tracker) {
         List<Unit> result = new ArrayList<>();
         for (Unit u : units) {
             if (u.getId().equals(unitId) && u.isAlive()) {
                 int newHp = u.getHp() - damage;
                 boolean alive = newHp > 0;
-                result.add(new Unit(u.getId(), u.getOwner(), newHp, u.getAttack(),
-                    u.getMoveRange(), u.getAttackRange(), u.getPosition(), alive));
+                result.add(tracker.replaced(u, new Unit(u.getId(), u.getOwner(), newHp, u.getAttack(),
+                    u.getMoveRange(), u.getAttackRange(), u.getPosition(), alive)));
             } else {
                 result.add(u);
             }
@@ -204,6 +272,12 @@ public class TurnManager extends ActionExecutorBase {
      */
     public PreparingActionsResult executePreparingActions(GameState state, List<Unit> units,
                                                           Map<String, List<BuffInstance>> unitBuffs) {
+        return executePreparingActions(state, units, unitBuffs, new RoundEndTracker(AliveCounts.of(units), events()));
+    }
+
+    private PreparingActionsResult executePreparingActions(GameState state, List<Unit> units,
+                                                           Map<String, List<BuffInstance>> unitBuffs,
+                                                           RoundEndTracker tracker) {
         List<Unit> currentUnits = new ArrayList<>(units);
         List<BuffTile> currentBuffTiles = new ArrayList<>(state.getBuffTiles());
         List<Obstacle> currentObstacles = new ArrayList<>(state.getObstacles());
@@ -229,22 +303,23 @@ public class TurnManager extends ActionExecutorBase {
             }
 
             Map<String, Object> actionMap = prepUnit.getPreparingAction();
-            currentUnits = executeOnePreparingAction(prepUnit, actionMap, currentUnits);
+            currentUnits = executeOnePreparingAction(prepUnit, actionMap, currentUnits, tracker);
         }
 
         return new PreparingActionsResult(currentUnits, unitBuffs, currentBuffTiles, currentObstacles);
     }
 
     @SuppressWarnings("unchecked")
-    private List<Unit> executeOnePreparingAction(Unit prepUnit, Map<String, Object> actionMap, List<Unit> units) {
+    private List<Unit> executeOnePreparingAction(Unit prepUnit, Map<String, Object> actionMap, List<Unit> units,
+                                                 RoundEndTracker tracker) {
         String actionType = (String) actionMap.get("type");
 
         if ("MOVE".equals(actionType)) {
             return executePreparingMove(prepUnit, actionMap, units);
         } else if ("ATTACK".equals(actionType)) {
-            return executePreparingAttack(prepUnit, actionMap, units);
+            return executePreparingAttack(prepUnit, actionMap, units, tracker);
         } else if ("MOVE_AND_ATTACK".equals(actionType)) {
-            return executePreparingMoveAndAttack(prepUnit, actionMap, units);
+            return executePreparingMoveAndAttack(prepUnit, actionMap, units, tracker);
         }
 
         return units;
@@ -281,7 +356,8 @@ public class TurnManager extends ActionExecutorBase {
     }
 
     @SuppressWarnings("unchecked")
-    private List<Unit> executePreparingAttack(Unit prepUnit, Map<String, Object> actionMap, List<Unit> units) {
+    private List<Unit> executePreparingAttack(Unit prepUnit, Map<String, Object> actionMap, List<Unit> units,
+                                              RoundEndTracker tracker) {
         String targetUnitId = (String) actionMap.get("targetUnitId");
         Map<String, Object> posMap = (Map<String, Object>) actionMap.get("targetPosition");
         int expectedX = ((Number) posMap.get("x")).intValue();
@@ -302,7 +378,7 @@ public class TurnManager extends ActionExecutorBase {
             List<Unit> newUnits = new ArrayList<>();
             for (Unit u : units) {
                 if (u.getId().equals(targetUnitId)) {
-                    newUnits.add(u.withDamage(damage));
+                    newUnits.add(tracker.replaced(u, u.withDamage(damage)));
                 } else {
                     newUnits.add(u);
                 }
@@ -314,7 +390,8 @@ public class TurnManager extends ActionExecutorBase {
     }
 
     @SuppressWarnings("unchecked")
-    private List<Unit> executePreparingMoveAndAttack(Unit prepUnit, Map<String, Object> actionMap, List<Unit> units) {
+    private List<Unit> executePreparingMoveAndAttack(Unit prepUnit, Map<String, Object> actionMap, List<Unit> units,
+                                                     RoundEndTracker tracker) {
         Map<String, Object> posMap = (Map<String, Object>) actionMap.get("targetPosition");
         int moveX = ((Number) posMap.get("x")).intValue();
         int moveY = ((Number) posMap.get("y")).intValue();
@@ -348,7 +425,7 @@ public class TurnManager extends ActionExecutorBase {
                         if (u.getId().equals(prepUnit.getId())) {
                             newUnits.add(u.withPosition(movePos).withPreparing(false, null));
                         } else if (u.getId().equals(targetUnitId)) {
-                            newUnits.add(u.withDamage(damage));
+                            newUnits.add(tracker.replaced(u, u.withDamage(damage)));
                         } else {
                             newUnits.add(u);
                         }
@@ -369,10 +446,14 @@ public class TurnManager extends ActionExecutorBase {
      * Apply minion decay: all minions lose 1 HP at round end.
      */
     public List<Unit> applyMinionDecay(List<Unit> units) {
+        return applyMinionDecay(units, new RoundEndTracker(AliveCounts.of(units), events()));
+    }
+
+    private List<Unit> applyMinionDecay(List<Unit> units, RoundEndTracker tracker) {
         List<Unit> result = new ArrayList<>();
         for (Unit u : units) {
             if (u.isAlive() && u.getCategory() == UnitCategory.MINION) {
-                result.add(u.withDamage(1));
+                result.add(tracker.replaced(u, u.withDamage(1)));
             } else {
                 result.add(u);
             }
@@ -384,10 +465,14 @@ public class TurnManager extends ActionExecutorBase {
      * Apply Round 8+ pressure: all units lose 1 HP at round end.
      */
     public List<Unit> applyRound8Pressure(List<Unit> units) {
+        return applyRound8Pressure(units, new RoundEndTracker(AliveCounts.of(units), events()));
+    }
+
+    private List<Unit> applyRound8Pressure(List<Unit> units, RoundEndTracker tracker) {
         List<Unit> result = new ArrayList<>();
         for (Unit u : units) {
             if (u.isAlive()) {
-                result.add(u.withDamage(1));
+                result.add(tracker.replaced(u, u.withDamage(1)));
             } else {
                 result.add(u);
             }
@@ -412,16 +497,22 @@ public class TurnManager extends ActionExecutorBase {
      * Dead temporary units are also removed (they don't persist like regular minions).
      */
     public List<Unit> decrementTemporaryDurations(List<Unit> units) {
+        return decrementTemporaryDurations(units, new RoundEndTracker(AliveCounts.of(units), events()));
+    }
+
+    private List<Unit> decrementTemporaryDurations(List<Unit> units, RoundEndTracker tracker) {
         List<Unit> newUnits = new ArrayList<>();
         for (Unit u : units) {
             if (u.isTemporary()) {
                 // Remove dead temporary units
                 if (!u.isAlive()) {
+                    tracker.removed(u);
                     continue;
                 }
                 int newDuration = u.getTemporaryDuration() - 1;
                 if (newDuration <= 0) {
                     // Temporary unit expired - remove it (don't add to list)
+                    tracker.removed(u);
                     continue;
                 }
                 newUnits.add(u.withTemporaryDuration(newDuration));
@@ -436,46 +527,19 @@ public class TurnManager extends ActionExecutorBase {
     // System Death Auto-Spawn (V3 Spec Section 7.2)
     // =========================================================================
 
-    /**
-     * Result of system death processing, containing updated lists.
-     */
-    public static class SystemDeathResult {
-        private final List<Unit> units;
-        private final List<Obstacle> obstacles;
-        private final List<BuffTile> buffTiles;
-
-        public SystemDeathResult(List<Unit> units, List<Obstacle> obstacles, List<BuffTile> buffTiles) {
-            this.units = units;
-            this.obstacles = obstacles;
-            this.buffTiles = buffTiles;
-        }
-
-        public List<Unit> getUnits() { return units; }
-        public List<Obstacle> getObstacles() { return obstacles; }
-        public List<BuffTile> getBuffTiles() { return buffTiles; }
-    }
-
     /**
      * Process system deaths (from BLEED, Decay, or Pressure) and auto-spawn map objects.
      * V3 Spec Section 7.2 - Scenario B: System Death (Environment)
      * - Odd Rounds (3, 5, 7...): Spawns OBSTACLE
      * - Even Rounds (4, 6, 8...): Spawns BUFF_TILE
      *
-     * @param unitsBefore Units before the system damage was applied
-     * @param unitsAfter Units after the system damage was applied
-     * @param currentObstacles Current obstacles on the board
-     * @param currentBuffTiles Current buff tiles on the board
+     * @param deadMinions Non-temporary minions killed by the stage, as reported to the tracker
+     * @param mapObjects Obstacles and buff tiles, updated in place
      * @param currentRound The current round number
-     * @return SystemDeathResult with updated units, obstacles, and buff tiles
      */
-    public SystemDeathResult processSystemDeaths(List<Unit> unitsBefore, List<Unit> unitsAfter,
-                                                  List<Obstacle> currentObstacles, List<BuffTile> currentBuffTiles,
-                                                  int currentRound) {
-        List<Obstacle> newObstacles = new ArrayList<>(currentObstacles);
-        List<BuffTile> newBuffTiles = new ArrayList<>(currentBuffTiles);
-
-        // Find minions that died from system damage (excluding temporary units)
-        List<Unit> deadMinions = findSystemDeadMinions(unitsBefore, unitsAfter);
+    private void processSystemDeaths(List<Unit> deadMinions, MapObjectIndex mapObjects, int currentRound) {
+        // Sort by ID for deterministic order
+        deadMinions.sort((a, b) -> a.getId().compareTo(b.getId()));
 
         // Determine spawn type based on round parity (Odd = OBSTACLE, Even = BUFF_TILE)
         boolean spawnObstacle = (currentRound % 2) == 1;  // Odd rounds
@@ -484,55 +548,17 @@ public class TurnManager extends ActionExecutorBase {
             Position deathPos = deadMinion.getPosition();
 
             // V3 Spec Section 2.4 & 7.3: Overwrite Rule - remove existing map object at position
-            removeMapObjectAtPosition(newObstacles, newBuffTiles, deathPos);
+            mapObjects.removeAt(deathPos);
 
             if (spawnObstacle) {
                 String obstacleId = Obstacle.ID_PREFIX + deadMinion.getId() + "_" + currentRound;
-                newObstacles.add(new Obstacle(obstacleId, deathPos));
+                mapObjects.addObstacle(new Obstacle(obstacleId, deathPos));
             } else {
                 String tileId = "bufftile_" + deadMinion.getId() + "_" + currentRound;
                 BuffType buffType = getRandomBuffType();
-                newBuffTiles.add(new BuffTile(tileId, deathPos, buffType, 2, false));
+                mapObjects.addBuffTile(new BuffTile(tileId, deathPos, buffType, 2, false));
             }
         }
-
-        return new SystemDeathResult(unitsAfter, newObstacles, newBuffTiles);
-    }
-
-    /**
-     * Find minions that died between two unit states (system death detection).
-     * Only includes non-temporary minions that were alive before and dead after.
-     */
-    private List<Unit> findSystemDeadMinions(List<Unit> unitsBefore, List<Unit> unitsAfter) {
-        // Build map of alive minions before damage
-        Map<String, Unit> aliveBeforeMap = new HashMap<>();
-        for (Unit u : unitsBefore) {
-            if (u.isAlive() && u.getCategory() == UnitCategory.MINION && !u.isTemporary()) {
-                aliveBeforeMap.put(u.getId(), u);
-            }
-        }
-
-        // Find minions that died
-        List<Unit> deadMinions = new ArrayList<>();
-        for (Unit u : unitsAfter) {
-            if (!u.isAlive() && u.getCategory() == UnitCategory.MINION
-                && !u.isTemporary() && aliveBeforeMap.containsKey(u.getId())) {
-                deadMinions.add(u);
-            }
-        }
-
-        // Sort by ID for deterministic order
-        deadMinions.sort((a, b) -> a.getId().compareTo(b.getId()));
-        return deadMinions;
-    }
-
-    /**
-     * Remove any existing map object (obstacle or buff tile) at the given position.
-     * Implements V3 Spec Section 2.4: Overwrite Rule.
-     */
-    private void removeMapObjectAtPosition(List<Obstacle> obstacles, List<BuffTile> buffTiles, Position pos) {
-        obstacles.removeIf(o -> o.getPosition().equals(pos));
-        buffTiles.removeIf(t -> t.getPosition().equals(pos) && !t.isTriggered());
     }
 
     // Note: getRandomBuffType() is inherited from ActionExecutorBase
@@ -544,74 +570,86 @@ public class TurnManager extends ActionExecutorBase {
     /**
      * Process a complete round end (called when all units have acted via END_TURN).
      * V3 Spec Section 6: Round End Processing Order
+     *
+     * @param aliveCounts Alive counts of turnEndResult's units
      */
-    public GameState processRoundEnd(GameState state, TurnEndResult turnEndResult,
+    public GameState processRoundEnd(GameState state, TurnEndResult turnEndResult, AliveCounts aliveCounts,
                                      GameOverChecker.GameOverResult gameOver) {
+        EngineMetrics m = metrics;
+        if (m == null) {
+            return doProcessRoundEnd(state, turnEndResult, aliveCounts, gameOver);
+        }
+        long start = System.nanoTime();
+        try {
+            return doProcessRoundEnd(state, turnEndResult, aliveCounts, gameOver);
+        } finally {
+            m.recordRoundEnd(System.nanoTime() - start);
+        }
+    }
+
+    private GameState doProcessRoundEnd(GameState state, TurnEndResult turnEndResult, AliveCounts aliveCounts,
+                                        GameOverChecker.GameOverResult gameOver) {
+        RoundEndTracker tracker = new RoundEndTracker(aliveCounts, events());
         PreparingActionsResult prepResult = executePreparingActions(state, turnEndResult.getUnits(),
-            turnEndResult.getUnitBuffs());
+            turnEndResult.getUnitBuffs(), tracker);
 
-        GameOverChecker.GameOverResult gameOverAfterPrep = gameOverChecker.checkGameOver(prepResult.getUnits());
+        GameOverChecker.GameOverResult gameOverAfterPrep = gameOverChecker.checkGameOver(tracker.aliveCounts);
         if (gameOverAfterPrep.isGameOver()) {
             gameOver = gameOverAfterPrep;
         }
 
         // Track map objects for system death spawning
-        List<Obstacle> currentObstacles = new ArrayList<>(prepResult.getObstacles());
-        List<BuffTile> currentBuffTiles = new ArrayList<>(prepResult.getBuffTiles());
+        MapObjectIndex mapObjects = new MapObjectIndex(state.getBoard(), prepResult.getObstacles(),
+            prepResult.getBuffTiles());
         int currentRound = state.getCurrentRound();
 
         // Step 1: Apply BLEED damage at round end
         List<Unit> unitsBeforeBleed = prepResult.getUnits();
-        List<Unit> unitsAfterBleed = applyPoisonAndBleedDamage(unitsBeforeBleed, turnEndResult.getUnitBuffs());
+        tracker.startStage();
+        List<Unit> unitsAfterBleed = applyPoisonAndBleedDamage(unitsBeforeBleed, turnEndResult.getUnitBuffs(),
+            tracker);
 
-        GameOverChecker.GameOverResult gameOverAfterBleed = gameOverChecker.checkGameOver(unitsAfterBleed);
+        GameOverChecker.GameOverResult gameOverAfterBleed = gameOverChecker.checkGameOver(tracker.aliveCounts);
         if (gameOverAfterBleed.isGameOver()) {
             gameOver = gameOverAfterBleed;
         }
 
         // Process system deaths from BLEED
-        SystemDeathResult bleedDeathResult = processSystemDeaths(
-            unitsBeforeBleed, unitsAfterBleed, currentObstacles, currentBuffTiles, currentRound);
-        currentObstacles = bleedDeathResult.getObstacles();
-        currentBuffTiles = bleedDeathResult.getBuffTiles();
+        processSystemDeaths(tracker.deaths, mapObjects, currentRound);
 
         // Decrement temporary unit durations and remove expired ones BEFORE minion decay
-        List<Unit> unitsAfterTempDecrement = decrementTemporaryDurations(unitsAfterBleed);
+        List<Unit> unitsAfterTempDecrement = decrementTemporaryDurations(unitsAfterBleed, tracker);
 
         // Step 2: Minion Decay (V3 Spec: starts at Round 3)
         List<Unit> unitsAfterDecay = unitsAfterTempDecrement;
         if (currentRound >= 3) {
             List<Unit> unitsBeforeDecay = unitsAfterTempDecrement;
-            unitsAfterDecay = applyMinionDecay(unitsBeforeDecay);
+            tracker.startStage();
+            unitsAfterDecay = applyMinionDecay(unitsBeforeDecay, tracker);
 
-            GameOverChecker.GameOverResult gameOverAfterDecay = gameOverChecker.checkGameOver(unitsAfterDecay);
+            GameOverChecker.GameOverResult gameOverAfterDecay = gameOverChecker.checkGameOver(tracker.aliveCounts);
             if (gameOverAfterDecay.isGameOver()) {
                 gameOver = gameOverAfterDecay;
             }
 
             // Process system deaths from Decay
-            SystemDeathResult decayDeathResult = processSystemDeaths(
-                unitsBeforeDecay, unitsAfterDecay, currentObstacles, currentBuffTiles, currentRound);
-            currentObstacles = decayDeathResult.getObstacles();
-            currentBuffTiles = decayDeathResult.getBuffTiles();
+            processSystemDeaths(tracker.deaths, mapObjects, currentRound);
         }
 
         // Step 3: Late Game Pressure (V3 Spec: starts at Round 8)
         List<Unit> unitsAfterPressure = unitsAfterDecay;
         if (currentRound >= 8) {
             List<Unit> unitsBeforePressure = unitsAfterDecay;
-            unitsAfterPressure = applyRound8Pressure(unitsBeforePressure);
+            tracker.startStage();
+            unitsAfterPressure = applyRound8Pressure(unitsBeforePressure, tracker);
 
-            GameOverChecker.GameOverResult gameOverAfterPressure = gameOverChecker.checkGameOver(unitsAfterPressure);
+            GameOverChecker.GameOverResult gameOverAfterPressure = gameOverChecker.checkGameOver(tracker.aliveCounts);
             if (gameOverAfterPressure.isGameOver()) {
                 gameOver = gameOverAfterPressure;
             }
 
             // Process system deaths from Pressure
-            SystemDeathResult pressureDeathResult = processSystemDeaths(
-                unitsBeforePressure, unitsAfterPressure, currentObstacles, currentBuffTiles, currentRound);
-            currentObstacles = pressureDeathResult.getObstacles();
-            currentBuffTiles = pressureDeathResult.getBuffTiles();
+            processSystemDeaths(tracker.deaths, mapObjects, currentRound);
         }
 
         // Step 5: Victory check already done above
@@ -621,7 +659,7 @@ public class TurnManager extends ActionExecutorBase {
         Map<String, List<BuffInstance>> buffsAfterDecrement = decrementBuffDurations(prepResult.getUnitBuffs());
 
         // Decrement buff tile durations and remove expired
-        List<BuffTile> buffTilesAfterDecrement = decrementBuffTileDurations(currentBuffTiles);
+        List<BuffTile> buffTilesAfterDecrement = decrementBuffTileDurations(mapObjects.getBuffTiles());
 
         // Step 7: Increment round (handled in GameState constructor below)
         return new GameState(
@@ -632,12 +670,13 @@ public class TurnManager extends ActionExecutorBase {
             gameOver.getWinner(),
             buffsAfterDecrement,
             buffTilesAfterDecrement,
-            currentObstacles,
+            mapObjects.getObstacles(),
             currentRound + 1,
             null,  // Clear pending death choice at round end
             false,
-            false
-        );
+            false,
+            state.getNextBuffId()
+        ).primeAliveCounts(tracker.aliveCounts);
     }
 
     /**
@@ -665,67 +704,63 @@ public class TurnManager extends ActionExecutorBase {
      */
     public GameState processRoundEndAfterAction(GameState state) {
         // Execute preparing actions
-        PreparingActionsResult prepResult = executePreparingActions(state, state.getUnits(), state.getUnitBuffs());
+        RoundEndTracker tracker = new RoundEndTracker(state.getAliveCounts(), events());
+        PreparingActionsResult prepResult = executePreparingActions(state, state.getUnits(), state.getUnitBuffs(),
+            tracker);
 
-        GameOverChecker.GameOverResult gameOver = gameOverChecker.checkGameOver(prepResult.getUnits());
+        GameOverChecker.GameOverResult gameOver = gameOverChecker.checkGameOver(tracker.aliveCounts);
 
         // Track map objects for system death spawning
-        List<Obstacle> currentObstacles = new ArrayList<>(prepResult.getObstacles());
-        List<BuffTile> currentBuffTiles = new ArrayList<>(prepResult.getBuffTiles());
+        MapObjectIndex mapObjects = new MapObjectIndex(state.getBoard(), prepResult.getObstacles(),
+            prepResult.getBuffTiles());
         int currentRound = state.getCurrentRound();
 
         // Step 1: Apply BLEED damage at round end
         List<Unit> unitsBeforeBleed = prepResult.getUnits();
-        List<Unit> unitsAfterBleed = applyPoisonAndBleedDamage(unitsBeforeBleed, state.getUnitBuffs());
+        tracker.startStage();
+        List<Unit> unitsAfterBleed = applyPoisonAndBleedDamage(unitsBeforeBleed, state.getUnitBuffs(), tracker);
 
-        GameOverChecker.GameOverResult gameOverAfterBleed = gameOverChecker.checkGameOver(unitsAfterBleed);
+        GameOverChecker.GameOverResult gameOverAfterBleed = gameOverChecker.checkGameOver(tracker.aliveCounts);
         if (gameOverAfterBleed.isGameOver()) {
             gameOver = gameOverAfterBleed;
         }
 
         // Process system deaths from BLEED
-        SystemDeathResult bleedDeathResult = processSystemDeaths(
-            unitsBeforeBleed, unitsAfterBleed, currentObstacles, currentBuffTiles, currentRound);
-        currentObstacles = bleedDeathResult.getObstacles();
-        currentBuffTiles = bleedDeathResult.getBuffTiles();
+        processSystemDeaths(tracker.deaths, mapObjects, currentRound);
 
         // Decrement temporary unit durations and remove expired ones BEFORE minion decay
-        List<Unit> unitsAfterTempDecrement = decrementTemporaryDurations(unitsAfterBleed);
+        List<Unit> unitsAfterTempDecrement = decrementTemporaryDurations(unitsAfterBleed, tracker);
 
         // Step 2: Minion Decay (V3 Spec: starts at Round 3)
         List<Unit> unitsAfterDecay = unitsAfterTempDecrement;
         if (currentRound >= 3) {
             List<Unit> unitsBeforeDecay = unitsAfterTempDecrement;
-            unitsAfterDecay = applyMinionDecay(unitsBeforeDecay);
+            tracker.startStage();
+            unitsAfterDecay = applyMinionDecay(unitsBeforeDecay, tracker);
 
-            GameOverChecker.GameOverResult gameOverAfterDecay = gameOverChecker.checkGameOver(unitsAfterDecay);
+            GameOverChecker.GameOverResult gameOverAfterDecay = gameOverChecker.checkGameOver(tracker.aliveCounts);
             if (gameOverAfterDecay.isGameOver()) {
                 gameOver = gameOverAfterDecay;
             }
 
             // Process system deaths from Decay
-            SystemDeathResult decayDeathResult = processSystemDeaths(
-                unitsBeforeDecay, unitsAfterDecay, currentObstacles, currentBuffTiles, currentRound);
-            currentObstacles = decayDeathResult.getObstacles();
-            currentBuffTiles = decayDeathResult.getBuffTiles();
+            processSystemDeaths(tracker.deaths, mapObjects, currentRound);
         }
 
         // Step 3: Late Game Pressure (V3 Spec: starts at Round 8)
         List<Unit> unitsAfterPressure = unitsAfterDecay;
         if (currentRound >= 8) {
             List<Unit> unitsBeforePressure = unitsAfterDecay;
-            unitsAfterPressure = applyRound8Pressure(unitsBeforePressure);
+            tracker.startStage();
+            unitsAfterPressure = applyRound8Pressure(unitsBeforePressure, tracker);
 
-            GameOverChecker.GameOverResult gameOverAfterPressure = gameOverChecker.checkGameOver(unitsAfterPressure);
+            GameOverChecker.GameOverResult gameOverAfterPressure = gameOverChecker.checkGameOver(tracker.aliveCounts);
             if (gameOverAfterPressure.isGameOver()) {
                 gameOver = gameOverAfterPressure;
             }
 
             // Process system deaths from Pressure
-            SystemDeathResult pressureDeathResult = processSystemDeaths(
-                unitsBeforePressure, unitsAfterPressure, currentObstacles, currentBuffTiles, currentRound);
-            currentObstacles = pressureDeathResult.getObstacles();
-            currentBuffTiles = pressureDeathResult.getBuffTiles();
+            processSystemDeaths(tracker.deaths, mapObjects, currentRound);
         }
 
         // Step 5: Victory check already done above
@@ -735,7 +770,7 @@ public class TurnManager extends ActionExecutorBase {
         Map<String, List<BuffInstance>> buffsAfterDecrement = decrementBuffDurations(prepResult.getUnitBuffs());
 
         // Decrement buff tile durations and remove expired
-        List<BuffTile> buffTilesAfterDecrement = decrementBuffTileDurations(currentBuffTiles);
+        List<BuffTile> buffTilesAfterDecrement = decrementBuffTileDurations(mapObjects.getBuffTiles());
 
         // Step 7: Increment round (handled in GameState constructor below)
         return new GameState(
@@ -746,11 +781,12 @@ public class TurnManager extends ActionExecutorBase {
             gameOver.getWinner(),
             buffsAfterDecrement,
             buffTilesAfterDecrement,
-            currentObstacles,
+            mapObjects.getObstacles(),
             currentRound + 1,
             null,  // Clear pending death choice at round end
             false,
-            false
-        );
+            false,
+            state.getNextBuffId()
+        ).primeAliveCounts(tracker.aliveCounts);
     }
 }
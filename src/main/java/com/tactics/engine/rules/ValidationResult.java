@@ -8,9 +8,24 @@ public class ValidationResult {
     private final boolean isValid;
     private final String errorMessage;
 
+    // Resolved acting unit for successful MOVE/ATTACK/MOVE_AND_ATTACK (may be null)
+    private final ActionContext context;
+
     public ValidationResult(boolean isValid, String errorMessage) {
+        this(isValid, errorMessage, null);
+    }
+
+    ValidationResult(boolean isValid, String errorMessage, ActionContext context) {
         this.isValid = isValid;
         this.errorMessage = errorMessage;
+        this.context = context;
+    }
+
+    /**
+     * Create a successful result carrying the resolved acting unit.
+     */
+    static ValidationResult valid(ActionContext context) {
+        return new ValidationResult(true, null, context);
     }
 
     public boolean isValid() {
@@ -20,4 +35,11 @@ public class ValidationResult {
     public String getErrorMessage() {
         return errorMessage;
     }
+
+    /**
+     * Resolved context for the executors, or null if none was captured.
+     */
+    ActionContext getContext() {
+        return context;
+    }
 }
@@ -0,0 +1,126 @@
+package com.tactics.engine.search;
+
+import com.tactics.engine.action.Action;
+import com.tactics.engine.action.ActionType;
+import com.tactics.engine.model.DeathChoice;
+import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.Obstacle;
+import com.tactics.engine.model.PlayerId;
+import com.tactics.engine.model.Position;
+import com.tactics.engine.model.Unit;
+import com.tactics.engine.rules.RuleEngine;
+import com.tactics.engine.rules.RuleEngineHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enumerates candidate actions for the player to move.
+ *
+ * generateCandidates over-approximates (cheap geometric filtering only);
+ * generateLegal keeps the candidates that pass RuleEngine validation.
+ * All unit actions carry an actingUnitId (unit-by-unit turn system).
+ */
+public class ActionGenerator {
+
+    // Buff bonuses can extend ranges; stay generous and let the validator decide
+    private static final int RANGE_SLACK = 2;
+
+    /**
+     * Candidate actions for the player whose decision is pending.
+     */
+    public List<Action> generateCandidates(GameState state) {
+        List<Action> candidates = new ArrayList<>();
+        if (state.isGameOver()) {
+            return candidates;
+        }
+
+        if (state.hasPendingDeathChoice()) {
+            PlayerId owner = state.getPendingDeathChoice().getOwner();
+            candidates.add(Action.deathChoice(owner, DeathChoice.ChoiceType.SPAWN_OBSTACLE));
+            candidates.add(Action.deathChoice(owner, DeathChoice.ChoiceType.SPAWN_BUFF_TILE));
+            return candidates;
+        }
+
+        PlayerId player = state.getCurrentPlayer();
+        int width = state.getBoard().getWidth();
+        int height = state.getBoard().getHeight();
+
+        for (Unit unit : state.getUnits()) {
+            if (!unit.isAlive() || !unit.getOwner().equals(player)) {
+                continue;
+            }
+            // Spent units can only END_TURN again, a no-op that never passes the turn
+            int maxActions = RuleEngineHelper.getMaxActionsForUnit(state.getUnitBuffs().get(unit.getId()));
+            if (unit.getActionsUsed() >= maxActions) {
+                continue;
+            }
+            String unitId = unit.getId();
+            Position from = unit.getPosition();
+
+            // MOVE: orthogonal lines within range
+            int moveReach = unit.getMoveRange() + RANGE_SLACK;
+            for (int d = 1; d <= moveReach; d++) {
+                addMove(candidates, player, unitId, from.getX() + d, from.getY(), width, height);
+                addMove(candidates, player, unitId, from.getX() - d, from.getY(), width, height);
+                addMove(candidates, player, unitId, from.getX(), from.getY() + d, width, height);
+                addMove(candidates, player, unitId, from.getX(), from.getY() - d, width, height);
+            }
+
+            // ATTACK: every living enemy and every obstacle
+            for (Unit target : state.getUnits()) {
+                if (target.isAlive() && !target.getOwner().equals(player)) {
+                    candidates.add(new Action(ActionType.ATTACK, player, target.getPosition(),
+                                              target.getId(), unitId, null, null));
+                }
+            }
+            for (Obstacle obstacle : state.getObstacles()) {
+                candidates.add(new Action(ActionType.ATTACK, player, obstacle.getPosition(),
+                                          obstacle.getId(), unitId, null, null));
+            }
+
+            // USE_SKILL: untargeted, each unit, each tile
+            if (unit.isHero() && unit.getSelectedSkillId() != null && unit.getSkillCooldown() == 0) {
+                candidates.add(Action.useSkill(player, unitId, null, null));
+                for (Unit target : state.getUnits()) {
+                    if (target.isAlive()) {
+                        candidates.add(Action.useSkill(player, unitId, target.getPosition(), target.getId()));
+                    }
+                }
+                for (int x = 0; x < width; x++) {
+                    for (int y = 0; y < height; y++) {
+                        candidates.add(Action.useSkill(player, unitId, new Position(x, y), null));
+                    }
+                }
+            }
+
+            candidates.add(new Action(ActionType.END_TURN, player, null, null, unitId, null, null));
+        }
+
+        // Every unit has acted but the turn did not pass (e.g. after attacking an obstacle)
+        if (candidates.isEmpty()) {
+            candidates.add(new Action(ActionType.END_TURN, player, null, null, null, null, null));
+        }
+        return candidates;
+    }
+
+    /**
+     * Candidates that pass validation, in generation order.
+     */
+    public List<Action> generateLegal(RuleEngine ruleEngine, GameState state) {
+        List<Action> legal = new ArrayList<>();
+        for (Action action : generateCandidates(state)) {
+            if (ruleEngine.validateAction(state, action).isValid()) {
+                legal.add(action);
+            }
+        }
+        return legal;
+    }
+
+    private void addMove(List<Action> candidates, PlayerId player, String unitId,
+                         int x, int y, int width, int height) {
+        if (x >= 0 && x < width && y >= 0 && y < height) {
+            candidates.add(new Action(ActionType.MOVE, player, new Position(x, y), null, unitId, null, null));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.tactics.engine.search;
+
+import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.PlayerId;
+
+/**
+ * Static evaluation used at SearchAI leaf nodes.
+ *
+ * Scores are from the given player's point of view: higher is better for
+ * them. Non-terminal scores must stay strictly inside
+ * (-SearchAI.WIN_SCORE, SearchAI.WIN_SCORE); terminal positions are scored
+ * by the search itself.
+ */
+public interface Evaluator {
+
+    int evaluate(GameState state, PlayerId perspective);
+}
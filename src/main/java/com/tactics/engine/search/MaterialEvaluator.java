@@ -0,0 +1,88 @@
+package com.tactics.engine.search;
+
+import com.tactics.engine.buff.BuffInstance;
+import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.PlayerId;
+import com.tactics.engine.model.Unit;
+
+import java.util.List;
+
+/**
+ * Default evaluation: unit HP, hero survival and active buffs.
+ *
+ * Each living unit is worth a flat presence bonus plus its HP, attack and
+ * shield; heroes are weighted far above minions since losing the hero loses
+ * the game. Buffs add or subtract a fixed amount per remaining round.
+ */
+public class MaterialEvaluator implements Evaluator {
+
+    private static final int HERO_ALIVE = 500;
+    private static final int MINION_ALIVE = 60;
+    private static final int HERO_HP = 30;
+    private static final int MINION_HP = 10;
+    private static final int ATTACK = 6;
+    private static final int SHIELD = 8;
+    private static final int BUFF_PER_ROUND = 5;
+
+    @Override
+    public int evaluate(GameState state, PlayerId perspective) {
+        int score = 0;
+        for (Unit unit : state.getUnits()) {
+            if (!unit.isAlive()) {
+                continue;
+            }
+            int value = unitValue(unit) + buffValue(state.getUnitBuffs().get(unit.getId()));
+            score += unit.getOwner().equals(perspective) ? value : -value;
+        }
+        return score;
+    }
+
+    private int unitValue(Unit unit) {
+        if (unit.isHero()) {
+            return HERO_ALIVE + HERO_HP * unit.getHp() + ATTACK * unit.getAttack() + SHIELD * unit.getShield();
+        }
+        return MINION_ALIVE + MINION_HP * unit.getHp() + ATTACK * unit.getAttack() + SHIELD * unit.getShield();
+    }
+
+    private int buffValue(List<BuffInstance> buffs) {
+        if (buffs == null) {
+            return 0;
+        }
+        int value = 0;
+        for (BuffInstance buff : buffs) {
+            int rounds = Math.max(1, buff.getDuration());
+            value += buffSign(buff) * BUFF_PER_ROUND * rounds;
+        }
+        return value;
+    }
+
+    /**
+     * +1 for buffs that help the holder, -1 for debuffs.
+     * Untyped skill buffs are judged by their attack modifier.
+     */
+    private int buffSign(BuffInstance buff) {
+        if (buff.getType() == null) {
+            if (buff.getModifiers() == null) {
+                return 0;
+            }
+            return Integer.signum(buff.getModifiers().getBonusAttack());
+        }
+        switch (buff.getType()) {
+            case POWER:
+            case LIFE:
+            case SPEED:
+            case FEINT:
+            case INVULNERABLE:
+                return 1;
+            case WEAKNESS:
+            case BLEED:
+            case SLOW:
+            case BLIND:
+            case DEATH_MARK:
+            case CHALLENGE:
+                return -1;
+            default:
+                return 0;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.tactics.engine.search;
+
+import com.tactics.engine.action.Action;
+import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.PlayerId;
+import com.tactics.engine.model.Position;
+import com.tactics.engine.model.Unit;
+import com.tactics.engine.rules.ActionExecutor;
+import com.tactics.engine.rules.RuleEngine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Deterministic search opponent: iterative-deepening alpha-beta with
+ * expectimax chance nodes.
+ *
+ * - Min/max is decided per node by who must act (the current player, or
+ *   the owner of a pending death choice), since turns do not strictly alternate.
+ * - An action that draws randomness is a chance node. A single roll over a
+ *   small range (buff tile type) is enumerated exactly; anything else
+ *   (MAGE_WILD_MAGIC, multi-roll skills) is averaged over a few fixed samples.
+ *   Chance children are searched with a full window.
+ * - Moves are ordered transposition-table move first, then attacks on
+ *   weak or hero targets, skills, moves toward the enemy hero, and END_TURN.
+ * - The deadline is checked at every node; an unfinished iteration is
+ *   discarded and the best action of the last completed depth is returned.
+ * - Children are plain ActionExecutor results. GameState copies share every
+ *   untouched unit, buff list and tile list, so a child costs one executor
+ *   call and unwinding is free.
+ *
+ * Sample seeds are derived from the position, so a fixed-depth search of
+ * the same position always gives the same answer. Not thread-safe: use one
+ * instance per bot.
+ */
+public class SearchAI {
+
+    /**
+     * Score of a won terminal position (reduced by ply so faster wins rank higher).
+     */
+    public static final int WIN_SCORE = 1_000_000;
+
+    /**
+     * Default per-move budget; well under the 10s action timer so the
+     * move still arrives in time on a loaded server.
+     */
+    public static final long DEFAULT_TIME_BUDGET_MS = 2_000;
+
+    private static final int MAX_DEPTH = 64;
+    private static final int INFINITY = WIN_SCORE + 1;
+    private static final int MATE_BOUND = WIN_SCORE - 1_000;
+    private static final int MAX_EXACT_OUTCOMES = 12;
+    private static final int CHANCE_SAMPLES = 3;
+    private static final int TABLE_SIZE_BITS = 18;
+
+    private final Evaluator evaluator;
+    private final long timeBudgetMs;
+    private final ActionGenerator actionGenerator = new ActionGenerator();
+    private final RuleEngine ruleEngine = new RuleEngine();
+    private final ActionExecutor actionExecutor = new ActionExecutor();
+    private final SearchRng rng = new SearchRng();
+    private final TranspositionTable table = new TranspositionTable(TABLE_SIZE_BITS);
+
+    // Per-search state
+    private PlayerId perspective;
+    private long deadlineNanos;
+    private long nodes;
+    private Action rootBest;
+    private Action previousRootBest;
+
+    public SearchAI() {
+        this(new MaterialEvaluator(), DEFAULT_TIME_BUDGET_MS);
+    }
+
+    public SearchAI(Evaluator evaluator, long timeBudgetMs) {
+        this.evaluator = evaluator;
+        this.timeBudgetMs = timeBudgetMs;
+        this.actionExecutor.setRngProvider(rng);
+    }
+
+    public long getTimeBudgetMs() {
+        return timeBudgetMs;
+    }
+
+    // =========================================================================
+    // Entry Points
+    // =========================================================================
+
+    /**
+     * Best action for whoever must act in the given state, within the time budget.
+     */
+    public Action chooseAction(GameState state) {
+        return search(state).getBestAction();
+    }
+
+    /**
+     * Search with the configured time budget.
+     */
+    public SearchResult search(GameState state) {
+        return search(state, MAX_DEPTH, timeBudgetMs);
+    }
+
+    /**
+     * Search to at most maxDepth plies or until the budget runs out, whichever is first.
+     */
+    public SearchResult search(GameState state, int maxDepth, long budgetMs) {
+        long start = System.nanoTime();
+        deadlineNanos = start + budgetMs * 1_000_000L;
+        nodes = 0;
+        perspective = decider(state);
+        table.clear();
+        previousRootBest = null;
+
+        List<Action> legal = actionGenerator.generateLegal(ruleEngine, state);
+        if (state.isGameOver() || legal.isEmpty()) {
+            return new SearchResult(null, evaluator.evaluate(state, perspective), 0, 0, elapsedMs(start));
+        }
+
+        // Fallback if not even depth 1 completes
+        Action bestAction = order(state, legal, null).get(0);
+        int bestScore = 0;
+        int completedDepth = 0;
+
+        for (int depth = 1; depth <= Math.min(maxDepth, MAX_DEPTH); depth++) {
+            rootBest = null;
+            int score;
+            try {
+                score = search(state, depth, -INFINITY, INFINITY, 0);
+            } catch (SearchTimeout e) {
+                break;
+            }
+            if (rootBest == null) {
+                break;
+            }
+            bestAction = rootBest;
+            previousRootBest = rootBest;
+            bestScore = score;
+            completedDepth = depth;
+            if (Math.abs(score) >= MATE_BOUND) {
+                break;
+            }
+        }
+        return new SearchResult(bestAction, bestScore, completedDepth, nodes, elapsedMs(start));
+    }
+
+    // =========================================================================
+    // Alpha-Beta / Expectimax
+    // =========================================================================
+
+    private int search(GameState state, int depth, int alpha, int beta, int ply) {
+        nodes++;
+        if (System.nanoTime() > deadlineNanos) {
+            throw SearchTimeout.INSTANCE;
+        }
+
+        if (state.isGameOver()) {
+            return terminalScore(state, ply);
+        }
+        if (depth == 0) {
+            return evaluator.evaluate(state, perspective);
+        }
+
+        long key = TranspositionTable.keyOf(state);
+        Action hint = ply == 0 ? previousRootBest : null;
+        int slot = table.probe(key);
+        if (slot >= 0) {
+            if (hint == null) {
+                hint = table.getBestAction(slot);
+            }
+            if (ply > 0 && table.getDepth(slot) >= depth) {
+                int value = table.getValue(slot);
+                byte flag = table.getFlag(slot);
+                if (flag == TranspositionTable.EXACT) {
+                    return value;
+                } else if (flag == TranspositionTable.LOWER) {
+                    alpha = Math.max(alpha, value);
+                } else {
+                    beta = Math.min(beta, value);
+                }
+                if (alpha >= beta) {
+                    return value;
+                }
+            }
+        }
+
+        List<Action> legal = actionGenerator.generateLegal(ruleEngine, state);
+        if (legal.isEmpty()) {
+            return evaluator.evaluate(state, perspective);
+        }
+
+        boolean maximizing = decider(state).equals(perspective);
+        int alphaOrig = alpha;
+        int betaOrig = beta;
+        int best = maximizing ? -INFINITY : INFINITY;
+        Action bestAction = null;
+
+        for (Action action : order(state, legal, hint)) {
+            int value = searchChild(state, action, key, depth - 1, alpha, beta, ply + 1);
+            if (maximizing ? value > best : value < best) {
+                best = value;
+                bestAction = action;
+            }
+            if (maximizing) {
+                alpha = Math.max(alpha, best);
+            } else {
+                beta = Math.min(beta, best);
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        if (ply == 0) {
+            rootBest = bestAction;
+        }
+        if (Math.abs(best) < MATE_BOUND) {
+            byte flag = best <= alphaOrig ? TranspositionTable.UPPER
+                    : best >= betaOrig ? TranspositionTable.LOWER
+                    : TranspositionTable.EXACT;
+            table.store(key, depth, best, flag, bestAction);
+        }
+        return best;
+    }
+
+    /**
+     * Value of one child, expanding a chance node if the action drew randomness.
+     */
+    private int searchChild(GameState state, Action action, long parentKey, int depth, int alpha, int beta, int ply) {
+        rng.reset(sampleSeed(parentKey, action, 0), -1);
+        GameState child = actionExecutor.applyAction(state, action);
+        if (rng.getDraws() == 0) {
+            return search(child, depth, alpha, beta, ply);
+        }
+
+        boolean exact = rng.getDraws() == 1 && rng.getFirstBound() > 0
+                && rng.getFirstBound() <= MAX_EXACT_OUTCOMES;
+        int outcomes = exact ? rng.getFirstBound() : CHANCE_SAMPLES;
+
+        long total = 0;
+        for (int i = 0; i < outcomes; i++) {
+            rng.reset(sampleSeed(parentKey, action, i), exact ? i : -1);
+            total += search(actionExecutor.applyAction(state, action), depth, -INFINITY, INFINITY, ply);
+        }
+        return (int) (total / outcomes);
+    }
+
+    private int terminalScore(GameState state, int ply) {
+        PlayerId winner = state.getWinner();
+        if (winner == null) {
+            return 0;
+        }
+        return winner.equals(perspective) ? WIN_SCORE - ply : -WIN_SCORE + ply;
+    }
+
+    private static PlayerId decider(GameState state) {
+        return state.hasPendingDeathChoice()
+                ? state.getPendingDeathChoice().getOwner()
+                : state.getCurrentPlayer();
+    }
+
+    private static long sampleSeed(long parentKey, Action action, int sample) {
+        return parentKey * 31 + TranspositionTable.keyOf(action) * 1_000_003L + sample;
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+
+    // =========================================================================
+    // Move Ordering
+    // =========================================================================
+
+    private List<Action> order(GameState state, List<Action> legal, Action hint) {
+        PlayerId mover = decider(state);
+        Position enemyHero = null;
+        for (Unit unit : state.getUnits()) {
+            if (unit.isAlive() && unit.isHero() && !unit.getOwner().equals(mover)) {
+                enemyHero = unit.getPosition();
+                break;
+            }
+        }
+
+        List<Action> ordered = new ArrayList<>(legal);
+        int[] keys = new int[ordered.size()];
+        for (int i = 0; i < ordered.size(); i++) {
+            keys[i] = orderKey(state, ordered.get(i), hint, enemyHero);
+        }
+        Integer[] index = new Integer[ordered.size()];
+        for (int i = 0; i < index.length; i++) {
+            index[i] = i;
+        }
+        // Stable: equal keys keep generation order
+        Arrays.sort(index, Comparator.comparingInt(i -> -keys[i]));
+        List<Action> result = new ArrayList<>(ordered.size());
+        for (Integer i : index) {
+            result.add(ordered.get(i));
+        }
+        return result;
+    }
+
+    private int orderKey(GameState state, Action action, Action hint, Position enemyHero) {
+        if (action.equals(hint)) {
+            return Integer.MAX_VALUE;
+        }
+        switch (action.getType()) {
+            case ATTACK:
+            case MOVE_AND_ATTACK: {
+                Unit target = action.getTargetUnitId() != null ? findUnit(state, action.getTargetUnitId()) : null;
+                if (target == null) {
+                    return 500;
+                }
+                return 2_000 + (target.isHero() ? 500 : 0) - 10 * target.getHp();
+            }
+            case USE_SKILL:
+                return 1_000;
+            case MOVE: {
+                if (enemyHero == null || action.getTargetPosition() == null) {
+                    return 100;
+                }
+                Position to = action.getTargetPosition();
+                int distance = Math.abs(to.getX() - enemyHero.getX()) + Math.abs(to.getY() - enemyHero.getY());
+                return 200 - distance;
+            }
+            case DEATH_CHOICE:
+            case END_TURN:
+            default:
+                return 0;
+        }
+    }
+
+    private static Unit findUnit(GameState state, String unitId) {
+        for (Unit unit : state.getUnits()) {
+            if (unit.getId().equals(unitId)) {
+                return unit;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Unwinds the search when the deadline passes; carries no stack trace.
+     */
+    private static final class SearchTimeout extends RuntimeException {
+        private static final SearchTimeout INSTANCE = new SearchTimeout();
+
+        private SearchTimeout() {
+            super("search deadline reached", null, false, false);
+        }
+    }
+}
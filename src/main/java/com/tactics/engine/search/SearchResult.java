@@ -0,0 +1,64 @@
+package com.tactics.engine.search;
+
+import com.tactics.engine.action.Action;
+
+/**
+ * Outcome of one SearchAI.search call.
+ */
+public class SearchResult {
+
+    private final Action bestAction;
+    private final int score;
+    private final int completedDepth;
+    private final long nodes;
+    private final long elapsedMs;
+
+    public SearchResult(Action bestAction, int score, int completedDepth, long nodes, long elapsedMs) {
+        this.bestAction = bestAction;
+        this.score = score;
+        this.completedDepth = completedDepth;
+        this.nodes = nodes;
+        this.elapsedMs = elapsedMs;
+    }
+
+    /**
+     * Best action found, or null if the side to move has no legal action.
+     */
+    public Action getBestAction() {
+        return bestAction;
+    }
+
+    /**
+     * Score of the best action from the mover's point of view
+     * (from the last fully completed iteration).
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Deepest iteration that finished before the deadline (0 if none did).
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchResult{" +
+               "bestAction=" + bestAction +
+               ", score=" + score +
+               ", completedDepth=" + completedDepth +
+               ", nodes=" + nodes +
+               ", elapsedMs=" + elapsedMs +
+               '}';
+    }
+}
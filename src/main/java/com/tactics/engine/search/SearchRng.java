@@ -0,0 +1,67 @@
+package com.tactics.engine.search;
+
+import com.tactics.engine.util.RngProvider;
+
+import java.util.Random;
+
+/**
+ * RngProvider used by SearchAI to expose chance events.
+ *
+ * Counts the draws made by one action so the search can tell deterministic
+ * children from chance nodes, and can force the first draw to a chosen
+ * outcome so small single-roll events (buff tile types) are enumerated
+ * exactly. Later draws come from a reseedable Random.
+ */
+class SearchRng extends RngProvider {
+
+    private final Random random = new Random(0L);
+    private int forcedFirst = -1;
+    private int draws;
+    private int firstBound;
+
+    SearchRng() {
+        super(0L);
+    }
+
+    /**
+     * Reset before applying one action.
+     *
+     * @param seed seed for unforced draws
+     * @param forcedFirst outcome for the first nextInt draw, or -1 for random
+     */
+    void reset(long seed, int forcedFirst) {
+        random.setSeed(seed);
+        this.forcedFirst = forcedFirst;
+        this.draws = 0;
+        this.firstBound = 0;
+    }
+
+    int getDraws() {
+        return draws;
+    }
+
+    /**
+     * Bound of the first nextInt draw since reset, 0 if none (or a nextBoolean came first).
+     */
+    int getFirstBound() {
+        return firstBound;
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        draws++;
+        if (draws == 1) {
+            firstBound = bound;
+            if (forcedFirst >= 0) {
+                return forcedFirst % bound;
+            }
+        }
+        return random.nextInt(bound);
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        draws++;
+        return random.nextBoolean();
+    }
+}
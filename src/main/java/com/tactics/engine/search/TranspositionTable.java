@@ -0,0 +1,228 @@
+package com.tactics.engine.search;
+
+import com.tactics.engine.action.Action;
+import com.tactics.engine.buff.BuffInstance;
+import com.tactics.engine.buff.BuffModifier;
+import com.tactics.engine.model.BuffTile;
+import com.tactics.engine.model.DeathChoice;
+import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.Obstacle;
+import com.tactics.engine.model.PlayerId;
+import com.tactics.engine.model.Position;
+import com.tactics.engine.model.Unit;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed-size transposition table for SearchAI, indexed by a 64-bit state key.
+ *
+ * One entry per slot, replaced when the new result is at least as deep or
+ * belongs to a different position. Keys are not verified beyond 64 bits.
+ */
+class TranspositionTable {
+
+    static final byte EXACT = 0;
+    static final byte LOWER = 1;
+    static final byte UPPER = 2;
+
+    private final int mask;
+    private final long[] keys;
+    private final int[] values;
+    private final byte[] depths;
+    private final byte[] flags;
+    private final boolean[] used;
+    private final Action[] bestActions;
+
+    /**
+     * @param sizeBits log2 of the slot count
+     */
+    TranspositionTable(int sizeBits) {
+        int size = 1 << sizeBits;
+        this.mask = size - 1;
+        this.keys = new long[size];
+        this.values = new int[size];
+        this.depths = new byte[size];
+        this.flags = new byte[size];
+        this.used = new boolean[size];
+        this.bestActions = new Action[size];
+    }
+
+    void clear() {
+        Arrays.fill(used, false);
+        Arrays.fill(bestActions, null);
+    }
+
+    /**
+     * Slot index holding this key, or -1.
+     */
+    int probe(long key) {
+        int slot = (int) (key ^ (key >>> 32)) & mask;
+        return used[slot] && keys[slot] == key ? slot : -1;
+    }
+
+    int getValue(int slot) {
+        return values[slot];
+    }
+
+    int getDepth(int slot) {
+        return depths[slot];
+    }
+
+    byte getFlag(int slot) {
+        return flags[slot];
+    }
+
+    Action getBestAction(int slot) {
+        return bestActions[slot];
+    }
+
+    void store(long key, int depth, int value, byte flag, Action bestAction) {
+        int slot = (int) (key ^ (key >>> 32)) & mask;
+        if (used[slot] && keys[slot] == key && depths[slot] > depth) {
+            return;
+        }
+        used[slot] = true;
+        keys[slot] = key;
+        depths[slot] = (byte) depth;
+        values[slot] = value;
+        flags[slot] = flag;
+        bestActions[slot] = bestAction;
+    }
+
+    // =========================================================================
+    // State Keys
+    // =========================================================================
+
+    // Keys hash only strings, ints and enum ordinals. Enum (and so Unit and
+    // Action) hashCodes are identity-based and differ between JVM runs, which
+    // would make search results, and tournaments resumed from a checkpoint,
+    // depend on the process.
+
+    /**
+     * 64-bit key for a state, covering every field that affects the legal
+     * moves or the outcome. Buff and obstacle instance IDs come from
+     * counters and are left out so positions reached through different move
+     * orders still match; tile IDs are derived from the dead unit and round
+     * and end up in the source of the buffs a tile grants, so they are kept.
+     */
+    static long keyOf(GameState state) {
+        long h = 0x9E3779B97F4A7C15L;
+        h = mix(h, state.getBoard().getWidth() * 31 + state.getBoard().getHeight());
+        h = mix(h, hash(state.getCurrentPlayer()));
+        h = mix(h, state.getCurrentRound());
+        h = mix(h, state.isGameOver() ? 1 : 0);
+        h = mix(h, hash(state.getWinner()));
+        h = mix(h, (state.isPlayer1TurnEnded() ? 1 : 0) | (state.isPlayer2TurnEnded() ? 2 : 0));
+        DeathChoice deathChoice = state.getPendingDeathChoice();
+        if (deathChoice != null) {
+            h = mix(h, hash(deathChoice.getDeadUnitId()));
+            h = mix(h, hash(deathChoice.getOwner()));
+            h = mix(h, hash(deathChoice.getDeathPosition()));
+        }
+
+        Map<String, List<BuffInstance>> unitBuffs = state.getUnitBuffs();
+        for (Unit unit : state.getUnits()) {
+            h = mixUnit(h, unit);
+            List<BuffInstance> buffs = unitBuffs.get(unit.getId());
+            if (buffs != null) {
+                for (BuffInstance buff : buffs) {
+                    h = mix(h, ordinal(buff.getType()));
+                    h = mix(h, buff.getDuration());
+                    h = mix(h, hash(buff.getSourceUnitId()));
+                    h = mix(h, buff.getFlags() != null ? buff.getFlags().getMask() : 0);
+                    h = mixModifier(h, buff.getModifiers());
+                    h = mix(h, buff.getInstantHpBonus());
+                }
+            }
+        }
+        for (Obstacle obstacle : state.getObstacles()) {
+            h = mix(h, hash(obstacle.getPosition()) * 31 + obstacle.getHp());
+        }
+        for (BuffTile tile : state.getBuffTiles()) {
+            h = mix(h, hash(tile.getId()));
+            h = mix(h, hash(tile.getPosition()));
+            h = mix(h, ordinal(tile.getBuffType()));
+            h = mix(h, tile.getDuration());
+            h = mix(h, tile.isTriggered() ? 1 : 0);
+        }
+        return h;
+    }
+
+    /**
+     * 64-bit key for an action, stable across JVM runs.
+     */
+    static long keyOf(Action action) {
+        long h = 0x9E3779B97F4A7C15L;
+        h = mix(h, ordinal(action.getType()));
+        h = mix(h, hash(action.getPlayerId()));
+        h = mix(h, hash(action.getTargetPosition()));
+        h = mix(h, hash(action.getTargetUnitId()));
+        h = mix(h, hash(action.getActingUnitId()));
+        h = mix(h, hash(action.getSkillTargetUnitId()));
+        h = mix(h, ordinal(action.getDeathChoiceType()));
+        h = mix(h, ordinal(action.getSkillChosenBuffType()));
+        return h;
+    }
+
+    private static long mixUnit(long h, Unit unit) {
+        h = mix(h, hash(unit.getId()));
+        h = mix(h, hash(unit.getOwner()));
+        h = mix(h, unit.getHp());
+        h = mix(h, unit.getAttack());
+        h = mix(h, unit.getMoveRange());
+        h = mix(h, unit.getAttackRange());
+        h = mix(h, hash(unit.getPosition()));
+        h = mix(h, unit.isAlive() ? 1 : 0);
+        h = mix(h, ordinal(unit.getCategory()));
+        h = mix(h, ordinal(unit.getMinionType()));
+        h = mix(h, ordinal(unit.getHeroClass()));
+        h = mix(h, unit.getMaxHp());
+        h = mix(h, hash(unit.getSelectedSkillId()));
+        h = mix(h, unit.getSkillCooldown());
+        h = mix(h, unit.getShield());
+        h = mix(h, (unit.isInvisible() ? 1 : 0) | (unit.isInvulnerable() ? 2 : 0)
+                | (unit.isTemporary() ? 4 : 0) | (unit.isPreparing() ? 8 : 0));
+        h = mix(h, unit.getTemporaryDuration());
+        h = mix(h, unit.getSkillState().hashCode());
+        h = mix(h, unit.getActionsUsed());
+        // Serialized action: string keys with string/number values
+        h = mix(h, unit.getPreparingAction() != null ? unit.getPreparingAction().hashCode() : 0);
+        h = mix(h, unit.getBonusAttackDamage());
+        h = mix(h, unit.getBonusAttackCharges());
+        return h;
+    }
+
+    private static long mixModifier(long h, BuffModifier modifier) {
+        if (modifier == null) {
+            return mix(h, 0);
+        }
+        h = mix(h, modifier.getBonusHp());
+        h = mix(h, modifier.getBonusAttack());
+        h = mix(h, modifier.getBonusMoveRange());
+        return mix(h, modifier.getBonusAttackRange());
+    }
+
+    private static int ordinal(Enum<?> value) {
+        return value != null ? value.ordinal() : -1;
+    }
+
+    private static int hash(String value) {
+        return value != null ? value.hashCode() : 0;
+    }
+
+    private static int hash(PlayerId player) {
+        return player != null ? player.getValue().hashCode() : 0;
+    }
+
+    private static int hash(Position position) {
+        return position != null ? position.getX() * 31 + position.getY() + 1 : 0;
+    }
+
+    private static long mix(long h, int value) {
+        h ^= value;
+        h *= 0xFF51AFD7ED558CCDL;
+        return h ^ (h >>> 33);
+    }
+}
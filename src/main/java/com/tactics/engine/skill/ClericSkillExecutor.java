@@ -2,6 +2,7 @@ package com.tactics.engine.skill;
 
 import com.tactics.engine.action.Action;
 import com.tactics.engine.buff.BuffFactory;
+import com.tactics.engine.buff.BuffFlags;
 import com.tactics.engine.buff.BuffInstance;
 import com.tactics.engine.buff.BuffType;
 import com.tactics.engine.model.GameState;
@@ -40,44 +41,37 @@ public class ClericSkillExecutor extends SkillExecutorBase {
         boolean isTargetInvulnerable = isUnitInvulnerable(state, targetUnitId);
         int healAmount = isTargetInvulnerable ? baseHealAmount * 2 : baseHealAmount;
 
-        // Update units: caster uses skill, target heals
-        List<Unit> newUnits = new ArrayList<>();
-        for (Unit u : state.getUnits()) {
-            if (u.getId().equals(actingUnit.getId())) {
-                if (u.getId().equals(targetUnitId)) {
-                    // Self-heal case
-                    newUnits.add(u.withSkillUsed(cooldown).withHpBonus(healAmount));
-                } else {
-                    newUnits.add(u.withSkillUsed(cooldown));
-                }
-            } else if (u.getId().equals(targetUnitId)) {
-                newUnits.add(u.withHpBonus(healAmount));
-            } else {
-                newUnits.add(u);
-            }
-        }
+        // Update units: caster uses skill, target heals (may be the caster)
+        UnitListUpdate update = new UnitListUpdate(state, events());
+        int casterIndex = update.indexOf(actingUnit.getId());
+        update.set(casterIndex, update.get(casterIndex).withSkillUsed(cooldown));
+        int targetIndex = update.indexOf(targetUnitId);
+        update.set(targetIndex, update.get(targetIndex).withHpBonus(healAmount));
 
         // Remove one random debuff from target
         Map<String, List<BuffInstance>> newUnitBuffs = removeOneRandomDebuff(state.getUnitBuffs(), targetUnitId);
 
         // Apply LIFE buff to target (+3 HP instant)
-        BuffInstance lifeBuff = BuffFactory.create(BuffType.LIFE, actingUnit.getId());
+        BuffInstance lifeBuff = BuffFactory.create(BuffType.LIFE, actingUnit.getId(), state.getNextBuffId());
         List<BuffInstance> targetBuffs = new ArrayList<>(
             newUnitBuffs.getOrDefault(targetUnitId, Collections.emptyList())
         );
         targetBuffs.add(lifeBuff);
         newUnitBuffs.put(targetUnitId, targetBuffs);
+        reportBuffApplied(targetUnitId, lifeBuff);
 
         // Apply instant HP bonus from LIFE buff (doubled if invulnerable)
         int lifeBuffHp = lifeBuff.getInstantHpBonus();
         if (lifeBuffHp != 0) {
             int actualLifeHp = isTargetInvulnerable ? lifeBuffHp * 2 : lifeBuffHp;
-            newUnits = updateUnitInList(newUnits, targetUnitId,
-                u -> u.withHpBonus(actualLifeHp));
+            update.set(targetIndex, update.get(targetIndex).withHpBonus(actualLifeHp));
         }
 
-        GameOverResult gameOver = checkGameOver(newUnits);
-        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner);
+        List<Unit> newUnits = update.commit();
+        GameOverResult gameOver = checkGameOver(update.getAliveCounts());
+        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner,
+            state.getNextBuffId() + 1)
+            .primeAliveCounts(update.getAliveCounts());
     }
 
     /**
@@ -88,7 +82,7 @@ public class ClericSkillExecutor extends SkillExecutorBase {
             ? state.getUnitBuffs().getOrDefault(unitId, Collections.emptyList())
             : Collections.emptyList();
         for (BuffInstance buff : buffs) {
-            if (buff.getFlags() != null && buff.getFlags().isInvulnerableBuff()) {
+            if (buff.hasFlag(BuffFlags.INVULNERABLE_BUFF)) {
                 return true;
             }
         }
@@ -104,39 +98,39 @@ public class ClericSkillExecutor extends SkillExecutorBase {
         int cooldown = skill.getCooldown();  // 2
         int atkBonusDuration = skill.getEffectDuration();  // 1 round
 
-        // Find all friendly units
+        // Update units: heal all friendlies, caster uses skill
         List<String> friendlyUnitIds = new ArrayList<>();
-        for (Unit u : state.getUnits()) {
-            if (u.isAlive() && u.getOwner().getValue().equals(actingUnit.getOwner().getValue())) {
+        UnitListUpdate update = new UnitListUpdate(state, events());
+        for (int i = 0; i < update.size(); i++) {
+            Unit u = update.get(i);
+            boolean friendly = u.isAlive() && u.getOwner().getValue().equals(actingUnit.getOwner().getValue());
+            if (friendly) {
                 friendlyUnitIds.add(u.getId());
             }
-        }
-
-        // Update units: heal all friendlies, caster uses skill
-        List<Unit> newUnits = new ArrayList<>();
-        for (Unit u : state.getUnits()) {
             if (u.getId().equals(actingUnit.getId())) {
-                newUnits.add(u.withSkillUsed(cooldown).withHpBonus(healAmount));
-            } else if (friendlyUnitIds.contains(u.getId())) {
-                newUnits.add(u.withHpBonus(healAmount));
-            } else {
-                newUnits.add(u);
+                update.set(i, u.withSkillUsed(cooldown).withHpBonus(healAmount));
+            } else if (friendly) {
+                update.set(i, u.withHpBonus(healAmount));
             }
         }
+        List<Unit> newUnits = update.commit();
 
         // Apply +1 ATK buff to all friendlies for 1 round (no instant HP bonus)
         Map<String, List<BuffInstance>> newUnitBuffs = new HashMap<>(state.getUnitBuffs());
+        int nextBuffId = state.getNextBuffId();
         for (String unitId : friendlyUnitIds) {
-            BuffInstance atkBuff = createAtkBuff(actingUnit.getId(), 1, atkBonusDuration);
+            BuffInstance atkBuff = createAtkBuff(actingUnit.getId(), 1, atkBonusDuration, nextBuffId++);
             List<BuffInstance> unitBuffs = new ArrayList<>(
                 newUnitBuffs.getOrDefault(unitId, Collections.emptyList())
             );
             unitBuffs.add(atkBuff);
             newUnitBuffs.put(unitId, unitBuffs);
+            reportBuffApplied(unitId, atkBuff);
         }
 
-        GameOverResult gameOver = checkGameOver(newUnits);
-        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner);
+        GameOverResult gameOver = checkGameOver(update.getAliveCounts());
+        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner, nextBuffId)
+            .primeAliveCounts(update.getAliveCounts());
     }
 
     /**
@@ -146,19 +140,24 @@ public class ClericSkillExecutor extends SkillExecutorBase {
     public GameState applyAscendedForm(GameState state, Action action, Unit actingUnit, SkillDefinition skill) {
         int cooldown = skill.getCooldown();  // 2
 
-        List<Unit> newUnits = updateUnitInList(state.getUnits(), actingUnit.getId(),
-            u -> u.withSkillUsedAndInvulnerable(cooldown, true));
+        UnitListUpdate update = new UnitListUpdate(state, events());
+        update.update(actingUnit.getId(), u -> u.withSkillUsedAndInvulnerable(cooldown, true));
+        List<Unit> newUnits = update.commit();
 
         // Apply INVULNERABLE buff to self
         Map<String, List<BuffInstance>> newUnitBuffs = new HashMap<>(state.getUnitBuffs());
-        BuffInstance invulnerableBuff = BuffFactory.create(BuffType.INVULNERABLE, actingUnit.getId());
+        BuffInstance invulnerableBuff = BuffFactory.create(BuffType.INVULNERABLE, actingUnit.getId(),
+            state.getNextBuffId());
         List<BuffInstance> selfBuffs = new ArrayList<>(
             newUnitBuffs.getOrDefault(actingUnit.getId(), Collections.emptyList())
         );
         selfBuffs.add(invulnerableBuff);
         newUnitBuffs.put(actingUnit.getId(), selfBuffs);
+        reportBuffApplied(actingUnit.getId(), invulnerableBuff);
 
-        GameOverResult gameOver = checkGameOver(newUnits);
-        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner);
+        GameOverResult gameOver = checkGameOver(update.getAliveCounts());
+        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner,
+            state.getNextBuffId() + 1)
+            .primeAliveCounts(update.getAliveCounts());
     }
 }
@@ -33,21 +33,25 @@ public class DuelistSkillExecutor extends SkillExecutorBase {
             : action.getTargetUnitId();
         int cooldown = skill.getCooldown();  // 2
 
-        List<Unit> newUnits = updateUnitInList(state.getUnits(), actingUnit.getId(),
-            u -> u.withSkillUsed(cooldown));
+        UnitListUpdate update = new UnitListUpdate(state, events());
+        update.update(actingUnit.getId(), u -> u.withSkillUsed(cooldown));
+        List<Unit> newUnits = update.commit();
 
         // Apply CHALLENGE buff to target (sourceUnitId tracks who challenged them)
         Map<String, List<BuffInstance>> newUnitBuffs = new HashMap<>(state.getUnitBuffs());
-        BuffInstance challengeBuff = BuffFactory.create(BuffType.CHALLENGE, actingUnit.getId());
+        BuffInstance challengeBuff = BuffFactory.create(BuffType.CHALLENGE, actingUnit.getId(), state.getNextBuffId());
 
         List<BuffInstance> targetBuffs = new ArrayList<>(
             newUnitBuffs.getOrDefault(targetUnitId, Collections.emptyList())
         );
         targetBuffs.add(challengeBuff);
         newUnitBuffs.put(targetUnitId, targetBuffs);
+        reportBuffApplied(targetUnitId, challengeBuff);
 
-        GameOverResult gameOver = checkGameOver(newUnits);
-        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner);
+        GameOverResult gameOver = checkGameOver(update.getAliveCounts());
+        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner,
+            state.getNextBuffId() + 1)
+            .primeAliveCounts(update.getAliveCounts());
     }
 
     /**
@@ -72,32 +76,32 @@ public class DuelistSkillExecutor extends SkillExecutorBase {
         Unit actualDamageReceiver = (guardian != null) ? guardian : targetUnit;
         String damageReceiverId = actualDamageReceiver.getId();
 
-        Map<String, UnitTransformer> transformers = new HashMap<>();
-        transformers.put(actingUnit.getId(), u -> u.withSkillUsed(cooldown));
-        if (!actingUnit.getId().equals(damageReceiverId)) {
-            transformers.put(damageReceiverId, u -> u.withDamage(damage));
-        } else {
-            transformers.put(actingUnit.getId(), u -> u.withSkillUsed(cooldown).withDamage(damage));
-        }
-        List<Unit> newUnits = updateUnitsInList(state.getUnits(), transformers);
+        UnitListUpdate update = new UnitListUpdate(state, events());
+        int casterIndex = update.indexOf(actingUnit.getId());
+        update.set(casterIndex, update.get(casterIndex).withSkillUsed(cooldown));
+        int receiverIndex = update.indexOf(damageReceiverId);
+        update.set(receiverIndex, update.get(receiverIndex).withDamage(damage));
 
         // Apply chosen debuff
         Map<String, List<BuffInstance>> newUnitBuffs = new HashMap<>(state.getUnitBuffs());
-        BuffInstance debuff = BuffFactory.create(chosenDebuff, actingUnit.getId());
+        BuffInstance debuff = BuffFactory.create(chosenDebuff, actingUnit.getId(), state.getNextBuffId());
         List<BuffInstance> targetBuffs = new ArrayList<>(
             newUnitBuffs.getOrDefault(damageReceiverId, Collections.emptyList())
         );
         targetBuffs.add(debuff);
         newUnitBuffs.put(damageReceiverId, targetBuffs);
+        reportBuffApplied(damageReceiverId, debuff);
 
         // Apply instant HP effects for WEAKNESS (-1 HP)
         if (debuff.getInstantHpBonus() != 0) {
-            newUnits = updateUnitInList(newUnits, damageReceiverId,
-                u -> u.withHpBonus(debuff.getInstantHpBonus()));
+            update.set(receiverIndex, update.get(receiverIndex).withHpBonus(debuff.getInstantHpBonus()));
         }
 
-        GameOverResult gameOver = checkGameOver(newUnits, action.getPlayerId());
-        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner);
+        List<Unit> newUnits = update.commit();
+        GameOverResult gameOver = checkGameOver(update.getAliveCounts(), action.getPlayerId());
+        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner,
+            state.getNextBuffId() + 1)
+            .primeAliveCounts(update.getAliveCounts());
     }
 
     /**
@@ -107,19 +111,23 @@ public class DuelistSkillExecutor extends SkillExecutorBase {
     public GameState applyFeint(GameState state, Action action, Unit actingUnit, SkillDefinition skill) {
         int cooldown = skill.getCooldown();  // 2
 
-        List<Unit> newUnits = updateUnitInList(state.getUnits(), actingUnit.getId(),
-            u -> u.withSkillUsed(cooldown));
+        UnitListUpdate update = new UnitListUpdate(state, events());
+        update.update(actingUnit.getId(), u -> u.withSkillUsed(cooldown));
+        List<Unit> newUnits = update.commit();
 
         // Apply FEINT buff to self
         Map<String, List<BuffInstance>> newUnitBuffs = new HashMap<>(state.getUnitBuffs());
-        BuffInstance feintBuff = BuffFactory.create(BuffType.FEINT, actingUnit.getId());
+        BuffInstance feintBuff = BuffFactory.create(BuffType.FEINT, actingUnit.getId(), state.getNextBuffId());
         List<BuffInstance> selfBuffs = new ArrayList<>(
             newUnitBuffs.getOrDefault(actingUnit.getId(), Collections.emptyList())
         );
         selfBuffs.add(feintBuff);
         newUnitBuffs.put(actingUnit.getId(), selfBuffs);
+        reportBuffApplied(actingUnit.getId(), feintBuff);
 
-        GameOverResult gameOver = checkGameOver(newUnits);
-        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner);
+        GameOverResult gameOver = checkGameOver(update.getAliveCounts());
+        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner,
+            state.getNextBuffId() + 1)
+            .primeAliveCounts(update.getAliveCounts());
     }
 }
@@ -40,18 +40,17 @@ public class HuntressSkillExecutor extends SkillExecutorBase {
         Unit actualDamageReceiver = (guardian != null) ? guardian : targetUnit;
         String damageReceiverId = actualDamageReceiver.getId();
 
-        Map<String, UnitTransformer> transformers = new HashMap<>();
-        transformers.put(actingUnit.getId(), u -> u.withSkillUsed(cooldown));
-        if (!actingUnit.getId().equals(damageReceiverId)) {
-            transformers.put(damageReceiverId, u -> u.withDamage(damage));
-        } else {
-            transformers.put(actingUnit.getId(), u -> u.withSkillUsed(cooldown).withDamage(damage));
-        }
-        List<Unit> newUnits = updateUnitsInList(state.getUnits(), transformers);
+        UnitListUpdate update = new UnitListUpdate(state, events());
+        int casterIndex = update.indexOf(actingUnit.getId());
+        update.set(casterIndex, update.get(casterIndex).withSkillUsed(cooldown));
+        int receiverIndex = update.indexOf(damageReceiverId);
+        update.set(receiverIndex, update.get(receiverIndex).withDamage(damage));
+        List<Unit> newUnits = update.commit();
 
-        GameOverResult gameOver = checkGameOver(newUnits, action.getPlayerId());
+        GameOverResult gameOver = checkGameOver(update.getAliveCounts(), action.getPlayerId());
 
-        return state.withUpdates(newUnits, state.getUnitBuffs(), gameOver.isGameOver, gameOver.winner);
+        return state.withUpdates(newUnits, state.getUnitBuffs(), gameOver.isGameOver, gameOver.winner)
+            .primeAliveCounts(update.getAliveCounts());
     }
 
     /**
@@ -68,8 +67,9 @@ public class HuntressSkillExecutor extends SkillExecutorBase {
         int dx = Integer.compare(targetPos.getX(), heroPos.getX());
         int dy = Integer.compare(targetPos.getY(), heroPos.getY());
 
-        // Find all enemies in the line
-        Map<String, Integer> damageAmounts = new HashMap<>();
+        // Find all enemies in the line, accumulating damage by list index
+        UnitListUpdate update = new UnitListUpdate(state, events());
+        int[] damageAmounts = new int[update.size()];
         Position current = new Position(heroPos.getX() + dx, heroPos.getY() + dy);
 
         while (isInBounds(current, state.getBoard())) {
@@ -82,26 +82,26 @@ public class HuntressSkillExecutor extends SkillExecutorBase {
                     // Check Guardian intercept
                     Unit guardian = findGuardian(state, u);
                     String damageReceiverId = (guardian != null) ? guardian.getId() : u.getId();
-                    damageAmounts.merge(damageReceiverId, damage, Integer::sum);
+                    damageAmounts[update.indexOf(damageReceiverId)] += damage;
                 }
             }
             current = new Position(current.getX() + dx, current.getY() + dy);
         }
 
         // Apply changes
-        List<Unit> newUnits = new ArrayList<>();
-        for (Unit u : state.getUnits()) {
-            if (u.getId().equals(actingUnit.getId())) {
-                newUnits.add(u.withSkillUsed(cooldown));
-            } else if (damageAmounts.containsKey(u.getId())) {
-                newUnits.add(u.withDamage(damageAmounts.get(u.getId())));
-            } else {
-                newUnits.add(u);
+        int casterIndex = update.indexOf(actingUnit.getId());
+        for (int i = 0; i < update.size(); i++) {
+            if (i == casterIndex) {
+                update.set(i, update.get(i).withSkillUsed(cooldown));
+            } else if (damageAmounts[i] > 0) {
+                update.set(i, update.get(i).withDamage(damageAmounts[i]));
             }
         }
+        List<Unit> newUnits = update.commit();
 
-        GameOverResult gameOver = checkGameOver(newUnits, action.getPlayerId());
-        return state.withUpdates(newUnits, state.getUnitBuffs(), gameOver.isGameOver, gameOver.winner);
+        GameOverResult gameOver = checkGameOver(update.getAliveCounts(), action.getPlayerId());
+        return state.withUpdates(newUnits, state.getUnitBuffs(), gameOver.isGameOver, gameOver.winner)
+            .primeAliveCounts(update.getAliveCounts());
     }
 
     /**
@@ -113,25 +113,30 @@ public class HuntressSkillExecutor extends SkillExecutorBase {
         int bonusDamage = skill.getDamageAmount();  // 2 (bonus per attack)
         int attackCharges = 2;
 
-        List<Unit> newUnits = updateUnitInList(state.getUnits(), actingUnit.getId(),
-            u -> u.withSkillUsedAndBonusAttack(cooldown, bonusDamage, attackCharges));
+        UnitListUpdate update = new UnitListUpdate(state, events());
+        int casterIndex = update.indexOf(actingUnit.getId());
+        update.set(casterIndex, update.get(casterIndex)
+            .withSkillUsedAndBonusAttack(cooldown, bonusDamage, attackCharges));
 
         // Apply LIFE buff (+3 HP instant)
         Map<String, List<BuffInstance>> newUnitBuffs = new HashMap<>(state.getUnitBuffs());
-        BuffInstance lifeBuff = BuffFactory.create(BuffType.LIFE, actingUnit.getId());
+        BuffInstance lifeBuff = BuffFactory.create(BuffType.LIFE, actingUnit.getId(), state.getNextBuffId());
         List<BuffInstance> heroBuffs = new ArrayList<>(
             newUnitBuffs.getOrDefault(actingUnit.getId(), Collections.emptyList())
         );
         heroBuffs.add(lifeBuff);
         newUnitBuffs.put(actingUnit.getId(), heroBuffs);
+        reportBuffApplied(actingUnit.getId(), lifeBuff);
 
         // Apply instant HP bonus from LIFE buff
         if (lifeBuff.getInstantHpBonus() != 0) {
-            newUnits = updateUnitInList(newUnits, actingUnit.getId(),
-                u -> u.withHpBonus(lifeBuff.getInstantHpBonus()));
+            update.set(casterIndex, update.get(casterIndex).withHpBonus(lifeBuff.getInstantHpBonus()));
         }
 
-        GameOverResult gameOver = checkGameOver(newUnits);
-        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner);
+        List<Unit> newUnits = update.commit();
+        GameOverResult gameOver = checkGameOver(update.getAliveCounts());
+        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner,
+            state.getNextBuffId() + 1)
+            .primeAliveCounts(update.getAliveCounts());
     }
 }
@@ -6,6 +6,7 @@ import com.tactics.engine.buff.BuffInstance;
 import com.tactics.engine.buff.BuffType;
 import com.tactics.engine.model.GameState;
 import com.tactics.engine.model.Position;
+import com.tactics.engine.model.SkillState;
 import com.tactics.engine.model.Unit;
 import com.tactics.engine.util.RngProvider;
 
@@ -40,44 +41,37 @@ public class MageSkillExecutor extends SkillExecutorBase {
         Unit actualDamageReceiver = (guardian != null) ? guardian : targetUnit;
         String damageReceiverId = actualDamageReceiver.getId();
 
-        Map<String, UnitTransformer> transformers = new HashMap<>();
-        transformers.put(actingUnit.getId(), u -> u.withSkillUsed(cooldown));
-        if (!actingUnit.getId().equals(damageReceiverId)) {
-            transformers.put(damageReceiverId, u -> u.withDamage(damage));
-        } else {
-            transformers.put(actingUnit.getId(), u -> u.withSkillUsed(cooldown).withDamage(damage));
-        }
-        List<Unit> newUnits = updateUnitsInList(state.getUnits(), transformers);
+        UnitListUpdate update = new UnitListUpdate(state, events());
+        int casterIndex = update.indexOf(actingUnit.getId());
+        update.set(casterIndex, update.get(casterIndex).withSkillUsed(cooldown));
+        int receiverIndex = update.indexOf(damageReceiverId);
+        update.set(receiverIndex, update.get(receiverIndex).withDamage(damage));
 
         // 50% chance to apply random debuff
         Map<String, List<BuffInstance>> newUnitBuffs = new HashMap<>(state.getUnitBuffs());
+        int nextBuffId = state.getNextBuffId();
         if (rngProvider.nextInt(100) < 50) {
             BuffType[] debuffs = {BuffType.WEAKNESS, BuffType.BLEED, BuffType.SLOW};
             BuffType debuffType = debuffs[rngProvider.nextInt(3)];
-            BuffInstance debuff = BuffFactory.create(debuffType, actingUnit.getId());
+            BuffInstance debuff = BuffFactory.create(debuffType, actingUnit.getId(), nextBuffId++);
 
             List<BuffInstance> targetBuffs = new ArrayList<>(
                 newUnitBuffs.getOrDefault(damageReceiverId, Collections.emptyList())
             );
             targetBuffs.add(debuff);
             newUnitBuffs.put(damageReceiverId, targetBuffs);
+            reportBuffApplied(damageReceiverId, debuff);
 
             // Apply instant HP effects for WEAKNESS (-1 HP)
             if (debuff.getInstantHpBonus() != 0) {
-                List<Unit> unitsWithDebuffHp = new ArrayList<>();
-                for (Unit u : newUnits) {
-                    if (u.getId().equals(damageReceiverId)) {
-                        unitsWithDebuffHp.add(u.withHpBonus(debuff.getInstantHpBonus()));
-                    } else {
-                        unitsWithDebuffHp.add(u);
-                    }
-                }
-                newUnits = unitsWithDebuffHp;
+                update.set(receiverIndex, update.get(receiverIndex).withHpBonus(debuff.getInstantHpBonus()));
             }
         }
 
-        GameOverResult gameOver = checkGameOver(newUnits, action.getPlayerId());
-        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner);
+        List<Unit> newUnits = update.commit();
+        GameOverResult gameOver = checkGameOver(update.getAliveCounts(), action.getPlayerId());
+        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner, nextBuffId)
+            .primeAliveCounts(update.getAliveCounts());
     }
 
     /**
@@ -89,32 +83,30 @@ public class MageSkillExecutor extends SkillExecutorBase {
         int cooldown = skill.getCooldown();  // 2
 
         // Check if beacon already exists
-        Map<String, Object> skillState = actingUnit.getSkillState();
-        boolean hasBeacon = skillState != null && skillState.containsKey("beacon_x");
+        SkillState skillState = actingUnit.getSkillState();
 
-        if (!hasBeacon) {
+        if (!skillState.hasBeacon()) {
             // First use: place beacon at target position
-            Map<String, Object> newSkillState = new HashMap<>();
-            newSkillState.put("beacon_x", targetPos.getX());
-            newSkillState.put("beacon_y", targetPos.getY());
+            SkillState newSkillState = SkillState.ofBeacon(targetPos);
 
             // Update unit with beacon placed (NO cooldown trigger)
-            List<Unit> newUnits = updateUnitInList(state.getUnits(), actingUnit.getId(),
-                u -> u.withSkillStateAndActionUsed(newSkillState));
+            UnitListUpdate update = new UnitListUpdate(state, events());
+            update.update(actingUnit.getId(), u -> u.withSkillStateAndActionUsed(newSkillState));
+            List<Unit> newUnits = update.commit();
 
-            return state.withUnits(newUnits);
+            return state.withUnits(newUnits).primeAliveCounts(update.getAliveCounts());
         } else {
             // Second use: teleport to beacon position
-            int beaconX = (Integer) skillState.get("beacon_x");
-            int beaconY = (Integer) skillState.get("beacon_y");
-            Position beaconPos = new Position(beaconX, beaconY);
+            Position beaconPos = skillState.getBeaconPosition();
 
             // Update unit: teleport to beacon, clear skill state, trigger cooldown
-            List<Unit> newUnits = updateUnitInList(state.getUnits(), actingUnit.getId(),
-                u -> u.withPositionSkillStateClearedAndSkillUsed(beaconPos, cooldown));
+            UnitListUpdate update = new UnitListUpdate(state, events());
+            update.update(actingUnit.getId(), u -> u.withPositionSkillStateClearedAndSkillUsed(beaconPos, cooldown));
+            List<Unit> newUnits = update.commit();
 
-            GameOverResult gameOver = checkGameOver(newUnits);
-            return state.withUpdates(newUnits, state.getUnitBuffs(), gameOver.isGameOver, gameOver.winner);
+            GameOverResult gameOver = checkGameOver(update.getAliveCounts());
+            return state.withUpdates(newUnits, state.getUnitBuffs(), gameOver.isGameOver, gameOver.winner)
+                .primeAliveCounts(update.getAliveCounts());
         }
     }
 
@@ -137,49 +129,52 @@ public class MageSkillExecutor extends SkillExecutorBase {
         // Sort by ID for deterministic order
         enemies.sort((a, b) -> a.getId().compareTo(b.getId()));
 
-        // Track damage to each unit (including guardians)
-        Map<String, Integer> damageAmounts = new HashMap<>();
+        // Track damage to each unit (including guardians), by list index
+        UnitListUpdate update = new UnitListUpdate(state, events());
+        int[] damageAmounts = new int[update.size()];
         for (Unit enemy : enemies) {
             Unit guardian = findGuardian(state, enemy);
             String damageReceiverId = (guardian != null) ? guardian.getId() : enemy.getId();
-            damageAmounts.merge(damageReceiverId, damage, Integer::sum);
+            damageAmounts[update.indexOf(damageReceiverId)] += damage;
         }
 
         // Apply damage
-        List<Unit> newUnits = new ArrayList<>();
-        for (Unit u : state.getUnits()) {
-            if (u.getId().equals(actingUnit.getId())) {
-                newUnits.add(u.withSkillUsed(cooldown));
-            } else if (damageAmounts.containsKey(u.getId())) {
-                newUnits.add(u.withDamage(damageAmounts.get(u.getId())));
-            } else {
-                newUnits.add(u);
+        int casterIndex = update.indexOf(actingUnit.getId());
+        for (int i = 0; i < update.size(); i++) {
+            if (i == casterIndex) {
+                update.set(i, update.get(i).withSkillUsed(cooldown));
+            } else if (damageAmounts[i] > 0) {
+                update.set(i, update.get(i).withDamage(damageAmounts[i]));
             }
         }
 
         // 33% chance to apply random debuff to each original target
         Map<String, List<BuffInstance>> newUnitBuffs = new HashMap<>(state.getUnitBuffs());
+        int nextBuffId = state.getNextBuffId();
         BuffType[] debuffs = {BuffType.WEAKNESS, BuffType.BLEED, BuffType.SLOW};
         for (Unit enemy : enemies) {
             if (rngProvider.nextInt(100) < 33) {
                 BuffType debuffType = debuffs[rngProvider.nextInt(3)];
-                BuffInstance debuff = BuffFactory.create(debuffType, actingUnit.getId());
+                BuffInstance debuff = BuffFactory.create(debuffType, actingUnit.getId(), nextBuffId++);
 
                 List<BuffInstance> targetBuffs = new ArrayList<>(
                     newUnitBuffs.getOrDefault(enemy.getId(), Collections.emptyList())
                 );
                 targetBuffs.add(debuff);
                 newUnitBuffs.put(enemy.getId(), targetBuffs);
+                reportBuffApplied(enemy.getId(), debuff);
 
                 // Apply instant HP effects for WEAKNESS (-1 HP)
                 if (debuff.getInstantHpBonus() != 0) {
-                    newUnits = updateUnitInList(newUnits, enemy.getId(),
-                        u -> u.withHpBonus(debuff.getInstantHpBonus()));
+                    int enemyIndex = update.indexOf(enemy.getId());
+                    update.set(enemyIndex, update.get(enemyIndex).withHpBonus(debuff.getInstantHpBonus()));
                 }
             }
         }
 
-        GameOverResult gameOver = checkGameOver(newUnits, action.getPlayerId());
-        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner);
+        List<Unit> newUnits = update.commit();
+        GameOverResult gameOver = checkGameOver(update.getAliveCounts(), action.getPlayerId());
+        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner, nextBuffId)
+            .primeAliveCounts(update.getAliveCounts());
     }
 }
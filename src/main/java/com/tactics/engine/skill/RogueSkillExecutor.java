@@ -4,6 +4,7 @@ import com.tactics.engine.action.Action;
 import com.tactics.engine.buff.BuffFactory;
 import com.tactics.engine.buff.BuffInstance;
 import com.tactics.engine.buff.BuffType;
+import com.tactics.engine.model.AliveCounts;
 import com.tactics.engine.model.GameState;
 import com.tactics.engine.model.MinionType;
 import com.tactics.engine.model.Position;
@@ -46,28 +47,28 @@ public class RogueSkillExecutor extends SkillExecutorBase {
         }
 
         // Update caster: teleport and become invisible
-        List<Unit> newUnits = new ArrayList<>();
-        for (Unit u : state.getUnits()) {
-            if (u.getId().equals(actingUnit.getId())) {
-                newUnits.add(u.withSkillUsed(cooldown).withPosition(targetPos).withInvisible(true));
-            } else {
-                newUnits.add(u);
-            }
-        }
+        UnitListUpdate update = new UnitListUpdate(state, events());
+        int casterIndex = update.indexOf(actingUnit.getId());
+        update.set(casterIndex, update.get(casterIndex)
+            .withSkillUsed(cooldown).withPosition(targetPos).withInvisible(true));
+        List<Unit> newUnits = update.commit();
 
         // Apply BLIND to adjacent enemies
         Map<String, List<BuffInstance>> newUnitBuffs = new HashMap<>(state.getUnitBuffs());
+        int nextBuffId = state.getNextBuffId();
         for (Unit enemy : adjacentEnemies) {
-            BuffInstance blindBuff = BuffFactory.create(BuffType.BLIND, actingUnit.getId());
+            BuffInstance blindBuff = BuffFactory.create(BuffType.BLIND, actingUnit.getId(), nextBuffId++);
             List<BuffInstance> enemyBuffs = new ArrayList<>(
                 newUnitBuffs.getOrDefault(enemy.getId(), Collections.emptyList())
             );
             enemyBuffs.add(blindBuff);
             newUnitBuffs.put(enemy.getId(), enemyBuffs);
+            reportBuffApplied(enemy.getId(), blindBuff);
         }
 
-        GameOverResult gameOver = checkGameOver(newUnits);
-        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner);
+        GameOverResult gameOver = checkGameOver(update.getAliveCounts());
+        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner, nextBuffId)
+            .primeAliveCounts(update.getAliveCounts());
     }
 
     /**
@@ -80,20 +81,24 @@ public class RogueSkillExecutor extends SkillExecutorBase {
             : action.getTargetUnitId();
         int cooldown = skill.getCooldown();  // 2
 
-        List<Unit> newUnits = updateUnitInList(state.getUnits(), actingUnit.getId(),
-            u -> u.withSkillUsed(cooldown));
+        UnitListUpdate update = new UnitListUpdate(state, events());
+        update.update(actingUnit.getId(), u -> u.withSkillUsed(cooldown));
+        List<Unit> newUnits = update.commit();
 
         // Apply DEATH_MARK buff to target
         Map<String, List<BuffInstance>> newUnitBuffs = new HashMap<>(state.getUnitBuffs());
-        BuffInstance deathMark = BuffFactory.create(BuffType.DEATH_MARK, actingUnit.getId());
+        BuffInstance deathMark = BuffFactory.create(BuffType.DEATH_MARK, actingUnit.getId(), state.getNextBuffId());
         List<BuffInstance> targetBuffs = new ArrayList<>(
             newUnitBuffs.getOrDefault(targetUnitId, Collections.emptyList())
         );
         targetBuffs.add(deathMark);
         newUnitBuffs.put(targetUnitId, targetBuffs);
+        reportBuffApplied(targetUnitId, deathMark);
 
-        GameOverResult gameOver = checkGameOver(newUnits);
-        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner);
+        GameOverResult gameOver = checkGameOver(update.getAliveCounts());
+        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner,
+            state.getNextBuffId() + 1)
+            .primeAliveCounts(update.getAliveCounts());
     }
 
     /**
@@ -106,17 +111,13 @@ public class RogueSkillExecutor extends SkillExecutorBase {
         int cloneDuration = skill.getEffectDuration();  // 2 rounds
 
         // Update caster: use skill
-        List<Unit> newUnits = new ArrayList<>();
-        for (Unit u : state.getUnits()) {
-            if (u.getId().equals(actingUnit.getId())) {
-                newUnits.add(u.withSkillUsed(cooldown));
-            } else {
-                newUnits.add(u);
-            }
-        }
+        UnitListUpdate update = new UnitListUpdate(state, events());
+        int casterIndex = update.indexOf(actingUnit.getId());
+        update.set(casterIndex, update.get(casterIndex).withSkillUsed(cooldown));
+        List<Unit> newUnits = update.commit();
 
         // Create the Shadow Clone
-        String cloneId = actingUnit.getId() + "_clone_" + System.currentTimeMillis();
+        String cloneId = actingUnit.getId() + "_clone_" + state.getCurrentRound();
         Unit clone = new Unit(
             cloneId,
             actingUnit.getOwner(),
@@ -140,8 +141,10 @@ public class RogueSkillExecutor extends SkillExecutorBase {
             null   // skillState
         );
         newUnits.add(clone);
+        AliveCounts aliveCounts = update.getAliveCounts().add(clone);
 
-        GameOverResult gameOver = checkGameOver(newUnits);
-        return state.withUpdates(newUnits, state.getUnitBuffs(), gameOver.isGameOver, gameOver.winner);
+        GameOverResult gameOver = checkGameOver(aliveCounts);
+        return state.withUpdates(newUnits, state.getUnitBuffs(), gameOver.isGameOver, gameOver.winner)
+            .primeAliveCounts(aliveCounts);
     }
 }
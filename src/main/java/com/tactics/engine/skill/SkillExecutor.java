@@ -46,6 +46,18 @@ public class SkillExecutor {
         this.clericExecutor.setRngProvider(rngProvider);
     }
 
+    /**
+     * Turn event reporting on for every hero executor.
+     */
+    public void enableEvents() {
+        this.warriorExecutor.enableEvents();
+        this.mageExecutor.enableEvents();
+        this.rogueExecutor.enableEvents();
+        this.huntressExecutor.enableEvents();
+        this.duelistExecutor.enableEvents();
+        this.clericExecutor.enableEvents();
+    }
+
     /**
      * Execute a skill and return the new game state.
      * Routes to the appropriate hero-specific executor based on skill ID.
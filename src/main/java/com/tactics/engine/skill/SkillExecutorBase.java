@@ -4,9 +4,10 @@ import com.tactics.engine.buff.BuffFactory;
 import com.tactics.engine.buff.BuffInstance;
 import com.tactics.engine.buff.BuffModifier;
 import com.tactics.engine.buff.BuffType;
+import com.tactics.engine.event.GameEventLog;
+import com.tactics.engine.model.AliveCounts;
 import com.tactics.engine.model.Board;
 import com.tactics.engine.model.GameState;
-import com.tactics.engine.model.MinionType;
 import com.tactics.engine.model.PlayerId;
 import com.tactics.engine.model.Position;
 import com.tactics.engine.model.Unit;
@@ -25,6 +26,7 @@ import java.util.Map;
 public abstract class SkillExecutorBase {
 
     protected RngProvider rngProvider;
+    private boolean eventsEnabled;
 
     public SkillExecutorBase(RngProvider rngProvider) {
         this.rngProvider = rngProvider;
@@ -34,13 +36,21 @@ public abstract class SkillExecutorBase {
         this.rngProvider = rngProvider;
     }
 
-    // =========================================================================
-    // Functional Interface for Unit Transformation
-    // =========================================================================
+    /**
+     * Turn event reporting on for this executor. Until then events() is
+     * null without consulting GameEventLog. Only ever switched on, so a
+     * plain field is enough: the recording thread sees its own write, and
+     * other threads find no log bound either way.
+     */
+    public void enableEvents() {
+        this.eventsEnabled = true;
+    }
 
-    @FunctionalInterface
-    protected interface UnitTransformer {
-        Unit transform(Unit unit);
+    /**
+     * Log recording the current action, or null.
+     */
+    protected GameEventLog events() {
+        return eventsEnabled ? GameEventLog.current() : null;
     }
 
     // =========================================================================
@@ -70,31 +80,6 @@ public abstract class SkillExecutorBase {
         return null;
     }
 
-    protected List<Unit> updateUnitInList(List<Unit> units, String unitId, UnitTransformer transformer) {
-        List<Unit> newUnits = new ArrayList<>();
-        for (Unit u : units) {
-            if (u.getId().equals(unitId)) {
-                newUnits.add(transformer.transform(u));
-            } else {
-                newUnits.add(u);
-            }
-        }
-        return newUnits;
-    }
-
-    protected List<Unit> updateUnitsInList(List<Unit> units, Map<String, UnitTransformer> transformers) {
-        List<Unit> newUnits = new ArrayList<>();
-        for (Unit u : units) {
-            UnitTransformer transformer = transformers.get(u.getId());
-            if (transformer != null) {
-                newUnits.add(transformer.transform(u));
-            } else {
-                newUnits.add(u);
-            }
-        }
-        return newUnits;
-    }
-
     // =========================================================================
     // Position Helper Methods
     // =========================================================================
@@ -137,18 +122,19 @@ public abstract class SkillExecutorBase {
     }
 
     protected GameOverResult checkGameOver(List<Unit> units, PlayerId activePlayer) {
-        boolean p1HasAlive = false;
-        boolean p2HasAlive = false;
+        return checkGameOver(AliveCounts.of(units), activePlayer);
+    }
 
-        for (Unit u : units) {
-            if (u.isAlive()) {
-                if (u.getOwner().isPlayer1()) {
-                    p1HasAlive = true;
-                } else {
-                    p2HasAlive = true;
-                }
-            }
-        }
+    protected GameOverResult checkGameOver(AliveCounts counts) {
+        return checkGameOver(counts, null);
+    }
+
+    /**
+     * Any-unit-alive rule on incrementally kept counts; O(1).
+     */
+    protected GameOverResult checkGameOver(AliveCounts counts, PlayerId activePlayer) {
+        boolean p1HasAlive = counts.hasLivingUnit(PlayerId.PLAYER_1);
+        boolean p2HasAlive = counts.hasLivingUnit(PlayerId.PLAYER_2);
 
         // V3: Simultaneous death - active player wins
         if (!p1HasAlive && !p2HasAlive) {
@@ -172,36 +158,14 @@ public abstract class SkillExecutorBase {
 
     /**
      * Find the Guardian (TANK) that will intercept damage for the target unit.
+     * The intercept is reported to the event log, if one is recording.
      */
     protected Unit findGuardian(GameState state, Unit target) {
-        if (target == null) {
-            return null;
+        Unit guardian = state.getGuardianIndex().findGuardian(target);
+        GameEventLog events = events();
+        if (guardian != null && events != null) {
+            events.guardianIntercept(guardian.getId(), target.getId());
         }
-
-        Unit guardian = null;
-
-        for (Unit u : state.getUnits()) {
-            if (!u.isAlive()) {
-                continue;
-            }
-            if (!u.getOwner().getValue().equals(target.getOwner().getValue())) {
-                continue;
-            }
-            if (u.getMinionType() != MinionType.TANK) {
-                continue;
-            }
-            if (u.getId().equals(target.getId())) {
-                continue;
-            }
-            if (!isAdjacent(u.getPosition(), target.getPosition())) {
-                continue;
-            }
-
-            if (guardian == null || u.getId().compareTo(guardian.getId()) < 0) {
-                guardian = u;
-            }
-        }
-
         return guardian;
     }
 
@@ -273,7 +237,7 @@ public abstract class SkillExecutorBase {
         List<BuffInstance> remainingBuffs = new ArrayList<>();
         boolean removed = false;
         for (BuffInstance buff : buffs) {
-            if (!removed && buff.getBuffId().equals(toRemove.getBuffId())) {
+            if (!removed && buff.equals(toRemove)) {
                 removed = true;
                 continue;
             }
@@ -293,14 +257,16 @@ public abstract class SkillExecutorBase {
     /**
      * Create a custom ATK buff for Power of Many (no instant HP bonus).
      */
-    protected BuffInstance createAtkBuff(String sourceUnitId, int bonusAtk, int duration) {
+    protected BuffInstance createAtkBuff(String sourceUnitId, int bonusAtk, int duration, int buffId) {
         return new BuffInstance(
-            "power_of_many_" + System.currentTimeMillis(),
+            buffId,
             sourceUnitId,
+            null,  // untyped
             duration,
             true,
             new BuffModifier(0, bonusAtk, 0, 0),  // bonusHp, bonusAttack, bonusMoveRange, bonusAttackRange
-            null
+            null,
+            0
         );
     }
 
@@ -317,6 +283,17 @@ public abstract class SkillExecutorBase {
         );
         buffs.add(buff);
         newUnitBuffs.put(unitId, buffs);
+        reportBuffApplied(unitId, buff);
         return newUnitBuffs;
     }
+
+    /**
+     * Report a buff given to a unit to the event log, if one is recording.
+     */
+    protected void reportBuffApplied(String unitId, BuffInstance buff) {
+        GameEventLog events = events();
+        if (events != null) {
+            events.buffApplied(unitId, buff);
+        }
+    }
 }
@@ -0,0 +1,122 @@
+package com.tactics.engine.skill;
+
+import com.tactics.engine.event.GameEventLog;
+import com.tactics.engine.model.AliveCounts;
+import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.Unit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Batched update of a unit list.
+ * Replacement units are staged by list index in a fixed array and the
+ * list is copied once, in commit(). Several updates to the same unit
+ * chain: get() returns the staged unit if there is one.
+ * The alive counts of the updated list are kept as units are staged,
+ * so game-over checks on the result need no rescan. Each staged change is
+ * reported to the event log, if one is given.
+ *
+ * One instance per skill application; not thread-safe.
+ */
+public final class UnitListUpdate {
+
+    private final List<Unit> units;
+    private final Unit[] staged;
+    private AliveCounts aliveCounts;
+    private final GameEventLog events;
+
+    public UnitListUpdate(List<Unit> units) {
+        this(units, AliveCounts.of(units), null);
+    }
+
+    /**
+     * Update of the state's units, starting from its (possibly cached) alive counts.
+     */
+    public UnitListUpdate(GameState state) {
+        this(state, null);
+    }
+
+    /**
+     * Same as UnitListUpdate(state), reporting staged changes to the log.
+     *
+     * @param events log to report to, or null to report nothing
+     */
+    public UnitListUpdate(GameState state, GameEventLog events) {
+        this(state.getUnits(), state.getAliveCounts(), events);
+    }
+
+    private UnitListUpdate(List<Unit> units, AliveCounts aliveCounts, GameEventLog events) {
+        this.units = units;
+        this.staged = new Unit[units.size()];
+        this.aliveCounts = aliveCounts;
+        this.events = events;
+    }
+
+    public int size() {
+        return staged.length;
+    }
+
+    /**
+     * @return list index of the unit, or -1 if not present
+     */
+    public int indexOf(String unitId) {
+        for (int i = 0; i < staged.length; i++) {
+            if (units.get(i).getId().equals(unitId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Current unit at the index: the staged replacement, or the original.
+     */
+    public Unit get(int index) {
+        Unit unit = staged[index];
+        return unit != null ? unit : units.get(index);
+    }
+
+    public void set(int index, Unit unit) {
+        Unit before = get(index);
+        aliveCounts = aliveCounts.replace(before, unit);
+        if (events != null) {
+            events.unitChanged(before, unit);
+        }
+        staged[index] = unit;
+    }
+
+    /**
+     * Replace the unit with the given id by its transformed copy.
+     *
+     * @return false if no unit has the id
+     */
+    public boolean update(String unitId, UnaryOperator<Unit> transform) {
+        int index = indexOf(unitId);
+        if (index < 0) {
+            return false;
+        }
+        set(index, transform.apply(get(index)));
+        return true;
+    }
+
+    /**
+     * Alive counts of the list as it will be committed.
+     */
+    public AliveCounts getAliveCounts() {
+        return aliveCounts;
+    }
+
+    /**
+     * Copies the list once with all staged replacements applied.
+     * The result is a new mutable list; the source list is not modified.
+     */
+    public List<Unit> commit() {
+        List<Unit> result = new ArrayList<>(staged.length);
+        for (int i = 0; i < staged.length; i++) {
+            result.add(get(i));
+        }
+        return result;
+    }
+}
@@ -7,7 +7,6 @@ import com.tactics.engine.model.Unit;
 import com.tactics.engine.util.RngProvider;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -28,15 +27,17 @@ public class WarriorSkillExecutor extends SkillExecutorBase {
         int shieldAmount = skill.getShieldAmount();  // 3
         int cooldown = skill.getCooldown();  // 2
 
-        List<Unit> newUnits = updateUnitInList(state.getUnits(), actingUnit.getId(),
-            u -> u.withShieldAndSkillUsed(u.getShield() + shieldAmount, cooldown));
+        UnitListUpdate update = new UnitListUpdate(state, events());
+        update.update(actingUnit.getId(), u -> u.withShieldAndSkillUsed(u.getShield() + shieldAmount, cooldown));
+        List<Unit> newUnits = update.commit();
 
         Map<String, List<com.tactics.engine.buff.BuffInstance>> newUnitBuffs =
             removeBleedBuffs(state.getUnitBuffs(), actingUnit.getId());
 
-        GameOverResult gameOver = checkGameOver(newUnits);
+        GameOverResult gameOver = checkGameOver(update.getAliveCounts());
 
-        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner);
+        return state.withUpdates(newUnits, newUnitBuffs, gameOver.isGameOver, gameOver.winner)
+            .primeAliveCounts(update.getAliveCounts());
     }
 
     /**
@@ -62,9 +63,10 @@ public class WarriorSkillExecutor extends SkillExecutorBase {
         // Sort by ID for deterministic order
         adjacentEnemies.sort((a, b) -> a.getId().compareTo(b.getId()));
 
-        // Track units being moved and damaged
-        Map<String, Position> newPositions = new HashMap<>();
-        Map<String, Integer> damageAmounts = new HashMap<>();
+        // Track units being moved and damaged, by list index
+        UnitListUpdate update = new UnitListUpdate(state, events());
+        Position[] newPositions = new Position[update.size()];
+        int[] damageAmounts = new int[update.size()];
 
         for (Unit enemy : adjacentEnemies) {
             // Calculate push direction (away from hero)
@@ -78,37 +80,36 @@ public class WarriorSkillExecutor extends SkillExecutorBase {
             // Check if push destination is valid
             boolean canPush = isInBounds(pushDest, state.getBoard()) &&
                               !isTileBlocked(state, pushDest) &&
-                              !newPositions.containsValue(pushDest);
+                              !containsPosition(newPositions, pushDest);
 
             // Check Guardian intercept
             Unit guardian = findGuardian(state, enemy);
             String damageReceiverId = (guardian != null) ? guardian.getId() : enemy.getId();
 
             if (canPush) {
-                newPositions.put(enemy.getId(), pushDest);
-                damageAmounts.merge(damageReceiverId, damage, Integer::sum);
+                newPositions[update.indexOf(enemy.getId())] = pushDest;
+                damageAmounts[update.indexOf(damageReceiverId)] += damage;
             } else {
-                damageAmounts.merge(damageReceiverId, damage + 1, Integer::sum);
+                damageAmounts[update.indexOf(damageReceiverId)] += damage + 1;
             }
         }
 
         // Apply all changes
-        List<Unit> newUnits = new ArrayList<>();
-        for (Unit u : state.getUnits()) {
-            if (u.getId().equals(actingUnit.getId())) {
-                newUnits.add(u.withSkillUsed(cooldown));
-            } else if (newPositions.containsKey(u.getId())) {
-                int totalDamage = damageAmounts.getOrDefault(u.getId(), 0);
-                newUnits.add(u.withPosition(newPositions.get(u.getId())).withDamage(totalDamage));
-            } else if (damageAmounts.containsKey(u.getId())) {
-                newUnits.add(u.withDamage(damageAmounts.get(u.getId())));
-            } else {
-                newUnits.add(u);
+        int casterIndex = update.indexOf(actingUnit.getId());
+        for (int i = 0; i < update.size(); i++) {
+            if (i == casterIndex) {
+                update.set(i, update.get(i).withSkillUsed(cooldown));
+            } else if (newPositions[i] != null) {
+                update.set(i, update.get(i).withPosition(newPositions[i]).withDamage(damageAmounts[i]));
+            } else if (damageAmounts[i] > 0) {
+                update.set(i, update.get(i).withDamage(damageAmounts[i]));
             }
         }
+        List<Unit> newUnits = update.commit();
 
-        GameOverResult gameOver = checkGameOver(newUnits, action.getPlayerId());
-        return state.withUpdates(newUnits, state.getUnitBuffs(), gameOver.isGameOver, gameOver.winner);
+        GameOverResult gameOver = checkGameOver(update.getAliveCounts(), action.getPlayerId());
+        return state.withUpdates(newUnits, state.getUnitBuffs(), gameOver.isGameOver, gameOver.winner)
+            .primeAliveCounts(update.getAliveCounts());
     }
 
     /**
@@ -133,27 +134,37 @@ public class WarriorSkillExecutor extends SkillExecutorBase {
         // Sort by ID for deterministic order
         adjacentEnemies.sort((a, b) -> a.getId().compareTo(b.getId()));
 
-        // Track damage to each unit (including guardians)
-        Map<String, Integer> damageAmounts = new HashMap<>();
+        // Track damage to each unit (including guardians), by list index
+        UnitListUpdate update = new UnitListUpdate(state, events());
+        int[] damageAmounts = new int[update.size()];
         for (Unit enemy : adjacentEnemies) {
             Unit guardian = findGuardian(state, enemy);
             String damageReceiverId = (guardian != null) ? guardian.getId() : enemy.getId();
-            damageAmounts.merge(damageReceiverId, damage, Integer::sum);
+            damageAmounts[update.indexOf(damageReceiverId)] += damage;
         }
 
         // Apply changes
-        List<Unit> newUnits = new ArrayList<>();
-        for (Unit u : state.getUnits()) {
-            if (u.getId().equals(actingUnit.getId())) {
-                newUnits.add(u.withSkillUsed(cooldown).withPosition(targetPos));
-            } else if (damageAmounts.containsKey(u.getId())) {
-                newUnits.add(u.withDamage(damageAmounts.get(u.getId())));
-            } else {
-                newUnits.add(u);
+        int casterIndex = update.indexOf(actingUnit.getId());
+        for (int i = 0; i < update.size(); i++) {
+            if (i == casterIndex) {
+                update.set(i, update.get(i).withSkillUsed(cooldown).withPosition(targetPos));
+            } else if (damageAmounts[i] > 0) {
+                update.set(i, update.get(i).withDamage(damageAmounts[i]));
             }
         }
+        List<Unit> newUnits = update.commit();
 
-        GameOverResult gameOver = checkGameOver(newUnits, action.getPlayerId());
-        return state.withUpdates(newUnits, state.getUnitBuffs(), gameOver.isGameOver, gameOver.winner);
+        GameOverResult gameOver = checkGameOver(update.getAliveCounts(), action.getPlayerId());
+        return state.withUpdates(newUnits, state.getUnitBuffs(), gameOver.isGameOver, gameOver.winner)
+            .primeAliveCounts(update.getAliveCounts());
+    }
+
+    private static boolean containsPosition(Position[] positions, Position pos) {
+        for (Position p : positions) {
+            if (pos.equals(p)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
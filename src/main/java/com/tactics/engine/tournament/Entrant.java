@@ -0,0 +1,114 @@
+package com.tactics.engine.tournament;
+
+import com.tactics.engine.draft.DraftState;
+import com.tactics.engine.model.HeroClass;
+import com.tactics.engine.model.MinionType;
+import com.tactics.engine.model.PlayerId;
+import com.tactics.engine.skill.SkillDefinition;
+import com.tactics.engine.skill.SkillRegistry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One tournament participant: a hero class, its skill and two minions.
+ *
+ * Identified by a stable key, e.g. "MAGE/mage_wild_magic/TANK+ARCHER",
+ * which is what checkpoints and reports use.
+ */
+public final class Entrant {
+
+    private final HeroClass heroClass;
+    private final String skillId;
+    private final MinionType firstMinion;
+    private final MinionType secondMinion;
+
+    public Entrant(HeroClass heroClass, String skillId, MinionType firstMinion, MinionType secondMinion) {
+        if (!SkillRegistry.canClassUseSkill(heroClass, skillId)) {
+            throw new IllegalArgumentException("Skill " + skillId + " cannot be used by " + heroClass);
+        }
+        this.heroClass = heroClass;
+        this.skillId = skillId;
+        this.firstMinion = Objects.requireNonNull(firstMinion, "firstMinion cannot be null");
+        this.secondMinion = Objects.requireNonNull(secondMinion, "secondMinion cannot be null");
+    }
+
+    /**
+     * Every draft a player can make: each hero class with each of its
+     * skills and each unordered pair of minion types (repeats allowed).
+     */
+    public static List<Entrant> enumerateAll() {
+        List<MinionType> minions = DraftState.getAvailableMinionTypes();
+        List<Entrant> entrants = new ArrayList<>();
+        for (HeroClass heroClass : HeroClass.values()) {
+            for (SkillDefinition skill : SkillRegistry.getSkillsForClass(heroClass)) {
+                for (int i = 0; i < minions.size(); i++) {
+                    for (int j = i; j < minions.size(); j++) {
+                        entrants.add(new Entrant(heroClass, skill.getSkillId(), minions.get(i), minions.get(j)));
+                    }
+                }
+            }
+        }
+        return Collections.unmodifiableList(entrants);
+    }
+
+    /**
+     * Parses a key written by key().
+     *
+     * @throws IllegalArgumentException if the key is malformed
+     */
+    public static Entrant parse(String key) {
+        String[] parts = key.split("/");
+        String[] minions = parts.length == 3 ? parts[2].split("\\+") : new String[0];
+        if (minions.length != 2) {
+            throw new IllegalArgumentException("Invalid entrant key: " + key);
+        }
+        return new Entrant(HeroClass.valueOf(parts[0]), parts[1],
+                MinionType.valueOf(minions[0]), MinionType.valueOf(minions[1]));
+    }
+
+    public String key() {
+        return heroClass.name() + "/" + skillId + "/" + firstMinion.name() + "+" + secondMinion.name();
+    }
+
+    public HeroClass getHeroClass() {
+        return heroClass;
+    }
+
+    public String getSkillId() {
+        return skillId;
+    }
+
+    /**
+     * This entrant's completed draft, seated as the given player.
+     */
+    public DraftState draft(PlayerId seat) {
+        return new DraftState(seat, heroClass)
+                .withMinion(firstMinion)
+                .withMinion(secondMinion)
+                .withSkill(skillId);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Entrant that = (Entrant) o;
+        return heroClass == that.heroClass
+                && skillId.equals(that.skillId)
+                && firstMinion == that.firstMinion
+                && secondMinion == that.secondMinion;
+    }
+
+    @Override
+    public int hashCode() {
+        return key().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return key();
+    }
+}
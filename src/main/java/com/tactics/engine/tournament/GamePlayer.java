@@ -0,0 +1,81 @@
+package com.tactics.engine.tournament;
+
+import com.tactics.engine.action.Action;
+import com.tactics.engine.draft.DraftResult;
+import com.tactics.engine.draft.DraftSetupService;
+import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.PlayerId;
+import com.tactics.engine.rules.RuleEngine;
+import com.tactics.engine.search.ActionGenerator;
+import com.tactics.engine.search.MaterialEvaluator;
+import com.tactics.engine.search.SearchAI;
+import com.tactics.engine.util.RngProvider;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Plays one game between two drafts without a server.
+ *
+ * Both seats use the same policy: SearchAI searching to a fixed depth, or
+ * uniformly random legal actions at depth 0. Searches are depth-limited
+ * rather than timed, so a game depends only on its drafts and seed, never
+ * on machine speed or load. Games that exceed maxActions are draws.
+ *
+ * Not thread-safe: use one instance per worker.
+ */
+public final class GamePlayer {
+
+    /**
+     * Depth that selects the random policy.
+     */
+    public static final int RANDOM_DEPTH = 0;
+
+    // Searches are bounded by depth; the budget only guards against runaways
+    private static final long SEARCH_BUDGET_MS = 60_000;
+
+    private final int depth;
+    private final int maxActions;
+    private final SearchAI searchAI;
+    private final ActionGenerator actionGenerator = new ActionGenerator();
+    private final DraftSetupService draftSetupService = new DraftSetupService();
+
+    public GamePlayer(int depth, int maxActions) {
+        if (depth < 0 || maxActions < 1) {
+            throw new IllegalArgumentException("depth must be >= 0 and maxActions positive");
+        }
+        this.depth = depth;
+        this.maxActions = maxActions;
+        this.searchAI = depth == RANDOM_DEPTH ? null : new SearchAI(new MaterialEvaluator(), SEARCH_BUDGET_MS);
+    }
+
+    /**
+     * Plays the game to the end.
+     *
+     * @param seed seeds both the rule engine and the random policy
+     * @return the winner, or null for a draw
+     */
+    public PlayerId play(DraftResult draft, long seed) {
+        RuleEngine ruleEngine = new RuleEngine();
+        ruleEngine.setRngProvider(new RngProvider(seed));
+        Random random = new Random(seed);
+
+        GameState state = draftSetupService.createGameState(draft);
+        for (int i = 0; i < maxActions && !state.isGameOver(); i++) {
+            Action action = chooseAction(ruleEngine, state, random);
+            if (action == null) {
+                break;
+            }
+            state = ruleEngine.applyAction(state, action);
+        }
+        return state.isGameOver() ? state.getWinner() : null;
+    }
+
+    private Action chooseAction(RuleEngine ruleEngine, GameState state, Random random) {
+        if (searchAI != null) {
+            return searchAI.search(state, depth, SEARCH_BUDGET_MS).getBestAction();
+        }
+        List<Action> legal = actionGenerator.generateLegal(ruleEngine, state);
+        return legal.isEmpty() ? null : legal.get(random.nextInt(legal.size()));
+    }
+}
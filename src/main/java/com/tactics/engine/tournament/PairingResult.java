@@ -0,0 +1,150 @@
+package com.tactics.engine.tournament;
+
+/**
+ * Results of one pairing so far, from the first entrant's point of view.
+ *
+ * Games are counted individually (wins, draws, losses); the score
+ * statistics are per mirrored pair, which is the sample unit of the Sprt.
+ * Immutable.
+ */
+public final class PairingResult {
+
+    private static final double Z_95 = 1.96;
+
+    private final Entrant first;
+    private final Entrant second;
+    private final int pairs;
+    private final int wins;
+    private final int draws;
+    private final int losses;
+    private final double sum;       // sum of pair scores
+    private final double sumSq;     // sum of squared pair scores
+    private final Sprt.Verdict verdict;
+
+    public PairingResult(Entrant first, Entrant second) {
+        this(first, second, 0, 0, 0, 0, 0.0, 0.0, Sprt.Verdict.CONTINUE);
+    }
+
+    private PairingResult(Entrant first, Entrant second, int pairs, int wins, int draws, int losses,
+                          double sum, double sumSq, Sprt.Verdict verdict) {
+        this.first = first;
+        this.second = second;
+        this.pairs = pairs;
+        this.wins = wins;
+        this.draws = draws;
+        this.losses = losses;
+        this.sum = sum;
+        this.sumSq = sumSq;
+        this.verdict = verdict;
+    }
+
+    /**
+     * Adds one mirrored pair of games and re-evaluates the stopping rule.
+     *
+     * @param firstGame  first entrant's result seated as PLAYER_1: 1 win, 0.5 draw, 0 loss
+     * @param secondGame first entrant's result seated as PLAYER_2
+     */
+    public PairingResult withPair(double firstGame, double secondGame, Sprt sprt) {
+        double score = (firstGame + secondGame) / 2;
+        int newPairs = pairs + 1;
+        double newSum = sum + score;
+        double newSumSq = sumSq + score * score;
+        return new PairingResult(first, second, newPairs,
+                wins + count(firstGame, 1.0) + count(secondGame, 1.0),
+                draws + count(firstGame, 0.5) + count(secondGame, 0.5),
+                losses + count(firstGame, 0.0) + count(secondGame, 0.0),
+                newSum, newSumSq, sprt.decide(newPairs, newSum, newSumSq));
+    }
+
+    private static int count(double game, double result) {
+        return game == result ? 1 : 0;
+    }
+
+    public Entrant getFirst() {
+        return first;
+    }
+
+    public Entrant getSecond() {
+        return second;
+    }
+
+    public String key() {
+        return first.key() + " vs " + second.key();
+    }
+
+    public int getPairs() {
+        return pairs;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public int getDraws() {
+        return draws;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+
+    public Sprt.Verdict getVerdict() {
+        return verdict;
+    }
+
+    public boolean isFinished() {
+        return verdict != Sprt.Verdict.CONTINUE;
+    }
+
+    /**
+     * First entrant's mean score, 0.5 if nothing was played.
+     */
+    public double getScore() {
+        return pairs == 0 ? 0.5 : sum / pairs;
+    }
+
+    /**
+     * Half width of the 95% confidence interval of getScore().
+     */
+    public double getConfidenceHalfWidth() {
+        if (pairs < 2) {
+            return 0.5;
+        }
+        double mean = sum / pairs;
+        double variance = Math.max(sumSq / pairs - mean * mean, 0.0) * pairs / (pairs - 1);
+        return Z_95 * Math.sqrt(variance / pairs);
+    }
+
+    // =========================================================================
+    // Checkpoint Lines
+    // =========================================================================
+
+    /**
+     * One tab-separated line; pair scores are multiples of 0.25, so the
+     * sums are written exactly.
+     */
+    public String toLine() {
+        return String.join("\t", first.key(), second.key(), Integer.toString(pairs),
+                Integer.toString(wins), Integer.toString(draws), Integer.toString(losses),
+                Double.toString(sum), Double.toString(sumSq), verdict.name());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    public static PairingResult parseLine(String line) {
+        String[] fields = line.split("\t");
+        if (fields.length != 9) {
+            throw new IllegalArgumentException("Invalid pairing line: " + line);
+        }
+        return new PairingResult(Entrant.parse(fields[0]), Entrant.parse(fields[1]),
+                Integer.parseInt(fields[2]), Integer.parseInt(fields[3]), Integer.parseInt(fields[4]),
+                Integer.parseInt(fields[5]), Double.parseDouble(fields[6]), Double.parseDouble(fields[7]),
+                Sprt.Verdict.valueOf(fields[8]));
+    }
+
+    @Override
+    public String toString() {
+        return "PairingResult{" + toLine().replace('\t', ' ') + "}";
+    }
+}
@@ -0,0 +1,119 @@
+package com.tactics.engine.tournament;
+
+import java.util.Locale;
+
+/**
+ * Sequential probability ratio test deciding whether a pairing is balanced.
+ *
+ * Samples are mirrored game pairs scored for one side (1 = won both seats,
+ * 0.5 = split or two draws, 0 = lost both), so seat advantage cancels
+ * within a sample. The test weighs H0 "the pairing is balanced" (expected
+ * score 0.5) against H1 "one side scores 0.5 + delta", for whichever side
+ * is ahead, using the normal approximation of the log-likelihood ratio
+ * (generalized SPRT):
+ *
+ *   LLR = n * (s1 - s0) * (2 * mean - s0 - s1) / (2 * variance)
+ *
+ * The pairing stops once the LLR leaves [ln(beta / (1 - alpha)),
+ * ln((1 - beta) / alpha)], after at least minPairs samples, or is cut off
+ * as inconclusive at maxPairs.
+ *
+ * Immutable.
+ */
+public final class Sprt {
+
+    public enum Verdict {
+        CONTINUE,       // keep sampling
+        BALANCED,       // H0 accepted
+        IMBALANCED,     // H1 accepted: one side is favoured
+        INCONCLUSIVE    // maxPairs reached without a decision
+    }
+
+    private static final double BALANCED_SCORE = 0.5;
+
+    // Floor for the sample variance, so unanimous results still give a finite LLR
+    private static final double MIN_VARIANCE = 1e-3;
+
+    private final double delta;
+    private final double alpha;
+    private final double beta;
+    private final int minPairs;
+    private final int maxPairs;
+    private final double lowerBound;
+    private final double upperBound;
+
+    /**
+     * @param delta    score advantage that counts as imbalanced, in (0, 0.5]
+     * @param alpha    false positive rate (balanced reported imbalanced)
+     * @param beta     false negative rate (imbalanced reported balanced)
+     * @param minPairs mirrored pairs to play before any decision
+     * @param maxPairs mirrored pairs after which the pairing is cut off
+     */
+    public Sprt(double delta, double alpha, double beta, int minPairs, int maxPairs) {
+        if (!(delta > 0 && delta <= 0.5)) {
+            throw new IllegalArgumentException("delta must be in (0, 0.5], got: " + delta);
+        }
+        if (!(alpha > 0 && alpha < 0.5) || !(beta > 0 && beta < 0.5)) {
+            throw new IllegalArgumentException("alpha and beta must be in (0, 0.5)");
+        }
+        if (minPairs < 1 || maxPairs < minPairs) {
+            throw new IllegalArgumentException("Need 1 <= minPairs <= maxPairs");
+        }
+        this.delta = delta;
+        this.alpha = alpha;
+        this.beta = beta;
+        this.minPairs = minPairs;
+        this.maxPairs = maxPairs;
+        this.lowerBound = Math.log(beta / (1 - alpha));
+        this.upperBound = Math.log((1 - beta) / alpha);
+    }
+
+    /**
+     * Detects a 60/40 imbalance with 5% error rates, in 8 to 200 pairs.
+     */
+    public static Sprt defaults() {
+        return new Sprt(0.1, 0.05, 0.05, 8, 200);
+    }
+
+    public int getMaxPairs() {
+        return maxPairs;
+    }
+
+    /**
+     * Log-likelihood ratio of H1 over H0.
+     *
+     * @param pairs number of samples
+     * @param sum   sum of the pair scores
+     * @param sumSq sum of the squared pair scores
+     */
+    public double llr(int pairs, double sum, double sumSq) {
+        if (pairs == 0) {
+            return 0.0;
+        }
+        double mean = sum / pairs;
+        double variance = Math.max(sumSq / pairs - mean * mean, MIN_VARIANCE);
+        double leading = BALANCED_SCORE + Math.abs(mean - BALANCED_SCORE);
+        double s0 = BALANCED_SCORE;
+        double s1 = BALANCED_SCORE + delta;
+        return pairs * (s1 - s0) * (2 * leading - s0 - s1) / (2 * variance);
+    }
+
+    public Verdict decide(int pairs, double sum, double sumSq) {
+        if (pairs >= minPairs) {
+            double llr = llr(pairs, sum, sumSq);
+            if (llr >= upperBound) {
+                return Verdict.IMBALANCED;
+            }
+            if (llr <= lowerBound) {
+                return Verdict.BALANCED;
+            }
+        }
+        return pairs >= maxPairs ? Verdict.INCONCLUSIVE : Verdict.CONTINUE;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "delta=%s alpha=%s beta=%s minPairs=%d maxPairs=%d",
+                delta, alpha, beta, minPairs, maxPairs);
+    }
+}
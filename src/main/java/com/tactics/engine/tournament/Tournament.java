@@ -0,0 +1,305 @@
+package com.tactics.engine.tournament;
+
+import com.tactics.engine.draft.DraftResult;
+import com.tactics.engine.model.HeroClass;
+import com.tactics.engine.model.PlayerId;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Round-robin balance tournament over drafts (see Entrant).
+ *
+ * Every pair of entrants plays mirrored game pairs: the same seed once with
+ * each entrant seated as PLAYER_1, so seat advantage cancels. A pairing
+ * keeps playing until its Sprt reaches a verdict. Pairings are independent
+ * tasks on a work-stealing pool, so short (clearly balanced or lopsided)
+ * pairings free their thread for the long ones. Each finished pairing is
+ * appended to a TournamentCheckpoint; rerunning with the same checkpoint
+ * and settings skips them.
+ *
+ * Results are deterministic: game seeds depend only on the tournament seed,
+ * the pairing and the pair number, not on scheduling or thread count.
+ *
+ * Usage:
+ *   mvn compile exec:java -Dexec.mainClass=com.tactics.engine.tournament.Tournament \
+ *       -Dexec.args="--depth 1 --checkpoint target/tournament.ckpt"
+ *
+ * Options:
+ *   --heroes A,B         only entrants of these hero classes [all]
+ *   --depth N            SearchAI depth, 0 for random play [1]
+ *   --max-actions N      actions after which a game is a draw [600]
+ *   --seed N             tournament seed [1]
+ *   --threads N          worker threads [available processors]
+ *   --delta D            score edge that counts as imbalanced [0.1]
+ *   --alpha A, --beta B  SPRT error rates [0.05]
+ *   --min-pairs N        mirrored pairs before a verdict [8]
+ *   --max-pairs N        mirrored pairs before giving up [200]
+ *   --checkpoint FILE    progress file [target/tournament.ckpt]
+ */
+public final class Tournament {
+
+    private static final int PROGRESS_EVERY = 100;
+    private static final int REPORTED_PAIRINGS = 20;
+
+    private final List<Entrant> entrants;
+    private final Sprt sprt;
+    private final int depth;
+    private final int maxActions;
+    private final long seed;
+    private final int threads;
+    private final TournamentCheckpoint checkpoint;
+    private final ThreadLocal<GamePlayer> gamePlayers;
+    private final AtomicInteger pairingsDone = new AtomicInteger();
+    private final AtomicLong gamesPlayed = new AtomicLong();
+
+    public Tournament(List<Entrant> entrants, Sprt sprt, int depth, int maxActions, long seed, int threads,
+                      Path checkpointPath) {
+        if (entrants.size() < 2 || threads < 1) {
+            throw new IllegalArgumentException("Need at least 2 entrants and 1 thread");
+        }
+        this.entrants = List.copyOf(entrants);
+        this.sprt = sprt;
+        this.depth = depth;
+        this.maxActions = maxActions;
+        this.seed = seed;
+        this.threads = threads;
+        this.checkpoint = new TournamentCheckpoint(checkpointPath, settings());
+        this.gamePlayers = ThreadLocal.withInitial(() -> new GamePlayer(depth, maxActions));
+    }
+
+    /**
+     * Everything that affects pairing results; stored in the checkpoint.
+     */
+    public String settings() {
+        return String.format(Locale.ROOT, "depth=%d maxActions=%d seed=%d %s", depth, maxActions, seed, sprt);
+    }
+
+    /**
+     * Games played by this run (excludes pairings restored from the checkpoint).
+     */
+    public long getGamesPlayed() {
+        return gamesPlayed.get();
+    }
+
+    // =========================================================================
+    // Running
+    // =========================================================================
+
+    /**
+     * Plays every pairing not yet in the checkpoint.
+     *
+     * @return all pairings, finished, in round-robin order
+     */
+    public List<PairingResult> run() throws IOException, InterruptedException {
+        Map<String, PairingResult> finished = checkpoint.load();
+        List<PairingResult> pairings = new ArrayList<>();
+        for (int i = 0; i < entrants.size(); i++) {
+            for (int j = i + 1; j < entrants.size(); j++) {
+                pairings.add(new PairingResult(entrants.get(i), entrants.get(j)));
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<ForkJoinTask<PairingResult>> tasks = new ArrayList<>(pairings.size());
+            for (PairingResult pairing : pairings) {
+                PairingResult done = finished.get(pairing.key());
+                tasks.add(done != null ? null : pool.submit(() -> playPairing(pairing, pairings.size())));
+            }
+            List<PairingResult> results = new ArrayList<>(pairings.size());
+            for (int i = 0; i < pairings.size(); i++) {
+                ForkJoinTask<PairingResult> task = tasks.get(i);
+                results.add(task == null ? finished.get(pairings.get(i).key()) : await(task));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+            checkpoint.close();
+        }
+    }
+
+    private static PairingResult await(ForkJoinTask<PairingResult> task) throws IOException, InterruptedException {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Plays mirrored pairs until the Sprt stops the pairing, then records it.
+     */
+    private PairingResult playPairing(PairingResult pairing, int totalPairings) {
+        GamePlayer player = gamePlayers.get();
+        Entrant first = pairing.getFirst();
+        Entrant second = pairing.getSecond();
+        DraftResult firstSeatedP1 = new DraftResult(first.draft(PlayerId.PLAYER_1), second.draft(PlayerId.PLAYER_2));
+        DraftResult firstSeatedP2 = new DraftResult(second.draft(PlayerId.PLAYER_1), first.draft(PlayerId.PLAYER_2));
+
+        PairingResult result = pairing;
+        while (!result.isFinished()) {
+            long gameSeed = gameSeed(pairing.key(), result.getPairs());
+            double asP1 = score(player.play(firstSeatedP1, gameSeed), PlayerId.PLAYER_1);
+            double asP2 = score(player.play(firstSeatedP2, gameSeed), PlayerId.PLAYER_2);
+            result = result.withPair(asP1, asP2, sprt);
+            gamesPlayed.addAndGet(2);
+        }
+
+        try {
+            checkpoint.record(result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int done = pairingsDone.incrementAndGet();
+        if (done % PROGRESS_EVERY == 0) {
+            System.out.println("Pairings played: " + done + " (of " + totalPairings + " total), games: "
+                    + gamesPlayed.get());
+        }
+        return result;
+    }
+
+    private static double score(PlayerId winner, PlayerId seat) {
+        if (winner == null) {
+            return 0.5;
+        }
+        return winner.equals(seat) ? 1.0 : 0.0;
+    }
+
+    private long gameSeed(String pairingKey, int pair) {
+        long h = seed * 0x9E3779B97F4A7C15L + pairingKey.hashCode();
+        h = h * 0x9E3779B97F4A7C15L + pair;
+        // SplitMix64 finalizer
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    // =========================================================================
+    // Report
+    // =========================================================================
+
+    /**
+     * Prints verdict counts, entrant standings (mean score over their
+     * pairings, each opponent weighted equally) and the most lopsided
+     * imbalanced pairings.
+     */
+    public static void printSummary(PrintStream out, List<PairingResult> results) {
+        Map<Sprt.Verdict, Integer> verdicts = new EnumMap<>(Sprt.Verdict.class);
+        Map<String, double[]> standings = new LinkedHashMap<>();   // key -> {score sum, pairings, games}
+        long games = 0;
+        for (PairingResult result : results) {
+            verdicts.merge(result.getVerdict(), 1, Integer::sum);
+            addStanding(standings, result.getFirst(), result.getScore(), result.getPairs());
+            addStanding(standings, result.getSecond(), 1.0 - result.getScore(), result.getPairs());
+            games += 2L * result.getPairs();
+        }
+
+        out.println(String.format(Locale.ROOT, "%d pairings, %d games: %s", results.size(), games, verdicts));
+        out.println();
+        out.println("Standings (mean pairing score):");
+        standings.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<String, double[]> e) -> -e.getValue()[0] / e.getValue()[1]))
+                .forEach(e -> out.println(String.format(Locale.ROOT, "  %.3f  %6d games  %s",
+                        e.getValue()[0] / e.getValue()[1], (long) e.getValue()[2], e.getKey())));
+        out.println();
+        out.println("Most imbalanced pairings (first entrant's score, 95% CI):");
+        results.stream()
+                .filter(r -> r.getVerdict() == Sprt.Verdict.IMBALANCED)
+                .sorted(Comparator.comparingDouble((PairingResult r) -> -Math.abs(r.getScore() - 0.5)))
+                .limit(REPORTED_PAIRINGS)
+                .forEach(r -> out.println(String.format(Locale.ROOT, "  %.3f +- %.3f  %4d pairs  %s",
+                        r.getScore(), r.getConfidenceHalfWidth(), r.getPairs(), r.key())));
+    }
+
+    private static void addStanding(Map<String, double[]> standings, Entrant entrant, double score, int pairs) {
+        double[] standing = standings.computeIfAbsent(entrant.key(), k -> new double[3]);
+        standing[0] += score;
+        standing[1] += 1;
+        standing[2] += 2.0 * pairs;
+    }
+
+    // =========================================================================
+    // Entry point
+    // =========================================================================
+
+    public static void main(String[] args) throws Exception {
+        Set<HeroClass> heroes = null;
+        int depth = 1;
+        int maxActions = 600;
+        long seed = 1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        double delta = 0.1;
+        double alpha = 0.05;
+        double beta = 0.05;
+        int minPairs = 8;
+        int maxPairs = 200;
+        Path checkpointPath = Paths.get("target", "tournament.ckpt");
+
+        List<String> rest = new ArrayList<>(List.of(args));
+        while (!rest.isEmpty()) {
+            String option = rest.remove(0);
+            if (rest.isEmpty()) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = rest.remove(0);
+            switch (option) {
+                case "--heroes":
+                    heroes = List.of(value.split(",")).stream()
+                            .map(h -> HeroClass.valueOf(h.trim().toUpperCase(Locale.ROOT)))
+                            .collect(Collectors.toSet());
+                    break;
+                case "--depth": depth = Integer.parseInt(value); break;
+                case "--max-actions": maxActions = Integer.parseInt(value); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                case "--threads": threads = Integer.parseInt(value); break;
+                case "--delta": delta = Double.parseDouble(value); break;
+                case "--alpha": alpha = Double.parseDouble(value); break;
+                case "--beta": beta = Double.parseDouble(value); break;
+                case "--min-pairs": minPairs = Integer.parseInt(value); break;
+                case "--max-pairs": maxPairs = Integer.parseInt(value); break;
+                case "--checkpoint": checkpointPath = Paths.get(value); break;
+                default: throw new IllegalArgumentException("Unknown option: " + option);
+            }
+        }
+
+        Set<HeroClass> selected = heroes;
+        List<Entrant> entrants = Entrant.enumerateAll().stream()
+                .filter(e -> selected == null || selected.contains(e.getHeroClass()))
+                .collect(Collectors.toList());
+        Tournament tournament = new Tournament(entrants, new Sprt(delta, alpha, beta, minPairs, maxPairs),
+                depth, maxActions, seed, threads, checkpointPath);
+        System.out.println("Tournament: " + entrants.size() + " entrants, " + tournament.settings()
+                + ", checkpoint " + checkpointPath);
+
+        long start = System.nanoTime();
+        List<PairingResult> results = tournament.run();
+        System.out.println(String.format(Locale.ROOT, "Played %d games in %.1fs",
+                tournament.getGamesPlayed(), (System.nanoTime() - start) / 1e9));
+        printSummary(System.out, results);
+    }
+}
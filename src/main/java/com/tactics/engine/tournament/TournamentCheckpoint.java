@@ -0,0 +1,112 @@
+package com.tactics.engine.tournament;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only record of finished pairings, so an interrupted tournament
+ * resumes where it stopped.
+ *
+ * The first line holds the tournament settings; a checkpoint written with
+ * different settings is rejected rather than mixed in. Each finished
+ * pairing is appended as one PairingResult line and flushed. Pairings that
+ * were still running are replayed from scratch on resume, which gives the
+ * same result since game seeds depend only on the pairing and pair number.
+ * A line torn by a process killed mid-write is ignored.
+ *
+ * record() is safe to call from any number of threads.
+ */
+public final class TournamentCheckpoint implements Closeable {
+
+    private static final String HEADER_PREFIX = "# tournament ";
+
+    private final Path path;
+    private final String header;
+    private BufferedWriter writer;
+
+    /**
+     * @param settings description of everything that affects results
+     */
+    public TournamentCheckpoint(Path path, String settings) {
+        this.path = path;
+        this.header = HEADER_PREFIX + settings;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Finished pairings recorded so far, by PairingResult.key().
+     *
+     * @throws IllegalStateException if the file was written with other settings
+     */
+    public Map<String, PairingResult> load() throws IOException {
+        Map<String, PairingResult> finished = new LinkedHashMap<>();
+        if (!Files.exists(path)) {
+            return finished;
+        }
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        if (lines.isEmpty()) {
+            return finished;
+        }
+        if (!lines.get(0).equals(header)) {
+            throw new IllegalStateException("Checkpoint " + path + " was written with different settings: "
+                    + lines.get(0).substring(Math.min(lines.get(0).length(), HEADER_PREFIX.length())));
+        }
+        for (int i = 1; i < lines.size(); i++) {
+            try {
+                PairingResult result = PairingResult.parseLine(lines.get(i));
+                finished.put(result.key(), result);
+            } catch (IllegalArgumentException e) {
+                // Torn line from an interrupted write; that pairing is replayed
+            }
+        }
+        return finished;
+    }
+
+    /**
+     * Appends a finished pairing and flushes it to the file.
+     */
+    public synchronized void record(PairingResult result) throws IOException {
+        if (writer == null) {
+            boolean fresh = !Files.exists(path) || Files.size(path) == 0;
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            if (fresh) {
+                writer.write(header);
+                writer.newLine();
+            } else if (!endsWithNewline()) {
+                // Terminate a torn last line so the new record starts cleanly
+                writer.newLine();
+            }
+        }
+        writer.write(result.toLine());
+        writer.newLine();
+        writer.flush();
+    }
+
+    private boolean endsWithNewline() throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        return bytes.length == 0 || bytes[bytes.length - 1] == '\n';
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
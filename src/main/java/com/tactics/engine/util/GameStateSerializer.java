@@ -4,6 +4,7 @@ import com.tactics.engine.buff.BuffFlags;
 import com.tactics.engine.buff.BuffInstance;
 import com.tactics.engine.buff.BuffModifier;
 import com.tactics.engine.buff.BuffType;
+import com.tactics.engine.metrics.EngineMetrics;
 import com.tactics.engine.model.Board;
 import com.tactics.engine.model.BuffTile;
 import com.tactics.engine.model.DeathChoice;
@@ -13,6 +14,7 @@ import com.tactics.engine.model.MinionType;
 import com.tactics.engine.model.Obstacle;
 import com.tactics.engine.model.PlayerId;
 import com.tactics.engine.model.Position;
+import com.tactics.engine.model.SkillState;
 import com.tactics.engine.model.Unit;
 import com.tactics.engine.model.UnitCategory;
 
@@ -43,6 +45,7 @@ public class GameStateSerializer {
     private static final String KEY_PENDING_DEATH_CHOICE = "pendingDeathChoice";
     private static final String KEY_PLAYER1_TURN_ENDED = "player1TurnEnded";
     private static final String KEY_PLAYER2_TURN_ENDED = "player2TurnEnded";
+    private static final String KEY_NEXT_BUFF_ID = "nextBuffId";
 
     // Board keys
     private static final String KEY_WIDTH = "width";
@@ -73,6 +76,8 @@ public class GameStateSerializer {
     private static final String KEY_IS_TEMPORARY = "isTemporary";
     private static final String KEY_TEMPORARY_DURATION = "temporaryDuration";
     private static final String KEY_SKILL_STATE = "skillState";
+    private static final String KEY_BEACON_X = "beacon_x";
+    private static final String KEY_BEACON_Y = "beacon_y";
 
     // Buff-related keys
     private static final String KEY_BUFF_ID = "buffId";
@@ -122,9 +127,18 @@ public class GameStateSerializer {
     private static final String KEY_DEAD_UNIT_ID = "deadUnitId";
     private static final String KEY_DEATH_POSITION = "deathPosition";
 
+    private EngineMetrics metrics;
+
     public GameStateSerializer() {
     }
 
+    /**
+     * Times toJsonMap into the given metrics; null turns timing off.
+     */
+    public void setMetrics(EngineMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     /**
      * Convert a GameState to a JSON-friendly map structure.
      *
@@ -136,6 +150,17 @@ public class GameStateSerializer {
         if (state == null) {
             throw new IllegalArgumentException("GameState cannot be null");
         }
+        EngineMetrics m = metrics;
+        if (m == null) {
+            return buildJsonMap(state);
+        }
+        long start = System.nanoTime();
+        Map<String, Object> result = buildJsonMap(state);
+        m.recordSerialize(System.nanoTime() - start);
+        return result;
+    }
+
+    private Map<String, Object> buildJsonMap(GameState state) {
 
         Map<String, Object> result = new HashMap<>();
 
@@ -190,6 +215,9 @@ public class GameStateSerializer {
         result.put(KEY_PLAYER1_TURN_ENDED, state.isPlayer1TurnEnded());
         result.put(KEY_PLAYER2_TURN_ENDED, state.isPlayer2TurnEnded());
 
+        // Buff id counter, so a restored match keeps allocating the same ids
+        result.put(KEY_NEXT_BUFF_ID, state.getNextBuffId());
+
         return result;
     }
 
@@ -251,9 +279,22 @@ public class GameStateSerializer {
         boolean player1TurnEnded = toBooleanOrDefault(map.get(KEY_PLAYER1_TURN_ENDED), false);
         boolean player2TurnEnded = toBooleanOrDefault(map.get(KEY_PLAYER2_TURN_ENDED), false);
 
+        // Buff id counter (older snapshots: continue after the highest id present)
+        int nextBuffId = toIntOrDefault(map.get(KEY_NEXT_BUFF_ID), nextBuffIdAfter(unitBuffs));
+
         return new GameState(board, units, currentPlayer, gameOver, winner, unitBuffs,
                             buffTiles, obstacles, currentRound, pendingDeathChoice,
-                            player1TurnEnded, player2TurnEnded);
+                            player1TurnEnded, player2TurnEnded, nextBuffId);
+    }
+
+    private static int nextBuffIdAfter(Map<String, List<BuffInstance>> unitBuffs) {
+        int next = BuffInstance.FIRST_ID;
+        for (List<BuffInstance> buffs : unitBuffs.values()) {
+            for (BuffInstance buff : buffs) {
+                next = Math.max(next, buff.getId() + 1);
+            }
+        }
+        return next;
     }
 
     // =========================================================================
@@ -303,8 +344,12 @@ public class GameStateSerializer {
         unitMap.put(KEY_IS_TEMPORARY, unit.isTemporary());
         unitMap.put(KEY_TEMPORARY_DURATION, unit.getTemporaryDuration());
 
-        if (unit.getSkillState() != null && !unit.getSkillState().isEmpty()) {
-            unitMap.put(KEY_SKILL_STATE, new HashMap<>(unit.getSkillState()));
+        SkillState skillState = unit.getSkillState();
+        if (skillState.hasBeacon()) {
+            Map<String, Object> skillStateMap = new HashMap<>();
+            skillStateMap.put(KEY_BEACON_X, skillState.getBeaconX());
+            skillStateMap.put(KEY_BEACON_Y, skillState.getBeaconY());
+            unitMap.put(KEY_SKILL_STATE, skillStateMap);
         }
 
         // V3 Action state fields
@@ -349,8 +394,7 @@ public class GameStateSerializer {
         boolean isTemporary = toBooleanOrDefault(unitMap.get(KEY_IS_TEMPORARY), false);
         int temporaryDuration = toIntOrDefault(unitMap.get(KEY_TEMPORARY_DURATION), 0);
 
-        @SuppressWarnings("unchecked")
-        Map<String, Object> skillState = (Map<String, Object>) unitMap.get(KEY_SKILL_STATE);
+        SkillState skillState = deserializeSkillState(unitMap.get(KEY_SKILL_STATE));
 
         // V3 Action state fields
         int actionsUsed = toIntOrDefault(unitMap.get(KEY_ACTIONS_USED), 0);
@@ -549,6 +593,9 @@ public class GameStateSerializer {
     }
 
     private Map<String, Object> serializeBuffModifier(BuffModifier modifiers) {
+        if (modifiers == null) {
+            modifiers = BuffModifier.NONE;
+        }
         Map<String, Object> modMap = new HashMap<>();
         modMap.put(KEY_BONUS_HP, modifiers.getBonusHp());
         modMap.put(KEY_BONUS_ATTACK, modifiers.getBonusAttack());
@@ -558,6 +605,10 @@ public class GameStateSerializer {
     }
 
     private Map<String, Object> serializeBuffFlags(BuffFlags flags) {
+        // Some skill buffs (e.g. Power of Many) carry modifiers only
+        if (flags == null) {
+            flags = BuffFlags.none();
+        }
         Map<String, Object> flagsMap = new HashMap<>();
         // V1 flags
         flagsMap.put(KEY_STUNNED, flags.isStunned());
@@ -629,6 +680,19 @@ public class GameStateSerializer {
         return new Position(x, y);
     }
 
+    @SuppressWarnings("unchecked")
+    private SkillState deserializeSkillState(Object obj) {
+        if (!(obj instanceof Map)) {
+            return SkillState.EMPTY;
+        }
+        Map<String, Object> skillStateMap = (Map<String, Object>) obj;
+        if (!skillStateMap.containsKey(KEY_BEACON_X) || !skillStateMap.containsKey(KEY_BEACON_Y)) {
+            return SkillState.EMPTY;
+        }
+        return SkillState.ofBeacon(new Position(toInt(skillStateMap.get(KEY_BEACON_X)),
+                                                toInt(skillStateMap.get(KEY_BEACON_Y))));
+    }
+
     // =========================================================================
     // Buff Deserialization
     // =========================================================================
@@ -689,7 +753,7 @@ public class GameStateSerializer {
     private BuffModifier deserializeBuffModifier(Object modifiersObj) {
         if (!(modifiersObj instanceof Map)) {
             // Default to all zeros if missing
-            return new BuffModifier(0, 0, 0, 0);
+            return BuffModifier.NONE;
         }
 
         Map<String, Object> modMap = (Map<String, Object>) modifiersObj;
@@ -706,7 +770,7 @@ public class GameStateSerializer {
     private BuffFlags deserializeBuffFlags(Object flagsObj) {
         if (!(flagsObj instanceof Map)) {
             // Default to all false if missing
-            return new BuffFlags(false, false, false, false, false, false, false, false, false, false, false);
+            return BuffFlags.none();
         }
 
         Map<String, Object> flagsMap = (Map<String, Object>) flagsObj;
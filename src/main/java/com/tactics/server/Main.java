@@ -1,97 +1,60 @@
 package com.tactics.server;
 
-import com.tactics.engine.rules.RuleEngine;
-import com.tactics.engine.util.GameStateSerializer;
-import com.tactics.server.core.MatchRegistry;
-import com.tactics.server.core.MatchService;
-import com.tactics.server.ws.ConnectionRegistry;
-import com.tactics.server.ws.MatchWebSocketHandler;
-import com.tactics.server.ws.TacticsWebSocketEndpoint;
-
-import org.eclipse.jetty.server.Server;
-import org.eclipse.jetty.server.handler.HandlerList;
-import org.eclipse.jetty.server.handler.ResourceHandler;
-import org.eclipse.jetty.servlet.ServletContextHandler;
-import org.eclipse.jetty.websocket.server.config.JettyWebSocketServletContainerInitializer;
+import com.tactics.server.bootstrap.ServerBootstrap;
+import com.tactics.server.bootstrap.ServerConfig;
+import com.tactics.server.bootstrap.ServerTransport;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.Duration;
-
 /**
  * Main entry point for the Tactics 5x5 server.
  *
  * Usage:
  *   mvn compile exec:java
  *   or
- *   java -jar target/tactics-engine-1.0-SNAPSHOT.jar
+ *   java -jar target/tactics-engine-1.0-SNAPSHOT.jar [port]
  *
  * Server will start on port 8080 by default.
  * - WebSocket endpoint: ws://localhost:8080/ws
  * - Static files (client): http://localhost:8080/
+ *
+ * Settings come from tactics.properties, TACTICS_* environment variables
+ * and -Dtactics.* system properties; see ServerConfig.
  */
 public class Main {
 
     private static final Logger logger = LoggerFactory.getLogger(Main.class);
-    private static final int DEFAULT_PORT = 8080;
 
     public static void main(String[] args) throws Exception {
-        int port = getPort(args);
-
-        // Initialize game services
-        MatchRegistry matchRegistry = new MatchRegistry();
-        RuleEngine ruleEngine = new RuleEngine();
-        GameStateSerializer serializer = new GameStateSerializer();
-        MatchService matchService = new MatchService(matchRegistry, ruleEngine, serializer);
-        ConnectionRegistry connectionRegistry = new ConnectionRegistry();
-        MatchWebSocketHandler wsHandler = new MatchWebSocketHandler(matchService, connectionRegistry);
-
-        // Create Jetty server
-        Server server = new Server(port);
+        ServerConfig config = withPortArgument(
+                ServerConfig.load(System.getenv(), System.getProperties()), args);
 
-        // Create servlet context handler for WebSocket
-        ServletContextHandler context = new ServletContextHandler(ServletContextHandler.SESSIONS);
-        context.setContextPath("/");
+        ServerBootstrap bootstrap = new ServerBootstrap(config);
+        ServerTransport transport = bootstrap.start();
 
-        // Configure WebSocket
-        JettyWebSocketServletContainerInitializer.configure(context, (servletContext, wsContainer) -> {
-            wsContainer.setIdleTimeout(Duration.ofMinutes(10));
-            wsContainer.addMapping("/ws", (req, resp) -> new TacticsWebSocketEndpoint(wsHandler, connectionRegistry));
-        });
-
-        // Static file handler for client files
-        ResourceHandler resourceHandler = new ResourceHandler();
-        resourceHandler.setDirectoriesListed(false);
-        resourceHandler.setWelcomeFiles(new String[]{"index.html"});
-        resourceHandler.setResourceBase("client");
-
-        // Combine handlers - context first for WebSocket, then static files
-        HandlerList handlers = new HandlerList();
-        handlers.addHandler(context);
-        handlers.addHandler(resourceHandler);
-
-        server.setHandler(handlers);
-
-        // Start server
-        server.start();
+        int port = transport.getPort();
         logger.info("===========================================");
-        logger.info("Tactics 5x5 Server started on port {}", port);
+        logger.info("Tactics 5x5 Server started on port {} ({})", port, transport.getName());
         logger.info("WebSocket: ws://localhost:{}/ws", port);
-        logger.info("Client: http://localhost:{}/", port);
+        if (config.getTransport() == ServerConfig.Transport.JETTY) {
+            logger.info("Client: http://localhost:{}/", port);
+        }
+        logger.info("{}", config);
         logger.info("===========================================");
 
-        server.join();
+        transport.join();
     }
 
-    private static int getPort(String[] args) {
+    static ServerConfig withPortArgument(ServerConfig config, String[] args) {
         if (args.length > 0) {
             try {
-                return Integer.parseInt(args[0]);
-            } catch (NumberFormatException e) {
-                logger.warn("Invalid port '{}', using default {}", args[0], DEFAULT_PORT);
+                Integer.parseInt(args[0]);
+                return config.with("port", args[0]);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid port '{}', using {}", args[0], config.getPort());
             }
         }
-        return DEFAULT_PORT;
+        return config;
     }
 }
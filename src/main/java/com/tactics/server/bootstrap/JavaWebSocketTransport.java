@@ -0,0 +1,167 @@
+package com.tactics.server.bootstrap;
+
+import com.tactics.server.ws.MatchWebSocketHandler;
+import com.tactics.server.ws.MessageDispatcher;
+import com.tactics.server.ws.WebSocketClientConnection;
+
+import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Java-WebSocket transport: WebSocket only, on /ws.
+ * io.threads sets the library's decoder thread count.
+ */
+public class JavaWebSocketTransport implements ServerTransport {
+
+    private static final String WS_PATH = "/ws";
+    private static final long START_TIMEOUT_MS = 10_000;
+
+    private final ServerConfig config;
+    private final MatchWebSocketHandler handler;
+    private final MessageDispatcher dispatcher;
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private volatile Exception startError;
+    private TacticsWebSocketServer server;
+
+    /**
+     * @param dispatcher runs incoming messages off the decoder threads; null for inline handling
+     */
+    public JavaWebSocketTransport(ServerConfig config, MatchWebSocketHandler handler, MessageDispatcher dispatcher) {
+        this.config = config;
+        this.handler = handler;
+        this.dispatcher = dispatcher;
+    }
+
+    @Override
+    public String getName() {
+        return "java-websocket";
+    }
+
+    @Override
+    public void start() throws Exception {
+        int decoders = config.getIoThreads() > 0
+                ? config.getIoThreads() : Runtime.getRuntime().availableProcessors();
+        server = new TacticsWebSocketServer(new InetSocketAddress(config.getPort()), decoders);
+        server.setReuseAddr(true);
+        server.start();
+
+        if (!started.await(START_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("Java-WebSocket server did not start");
+        }
+        if (startError != null) {
+            throw startError;
+        }
+    }
+
+    @Override
+    public int getPort() {
+        return server != null ? server.getPort() : -1;
+    }
+
+    @Override
+    public void join() throws InterruptedException {
+        stopped.await();
+    }
+
+    @Override
+    public void stop() throws Exception {
+        if (server != null) {
+            server.stop();
+        }
+        stopped.countDown();
+    }
+
+    private void dispatch(WebSocketClientConnection connection, Runnable task) {
+        if (dispatcher == null) {
+            task.run();
+        } else {
+            dispatcher.dispatch(connection, task);
+        }
+    }
+
+    private void dispatchClose(WebSocketClientConnection connection) {
+        if (dispatcher == null) {
+            handler.onClose(connection);
+        } else {
+            dispatcher.dispatchLast(connection, () -> handler.onClose(connection));
+        }
+    }
+
+    /**
+     * WebSocket server implementation that delegates all events to MatchWebSocketHandler.
+     */
+    private class TacticsWebSocketServer extends WebSocketServer {
+
+        private final Map<WebSocket, WebSocketClientConnection> connectionMap = new ConcurrentHashMap<>();
+
+        TacticsWebSocketServer(InetSocketAddress address, int decoders) {
+            super(address, decoders);
+        }
+
+        @Override
+        public void onOpen(WebSocket conn, ClientHandshake handshake) {
+            String resourcePath = handshake.getResourceDescriptor();
+
+            // Only accept connections on the /ws path
+            if (!WS_PATH.equals(resourcePath)) {
+                conn.close(1003, "Invalid path. Use " + WS_PATH);
+                return;
+            }
+
+            // Create adapter and store mapping
+            String id = UUID.randomUUID().toString();
+            WebSocketClientConnection clientConnection = new WebSocketClientConnection(id, conn);
+            connectionMap.put(conn, clientConnection);
+
+            // Delegate to handler
+            handler.onOpen(clientConnection);
+        }
+
+        @Override
+        public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+            closeConnection(conn);
+        }
+
+        @Override
+        public void onMessage(WebSocket conn, String message) {
+            WebSocketClientConnection clientConnection = connectionMap.get(conn);
+            if (clientConnection != null) {
+                dispatch(clientConnection, () -> handler.onMessage(clientConnection, message));
+            }
+        }
+
+        @Override
+        public void onError(WebSocket conn, Exception ex) {
+            System.err.println("WebSocket error: " + ex.getMessage());
+            if (conn != null) {
+                closeConnection(conn);
+            } else if (started.getCount() > 0) {
+                // Bind failure
+                startError = ex;
+                started.countDown();
+            }
+        }
+
+        @Override
+        public void onStart() {
+            started.countDown();
+        }
+
+        private void closeConnection(WebSocket conn) {
+            WebSocketClientConnection clientConnection = connectionMap.remove(conn);
+            if (clientConnection != null) {
+                clientConnection.closeOutbound();
+                dispatchClose(clientConnection);
+            }
+        }
+    }
+}
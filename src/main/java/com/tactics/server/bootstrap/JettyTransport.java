@@ -0,0 +1,111 @@
+package com.tactics.server.bootstrap;
+
+import com.tactics.server.metrics.MetricsServlet;
+import com.tactics.server.metrics.PrometheusExporter;
+import com.tactics.server.ws.ConnectionRegistry;
+import com.tactics.server.ws.MatchWebSocketHandler;
+import com.tactics.server.ws.MessageDispatcher;
+import com.tactics.server.ws.TacticsWebSocketEndpoint;
+
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.HandlerList;
+import org.eclipse.jetty.server.handler.ResourceHandler;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.websocket.server.config.JettyWebSocketServletContainerInitializer;
+
+import java.time.Duration;
+
+/**
+ * Jetty transport: WebSocket on /ws, Prometheus metrics on /metrics (when
+ * enabled) and the static web client on /.
+ * io.threads sets the connector's selector count.
+ */
+public class JettyTransport implements ServerTransport {
+
+    private static final String WS_PATH = "/ws";
+    private static final String METRICS_PATH = "/metrics";
+
+    private final ServerConfig config;
+    private final MatchWebSocketHandler handler;
+    private final ConnectionRegistry connectionRegistry;
+    private final MessageDispatcher dispatcher;
+    private final PrometheusExporter metricsExporter;
+    private Server server;
+    private ServerConnector connector;
+
+    /**
+     * @param dispatcher runs incoming messages off Jetty's threads; null for inline handling
+     * @param metricsExporter served on /metrics; null to leave the path unmapped
+     */
+    public JettyTransport(ServerConfig config, MatchWebSocketHandler handler,
+                          ConnectionRegistry connectionRegistry, MessageDispatcher dispatcher,
+                          PrometheusExporter metricsExporter) {
+        this.config = config;
+        this.handler = handler;
+        this.connectionRegistry = connectionRegistry;
+        this.dispatcher = dispatcher;
+        this.metricsExporter = metricsExporter;
+    }
+
+    @Override
+    public String getName() {
+        return "jetty";
+    }
+
+    @Override
+    public void start() throws Exception {
+        server = new Server();
+        int selectors = config.getIoThreads() > 0 ? config.getIoThreads() : -1;
+        connector = new ServerConnector(server, -1, selectors);
+        connector.setPort(config.getPort());
+        server.addConnector(connector);
+
+        // Create servlet context handler for WebSocket
+        ServletContextHandler context = new ServletContextHandler(ServletContextHandler.SESSIONS);
+        context.setContextPath("/");
+
+        // Configure WebSocket
+        JettyWebSocketServletContainerInitializer.configure(context, (servletContext, wsContainer) -> {
+            wsContainer.setIdleTimeout(Duration.ofMinutes(10));
+            wsContainer.addMapping(WS_PATH,
+                    (req, resp) -> new TacticsWebSocketEndpoint(handler, connectionRegistry, dispatcher));
+        });
+
+        if (metricsExporter != null) {
+            context.addServlet(new ServletHolder(new MetricsServlet(metricsExporter)), METRICS_PATH);
+        }
+
+        // Static file handler for client files
+        ResourceHandler resourceHandler = new ResourceHandler();
+        resourceHandler.setDirectoriesListed(false);
+        resourceHandler.setWelcomeFiles(new String[]{"index.html"});
+        resourceHandler.setResourceBase(config.getStaticDirectory());
+
+        // Combine handlers - context first for WebSocket, then static files
+        HandlerList handlers = new HandlerList();
+        handlers.addHandler(context);
+        handlers.addHandler(resourceHandler);
+        server.setHandler(handlers);
+
+        server.start();
+    }
+
+    @Override
+    public int getPort() {
+        return connector != null ? connector.getLocalPort() : -1;
+    }
+
+    @Override
+    public void join() throws InterruptedException {
+        server.join();
+    }
+
+    @Override
+    public void stop() throws Exception {
+        if (server != null) {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.tactics.server.bootstrap;
+
+import com.tactics.engine.metrics.EngineMetrics;
+import com.tactics.engine.metrics.MetricsRegistry;
+import com.tactics.engine.rules.RuleEngine;
+import com.tactics.engine.util.GameStateSerializer;
+import com.tactics.server.core.MatchRegistry;
+import com.tactics.server.core.MatchService;
+import com.tactics.server.lifecycle.InMemoryMatchArchive;
+import com.tactics.server.lifecycle.MappedMatchArchive;
+import com.tactics.server.lifecycle.MatchArchive;
+import com.tactics.server.lifecycle.MatchLifecycleManager;
+import com.tactics.server.matchmaking.MatchmakingService;
+import com.tactics.server.metrics.PrometheusExporter;
+import com.tactics.server.spectator.SpectatorBroadcaster;
+import com.tactics.server.timer.TimerService;
+import com.tactics.server.ws.ConnectionRegistry;
+import com.tactics.server.ws.MatchWebSocketHandler;
+import com.tactics.server.ws.JsonHelper;
+import com.tactics.server.ws.MessageDispatcher;
+import com.tactics.server.ws.OutboundQueue;
+
+/**
+ * Builds and runs the whole server from a ServerConfig.
+ *
+ * Main and ServerMain both start here, so switching transport, worker
+ * pool or journal is a config change rather than a different entry point.
+ */
+public class ServerBootstrap {
+
+    private final ServerConfig config;
+    private final MetricsRegistry metricsRegistry;
+    private final TimerService timerService;
+    private final MatchService matchService;
+    private final ConnectionRegistry connectionRegistry;
+    private final MatchWebSocketHandler handler;
+    private final MatchArchive archive;
+    private final MatchLifecycleManager lifecycleManager;
+    private final MatchmakingService matchmakingService;
+    private final SpectatorBroadcaster spectatorBroadcaster;
+    private final MessageDispatcher dispatcher;
+    private final ServerTransport transport;
+
+    public ServerBootstrap(ServerConfig config) {
+        this.config = config;
+        this.metricsRegistry = config.isMetricsEnabled() ? new MetricsRegistry() : null;
+
+        // Initialize game services
+        MatchRegistry matchRegistry = new MatchRegistry();
+        RuleEngine ruleEngine = new RuleEngine();
+        GameStateSerializer serializer = new GameStateSerializer();
+        if (metricsRegistry != null) {
+            EngineMetrics engineMetrics = new EngineMetrics(metricsRegistry);
+            ruleEngine.setMetrics(engineMetrics);
+            serializer.setMetrics(engineMetrics);
+        }
+        this.timerService = new TimerService(System::currentTimeMillis, config.getTimerThreads());
+        this.matchService = new MatchService(matchRegistry, ruleEngine, serializer, timerService);
+        this.connectionRegistry = new ConnectionRegistry();
+        this.handler = new MatchWebSocketHandler(matchService, connectionRegistry);
+
+        // Archive and evict finished / abandoned matches
+        this.archive = createArchive(config);
+        this.lifecycleManager = new MatchLifecycleManager(handler, archive);
+
+        // Queue-based matchmaking (find_match)
+        this.matchmakingService = new MatchmakingService(handler);
+        handler.setMatchmakingService(matchmakingService);
+
+        // Delayed spectator fan-out (spectate_match)
+        this.spectatorBroadcaster = new SpectatorBroadcaster(config.getSpectatorDelayMs(),
+                SpectatorBroadcaster.DEFAULT_QUEUE_CAPACITY, SpectatorBroadcaster.DEFAULT_THREADS);
+        handler.setSpectatorBroadcaster(spectatorBroadcaster);
+
+        this.dispatcher = createDispatcher(config.getWorkerPool());
+        if (metricsRegistry != null) {
+            registerServerMetrics(matchRegistry);
+        }
+        this.transport = createTransport();
+    }
+
+    /**
+     * Message parse and send timings, plus gauges read from the services
+     * at scrape time.
+     */
+    private void registerServerMetrics(MatchRegistry matchRegistry) {
+        MetricsRegistry registry = metricsRegistry;
+        JsonHelper.setParseMetrics(
+                registry.recorder("tactics_message_parse_seconds", "JsonHelper.parseIncomingMessage latency"),
+                registry.counter("tactics_message_parse_errors_total", "Incoming messages that failed to parse"));
+        OutboundQueue.setSendLatency(
+                registry.recorder("tactics_message_send_seconds", "Outbound transport write latency"));
+
+        registry.gauge("tactics_connections", "Open client connections",
+                () -> connectionRegistry.getConnections().size());
+        registry.gauge("tactics_outbound_queue_depth", "Messages queued across all connections",
+                connectionRegistry::getTotalOutboundDepth);
+        registry.gauge("tactics_outbound_queue_depth_max", "Deepest single connection queue",
+                connectionRegistry::getMaxOutboundDepth);
+        registry.gauge("tactics_matches", "Matches in memory", () -> matchRegistry.getMatches().size());
+        registry.gauge("tactics_matchmaking_queued", "Players waiting for a match",
+                matchmakingService::getQueuedCount);
+        registry.gauge("tactics_spectators", "Connections spectating a match",
+                spectatorBroadcaster::getSpectatorCount);
+        registry.counter("tactics_spectator_delivered_total", "Spectator messages delivered",
+                spectatorBroadcaster::getDeliveredCount);
+        registry.gauge("tactics_spectator_dropped", "Messages dropped or coalesced for current spectators",
+                spectatorBroadcaster::getDroppedCount);
+        if (dispatcher != null) {
+            registry.gauge("tactics_dispatcher_active_keys", "Matches with messages queued or running",
+                    dispatcher::getActiveKeyCount);
+        }
+    }
+
+    private static MatchArchive createArchive(ServerConfig config) {
+        switch (config.getJournalType()) {
+            case MEMORY:
+                return new InMemoryMatchArchive();
+            case MAPPED:
+            default:
+                return new MappedMatchArchive(config.getJournalDirectory(), config.getJournalSegmentBytes(),
+                        config.getJournalRetentionMs(), new GameStateSerializer());
+        }
+    }
+
+    private static MessageDispatcher createDispatcher(ServerConfig.WorkerPool workerPool) {
+        switch (workerPool) {
+            case PLATFORM:
+                return MessageDispatcher.createPlatform();
+            case VIRTUAL:
+                return MessageDispatcher.create();
+            case INLINE:
+            default:
+                return null;
+        }
+    }
+
+    private ServerTransport createTransport() {
+        switch (config.getTransport()) {
+            case JAVA_WEBSOCKET:
+                return new JavaWebSocketTransport(config, handler, dispatcher);
+            case JETTY:
+            default:
+                return new JettyTransport(config, handler, connectionRegistry, dispatcher,
+                        metricsRegistry != null ? new PrometheusExporter(metricsRegistry) : null);
+        }
+    }
+
+    // =========================================================================
+    // Lifecycle
+    // =========================================================================
+
+    /**
+     * Starts background services and the transport.
+     *
+     * @return the started transport (port, join)
+     */
+    public ServerTransport start() throws Exception {
+        lifecycleManager.start(MatchLifecycleManager.DEFAULT_SWEEP_INTERVAL_MS);
+        matchmakingService.start(MatchmakingService.DEFAULT_TICK_MS);
+        transport.start();
+        return transport;
+    }
+
+    /**
+     * Stops the transport, then every background service.
+     */
+    public void stop() throws Exception {
+        try {
+            transport.stop();
+        } finally {
+            matchmakingService.shutdown();
+            lifecycleManager.shutdown();
+            spectatorBroadcaster.shutdown();
+            if (dispatcher != null) {
+                dispatcher.shutdown();
+            }
+            timerService.shutdown();
+            if (metricsRegistry != null) {
+                JsonHelper.setParseMetrics(null, null);
+                OutboundQueue.setSendLatency(null);
+            }
+            if (archive instanceof MappedMatchArchive) {
+                ((MappedMatchArchive) archive).close();
+            }
+        }
+    }
+
+    // =========================================================================
+    // Accessors
+    // =========================================================================
+
+    public ServerConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Server metrics, or null when metrics.enabled is false.
+     */
+    public MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
+    public ServerTransport getTransport() {
+        return transport;
+    }
+
+    public MatchService getMatchService() {
+        return matchService;
+    }
+
+    public ConnectionRegistry getConnectionRegistry() {
+        return connectionRegistry;
+    }
+
+    public MatchWebSocketHandler getHandler() {
+        return handler;
+    }
+
+    public MatchArchive getArchive() {
+        return archive;
+    }
+
+    public MatchmakingService getMatchmakingService() {
+        return matchmakingService;
+    }
+
+    public SpectatorBroadcaster getSpectatorBroadcaster() {
+        return spectatorBroadcaster;
+    }
+
+    /**
+     * Per-match dispatcher, or null when messages are handled inline.
+     */
+    public MessageDispatcher getDispatcher() {
+        return dispatcher;
+    }
+}
@@ -0,0 +1,261 @@
+package com.tactics.server.bootstrap;
+
+import com.tactics.server.lifecycle.MappedMatchArchive;
+import com.tactics.server.spectator.SpectatorBroadcaster;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Server settings, read from a properties file and overridden by
+ * environment variables and then system properties:
+ *
+ *   key in file         environment         system property
+ *   worker.pool         TACTICS_WORKER_POOL tactics.worker.pool
+ *
+ * Keys (defaults in brackets):
+ * - transport: jetty | java-websocket [jetty]
+ * - port [8080]
+ * - io.threads: selector / decoder threads, 0 = transport default [0]
+ * - worker.pool: inline | platform | virtual [inline]; where game logic
+ *   runs (inline = on the transport's I/O threads)
+ * - timer.threads: turn timer scheduler threads [1]
+ * - journal.type: mapped | memory [mapped]; where finished matches are archived
+ * - journal.directory [data/archive]
+ * - journal.segment.bytes [64 MiB]
+ * - journal.retention.ms [7 days]
+ * - spectator.delay.ms [5000]
+ * - static.directory: web client served by the jetty transport [client]
+ * - metrics.enabled: true | false [true]; hot-path timing, served on
+ *   /metrics by the jetty transport
+ *
+ * The file is tactics.properties in the working directory, or the path
+ * given by TACTICS_CONFIG / tactics.config; it is optional.
+ */
+public class ServerConfig {
+
+    public enum Transport { JETTY, JAVA_WEBSOCKET }
+
+    public enum WorkerPool { INLINE, PLATFORM, VIRTUAL }
+
+    public enum JournalType { MAPPED, MEMORY }
+
+    public static final String DEFAULT_FILE = "tactics.properties";
+
+    private static final String ENV_PREFIX = "TACTICS_";
+    private static final String PROPERTY_PREFIX = "tactics.";
+    private static final String CONFIG_KEY = "config";
+
+    private final Properties properties;
+
+    private final Transport transport;
+    private final int port;
+    private final int ioThreads;
+    private final WorkerPool workerPool;
+    private final int timerThreads;
+    private final JournalType journalType;
+    private final Path journalDirectory;
+    private final int journalSegmentBytes;
+    private final long journalRetentionMs;
+    private final long spectatorDelayMs;
+    private final String staticDirectory;
+    private final boolean metricsEnabled;
+
+    private ServerConfig(Properties properties) {
+        this.properties = properties;
+        this.transport = parseEnum(Transport.class, "transport", "jetty");
+        this.port = parseInt("port", 8080, 0);
+        this.ioThreads = parseInt("io.threads", 0, 0);
+        this.workerPool = parseEnum(WorkerPool.class, "worker.pool", "inline");
+        this.timerThreads = parseInt("timer.threads", 1, 1);
+        this.journalType = parseEnum(JournalType.class, "journal.type", "mapped");
+        this.journalDirectory = Paths.get(get("journal.directory", MappedMatchArchive.DEFAULT_DIRECTORY));
+        this.journalSegmentBytes = parseInt("journal.segment.bytes", MappedMatchArchive.DEFAULT_SEGMENT_SIZE, 1);
+        this.journalRetentionMs = parseLong("journal.retention.ms", MappedMatchArchive.DEFAULT_RETENTION_MS);
+        this.spectatorDelayMs = parseLong("spectator.delay.ms", SpectatorBroadcaster.DEFAULT_DELAY_MS);
+        this.staticDirectory = get("static.directory", "client");
+        this.metricsEnabled = parseBoolean("metrics.enabled", true);
+    }
+
+    // =========================================================================
+    // Loading
+    // =========================================================================
+
+    public static ServerConfig defaults() {
+        return new ServerConfig(new Properties());
+    }
+
+    /**
+     * Builds a config from plain key/value settings (keys as in the file).
+     *
+     * @throws IllegalArgumentException if a value is invalid
+     */
+    public static ServerConfig fromProperties(Properties properties) {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        return new ServerConfig(copy);
+    }
+
+    /**
+     * Loads the config file (if present), then applies environment and
+     * system property overrides.
+     *
+     * @throws IOException if an explicitly named config file cannot be read
+     */
+    public static ServerConfig load(Map<String, String> env, Properties systemProperties) throws IOException {
+        Properties merged = new Properties();
+
+        String explicit = systemProperties.getProperty(PROPERTY_PREFIX + CONFIG_KEY,
+                env.get(ENV_PREFIX + CONFIG_KEY.toUpperCase(Locale.ROOT)));
+        Path file = Paths.get(explicit != null ? explicit : DEFAULT_FILE);
+        if (explicit != null || Files.isRegularFile(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                merged.load(reader);
+            }
+        }
+
+        for (Map.Entry<String, String> entry : env.entrySet()) {
+            String name = entry.getKey();
+            if (name.startsWith(ENV_PREFIX) && !name.equals(ENV_PREFIX + "CONFIG")) {
+                String key = name.substring(ENV_PREFIX.length()).toLowerCase(Locale.ROOT).replace('_', '.');
+                merged.setProperty(key, entry.getValue());
+            }
+        }
+        for (String name : systemProperties.stringPropertyNames()) {
+            if (name.startsWith(PROPERTY_PREFIX) && !name.equals(PROPERTY_PREFIX + CONFIG_KEY)) {
+                merged.setProperty(name.substring(PROPERTY_PREFIX.length()), systemProperties.getProperty(name));
+            }
+        }
+        return new ServerConfig(merged);
+    }
+
+    /**
+     * Copy with one setting replaced (e.g. a port given on the command line).
+     */
+    public ServerConfig with(String key, String value) {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        copy.setProperty(key, value);
+        return new ServerConfig(copy);
+    }
+
+    // =========================================================================
+    // Settings
+    // =========================================================================
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Transport I/O threads; 0 leaves the transport's default.
+     */
+    public int getIoThreads() {
+        return ioThreads;
+    }
+
+    public WorkerPool getWorkerPool() {
+        return workerPool;
+    }
+
+    public int getTimerThreads() {
+        return timerThreads;
+    }
+
+    public JournalType getJournalType() {
+        return journalType;
+    }
+
+    public Path getJournalDirectory() {
+        return journalDirectory;
+    }
+
+    public int getJournalSegmentBytes() {
+        return journalSegmentBytes;
+    }
+
+    public long getJournalRetentionMs() {
+        return journalRetentionMs;
+    }
+
+    public long getSpectatorDelayMs() {
+        return spectatorDelayMs;
+    }
+
+    public String getStaticDirectory() {
+        return staticDirectory;
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    @Override
+    public String toString() {
+        return "ServerConfig{transport=" + transport + ", port=" + port + ", ioThreads=" + ioThreads
+                + ", workerPool=" + workerPool + ", timerThreads=" + timerThreads
+                + ", journal=" + journalType + (journalType == JournalType.MAPPED ? " " + journalDirectory : "")
+                + ", spectatorDelayMs=" + spectatorDelayMs + ", metrics=" + metricsEnabled + "}";
+    }
+
+    // =========================================================================
+    // Parsing
+    // =========================================================================
+
+    private String get(String key, String defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    private <E extends Enum<E>> E parseEnum(Class<E> type, String key, String defaultValue) {
+        String value = get(key, defaultValue);
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + key + ": " + value);
+        }
+    }
+
+    private boolean parseBoolean(String key, boolean defaultValue) {
+        String value = get(key, Boolean.toString(defaultValue)).toLowerCase(Locale.ROOT);
+        if (!value.equals("true") && !value.equals("false")) {
+            throw new IllegalArgumentException("Invalid " + key + ": " + value);
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    private int parseInt(String key, int defaultValue, int min) {
+        long value = parseLong(key, defaultValue);
+        if (value < min || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid " + key + ": " + value);
+        }
+        return (int) value;
+    }
+
+    private long parseLong(String key, long defaultValue) {
+        String value = get(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            long parsed = Long.parseLong(value);
+            if (parsed < 0) {
+                throw new IllegalArgumentException("Invalid " + key + ": " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + key + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.tactics.server.bootstrap;
+
+/**
+ * A WebSocket server front end that feeds MatchWebSocketHandler.
+ *
+ * Implementations differ only in the library doing socket I/O, so the
+ * same game wiring can be benchmarked on either.
+ */
+public interface ServerTransport {
+
+    /**
+     * Short name used in logs (e.g. "jetty").
+     */
+    String getName();
+
+    /**
+     * Binds and starts accepting connections; returns once the port is bound.
+     */
+    void start() throws Exception;
+
+    /**
+     * Bound port (useful when configured with port 0).
+     */
+    int getPort();
+
+    /**
+     * Blocks until the transport stops.
+     */
+    void join() throws InterruptedException;
+
+    void stop() throws Exception;
+}
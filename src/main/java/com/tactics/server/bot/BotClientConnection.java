@@ -0,0 +1,247 @@
+package com.tactics.server.bot;
+
+import com.tactics.engine.action.Action;
+import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.HeroClass;
+import com.tactics.engine.model.MinionType;
+import com.tactics.engine.model.PlayerId;
+import com.tactics.engine.search.SearchAI;
+import com.tactics.server.dto.OutgoingMessage;
+import com.tactics.server.timer.TimerConfig;
+import com.tactics.server.ws.ClientConnection;
+import com.tactics.server.ws.JsonHelper;
+import com.tactics.server.ws.MatchWebSocketHandler;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Virtual ClientConnection that seats a SearchAI bot in a match.
+ *
+ * Messages "sent" to the bot are read for their type only: game_ready
+ * triggers the draft, state_update / your_turn / timeout trigger a think,
+ * game_over stops the bot. The authoritative GameState is read from
+ * MatchService rather than parsed from JSON.
+ *
+ * All reactions run on the BotPool, never on the thread that delivered the
+ * message (usually a human's WebSocket thread in the middle of a broadcast).
+ * At most one think per bot runs at a time; messages that arrive meanwhile
+ * cause one more pass once it finishes. Actions go through
+ * MatchWebSocketHandler.submitAction, i.e. MatchService.applyActionWithTimer
+ * plus the normal broadcasts.
+ *
+ * A rejected think is retried by the next message (the action timer's
+ * timeout at the latest). The draft gets no such second chance, so if the
+ * pool rejects it the bot leaves the match, which the opponent sees as
+ * player_disconnected, rather than stalling the draft forever.
+ */
+public class BotClientConnection implements ClientConnection {
+
+    /**
+     * Per-move search budget: a fifth of the action timer.
+     */
+    public static final long DEFAULT_THINK_BUDGET_MS = TimerConfig.ACTION_TIMEOUT_MS / 5;
+
+    private final String id;
+    private final MatchWebSocketHandler handler;
+    private final BotPool pool;
+    private final SearchAI searchAI;
+
+    private volatile String matchId;
+    private volatile String playerId;
+    private volatile boolean battleStarted;
+    private volatile boolean finished;
+
+    private HeroClass heroClass = HeroClass.WARRIOR;
+    private List<MinionType> minions = List.of(MinionType.TANK, MinionType.ARCHER);
+
+    // Think scheduling: one runner at a time, re-run if woken while running
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean wakeRequested = new AtomicBoolean();
+
+    // Last state the server rejected our action for; skip until the state moves on
+    private GameState rejectedState;
+
+    BotClientConnection(String id, MatchWebSocketHandler handler, BotPool pool, SearchAI searchAI) {
+        this.id = id;
+        this.handler = handler;
+        this.pool = pool;
+        this.searchAI = searchAI;
+    }
+
+    /**
+     * Team submitted when the draft starts. Call before join().
+     */
+    public void setTeam(HeroClass heroClass, MinionType first, MinionType second) {
+        this.heroClass = heroClass;
+        this.minions = List.of(first, second);
+    }
+
+    /**
+     * Joins a match through the normal join_match handling.
+     */
+    public void join(String matchId) {
+        OutgoingMessage join = new OutgoingMessage("join_match", Map.of("matchId", matchId));
+        handler.onMessage(this, JsonHelper.toJson(join));
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    // =========================================================================
+    // ClientConnection
+    // =========================================================================
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public String getMatchId() {
+        return matchId;
+    }
+
+    @Override
+    public void setMatchId(String matchId) {
+        this.matchId = matchId;
+    }
+
+    @Override
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    @Override
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+
+    @Override
+    public boolean isVirtual() {
+        return true;
+    }
+
+    @Override
+    public void sendMessage(String message) {
+        if (finished) {
+            return;
+        }
+        String type = messageType(message);
+        if (type == null) {
+            return;
+        }
+        switch (type) {
+            case "game_ready":
+                if (!pool.submit(this::submitDraft)) {
+                    abandon("draft");
+                }
+                break;
+            case "state_update":
+            case "your_turn":
+            case "timeout":
+                battleStarted = true;
+                wake();
+                break;
+            case "game_over":
+                finished = true;
+                break;
+            default:
+                break;
+        }
+    }
+
+    // =========================================================================
+    // Bot Logic
+    // =========================================================================
+
+    private void submitDraft() {
+        OutgoingMessage selectTeam = new OutgoingMessage("select_team", Map.of(
+                "matchId", matchId,
+                "playerId", playerId,
+                "heroClass", heroClass.name(),
+                "minions", List.of(minions.get(0).name(), minions.get(1).name())));
+        handler.onMessage(this, JsonHelper.toJson(selectTeam));
+    }
+
+    /**
+     * Leaves the match after work that cannot be retried was rejected.
+     */
+    private void abandon(String work) {
+        System.err.println("Bot " + id + " could not queue its " + work + " for match " + matchId
+                + " (pool saturated or shut down), leaving");
+        finished = true;
+        handler.onClose(this);
+    }
+
+    private void wake() {
+        wakeRequested.set(true);
+        if (running.compareAndSet(false, true)) {
+            if (!pool.submit(this::runThinkLoop)) {
+                running.set(false);
+            }
+        }
+    }
+
+    private void runThinkLoop() {
+        try {
+            while (wakeRequested.getAndSet(false) && !finished) {
+                think();
+            }
+        } finally {
+            running.set(false);
+        }
+        // A wake that raced with the exit above
+        if (wakeRequested.get() && !finished) {
+            wake();
+        }
+    }
+
+    /**
+     * Plays every decision that is currently ours, one action at a time.
+     */
+    private void think() {
+        while (battleStarted && !finished) {
+            GameState state = handler.getMatchService().getCurrentState(matchId);
+            if (state == null || state.isGameOver()) {
+                return;
+            }
+            if (!isOurDecision(state) || state == rejectedState) {
+                return;
+            }
+
+            Action action = searchAI.chooseAction(state);
+            if (action == null) {
+                return;
+            }
+            // Pool stopped while thinking: the server is going down
+            if (pool.isShutdown()) {
+                return;
+            }
+            // The state moved on while thinking (e.g. a timeout); think again
+            if (handler.getMatchService().getCurrentState(matchId) != state) {
+                continue;
+            }
+            if (!handler.submitAction(this, action)) {
+                rejectedState = state;
+                return;
+            }
+        }
+    }
+
+    private boolean isOurDecision(GameState state) {
+        PlayerId decider = state.hasPendingDeathChoice()
+                ? state.getPendingDeathChoice().getOwner()
+                : state.getCurrentPlayer();
+        return decider != null && decider.getValue().equals(playerId);
+    }
+
+    /**
+     * Message type of an outgoing server message (see JsonHelper.peekType).
+     */
+    static String messageType(String json) {
+        return JsonHelper.peekType(json);
+    }
+}
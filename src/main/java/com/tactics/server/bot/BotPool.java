@@ -0,0 +1,139 @@
+package com.tactics.server.bot;
+
+import com.tactics.engine.search.MaterialEvaluator;
+import com.tactics.engine.search.SearchAI;
+import com.tactics.server.ws.MatchWebSocketHandler;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded thread pool for bot thinking, sized separately from the
+ * WebSocket server's threads.
+ *
+ * A fixed number of low-priority daemon threads take work from a bounded
+ * queue. When both are full, new work is rejected rather than run on the
+ * caller, so a burst of bot turns can never borrow a WebSocket thread.
+ * A bot whose turn is rejected simply misses it and the action timer
+ * applies the usual timeout penalty.
+ */
+public class BotPool {
+
+    // Longer than a default think, so a running search can complete
+    private static final long SHUTDOWN_WAIT_MS = 5_000;
+
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicInteger botCounter = new AtomicInteger();
+
+    /**
+     * @param threads number of bot worker threads
+     * @param queueCapacity bot turns that may wait for a free worker
+     */
+    public BotPool(int threads, int queueCapacity) {
+        if (threads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("threads and queueCapacity must be positive");
+        }
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new BotThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // =========================================================================
+    // Seating Bots
+    // =========================================================================
+
+    /**
+     * Creates a bot with the default search budget and joins it to a match.
+     */
+    public BotClientConnection seatBot(MatchWebSocketHandler handler, String matchId) {
+        return seatBot(handler, matchId, new SearchAI(new MaterialEvaluator(),
+                BotClientConnection.DEFAULT_THINK_BUDGET_MS));
+    }
+
+    /**
+     * Creates a bot driven by the given search and joins it to a match.
+     */
+    public BotClientConnection seatBot(MatchWebSocketHandler handler, String matchId, SearchAI searchAI) {
+        BotClientConnection bot = createBot(handler, searchAI);
+        bot.join(matchId);
+        return bot;
+    }
+
+    /**
+     * Creates and opens a bot without joining a match, so its team can be
+     * set before it joins.
+     */
+    public BotClientConnection createBot(MatchWebSocketHandler handler, SearchAI searchAI) {
+        BotClientConnection bot = new BotClientConnection(
+                "bot-" + botCounter.incrementAndGet(), handler, this, searchAI);
+        handler.onOpen(bot);
+        return bot;
+    }
+
+    // =========================================================================
+    // Execution
+    // =========================================================================
+
+    /**
+     * Queues bot work.
+     *
+     * @return false if the pool is saturated or shut down
+     */
+    public boolean submit(Runnable task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            return false;
+        }
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    /**
+     * Stops bot work and waits for running turns to finish, so no bot submits
+     * an action after the services it uses have stopped. Call before shutting
+     * down the TimerService.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(SHUTDOWN_WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class BotThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCounter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "bot-worker-" + threadCounter.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        }
+    }
+}
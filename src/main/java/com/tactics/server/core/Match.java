@@ -1,36 +1,323 @@
 package com.tactics.server.core;
 
+import com.tactics.engine.action.Action;
 import com.tactics.engine.model.GameState;
 import com.tactics.server.ws.ClientConnection;
 
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * Represents a single active match and its server-side state.
+ *
+ * One Match object lives for the whole match and is safe to share between
+ * WebSocket, timer and bot threads:
+ * - state: one volatile Snapshot of state, version and action log,
+ *   replaced with set or compare-and-set, so the log always lists the
+ *   actions in the order their states were installed.
+ * - player slots: a fixed two-element AtomicReferenceArray; joining is an
+ *   atomic claim of an empty slot.
+ * - spectators: copy-on-write array, cheap to iterate for broadcasts.
  */
 public class Match {
 
+    private static final AtomicReferenceFieldUpdater<Match, Snapshot> SNAPSHOT =
+            AtomicReferenceFieldUpdater.newUpdater(Match.class, Snapshot.class, "snapshot");
+    private static final AtomicReferenceFieldUpdater<Match, ClientConnection[]> SPECTATORS =
+            AtomicReferenceFieldUpdater.newUpdater(Match.class, ClientConnection[].class, "spectators");
+
+    private static final ClientSlot[] SLOTS = ClientSlot.values();
+    private static final ClientConnection[] NO_SPECTATORS = new ClientConnection[0];
+
     private final MatchId matchId;
-    private final GameState state;
-    private final Map<ClientSlot, ClientConnection> connections;
+    private final AtomicReferenceArray<ClientConnection> slots = new AtomicReferenceArray<>(SLOTS.length);
+    private final Map<ClientSlot, ClientConnection> connectionsView = new SlotMapView();
+
+    private volatile Snapshot snapshot;
+    private volatile ClientConnection[] spectators = NO_SPECTATORS;
+
+    /**
+     * Persistent action log: each node points at the actions before it.
+     */
+    private static final class ActionNode {
+        final Action action;
+        final ActionNode previous;
+        final int size;
+
+        ActionNode(Action action, ActionNode previous) {
+            this.action = action;
+            this.previous = previous;
+            this.size = previous == null ? 1 : previous.size + 1;
+        }
+    }
+
+    /**
+     * State, version and log as one immutable value, swapped atomically.
+     */
+    private static final class Snapshot {
+        final GameState state;
+        final long version;
+        final ActionNode log;   // null while empty
+
+        Snapshot(GameState state, long version, ActionNode log) {
+            this.state = state;
+            this.version = version;
+            this.log = log;
+        }
+
+        Snapshot next(GameState newState, Action cause) {
+            return new Snapshot(newState, version + 1, cause != null ? new ActionNode(cause, log) : log);
+        }
+    }
+
+    public Match(MatchId matchId, GameState state) {
+        this.matchId = matchId;
+        this.snapshot = new Snapshot(state, 0, null);
+    }
 
+    /**
+     * Creates a match with connections already seated (null values are skipped).
+     */
     public Match(MatchId matchId,
                  GameState state,
                  Map<ClientSlot, ClientConnection> connections) {
-        this.matchId = matchId;
-        this.state = state;
-        this.connections = connections;
+        this(matchId, state);
+        for (Map.Entry<ClientSlot, ClientConnection> entry : connections.entrySet()) {
+            if (entry.getValue() != null) {
+                slots.set(entry.getKey().ordinal(), entry.getValue());
+            }
+        }
     }
 
     public MatchId getMatchId() {
         return matchId;
     }
 
+    // =========================================================================
+    // State
+    // =========================================================================
+
     public GameState getState() {
-        return state;
+        return snapshot.state;
+    }
+
+    /**
+     * Replaces the state unconditionally.
+     *
+     * @param cause action that produced the new state, or null (e.g. a timeout penalty)
+     */
+    public void setState(GameState newState, Action cause) {
+        while (true) {
+            Snapshot current = snapshot;
+            if (SNAPSHOT.compareAndSet(this, current, current.next(newState, cause))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Replaces the state only if it is still expected.
+     *
+     * @param cause action that produced the new state, or null
+     * @return false if another thread changed the state first
+     */
+    public boolean compareAndSetState(GameState expected, GameState newState, Action cause) {
+        while (true) {
+            Snapshot current = snapshot;
+            if (current.state != expected) {
+                return false;
+            }
+            if (SNAPSHOT.compareAndSet(this, current, current.next(newState, cause))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Number of state updates applied since the match was created
+     * (actions, timeouts and the draft-to-battle transition).
+     */
+    public long getVersion() {
+        return snapshot.version;
+    }
+
+    /**
+     * Actions applied so far, including those applied on timeout, in the
+     * order of the states they produced. Returns a snapshot copy.
+     */
+    public List<Action> getActionLog() {
+        ActionNode node = snapshot.log;
+        if (node == null) {
+            return new ArrayList<>();
+        }
+        Action[] actions = new Action[node.size];
+        for (int i = actions.length - 1; i >= 0; i--, node = node.previous) {
+            actions[i] = node.action;
+        }
+        return new ArrayList<>(Arrays.asList(actions));
+    }
+
+    // =========================================================================
+    // Player Slots
+    // =========================================================================
+
+    public ClientConnection getConnection(ClientSlot slot) {
+        return slots.get(slot.ordinal());
     }
 
+    /**
+     * Seats a connection in the given slot if it is empty.
+     */
+    public boolean claimSlot(ClientSlot slot, ClientConnection connection) {
+        return slots.compareAndSet(slot.ordinal(), null, connection);
+    }
+
+    /**
+     * Seats a connection in the first empty slot (P1, then P2).
+     *
+     * @return the claimed slot, or null if the match is full
+     */
+    public ClientSlot claimFreeSlot(ClientConnection connection) {
+        for (ClientSlot slot : SLOTS) {
+            if (claimSlot(slot, connection)) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Empties a slot only if the given connection still holds it.
+     */
+    public boolean releaseSlot(ClientSlot slot, ClientConnection connection) {
+        return slots.compareAndSet(slot.ordinal(), connection, null);
+    }
+
+    /**
+     * Empties a slot unconditionally; returns the previous connection.
+     */
+    public ClientConnection clearSlot(ClientSlot slot) {
+        return slots.getAndSet(slot.ordinal(), null);
+    }
+
+    public int getConnectedCount() {
+        int count = 0;
+        for (int i = 0; i < SLOTS.length; i++) {
+            if (slots.get(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Live Map view of the player slots. put/remove write straight through
+     * (put overwrites), so prefer claimSlot / releaseSlot on shared paths.
+     */
     public Map<ClientSlot, ClientConnection> getConnections() {
-        return connections;
+        return connectionsView;
+    }
+
+    // =========================================================================
+    // Spectators
+    // =========================================================================
+
+    public void addSpectator(ClientConnection connection) {
+        while (true) {
+            ClientConnection[] current = spectators;
+            ClientConnection[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = connection;
+            if (SPECTATORS.compareAndSet(this, current, updated)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return false if the connection was not spectating
+     */
+    public boolean removeSpectator(ClientConnection connection) {
+        while (true) {
+            ClientConnection[] current = spectators;
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == connection) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return false;
+            }
+            ClientConnection[] updated = current.length == 1 ? NO_SPECTATORS : new ClientConnection[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+            if (SPECTATORS.compareAndSet(this, current, updated)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Snapshot of the current spectators; later changes are not reflected.
+     */
+    public List<ClientConnection> getSpectators() {
+        return Collections.unmodifiableList(Arrays.asList(spectators));
+    }
+
+    /**
+     * Map view over the slot array. Iteration takes a snapshot.
+     */
+    private class SlotMapView extends AbstractMap<ClientSlot, ClientConnection> {
+
+        @Override
+        public ClientConnection get(Object key) {
+            return key instanceof ClientSlot ? getConnection((ClientSlot) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public ClientConnection put(ClientSlot key, ClientConnection value) {
+            return slots.getAndSet(key.ordinal(), value);
+        }
+
+        @Override
+        public ClientConnection remove(Object key) {
+            return key instanceof ClientSlot ? clearSlot((ClientSlot) key) : null;
+        }
+
+        @Override
+        public int size() {
+            return getConnectedCount();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return getConnectedCount() == 0;
+        }
+
+        @Override
+        public Set<Entry<ClientSlot, ClientConnection>> entrySet() {
+            Map<ClientSlot, ClientConnection> snapshot = new EnumMap<>(ClientSlot.class);
+            for (ClientSlot slot : SLOTS) {
+                ClientConnection connection = getConnection(slot);
+                if (connection != null) {
+                    snapshot.put(slot, connection);
+                }
+            }
+            return Collections.unmodifiableMap(snapshot).entrySet();
+        }
     }
 }
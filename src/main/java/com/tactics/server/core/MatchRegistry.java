@@ -1,10 +1,12 @@
 package com.tactics.server.core;
 
+import com.tactics.engine.action.Action;
 import com.tactics.engine.model.GameState;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * In-memory registry for all active matches.
@@ -30,21 +32,52 @@ public class MatchRegistry {
     }
 
     public Match createMatch(String matchId, GameState initialState) {
-        MatchId id = new MatchId(matchId);
-        Map<ClientSlot, com.tactics.server.ws.ClientConnection> connections = new java.util.HashMap<>();
-        Match match = new Match(id, initialState, connections);
+        Match match = new Match(new MatchId(matchId), initialState);
         matches.put(matchId, match);
         return match;
     }
 
+    /**
+     * Returns the match, creating it if absent. Concurrent callers for the
+     * same id all get the one instance (when backed by a concurrent map).
+     */
+    public Match getOrCreateMatch(String matchId, Supplier<GameState> initialState) {
+        return matches.computeIfAbsent(matchId, id -> new Match(new MatchId(id), initialState.get()));
+    }
+
     public void updateMatchState(String matchId, GameState newState) {
+        updateMatchState(matchId, newState, null);
+    }
+
+    /**
+     * Replaces the match state and appends the action that produced it
+     * (if any) to the match's action log.
+     */
+    public void updateMatchState(String matchId, GameState newState, Action cause) {
         Match existing = matches.get(matchId);
         if (existing != null) {
-            Match updated = new Match(existing.getMatchId(), newState, existing.getConnections());
-            matches.put(matchId, updated);
+            existing.setState(newState, cause);
         }
     }
 
+    /**
+     * Replaces the match state only if it is still expected, i.e. nobody
+     * else applied an update since it was read.
+     *
+     * @return false if the match is unknown or its state changed
+     */
+    public boolean compareAndSetMatchState(String matchId, GameState expected, GameState newState, Action cause) {
+        Match existing = matches.get(matchId);
+        return existing != null && existing.compareAndSetState(expected, newState, cause);
+    }
+
+    /**
+     * Removes a match; returns the removed match or null.
+     */
+    public Match removeMatch(String matchId) {
+        return matches.remove(matchId);
+    }
+
     public Collection<Match> listMatches() {
         return matches.values();
     }
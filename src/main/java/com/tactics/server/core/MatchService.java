@@ -7,6 +7,7 @@ import com.tactics.engine.model.DeathChoice;
 import com.tactics.engine.model.GameState;
 import com.tactics.engine.model.PlayerId;
 import com.tactics.engine.model.Unit;
+import com.tactics.engine.rules.ApplyResult;
 import com.tactics.engine.rules.RuleEngine;
 import com.tactics.engine.rules.ValidationResult;
 import com.tactics.engine.util.GameStateFactory;
@@ -25,6 +26,8 @@ import java.util.List;
  */
 public class MatchService {
 
+    private static final String STATE_CHANGED_MESSAGE = "Match state changed before the action was applied";
+
     private final MatchRegistry matchRegistry;
     private final RuleEngine ruleEngine;
     private final GameStateSerializer gameStateSerializer;
@@ -72,13 +75,9 @@ public class MatchService {
     }
 
     public Match getOrCreateMatch(String matchId) {
-        Match existing = matchRegistry.getMatch(matchId);
-        if (existing != null) {
-            return existing;
-        }
-        // Create initial GameState with standard unit placement
-        GameState initialState = GameStateFactory.createStandardGame();
-        return matchRegistry.createMatch(matchId, initialState);
+        // Created with standard unit placement; atomic so two players joining
+        // a new match at once end up in the same one
+        return matchRegistry.getOrCreateMatch(matchId, GameStateFactory::createStandardGame);
     }
 
     public Match findMatch(String matchId) {
@@ -180,18 +179,19 @@ public class MatchService {
 
         GameState currentState = match.getState();
 
-        // Validate action using RuleEngine
-        ValidationResult validation = ruleEngine.validateAction(currentState, action);
-        if (!validation.isValid()) {
+        // Validate and apply in one pass (returns new immutable GameState)
+        ApplyResult result = ruleEngine.tryApply(currentState, action);
+        if (!result.isValid()) {
             // Invalid action does NOT reset timer (TA-004)
-            throw new IllegalArgumentException(validation.getErrorMessage());
+            throw new IllegalArgumentException(result.getErrorMessage());
         }
 
-        // Apply action using RuleEngine (returns new immutable GameState)
-        GameState newState = ruleEngine.applyAction(currentState, action);
+        GameState newState = result.getNewState();
 
-        // Update match in registry with new state
-        matchRegistry.updateMatchState(matchId, newState);
+        // Update match in registry with new state, unless a timeout got there first
+        if (!matchRegistry.compareAndSetMatchState(matchId, currentState, newState, action)) {
+            throw new IllegalArgumentException(STATE_CHANGED_MESSAGE);
+        }
 
         return newState;
     }
@@ -296,14 +296,16 @@ public class MatchService {
             throw new IllegalArgumentException(validation.getErrorMessage());
         }
 
-        // Complete the Death Choice timer
-        timerService.completeTimer(matchId, TimerType.DEATH_CHOICE);
-
         // Apply Death Choice action
         GameState newState = ruleEngine.applyAction(currentState, action);
 
-        // Update match in registry
-        matchRegistry.updateMatchState(matchId, newState);
+        // Update match in registry, unless the Death Choice timeout got there first
+        if (!matchRegistry.compareAndSetMatchState(matchId, currentState, newState, action)) {
+            throw new IllegalArgumentException(STATE_CHANGED_MESSAGE);
+        }
+
+        // Complete the Death Choice timer
+        timerService.completeTimer(matchId, TimerType.DEATH_CHOICE);
 
         // Handle game over
         if (newState.isGameOver()) {
@@ -336,17 +338,18 @@ public class MatchService {
 
         GameState currentState = match.getState();
 
-        // Validate action using RuleEngine
-        ValidationResult validation = ruleEngine.validateAction(currentState, action);
-        if (!validation.isValid()) {
-            throw new IllegalArgumentException(validation.getErrorMessage());
+        // Validate and apply in one pass (returns new immutable GameState)
+        ApplyResult result = ruleEngine.tryApply(currentState, action);
+        if (!result.isValid()) {
+            throw new IllegalArgumentException(result.getErrorMessage());
         }
 
-        // Apply action using RuleEngine (returns new immutable GameState)
-        GameState newState = ruleEngine.applyAction(currentState, action);
+        GameState newState = result.getNewState();
 
-        // Update match in registry with new state
-        matchRegistry.updateMatchState(matchId, newState);
+        // Update match in registry with new state, unless a timeout got there first
+        if (!matchRegistry.compareAndSetMatchState(matchId, currentState, newState, action)) {
+            throw new IllegalArgumentException(STATE_CHANGED_MESSAGE);
+        }
 
         return newState;
     }
@@ -370,7 +373,9 @@ public class MatchService {
 
         // Check if Hero died from timeout
         if (newState.isGameOver()) {
-            matchRegistry.updateMatchState(matchId, newState);
+            if (!matchRegistry.compareAndSetMatchState(matchId, currentState, newState, null)) {
+                return; // Player acted just in time
+            }
             timerService.cancelTimer(matchId, TimerType.ACTION);
 
             if (timerCallback != null) {
@@ -387,7 +392,10 @@ public class MatchService {
             newState = ruleEngine.applyAction(newState, endTurn);
         }
 
-        matchRegistry.updateMatchState(matchId, newState);
+        if (!matchRegistry.compareAndSetMatchState(matchId, currentState, newState,
+                validation.isValid() ? endTurn : null)) {
+            return; // Player acted just in time; their action restarted the timer
+        }
 
         // Notify callback
         if (timerCallback != null) {
@@ -428,7 +436,9 @@ public class MatchService {
 
         // Apply the default choice
         GameState newState = ruleEngine.applyAction(currentState, defaultChoice);
-        matchRegistry.updateMatchState(matchId, newState);
+        if (!matchRegistry.compareAndSetMatchState(matchId, currentState, newState, defaultChoice)) {
+            return; // Player made the choice just in time
+        }
 
         // Notify callback
         if (timerCallback != null) {
@@ -504,7 +514,10 @@ public class MatchService {
                 state.getBuffTiles(),
                 state.getObstacles(),
                 state.getCurrentRound(),
-                state.getPendingDeathChoice()
+                state.getPendingDeathChoice(),
+                false,
+                false,
+                state.getNextBuffId()
         );
     }
 
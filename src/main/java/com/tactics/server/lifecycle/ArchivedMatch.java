@@ -0,0 +1,122 @@
+package com.tactics.server.lifecycle;
+
+import com.tactics.engine.action.Action;
+import com.tactics.engine.model.GameState;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compact record of a match that has left the live registries.
+ */
+public class ArchivedMatch {
+
+    /**
+     * How the match ended.
+     */
+    public enum Outcome {
+        FINISHED,   // Game over
+        ABANDONED   // No connections and no activity for the idle timeout
+    }
+
+    private final String matchId;
+    private final Outcome outcome;
+    private final String winner;
+    private final long actionCount;
+    private final String finalStateHash;
+    private final long archivedAtMs;
+    private final List<Action> actions;
+    private final GameState finalState;
+
+    public ArchivedMatch(String matchId, Outcome outcome, String winner, long actionCount,
+                         String finalStateHash, long archivedAtMs) {
+        this(matchId, outcome, winner, actionCount, finalStateHash, archivedAtMs, List.of(), null);
+    }
+
+    /**
+     * @param actions actions applied during the match, in order
+     * @param finalState GameState at archive time, or null if not kept
+     */
+    public ArchivedMatch(String matchId, Outcome outcome, String winner, long actionCount,
+                         String finalStateHash, long archivedAtMs, List<Action> actions, GameState finalState) {
+        this.matchId = matchId;
+        this.outcome = outcome;
+        this.winner = winner;
+        this.actionCount = actionCount;
+        this.finalStateHash = finalStateHash;
+        this.archivedAtMs = archivedAtMs;
+        this.actions = Collections.unmodifiableList(actions);
+        this.finalState = finalState;
+    }
+
+    public String getMatchId() {
+        return matchId;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Winning player ID ("P1"/"P2"), or null for abandoned matches and draws.
+     */
+    public String getWinner() {
+        return winner;
+    }
+
+    /**
+     * State updates applied during the match (see Match.getVersion).
+     */
+    public long getActionCount() {
+        return actionCount;
+    }
+
+    /**
+     * SHA-256 (first 16 hex digits) of the serialized final GameState.
+     */
+    public String getFinalStateHash() {
+        return finalStateHash;
+    }
+
+    public long getArchivedAtMs() {
+        return archivedAtMs;
+    }
+
+    /**
+     * Actions applied during the match, in order. Empty if not recorded.
+     */
+    public List<Action> getActions() {
+        return actions;
+    }
+
+    /**
+     * GameState at archive time, or null if not recorded.
+     */
+    public GameState getFinalState() {
+        return finalState;
+    }
+
+    /**
+     * Copy without the action list and final state, for archives that keep
+     * entries on heap. Returns this if nothing would be dropped.
+     */
+    public ArchivedMatch summary() {
+        if (actions.isEmpty() && finalState == null) {
+            return this;
+        }
+        return new ArchivedMatch(matchId, outcome, winner, actionCount, finalStateHash, archivedAtMs);
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivedMatch{" +
+               "matchId='" + matchId + '\'' +
+               ", outcome=" + outcome +
+               ", winner='" + winner + '\'' +
+               ", actionCount=" + actionCount +
+               ", finalStateHash='" + finalStateHash + '\'' +
+               ", archivedAtMs=" + archivedAtMs +
+               ", actions=" + actions.size() +
+               '}';
+    }
+}
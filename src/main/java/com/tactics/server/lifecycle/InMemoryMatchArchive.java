@@ -0,0 +1,62 @@
+package com.tactics.server.lifecycle;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded in-memory archive keeping the most recently archived matches.
+ * Oldest entries are dropped once capacity is reached.
+ *
+ * Only the summary (id, outcome, winner, counts, hash) is kept; action
+ * history and final state are dropped on archive so each entry stays a few
+ * hundred bytes. Use MappedMatchArchive when replays are needed.
+ */
+public class InMemoryMatchArchive implements MatchArchive {
+
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    private final Map<String, ArchivedMatch> entries;
+
+    public InMemoryMatchArchive() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public InMemoryMatchArchive(int capacity) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ArchivedMatch> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Override
+    public synchronized void archive(ArchivedMatch match) {
+        entries.put(match.getMatchId(), match.summary());
+    }
+
+    @Override
+    public synchronized ArchivedMatch find(String matchId) {
+        return entries.get(matchId);
+    }
+
+    @Override
+    public synchronized List<ArchivedMatch> findFinishedBetween(long fromMs, long toMs) {
+        List<ArchivedMatch> result = new ArrayList<>();
+        for (ArchivedMatch match : entries.values()) {
+            if (match.getArchivedAtMs() >= fromMs && match.getArchivedAtMs() < toMs) {
+                result.add(match);
+            }
+        }
+        result.sort(Comparator.comparingLong(ArchivedMatch::getArchivedAtMs));
+        return result;
+    }
+
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,501 @@
+package com.tactics.server.lifecycle;
+
+import com.tactics.engine.action.Action;
+import com.tactics.engine.action.ActionType;
+import com.tactics.engine.buff.BuffType;
+import com.tactics.engine.model.DeathChoice;
+import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.PlayerId;
+import com.tactics.engine.model.Position;
+import com.tactics.engine.util.GameStateSerializer;
+import com.tactics.server.ws.JsonHelper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Match archive backed by memory-mapped segment files.
+ *
+ * Records are appended to the active segment ("segment-NNNNNNNN.dat", a
+ * fixed-size mapped file) and only an index from matchId to (segment,
+ * offset) plus a time index by archivedAtMs stay on heap. Lookups and range
+ * scans decode records from the mapping on demand.
+ *
+ * Record layout:
+ *   int   length of the body (written last; 0 marks the end of a segment)
+ *   long  archivedAtMs
+ *   str   matchId, byte outcome, str winner, long actionCount, str finalStateHash
+ *   int   action count, then each action (see writeAction)
+ *   int   length of the deflated final GameState JSON (-1 if absent), bytes
+ *
+ * where str is a short length (-1 for null) followed by UTF-8 bytes.
+ *
+ * A record that does not fit in the active segment rolls over to a new one.
+ * Whole segments whose newest record is older than the retention period are
+ * deleted on rollover, on reopen and on every expire (the lifecycle sweep),
+ * so a quiet archive still ages out. A segment's records stay indexed until
+ * its file is actually gone; a failed delete is retried next time instead
+ * of reappearing on reopen. Reopening a directory rebuilds the index by
+ * scanning every segment until a zero length.
+ */
+public class MappedMatchArchive implements MatchArchive {
+
+    public static final String DEFAULT_DIRECTORY = "data/archive";
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    public static final long DEFAULT_RETENTION_MS = 7L * 24 * 60 * 60 * 1000;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+    private static final int LENGTH_BYTES = 4;
+
+    /**
+     * One mapped segment file.
+     */
+    private static class Segment {
+        final long id;
+        final Path path;
+        final MappedByteBuffer buffer;
+        int writePosition;
+        long newestMs = Long.MIN_VALUE;
+
+        Segment(long id, Path path, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.buffer = buffer;
+        }
+    }
+
+    /**
+     * Where a record lives.
+     */
+    private static class Location {
+        final Segment segment;
+        final int offset;
+        final long archivedAtMs;
+
+        Location(Segment segment, int offset, long archivedAtMs) {
+            this.segment = segment;
+            this.offset = offset;
+            this.archivedAtMs = archivedAtMs;
+        }
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long retentionMs;
+    private final GameStateSerializer serializer;
+    private final Supplier<Long> clock;
+
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final Map<String, Location> index = new HashMap<>();
+    private final TreeMap<Long, List<String>> timeIndex = new TreeMap<>();
+    private Segment active;
+    private long lastSegmentId;
+
+    public MappedMatchArchive(Path directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_RETENTION_MS, new GameStateSerializer());
+    }
+
+    public MappedMatchArchive(Path directory, int segmentSize, long retentionMs, GameStateSerializer serializer) {
+        this(directory, segmentSize, retentionMs, serializer, System::currentTimeMillis);
+    }
+
+    /**
+     * @param directory where segment files are kept; created if missing
+     * @param segmentSize size of each mapped segment file in bytes
+     * @param retentionMs how long records are kept after they are archived
+     * @param serializer used to store the final GameState
+     * @param clock supplier providing current time in milliseconds, used on reopen
+     */
+    public MappedMatchArchive(Path directory, int segmentSize, long retentionMs, GameStateSerializer serializer,
+                              Supplier<Long> clock) {
+        if (segmentSize <= LENGTH_BYTES * 2) {
+            throw new IllegalArgumentException("segmentSize too small: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.retentionMs = retentionMs;
+        this.serializer = serializer;
+        this.clock = clock;
+        try {
+            Files.createDirectories(directory);
+            openExistingSegments();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open match archive at " + directory, e);
+        }
+        expire(clock.get());
+    }
+
+    // =========================================================================
+    // MatchArchive
+    // =========================================================================
+
+    @Override
+    public synchronized void archive(ArchivedMatch match) {
+        byte[] body = encode(match);
+        int recordSize = LENGTH_BYTES + body.length;
+        if (recordSize + LENGTH_BYTES > segmentSize) {
+            throw new IllegalArgumentException("Archived match " + match.getMatchId()
+                    + " needs " + recordSize + " bytes, segment size is " + segmentSize);
+        }
+        if (active == null || active.writePosition + recordSize + LENGTH_BYTES > segmentSize) {
+            rollover(match.getArchivedAtMs());
+        }
+
+        // Body first, length last: a crash mid-write leaves a zero length
+        int offset = active.writePosition;
+        active.buffer.put(offset + LENGTH_BYTES, body);
+        active.buffer.putInt(offset, body.length);
+        active.writePosition += recordSize;
+        active.newestMs = Math.max(active.newestMs, match.getArchivedAtMs());
+
+        addToIndex(match.getMatchId(), new Location(active, offset, match.getArchivedAtMs()));
+    }
+
+    @Override
+    public synchronized ArchivedMatch find(String matchId) {
+        Location location = index.get(matchId);
+        return location == null ? null : read(location);
+    }
+
+    @Override
+    public synchronized List<ArchivedMatch> findFinishedBetween(long fromMs, long toMs) {
+        List<ArchivedMatch> result = new ArrayList<>();
+        if (fromMs >= toMs) {
+            return result;
+        }
+        for (List<String> ids : timeIndex.subMap(fromMs, true, toMs, false).values()) {
+            for (String id : ids) {
+                result.add(read(index.get(id)));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized int size() {
+        return index.size();
+    }
+
+    @Override
+    public synchronized void expire(long nowMs) {
+        deleteSegmentsBefore(nowMs - retentionMs);
+    }
+
+    // =========================================================================
+    // Segments
+    // =========================================================================
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Deletes every segment whose newest record is older than cutoffMs,
+     * together with its index entries. The active segment is included once
+     * it holds records; the next archive then starts a new one. A segment
+     * whose file cannot be deleted is kept, records and all.
+     *
+     * @return number of segments deleted
+     */
+    public synchronized int deleteSegmentsBefore(long cutoffMs) {
+        int deleted = 0;
+        Iterator<Segment> it = segments.values().iterator();
+        while (it.hasNext()) {
+            Segment segment = it.next();
+            if (segment.newestMs >= cutoffMs || (segment == active && segment.writePosition == 0)) {
+                continue;
+            }
+            try {
+                // The mapping stays valid until collected; unlinking the file is enough
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                System.err.println("Failed to delete archive segment " + segment.path + ": " + e.getMessage());
+                continue;
+            }
+            index.values().removeIf(location -> {
+                if (location.segment != segment) {
+                    return false;
+                }
+                removeFromTimeIndex(location);
+                return true;
+            });
+            it.remove();
+            if (segment == active) {
+                active = null;
+            }
+            deleted++;
+        }
+        return deleted;
+    }
+
+    /**
+     * Flushes mapped segments to disk. The archive should not be used afterwards.
+     */
+    public synchronized void close() {
+        for (Segment segment : segments.values()) {
+            segment.buffer.force();
+        }
+        segments.clear();
+        index.clear();
+        timeIndex.clear();
+        active = null;
+    }
+
+    private void rollover(long nowMs) {
+        long nextId = ++lastSegmentId;
+        Path path = directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, nextId, SEGMENT_SUFFIX));
+        try {
+            active = new Segment(nextId, path, map(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create archive segment " + path, e);
+        }
+        segments.put(nextId, active);
+        deleteSegmentsBefore(nowMs - retentionMs);
+    }
+
+    private MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private void openExistingSegments() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : files) {
+                String name = path.getFileName().toString();
+                String number = name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length());
+                try {
+                    long id = Long.parseLong(number);
+                    segments.put(id, new Segment(id, path, map(path)));
+                } catch (NumberFormatException e) {
+                    // Not one of ours
+                }
+            }
+        }
+        for (Segment segment : segments.values()) {
+            scan(segment);
+        }
+        active = segments.isEmpty() ? null : segments.lastEntry().getValue();
+        lastSegmentId = segments.isEmpty() ? 0 : segments.lastKey();
+    }
+
+    /**
+     * Rebuilds index entries for a segment and finds its write position.
+     */
+    private void scan(Segment segment) {
+        int offset = 0;
+        while (offset + LENGTH_BYTES <= segmentSize) {
+            int length = segment.buffer.getInt(offset);
+            if (length <= 0 || offset + LENGTH_BYTES + length > segmentSize) {
+                break;
+            }
+            ArchivedMatch match = decode(segment, offset, length);
+            addToIndex(match.getMatchId(), new Location(segment, offset, match.getArchivedAtMs()));
+            segment.newestMs = Math.max(segment.newestMs, match.getArchivedAtMs());
+            offset += LENGTH_BYTES + length;
+        }
+        segment.writePosition = offset;
+    }
+
+    // =========================================================================
+    // Index
+    // =========================================================================
+
+    private void addToIndex(String matchId, Location location) {
+        Location previous = index.put(matchId, location);
+        if (previous != null) {
+            removeFromTimeIndex(previous, matchId);
+        }
+        timeIndex.computeIfAbsent(location.archivedAtMs, t -> new ArrayList<>(1)).add(matchId);
+    }
+
+    private void removeFromTimeIndex(Location location) {
+        List<String> ids = timeIndex.get(location.archivedAtMs);
+        if (ids != null) {
+            ids.removeIf(id -> index.get(id) == location);
+            if (ids.isEmpty()) {
+                timeIndex.remove(location.archivedAtMs);
+            }
+        }
+    }
+
+    private void removeFromTimeIndex(Location location, String matchId) {
+        List<String> ids = timeIndex.get(location.archivedAtMs);
+        if (ids != null) {
+            ids.remove(matchId);
+            if (ids.isEmpty()) {
+                timeIndex.remove(location.archivedAtMs);
+            }
+        }
+    }
+
+    // =========================================================================
+    // Encoding
+    // =========================================================================
+
+    private ArchivedMatch read(Location location) {
+        int length = location.segment.buffer.getInt(location.offset);
+        return decode(location.segment, location.offset, length);
+    }
+
+    private byte[] encode(ArchivedMatch match) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(match.getArchivedAtMs());
+            writeString(out, match.getMatchId());
+            out.writeByte(match.getOutcome().ordinal());
+            writeString(out, match.getWinner());
+            out.writeLong(match.getActionCount());
+            writeString(out, match.getFinalStateHash());
+
+            List<Action> actions = match.getActions();
+            out.writeInt(actions.size());
+            for (Action action : actions) {
+                writeAction(out, action);
+            }
+
+            if (match.getFinalState() == null) {
+                out.writeInt(-1);
+            } else {
+                byte[] state = deflate(JsonHelper.toJsonValue(serializer.toJsonMap(match.getFinalState())));
+                out.writeInt(state.length);
+                out.write(state);
+            }
+        } catch (IOException e) {
+            // ByteArrayOutputStream does not throw
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private ArchivedMatch decode(Segment segment, int offset, int length) {
+        byte[] body = new byte[length];
+        segment.buffer.get(offset + LENGTH_BYTES, body);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(body))) {
+            long archivedAtMs = in.readLong();
+            String matchId = readString(in);
+            ArchivedMatch.Outcome outcome = ArchivedMatch.Outcome.values()[in.readByte()];
+            String winner = readString(in);
+            long actionCount = in.readLong();
+            String hash = readString(in);
+
+            int actionTotal = in.readInt();
+            List<Action> actions = new ArrayList<>(actionTotal);
+            for (int i = 0; i < actionTotal; i++) {
+                actions.add(readAction(in));
+            }
+
+            GameState finalState = null;
+            int stateLength = in.readInt();
+            if (stateLength >= 0) {
+                byte[] state = new byte[stateLength];
+                in.readFully(state);
+                finalState = serializer.fromJsonMap(JsonHelper.parseObject(inflate(state)));
+            }
+            return new ArchivedMatch(matchId, outcome, winner, actionCount, hash, archivedAtMs,
+                    actions, finalState);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt archive record in " + segment.path + " at " + offset, e);
+        }
+    }
+
+    /**
+     * Action layout: byte type, str player, position flag (+ int x, int y),
+     * str targetUnitId, str actingUnitId, str skillTargetUnitId,
+     * byte deathChoiceType (-1 if null), byte skillChosenBuffType (-1 if null).
+     */
+    private static void writeAction(DataOutputStream out, Action action) throws IOException {
+        out.writeByte(action.getType().ordinal());
+        writeString(out, action.getPlayerId() != null ? action.getPlayerId().getValue() : null);
+        Position position = action.getTargetPosition();
+        out.writeBoolean(position != null);
+        if (position != null) {
+            out.writeInt(position.getX());
+            out.writeInt(position.getY());
+        }
+        writeString(out, action.getTargetUnitId());
+        writeString(out, action.getActingUnitId());
+        writeString(out, action.getSkillTargetUnitId());
+        out.writeByte(action.getDeathChoiceType() != null ? action.getDeathChoiceType().ordinal() : -1);
+        out.writeByte(action.getSkillChosenBuffType() != null ? action.getSkillChosenBuffType().ordinal() : -1);
+    }
+
+    private static Action readAction(DataInputStream in) throws IOException {
+        ActionType type = ActionType.values()[in.readByte()];
+        String player = readString(in);
+        Position position = in.readBoolean() ? new Position(in.readInt(), in.readInt()) : null;
+        String targetUnitId = readString(in);
+        String actingUnitId = readString(in);
+        String skillTargetUnitId = readString(in);
+        byte deathChoice = in.readByte();
+        byte buffType = in.readByte();
+        return new Action(type, player != null ? new PlayerId(player) : null, position, targetUnitId,
+                actingUnitId, skillTargetUnitId,
+                deathChoice >= 0 ? DeathChoice.ChoiceType.values()[deathChoice] : null,
+                buffType >= 0 ? BuffType.values()[buffType] : null);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("String too long to archive: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        short length = in.readShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] deflate(String json) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String inflate(byte[] deflated) throws IOException {
+        try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(deflated))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.tactics.server.lifecycle;
+
+import java.util.List;
+
+/**
+ * Destination for matches evicted by MatchLifecycleManager.
+ */
+public interface MatchArchive {
+
+    void archive(ArchivedMatch match);
+
+    /**
+     * Archived record for a match, or null if unknown (or already dropped).
+     */
+    ArchivedMatch find(String matchId);
+
+    /**
+     * Archived matches with fromMs <= archivedAtMs < toMs, oldest first.
+     */
+    List<ArchivedMatch> findFinishedBetween(long fromMs, long toMs);
+
+    int size();
+
+    /**
+     * Drops records past the archive's retention period at nowMs. Called on
+     * every lifecycle sweep; archives bounded by count do nothing.
+     */
+    default void expire(long nowMs) {
+    }
+}
@@ -0,0 +1,237 @@
+package com.tactics.server.lifecycle;
+
+import com.tactics.engine.model.GameState;
+import com.tactics.server.core.ClientSlot;
+import com.tactics.server.core.Match;
+import com.tactics.server.core.MatchDraftTracker;
+import com.tactics.server.core.MatchRegistry;
+import com.tactics.server.core.MatchService;
+import com.tactics.server.spectator.SpectatorBroadcaster;
+import com.tactics.server.ws.ClientConnection;
+import com.tactics.server.ws.ConnectionRegistry;
+import com.tactics.server.ws.MatchWebSocketHandler;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Archives finished and abandoned matches and evicts them from
+ * MatchRegistry, TimerService and MatchDraftTracker.
+ *
+ * Each sweep:
+ * - Finished match (GameState.isGameOver): archived on first sight, timers
+ *   cancelled, evicted once the grace period has passed so clients can
+ *   still fetch the final state.
+ * - Idle match: no connections and no state change for the idle timeout;
+ *   archived as ABANDONED and evicted at once.
+ * - Draft entries for matches no longer in the registry are cleared.
+ * - The archive drops records past its retention period.
+ *
+ * Activity is detected from Match.getVersion, so nothing on the action
+ * path has to call into this class. Sweeps run on one daemon thread after
+ * start(), or directly via sweep().
+ */
+public class MatchLifecycleManager {
+
+    public static final long DEFAULT_GRACE_PERIOD_MS = 60_000;
+    public static final long DEFAULT_IDLE_TIMEOUT_MS = 10 * 60_000;
+    public static final long DEFAULT_SWEEP_INTERVAL_MS = 30_000;
+
+    /**
+     * Per-match bookkeeping between sweeps.
+     */
+    private static class Tracking {
+        long version;
+        long lastActivityMs;
+        long finishedAtMs = -1;
+
+        Tracking(long version, long now) {
+            this.version = version;
+            this.lastActivityMs = now;
+        }
+    }
+
+    private final MatchWebSocketHandler handler;
+    private final MatchService matchService;
+    private final MatchDraftTracker draftTracker;
+    private final ConnectionRegistry connectionRegistry;
+    private final MatchArchive archive;
+    private final long gracePeriodMs;
+    private final long idleTimeoutMs;
+    private final Supplier<Long> clock;
+    private final Map<String, Tracking> tracking = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public MatchLifecycleManager(MatchWebSocketHandler handler, MatchArchive archive) {
+        this(handler, archive, DEFAULT_GRACE_PERIOD_MS, DEFAULT_IDLE_TIMEOUT_MS, System::currentTimeMillis);
+    }
+
+    /**
+     * @param handler source of the match service, draft tracker, connection registry and spectators
+     * @param archive where evicted matches are recorded
+     * @param gracePeriodMs how long a finished match stays live after it is archived
+     * @param idleTimeoutMs how long a match without connections may go without a state change
+     * @param clock supplier providing current time in milliseconds
+     */
+    public MatchLifecycleManager(MatchWebSocketHandler handler, MatchArchive archive,
+                                 long gracePeriodMs, long idleTimeoutMs, Supplier<Long> clock) {
+        this.handler = handler;
+        this.matchService = handler.getMatchService();
+        this.draftTracker = handler.getDraftTracker();
+        this.connectionRegistry = handler.getConnectionRegistry();
+        this.archive = archive;
+        this.gracePeriodMs = gracePeriodMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.clock = clock;
+    }
+
+    public MatchArchive getArchive() {
+        return archive;
+    }
+
+    // =========================================================================
+    // Background Sweep
+    // =========================================================================
+
+    /**
+     * Starts sweeping every intervalMs on a daemon thread.
+     */
+    public synchronized void start(long intervalMs) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "MatchLifecycle-Sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::sweepSafely, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void sweepSafely() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; next sweep retries
+            System.err.println("Match lifecycle sweep failed: " + e.getMessage());
+        }
+    }
+
+    // =========================================================================
+    // Sweep
+    // =========================================================================
+
+    /**
+     * Runs one sweep.
+     *
+     * @return number of matches evicted
+     */
+    public int sweep() {
+        long now = clock.get();
+        MatchRegistry registry = matchService.getMatchRegistry();
+        int evicted = 0;
+
+        for (Match match : new ArrayList<>(registry.listMatches())) {
+            String matchId = match.getMatchId().getValue();
+            Tracking t = tracking.computeIfAbsent(matchId, id -> new Tracking(match.getVersion(), now));
+            if (match.getVersion() != t.version) {
+                t.version = match.getVersion();
+                t.lastActivityMs = now;
+            }
+
+            GameState state = match.getState();
+            if (state.isGameOver()) {
+                if (t.finishedAtMs < 0) {
+                    archive.archive(toArchived(match, ArchivedMatch.Outcome.FINISHED, now));
+                    matchService.cancelMatchTimers(matchId);
+                    t.finishedAtMs = now;
+                }
+                if (now - t.finishedAtMs >= gracePeriodMs) {
+                    evict(matchId);
+                    evicted++;
+                }
+            } else if (match.getConnectedCount() == 0 && now - t.lastActivityMs >= idleTimeoutMs) {
+                archive.archive(toArchived(match, ArchivedMatch.Outcome.ABANDONED, now));
+                evict(matchId);
+                evicted++;
+            }
+        }
+
+        // Bookkeeping for matches removed elsewhere
+        tracking.keySet().removeIf(id -> registry.getMatch(id) == null);
+        archive.expire(now);
+        return evicted;
+    }
+
+    /**
+     * Removes a match from every live registry. Connections still seated in
+     * it are detached; virtual ones (bots) are also unregistered since no
+     * socket close will ever do it. Its spectators stop watching.
+     */
+    private void evict(String matchId) {
+        Match removed = matchService.getMatchRegistry().removeMatch(matchId);
+        matchService.cancelMatchTimers(matchId);
+        draftTracker.clearMatch(matchId);
+        tracking.remove(matchId);
+
+        if (removed == null) {
+            return;
+        }
+        SpectatorBroadcaster spectators = handler.getSpectatorBroadcaster();
+        if (spectators != null) {
+            spectators.unwatchAll(removed);
+        }
+        for (ClientSlot slot : ClientSlot.values()) {
+            ClientConnection connection = removed.clearSlot(slot);
+            if (connection == null) {
+                continue;
+            }
+            if (matchId.equals(connection.getMatchId())) {
+                connection.setMatchId(null);
+                connection.setPlayerId(null);
+            }
+            if (connection.isVirtual()) {
+                connectionRegistry.unregister(connection);
+            }
+        }
+    }
+
+    private ArchivedMatch toArchived(Match match, ArchivedMatch.Outcome outcome, long now) {
+        GameState state = match.getState();
+        String winner = outcome == ArchivedMatch.Outcome.FINISHED && state.getWinner() != null
+                ? state.getWinner().getValue() : null;
+        return new ArchivedMatch(match.getMatchId().getValue(), outcome, winner, match.getVersion(),
+                hashState(state), now, match.getActionLog(), state);
+    }
+
+    private String hashState(GameState state) {
+        String serialized = String.valueOf(matchService.getGameStateSerializer().toJsonMap(state));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(serialized.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                sb.append(String.format("%02x", digest[i]));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is required on every JRE
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.tactics.server.loadtest;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-precision latency histogram in the HdrHistogram layout.
+ *
+ * Values (microseconds) below 2048 get their own bucket; above that each
+ * power of two is split into 1024 sub-buckets, so any recorded value is
+ * reported to within 0.1%. Recording is lock-free and safe from any
+ * number of threads. Values above MAX_VALUE_US are clamped.
+ *
+ * outputPercentileDistribution writes the same text layout as
+ * HdrHistogram's .hgrm files, so results can be plotted and compared
+ * with the usual HdrHistogram tooling without the library on the
+ * classpath.
+ */
+public class LatencyHistogram {
+
+    /**
+     * Largest value tracked exactly: one hour.
+     */
+    public static final long MAX_VALUE_US = 3_600_000_000L;
+
+    private static final int SUB_BUCKET_BITS = 11;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;      // 2048
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2;      // 1024
+    private static final int TICKS_PER_HALF_DISTANCE = 5;
+
+    private final AtomicLongArray counts = new AtomicLongArray(indexOf(MAX_VALUE_US) + 1);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    // =========================================================================
+    // Recording
+    // =========================================================================
+
+    public void recordValue(long valueUs) {
+        long value = Math.max(0, Math.min(valueUs, MAX_VALUE_US));
+        counts.incrementAndGet(indexOf(value));
+        totalCount.incrementAndGet();
+        maxValue.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Adds every count from another histogram into this one.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length(); i++) {
+            long count = other.counts.get(i);
+            if (count > 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.addAndGet(other.totalCount.get());
+        maxValue.accumulateAndGet(other.maxValue.get(), Math::max);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (int) ((value >> shift) - SUB_BUCKET_HALF);
+    }
+
+    /**
+     * Largest value that lands in the given bucket.
+     */
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    private static long midpointValue(int index) {
+        long low = index < SUB_BUCKET_COUNT ? index : highestEquivalentValue(index - 1) + 1;
+        return (low + highestEquivalentValue(index)) / 2;
+    }
+
+    // =========================================================================
+    // Queries
+    // =========================================================================
+
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    public long getMaxValue() {
+        return maxValue.get();
+    }
+
+    public double getMean() {
+        long total = 0;
+        double sum = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            long count = counts.get(i);
+            if (count > 0) {
+                total += count;
+                sum += (double) midpointValue(i) * count;
+            }
+        }
+        return total == 0 ? 0.0 : sum / total;
+    }
+
+    public double getStdDeviation() {
+        double mean = getMean();
+        long total = 0;
+        double squares = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            long count = counts.get(i);
+            if (count > 0) {
+                double deviation = midpointValue(i) - mean;
+                total += count;
+                squares += deviation * deviation * count;
+            }
+        }
+        return total == 0 ? 0.0 : Math.sqrt(squares / total);
+    }
+
+    /**
+     * Smallest recorded value (to bucket precision) that at least the given
+     * percentage of recorded values are less than or equal to.
+     *
+     * @param percentile 0.0 to 100.0
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = totalCount.get();
+        if (total == 0) {
+            return 0;
+        }
+        double clamped = Math.min(Math.max(percentile, 0.0), 100.0);
+        long target = Math.max(1, (long) (clamped / 100.0 * total + 0.5));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+
+    // =========================================================================
+    // Output
+    // =========================================================================
+
+    /**
+     * Writes the percentile distribution in HdrHistogram's .hgrm layout.
+     *
+     * @param scale divisor applied to values on output (1000.0 for milliseconds)
+     */
+    public void outputPercentileDistribution(PrintStream out, double scale) {
+        long total = totalCount.get();
+        out.println(String.format(Locale.ROOT, "%12s %14s %10s %14s%n",
+                "Value", "Percentile", "TotalCount", "1/(1-Percentile)"));
+
+        if (total > 0) {
+            double percentile = 0.0;
+            while (true) {
+                long value = getValueAtPercentile(percentile);
+                long countAtValue = countAtOrBelow(value);
+                if (percentile >= 100.0 || countAtValue >= total) {
+                    out.println(String.format(Locale.ROOT, "%12.3f %2.12f %10d",
+                            maxValue.get() / scale, 1.0, total));
+                    break;
+                }
+                out.println(String.format(Locale.ROOT, "%12.3f %2.12f %10d %14.2f",
+                        value / scale, percentile / 100.0, countAtValue, 1.0 / (1.0 - percentile / 100.0)));
+                percentile = nextReportingPercentile(percentile);
+            }
+        }
+
+        out.println(String.format(Locale.ROOT, "#[Mean    = %12.3f, StdDeviation   = %12.3f]",
+                getMean() / scale, getStdDeviation() / scale));
+        out.println(String.format(Locale.ROOT, "#[Max     = %12.3f, Total count    = %12d]",
+                maxValue.get() / scale, total));
+        out.println(String.format(Locale.ROOT, "#[Buckets = %12d, SubBuckets     = %12d]",
+                (counts.length() - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1, SUB_BUCKET_COUNT));
+    }
+
+    private long countAtOrBelow(long value) {
+        long seen = 0;
+        int last = indexOf(value);
+        for (int i = 0; i <= last; i++) {
+            seen += counts.get(i);
+        }
+        return seen;
+    }
+
+    /**
+     * Percentile steps halve each time the remaining distance to 100% halves:
+     * 0, 10, ..., 50, 55, ..., 75, 77.5, ... as in HdrHistogram.
+     */
+    static double nextReportingPercentile(double percentile) {
+        if (percentile >= 100.0) {
+            return 100.0;
+        }
+        long halfDistance = (long) Math.pow(2,
+                (long) (Math.log(100.0 / (100.0 - percentile)) / Math.log(2)) + 1);
+        return percentile + 100.0 / (halfDistance * TICKS_PER_HALF_DISTANCE);
+    }
+}
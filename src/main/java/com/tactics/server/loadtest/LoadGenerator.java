@@ -0,0 +1,226 @@
+package com.tactics.server.loadtest;
+
+import com.tactics.server.bootstrap.ServerBootstrap;
+import com.tactics.server.bootstrap.ServerConfig;
+import com.tactics.server.bootstrap.ServerTransport;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load generator: N simulated players playing full games against a server.
+ *
+ * Players are paired into matches; each pair joins, drafts, plays until
+ * game_over, disconnects and starts a new match, until the run's duration
+ * is up. Games still running at the deadline are cut off.
+ *
+ * Usage:
+ *   mvn compile exec:java -Dexec.mainClass=com.tactics.server.loadtest.LoadGenerator \
+ *       -Dexec.args="--players 200 --duration 60 --embedded"
+ *
+ * Options:
+ *   --url ws://host:port/ws   server to load [ws://localhost:8080/ws]
+ *   --embedded                start a server in this JVM instead (configured
+ *                             like Main, see ServerConfig; port is ignored)
+ *   --players N               simulated players, rounded up to even [100]
+ *   --duration S              seconds to run [30]
+ *   --policy random|bot       move choice [random]
+ *   --bot-budget-ms MS        SearchAI budget per move for --policy bot [20]
+ *   --seed N                  seed for drafts and random moves [1]
+ *   --server-pid PID          process whose CPU to report (external server)
+ *   --out FILE                latency histogram (.hgrm) [target/loadtest.hgrm]
+ *
+ * Server CPU is reported for --server-pid, or for this JVM with --embedded
+ * (which then includes the simulated players).
+ */
+public class LoadGenerator {
+
+    private static final long CLOSE_TIMEOUT_MS = 2_000;
+
+    private final URI uri;
+    private final int players;
+    private final long durationMs;
+    private final LoadPlayer.Policy policy;
+    private final long botBudgetMs;
+    private final long seed;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final LoadStats stats = new LoadStats();
+    private final AtomicInteger gameCounter = new AtomicInteger();
+
+    /**
+     * @param players simulated players; rounded up to an even number
+     */
+    public LoadGenerator(URI uri, int players, long durationMs, String policy, long botBudgetMs, long seed) {
+        if (players < 1 || durationMs < 1) {
+            throw new IllegalArgumentException("players and duration must be positive");
+        }
+        this.uri = uri;
+        this.players = players + players % 2;
+        this.durationMs = durationMs;
+        this.policy = LoadPlayer.Policy.valueOf(policy.toUpperCase(Locale.ROOT));
+        this.botBudgetMs = botBudgetMs;
+        this.seed = seed;
+    }
+
+    // =========================================================================
+    // Running
+    // =========================================================================
+
+    /**
+     * Runs the load for the configured duration.
+     *
+     * @param serverProcess process whose CPU to sample, or null
+     */
+    public LoadReport run(ProcessHandle serverProcess) throws InterruptedException {
+        int pairs = players / 2;
+        ExecutorService pool = Executors.newFixedThreadPool(pairs, r -> {
+            Thread t = new Thread(r, "Load-Pair");
+            t.setDaemon(true);
+            return t;
+        });
+
+        long cpuStart = cpuNanos(serverProcess);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(durationMs);
+        for (int pair = 0; pair < pairs; pair++) {
+            int pairIndex = pair;
+            pool.execute(() -> playUntil(pairIndex, deadline));
+        }
+        pool.shutdown();
+        pool.awaitTermination(durationMs + 4 * CLOSE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        pool.shutdownNow();
+        long elapsedNanos = System.nanoTime() - start;
+        long cpuEnd = cpuNanos(serverProcess);
+
+        double cpuPercent = Double.NaN;
+        if (cpuStart >= 0 && cpuEnd >= 0) {
+            cpuPercent = 100.0 * (cpuEnd - cpuStart)
+                    / ((double) elapsedNanos * Runtime.getRuntime().availableProcessors());
+        }
+        String description = String.format(Locale.ROOT,
+                "Load run %s: %d players, %ds, policy=%s, target=%s",
+                runId, players, durationMs / 1000, policy.name().toLowerCase(Locale.ROOT), uri);
+        return new LoadReport(description, stats, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), cpuPercent);
+    }
+
+    /**
+     * Plays back-to-back games for one pair of players until the deadline.
+     */
+    private void playUntil(int pairIndex, long deadline) {
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            int game = gameCounter.incrementAndGet();
+            String matchId = "load-" + runId + "-" + pairIndex + "-" + game;
+            LoadPlayer first = new LoadPlayer(uri, matchId, policy, seed * 31 + 2L * game, botBudgetMs, stats);
+            LoadPlayer second = new LoadPlayer(uri, matchId, policy, seed * 31 + 2L * game + 1, botBudgetMs, stats);
+            try {
+                // P1 must be seated before P2 joins
+                if (!first.connectBlocking(CLOSE_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                        || !second.connectBlocking(CLOSE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    stats.error();
+                    continue;
+                }
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMs > 0 && first.awaitFinished(remainingMs)) {
+                    second.awaitFinished(CLOSE_TIMEOUT_MS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                closeQuietly(first);
+                closeQuietly(second);
+            }
+        }
+    }
+
+    private static void closeQuietly(LoadPlayer player) {
+        try {
+            player.closeBlocking();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long cpuNanos(ProcessHandle process) {
+        if (process == null) {
+            return -1;
+        }
+        Optional<Duration> cpu = process.info().totalCpuDuration();
+        return cpu.map(Duration::toNanos).orElse(-1L);
+    }
+
+    // =========================================================================
+    // Entry point
+    // =========================================================================
+
+    public static void main(String[] args) throws Exception {
+        String url = "ws://localhost:8080/ws";
+        boolean embedded = false;
+        int players = 100;
+        long durationSeconds = 30;
+        String policy = "random";
+        long botBudgetMs = 20;
+        long seed = 1;
+        Long serverPid = null;
+        Path out = Paths.get("target", "loadtest.hgrm");
+
+        List<String> rest = new ArrayList<>(List.of(args));
+        while (!rest.isEmpty()) {
+            String option = rest.remove(0);
+            if ("--embedded".equals(option)) {
+                embedded = true;
+                continue;
+            }
+            if (rest.isEmpty()) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = rest.remove(0);
+            switch (option) {
+                case "--url": url = value; break;
+                case "--players": players = Integer.parseInt(value); break;
+                case "--duration": durationSeconds = Long.parseLong(value); break;
+                case "--policy": policy = value; break;
+                case "--bot-budget-ms": botBudgetMs = Long.parseLong(value); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                case "--server-pid": serverPid = Long.parseLong(value); break;
+                case "--out": out = Paths.get(value); break;
+                default: throw new IllegalArgumentException("Unknown option: " + option);
+            }
+        }
+
+        ServerBootstrap bootstrap = null;
+        ProcessHandle serverProcess = null;
+        if (embedded) {
+            ServerConfig config = ServerConfig.load(System.getenv(), System.getProperties()).with("port", "0");
+            bootstrap = new ServerBootstrap(config);
+            ServerTransport transport = bootstrap.start();
+            url = "ws://localhost:" + transport.getPort() + "/ws";
+            serverProcess = ProcessHandle.current();
+            System.out.println("Embedded server: " + config);
+        } else if (serverPid != null) {
+            serverProcess = ProcessHandle.of(serverPid).orElse(null);
+        }
+
+        try {
+            LoadGenerator generator = new LoadGenerator(URI.create(url), players,
+                    TimeUnit.SECONDS.toMillis(durationSeconds), policy, botBudgetMs, seed);
+            LoadReport report = generator.run(serverProcess);
+            System.out.println(report.toSummary());
+            report.writeHistogram(out);
+            System.out.println("Histogram written to " + out);
+        } finally {
+            if (bootstrap != null) {
+                bootstrap.stop();
+            }
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.tactics.server.loadtest;
+
+import com.tactics.engine.action.Action;
+import com.tactics.engine.action.ActionType;
+import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.HeroClass;
+import com.tactics.engine.model.MinionType;
+import com.tactics.engine.model.PlayerId;
+import com.tactics.engine.rules.RuleEngine;
+import com.tactics.engine.search.ActionGenerator;
+import com.tactics.engine.search.MaterialEvaluator;
+import com.tactics.engine.search.SearchAI;
+import com.tactics.engine.util.GameStateSerializer;
+import com.tactics.server.dto.OutgoingMessage;
+import com.tactics.server.ws.JsonHelper;
+
+import org.java_websocket.client.WebSocketClient;
+import org.java_websocket.handshake.ServerHandshake;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One simulated player: a real WebSocket client that plays one game.
+ *
+ * It joins its match, drafts a random team via select_team, and whenever a
+ * state_update hands it the turn, picks an action (a random legal one, or
+ * SearchAI's choice) and sends it. The time from sending an action to the
+ * first state_update, game_over or validation_error that follows is
+ * recorded in the shared histogram.
+ *
+ * Everything runs on the client's read thread, so at most one action per
+ * player is in flight.
+ */
+class LoadPlayer extends WebSocketClient {
+
+    /**
+     * How a simulated player picks its moves.
+     */
+    enum Policy { RANDOM, BOT }
+
+    private final String matchId;
+    private final Policy policy;
+    private final Random random;
+    private final LoadStats stats;
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    private final RuleEngine ruleEngine = new RuleEngine();
+    private final ActionGenerator actionGenerator = new ActionGenerator();
+    private final GameStateSerializer serializer = new GameStateSerializer();
+    private final SearchAI searchAI;
+
+    private String playerId;
+    private long actionSentNanos;
+    private boolean fellBackToEndTurn;
+    private volatile String winner;
+
+    LoadPlayer(URI uri, String matchId, Policy policy, long seed, long botBudgetMs, LoadStats stats) {
+        super(uri);
+        this.matchId = matchId;
+        this.policy = policy;
+        this.random = new Random(seed);
+        this.stats = stats;
+        this.searchAI = policy == Policy.BOT
+                ? new SearchAI(new MaterialEvaluator(), botBudgetMs) : null;
+    }
+
+    /**
+     * Waits for game_over or the socket closing.
+     *
+     * @return true if the game finished within the timeout
+     */
+    boolean awaitFinished(long timeoutMs) throws InterruptedException {
+        return finished.await(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    String getWinner() {
+        return winner;
+    }
+
+    // =========================================================================
+    // WebSocket events
+    // =========================================================================
+
+    @Override
+    public void onOpen(ServerHandshake handshake) {
+        Map<String, Object> join = new HashMap<>();
+        join.put("matchId", matchId);
+        sendJson("join_match", join);
+    }
+
+    @Override
+    public void onMessage(String message) {
+        stats.messageReceived();
+        String type = JsonHelper.peekType(message);
+        if (type == null) {
+            return;
+        }
+        switch (type) {
+            case "match_joined":
+                playerId = (String) payloadOf(message).get("playerId");
+                break;
+            case "game_ready":
+                selectTeam();
+                break;
+            case "state_update":
+                if (recordLatency()) {
+                    fellBackToEndTurn = false;
+                }
+                onStateUpdate(payloadOf(message));
+                break;
+            case "timeout":
+                // The server passed our turn; whatever was in flight is moot
+                actionSentNanos = 0;
+                stats.timeout();
+                onStateUpdate(payloadOf(message));
+                break;
+            case "validation_error":
+                if (recordLatency()) {
+                    stats.actionRejected();
+                    if (!fellBackToEndTurn) {
+                        // Desynced with the server; pass the turn instead
+                        fellBackToEndTurn = true;
+                        sendAction(new Action(ActionType.END_TURN, new PlayerId(playerId), null, null, null, null, null));
+                    }
+                }
+                break;
+            case "game_over":
+                recordLatency();
+                winner = (String) payloadOf(message).get("winner");
+                stats.gameFinished();
+                finished.countDown();
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void onClose(int code, String reason, boolean remote) {
+        finished.countDown();
+    }
+
+    @Override
+    public void onError(Exception ex) {
+        stats.error();
+    }
+
+    // =========================================================================
+    // Game play
+    // =========================================================================
+
+    private void selectTeam() {
+        HeroClass[] heroes = HeroClass.values();
+        MinionType[] minionTypes = MinionType.values();
+        Map<String, Object> team = new HashMap<>();
+        team.put("matchId", matchId);
+        team.put("playerId", playerId);
+        team.put("heroClass", heroes[random.nextInt(heroes.length)].name());
+        team.put("minions", List.of(minionTypes[random.nextInt(minionTypes.length)].name(),
+                minionTypes[random.nextInt(minionTypes.length)].name()));
+        sendJson("select_team", team);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onStateUpdate(Map<String, Object> payload) {
+        Object stateMap = payload.get("state");
+        if (payload.containsKey("phase")) {
+            return; // Draft-complete announcement; the timed update for the first turn follows
+        }
+        if (playerId == null || !(stateMap instanceof Map) || actionSentNanos != 0) {
+            return;
+        }
+        GameState state = serializer.fromJsonMap((Map<String, Object>) stateMap);
+        if (state.isGameOver() || !playerId.equals(state.getCurrentPlayer().getValue())) {
+            return;
+        }
+        if (state.hasPendingDeathChoice()) {
+            return; // Not expressible as an action message; the death choice timer resolves it
+        }
+        sendAction(chooseAction(state));
+    }
+
+    private Action chooseAction(GameState state) {
+        if (policy == Policy.BOT) {
+            Action action = searchAI.chooseAction(state);
+            if (action != null && isSendable(action)) {
+                return action;
+            }
+        }
+        List<Action> legal = new ArrayList<>();
+        for (Action action : actionGenerator.generateLegal(ruleEngine, state)) {
+            if (isSendable(action)) {
+                legal.add(action);
+            }
+        }
+        if (legal.isEmpty()) {
+            return new Action(ActionType.END_TURN, state.getCurrentPlayer(), null, null, null, null, null);
+        }
+        return legal.get(random.nextInt(legal.size()));
+    }
+
+    /**
+     * The action message carries type, target position, target unit and
+     * acting unit only; skill unit targets, buff choices and death choices
+     * cannot be sent (death choices are left to the server's timer).
+     */
+    private static boolean isSendable(Action action) {
+        return action.getType() != ActionType.DEATH_CHOICE
+                && action.getSkillTargetUnitId() == null
+                && action.getSkillChosenBuffType() == null;
+    }
+
+    private void sendAction(Action action) {
+        Map<String, Object> actionMap = new HashMap<>();
+        actionMap.put("type", action.getType().name());
+        if (action.getTargetPosition() != null) {
+            actionMap.put("targetX", action.getTargetPosition().getX());
+            actionMap.put("targetY", action.getTargetPosition().getY());
+        }
+        if (action.getTargetUnitId() != null) {
+            actionMap.put("targetUnitId", action.getTargetUnitId());
+        }
+        if (action.getActingUnitId() != null) {
+            actionMap.put("actingUnitId", action.getActingUnitId());
+        }
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("matchId", matchId);
+        payload.put("playerId", playerId);
+        payload.put("action", actionMap);
+
+        actionSentNanos = System.nanoTime();
+        stats.actionSent();
+        sendJson("action", payload);
+    }
+
+    /**
+     * Records the latency of the action in flight, if any.
+     *
+     * @return true if an action was in flight
+     */
+    private boolean recordLatency() {
+        if (actionSentNanos == 0) {
+            return false;
+        }
+        stats.recordLatency((System.nanoTime() - actionSentNanos) / 1_000);
+        actionSentNanos = 0;
+        return true;
+    }
+
+    private void sendJson(String type, Map<String, Object> payload) {
+        if (isOpen()) {
+            send(JsonHelper.toJson(new OutgoingMessage(type, payload)));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> payloadOf(String message) {
+        Object payload = JsonHelper.parseObject(message).get("payload");
+        return payload instanceof Map ? (Map<String, Object>) payload : Map.of();
+    }
+}
@@ -0,0 +1,92 @@
+package com.tactics.server.loadtest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Result of one load run: latency distribution, throughput and server CPU.
+ */
+public class LoadReport {
+
+    private final String description;
+    private final LoadStats stats;
+    private final long elapsedMs;
+    private final double serverCpuPercent;
+
+    /**
+     * @param serverCpuPercent share of all cores the server used, or NaN if unknown
+     */
+    public LoadReport(String description, LoadStats stats, long elapsedMs, double serverCpuPercent) {
+        this.description = description;
+        this.stats = stats;
+        this.elapsedMs = elapsedMs;
+        this.serverCpuPercent = serverCpuPercent;
+    }
+
+    public LoadStats getStats() {
+        return stats;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public double getServerCpuPercent() {
+        return serverCpuPercent;
+    }
+
+    public double getMessagesPerSecond() {
+        return elapsedMs == 0 ? 0.0 : stats.getMessagesReceived() * 1000.0 / elapsedMs;
+    }
+
+    public double getActionsPerSecond() {
+        return elapsedMs == 0 ? 0.0 : stats.getActionsSent() * 1000.0 / elapsedMs;
+    }
+
+    /**
+     * Human-readable summary; latencies in milliseconds.
+     */
+    public String toSummary() {
+        LatencyHistogram latency = stats.getLatency();
+        return String.format(Locale.ROOT,
+                "%s%n"
+                        + "  elapsed      %.1f s, %d games, %d errors%n"
+                        + "  actions      %d sent (%.1f/s), %d rejected, %d timeouts%n"
+                        + "  messages     %d received (%.1f/s)%n"
+                        + "  latency ms   p50 %.3f  p99 %.3f  p99.9 %.3f  max %.3f  (n=%d)%n"
+                        + "  server cpu   %s",
+                description,
+                elapsedMs / 1000.0, stats.getGamesFinished(), stats.getErrors(),
+                stats.getActionsSent(), getActionsPerSecond(), stats.getActionsRejected(), stats.getTimeouts(),
+                stats.getMessagesReceived(), getMessagesPerSecond(),
+                latency.getValueAtPercentile(50.0) / 1000.0,
+                latency.getValueAtPercentile(99.0) / 1000.0,
+                latency.getValueAtPercentile(99.9) / 1000.0,
+                latency.getMaxValue() / 1000.0,
+                latency.getTotalCount(),
+                Double.isNaN(serverCpuPercent) ? "n/a" : String.format(Locale.ROOT, "%.1f%%", serverCpuPercent));
+    }
+
+    /**
+     * Writes the latency distribution (milliseconds) in .hgrm layout, with
+     * the summary appended as '#' comment lines.
+     */
+    public void writeHistogram(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream stream = Files.newOutputStream(file);
+             PrintStream out = new PrintStream(stream, false, StandardCharsets.UTF_8)) {
+            stats.getLatency().outputPercentileDistribution(out, 1000.0);
+            for (String line : toSummary().split("\\R")) {
+                out.println("# " + line);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.tactics.server.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters shared by every simulated player in a load run.
+ */
+public class LoadStats {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong messagesReceived = new AtomicLong();
+    private final AtomicLong actionsSent = new AtomicLong();
+    private final AtomicLong actionsRejected = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong gamesFinished = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    void recordLatency(long micros) {
+        latency.recordValue(micros);
+    }
+
+    void messageReceived() {
+        messagesReceived.incrementAndGet();
+    }
+
+    void actionSent() {
+        actionsSent.incrementAndGet();
+    }
+
+    void actionRejected() {
+        actionsRejected.incrementAndGet();
+    }
+
+    void timeout() {
+        timeouts.incrementAndGet();
+    }
+
+    /**
+     * Called by both players, so counts player-games.
+     */
+    void gameFinished() {
+        gamesFinished.incrementAndGet();
+    }
+
+    void error() {
+        errors.incrementAndGet();
+    }
+
+    /**
+     * Action-to-state_update latency in microseconds.
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getMessagesReceived() {
+        return messagesReceived.get();
+    }
+
+    public long getActionsSent() {
+        return actionsSent.get();
+    }
+
+    public long getActionsRejected() {
+        return actionsRejected.get();
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    public long getGamesFinished() {
+        return gamesFinished.get() / 2;
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+}
@@ -0,0 +1,365 @@
+package com.tactics.server.matchmaking;
+
+import com.tactics.engine.model.HeroClass;
+import com.tactics.server.dto.OutgoingMessage;
+import com.tactics.server.ws.ClientConnection;
+import com.tactics.server.ws.ConnectionRegistry;
+import com.tactics.server.ws.JsonHelper;
+import com.tactics.server.ws.MatchWebSocketHandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Queue-based matchmaking for the find_match message.
+ *
+ * Tickets are bucketed by rating band (rating / bandWidth) and preferred
+ * hero class. Each bucket is an MpscQueue, so enqueueing is a map lookup
+ * plus one atomic swap; no lock is shared between joining connections.
+ *
+ * A single tick thread is the only consumer. Each tick it:
+ * - drains every bucket into its own waiting list,
+ * - drops tickets that were cancelled or whose connection closed or joined
+ *   a match some other way,
+ * - pairs neighbours by rating within each bucket,
+ * - pairs leftovers that waited widenAfterMs across hero preferences in
+ *   the same band, and across adjacent bands after twice that.
+ *
+ * Each pair gets a fresh "mm-<random UUID>" match, joined through
+ * MatchWebSocketHandler.joinMatch (which creates it via
+ * MatchService.getOrCreateMatch), so players see the usual
+ * match_joined / game_ready sequence. The id is random so a client cannot
+ * guess it and join_match into the match before the paired players do.
+ * If one side of a pair cannot be seated, the match is undone and the
+ * other player goes back in the queue (and is sent queue_joined again if
+ * it had already been told match_joined).
+ */
+public class MatchmakingService {
+
+    public static final int DEFAULT_RATING = 1000;
+    public static final int DEFAULT_BAND_WIDTH = 200;
+    public static final long DEFAULT_TICK_MS = 250;
+    public static final long DEFAULT_WIDEN_AFTER_MS = 10_000;
+
+    /**
+     * Bucket key: rating band and preferred hero class (null = no preference).
+     */
+    static final class BucketKey {
+        final int band;
+        final HeroClass hero;
+
+        BucketKey(int band, HeroClass hero) {
+            this.band = band;
+            this.hero = hero;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof BucketKey)) return false;
+            BucketKey other = (BucketKey) o;
+            return band == other.band && hero == other.hero;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(band, hero);
+        }
+    }
+
+    private static final Comparator<MatchmakingTicket> BY_RATING =
+            Comparator.comparingInt(MatchmakingTicket::getRating);
+
+    private final MatchWebSocketHandler handler;
+    private final ConnectionRegistry connectionRegistry;
+    private final int bandWidth;
+    private final long widenAfterMs;
+    private final Supplier<Long> clock;
+
+    // Producer side: any thread
+    private final Map<BucketKey, MpscQueue<MatchmakingTicket>> queues = new ConcurrentHashMap<>();
+    private final Map<String, MatchmakingTicket> tickets = new ConcurrentHashMap<>();
+
+    // Consumer side: tick thread only (tick() is synchronized)
+    private final Map<BucketKey, List<MatchmakingTicket>> waiting = new HashMap<>();
+
+    private final AtomicLong matchesCreated = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    public MatchmakingService(MatchWebSocketHandler handler) {
+        this(handler, DEFAULT_BAND_WIDTH, DEFAULT_WIDEN_AFTER_MS, System::currentTimeMillis);
+    }
+
+    /**
+     * @param handler used to seat paired connections
+     * @param bandWidth rating points per band
+     * @param widenAfterMs wait before a ticket may be paired outside its bucket
+     * @param clock supplier providing current time in milliseconds
+     */
+    public MatchmakingService(MatchWebSocketHandler handler, int bandWidth, long widenAfterMs,
+                              Supplier<Long> clock) {
+        if (bandWidth < 1) {
+            throw new IllegalArgumentException("bandWidth must be positive");
+        }
+        this.handler = handler;
+        this.connectionRegistry = handler.getConnectionRegistry();
+        this.bandWidth = bandWidth;
+        this.widenAfterMs = widenAfterMs;
+        this.clock = clock;
+    }
+
+    // =========================================================================
+    // Queue
+    // =========================================================================
+
+    /**
+     * Adds a connection to the queue.
+     *
+     * @param preferredHero preferred hero class, or null for no preference
+     * @return false if the connection is already queued
+     */
+    public boolean enqueue(ClientConnection connection, int rating, HeroClass preferredHero) {
+        MatchmakingTicket ticket = new MatchmakingTicket(connection, rating, preferredHero, clock.get());
+        if (tickets.putIfAbsent(connection.getId(), ticket) != null) {
+            return false;
+        }
+        BucketKey key = new BucketKey(bandOf(rating), preferredHero);
+        queues.computeIfAbsent(key, k -> new MpscQueue<>()).offer(ticket);
+        return true;
+    }
+
+    /**
+     * Removes a connection from the queue. A cancel that races with the
+     * tick pairing it may lose; the connection is then seated as usual.
+     *
+     * @return true if the connection was queued
+     */
+    public boolean cancel(ClientConnection connection) {
+        MatchmakingTicket ticket = tickets.remove(connection.getId());
+        if (ticket == null) {
+            return false;
+        }
+        ticket.cancel();
+        return true;
+    }
+
+    public boolean isQueued(ClientConnection connection) {
+        return tickets.containsKey(connection.getId());
+    }
+
+    public int getQueuedCount() {
+        return tickets.size();
+    }
+
+    public long getMatchesCreated() {
+        return matchesCreated.get();
+    }
+
+    private int bandOf(int rating) {
+        return Math.floorDiv(rating, bandWidth);
+    }
+
+    // =========================================================================
+    // Tick
+    // =========================================================================
+
+    /**
+     * Starts pairing every tickMs on a daemon thread.
+     */
+    public synchronized void start(long tickMs) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "Matchmaking-Tick");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::tickSafely, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void tickSafely() {
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; waiting tickets are retried next tick
+            System.err.println("Matchmaking tick failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs one pairing pass.
+     *
+     * @return number of matches created
+     */
+    public synchronized int tick() {
+        long now = clock.get();
+        drainQueues();
+
+        int created = 0;
+        List<MatchmakingTicket> leftovers = new ArrayList<>();
+        Iterator<List<MatchmakingTicket>> buckets = waiting.values().iterator();
+        while (buckets.hasNext()) {
+            List<MatchmakingTicket> bucket = buckets.next();
+            bucket.removeIf(ticket -> !isLive(ticket));
+            bucket.sort(BY_RATING);
+            int i = 0;
+            for (; i + 1 < bucket.size(); i += 2) {
+                if (createMatch(bucket.get(i), bucket.get(i + 1))) {
+                    created++;
+                }
+            }
+            if (i < bucket.size()) {
+                MatchmakingTicket last = bucket.get(i);
+                bucket.clear();
+                bucket.add(last);
+                if (now - last.getEnqueuedAtMs() >= widenAfterMs) {
+                    leftovers.add(last);
+                }
+            } else {
+                buckets.remove();
+            }
+        }
+
+        created += pairLeftovers(leftovers, now);
+        return created;
+    }
+
+    private void drainQueues() {
+        for (Map.Entry<BucketKey, MpscQueue<MatchmakingTicket>> entry : queues.entrySet()) {
+            MpscQueue<MatchmakingTicket> queue = entry.getValue();
+            if (queue.isEmpty()) {
+                continue;
+            }
+            List<MatchmakingTicket> bucket = waiting.computeIfAbsent(entry.getKey(), k -> new ArrayList<>());
+            MatchmakingTicket ticket;
+            while ((ticket = queue.poll()) != null) {
+                bucket.add(ticket);
+            }
+        }
+    }
+
+    /**
+     * Pairs long-waiting tickets left over from their own buckets: same band
+     * after widenAfterMs, adjacent bands once both waited twice as long.
+     */
+    private int pairLeftovers(List<MatchmakingTicket> leftovers, long now) {
+        if (leftovers.size() < 2) {
+            return 0;
+        }
+        leftovers.sort(BY_RATING);
+        Set<MatchmakingTicket> paired = Collections.newSetFromMap(new IdentityHashMap<>());
+        int created = 0;
+        for (int i = 0; i + 1 < leftovers.size(); i++) {
+            MatchmakingTicket a = leftovers.get(i);
+            MatchmakingTicket b = leftovers.get(i + 1);
+            int bandGap = Math.abs(bandOf(a.getRating()) - bandOf(b.getRating()));
+            long waited = Math.min(now - a.getEnqueuedAtMs(), now - b.getEnqueuedAtMs());
+            int allowedGap = waited >= 2 * widenAfterMs ? 1 : 0;
+            if (bandGap <= allowedGap) {
+                if (createMatch(a, b)) {
+                    created++;
+                }
+                paired.add(a);
+                paired.add(b);
+                i++;
+            }
+        }
+        if (!paired.isEmpty()) {
+            waiting.values().removeIf(bucket -> {
+                bucket.removeIf(paired::contains);
+                return bucket.isEmpty();
+            });
+        }
+        return created;
+    }
+
+    /**
+     * A ticket still worth pairing: not cancelled, connection still open
+     * and not seated in a match.
+     */
+    private boolean isLive(MatchmakingTicket ticket) {
+        ClientConnection connection = ticket.getConnection();
+        boolean live = !ticket.isCancelled()
+                && connectionRegistry.findById(connection.getId()) == connection
+                && connection.getMatchId() == null;
+        if (!live) {
+            tickets.remove(connection.getId(), ticket);
+        }
+        return live;
+    }
+
+    /**
+     * Seats a pair in a new match. If either side cannot be seated (its
+     * connection closed since the tick checked it), that side is detached
+     * and the other ticket goes back in the queue with its original wait.
+     *
+     * @return true if both players were seated
+     */
+    private boolean createMatch(MatchmakingTicket first, MatchmakingTicket second) {
+        tickets.remove(first.getConnection().getId(), first);
+        tickets.remove(second.getConnection().getId(), second);
+
+        String matchId = "mm-" + UUID.randomUUID();
+        if (!seat(first, matchId)) {
+            requeue(second);
+            return false;
+        }
+        if (!seat(second, matchId)) {
+            // first was already sent match_joined; take it back out
+            handler.leaveMatch(first.getConnection(), matchId);
+            requeue(first);
+            first.getConnection().sendMessage(JsonHelper.toJson(new OutgoingMessage("queue_joined",
+                    queuedPayload(first))));
+            return false;
+        }
+        matchesCreated.incrementAndGet();
+        return true;
+    }
+
+    private boolean seat(MatchmakingTicket ticket, String matchId) {
+        ClientConnection connection = ticket.getConnection();
+        if (handler.joinMatch(connection, matchId)
+                && connectionRegistry.findById(connection.getId()) == connection) {
+            return true;
+        }
+        handler.leaveMatch(connection, matchId);
+        return false;
+    }
+
+    private void requeue(MatchmakingTicket ticket) {
+        if (tickets.putIfAbsent(ticket.getConnection().getId(), ticket) == null) {
+            BucketKey key = new BucketKey(bandOf(ticket.getRating()), ticket.getPreferredHero());
+            queues.computeIfAbsent(key, k -> new MpscQueue<>()).offer(ticket);
+        }
+    }
+
+    private static Map<String, Object> queuedPayload(MatchmakingTicket ticket) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("rating", ticket.getRating());
+        payload.put("heroClass", ticket.getPreferredHero() != null ? ticket.getPreferredHero().name() : null);
+        return payload;
+    }
+}
@@ -0,0 +1,50 @@
+package com.tactics.server.matchmaking;
+
+import com.tactics.engine.model.HeroClass;
+import com.tactics.server.ws.ClientConnection;
+
+/**
+ * A connection waiting in the matchmaking queue.
+ */
+public class MatchmakingTicket {
+
+    private final ClientConnection connection;
+    private final int rating;
+    private final HeroClass preferredHero;
+    private final long enqueuedAtMs;
+    private volatile boolean cancelled;
+
+    public MatchmakingTicket(ClientConnection connection, int rating, HeroClass preferredHero, long enqueuedAtMs) {
+        this.connection = connection;
+        this.rating = rating;
+        this.preferredHero = preferredHero;
+        this.enqueuedAtMs = enqueuedAtMs;
+    }
+
+    public ClientConnection getConnection() {
+        return connection;
+    }
+
+    public int getRating() {
+        return rating;
+    }
+
+    /**
+     * Preferred hero class, or null for no preference.
+     */
+    public HeroClass getPreferredHero() {
+        return preferredHero;
+    }
+
+    public long getEnqueuedAtMs() {
+        return enqueuedAtMs;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    void cancel() {
+        this.cancelled = true;
+    }
+}
@@ -0,0 +1,67 @@
+package com.tactics.server.matchmaking;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unbounded lock-free multi-producer / single-consumer queue.
+ *
+ * Producers link a new node with one atomic swap of the tail, so offer()
+ * never blocks or retries. Only one thread may call poll() at a time.
+ * A producer preempted between the swap and linking its node makes the
+ * queue look empty to the consumer until it finishes; for a periodic
+ * consumer that just means the element is picked up on the next pass.
+ */
+public class MpscQueue<T> {
+
+    private static final class Node<T> {
+        volatile Node<T> next;
+        T value;
+
+        Node(T value) {
+            this.value = value;
+        }
+    }
+
+    private final AtomicReference<Node<T>> tail;
+    private Node<T> head;   // Consumer-owned; always a consumed (stub) node
+
+    public MpscQueue() {
+        Node<T> stub = new Node<>(null);
+        this.head = stub;
+        this.tail = new AtomicReference<>(stub);
+    }
+
+    /**
+     * Appends an element. Safe from any number of threads.
+     */
+    public void offer(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value cannot be null");
+        }
+        Node<T> node = new Node<>(value);
+        Node<T> previous = tail.getAndSet(node);
+        previous.next = node;
+    }
+
+    /**
+     * Removes the oldest element, or returns null if none is visible.
+     * Single consumer only.
+     */
+    public T poll() {
+        Node<T> next = head.next;
+        if (next == null) {
+            return null;
+        }
+        T value = next.value;
+        next.value = null;
+        head = next;
+        return value;
+    }
+
+    /**
+     * True if no element is visible to the consumer. Single consumer only.
+     */
+    public boolean isEmpty() {
+        return head.next == null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.tactics.server.metrics;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves the registry for Prometheus scrapes (GET /metrics).
+ */
+public class MetricsServlet extends HttpServlet {
+
+    private final PrometheusExporter exporter;
+
+    public MetricsServlet(PrometheusExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        byte[] body = exporter.export().getBytes(StandardCharsets.UTF_8);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(PrometheusExporter.CONTENT_TYPE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
@@ -0,0 +1,122 @@
+package com.tactics.server.metrics;
+
+import com.tactics.engine.metrics.Counter;
+import com.tactics.engine.metrics.Gauge;
+import com.tactics.engine.metrics.LatencyRecorder;
+import com.tactics.engine.metrics.Metric;
+import com.tactics.engine.metrics.MetricsRegistry;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes a MetricsRegistry in the Prometheus text exposition format (0.0.4).
+ *
+ * Series sharing a name form one family with a single HELP/TYPE header.
+ * LatencyRecorders become native histograms in seconds: one cumulative
+ * _bucket per power of two from about 1 microsecond up, then _sum and
+ * _count.
+ */
+public class PrometheusExporter {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * Lowest bucket exported on its own (2^10 ns, about 1 us); faster
+     * samples are folded into it.
+     */
+    static final int MIN_EXPORTED_BUCKET = 10;
+
+    private final MetricsRegistry registry;
+
+    public PrometheusExporter(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    public String export() {
+        Map<String, List<Metric>> families = new LinkedHashMap<>();
+        for (Metric metric : registry.getMetrics()) {
+            families.computeIfAbsent(metric.getName(), name -> new ArrayList<>()).add(metric);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (List<Metric> family : families.values()) {
+            Metric first = family.get(0);
+            sb.append("# HELP ").append(first.getName()).append(' ').append(escapeHelp(first.getHelp())).append('\n');
+            sb.append("# TYPE ").append(first.getName()).append(' ')
+                    .append(first.getType().name().toLowerCase(Locale.ROOT)).append('\n');
+            for (Metric metric : family) {
+                if (metric instanceof LatencyRecorder) {
+                    writeHistogram(sb, (LatencyRecorder) metric);
+                } else {
+                    writeSample(sb, metric.getName(), labels(metric, null), valueOf(metric));
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    // =========================================================================
+    // Formatting
+    // =========================================================================
+
+    private static void writeHistogram(StringBuilder sb, LatencyRecorder recorder) {
+        String name = recorder.getName();
+        long[] counts = recorder.getBucketCounts();
+        long cumulative = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            cumulative += counts[bucket];
+            if (bucket >= MIN_EXPORTED_BUCKET && bucket < LatencyRecorder.MAX_BUCKET) {
+                String le = toSeconds(LatencyRecorder.upperBoundNanos(bucket));
+                writeSample(sb, name + "_bucket", labels(recorder, le), Long.toString(cumulative));
+            }
+        }
+        writeSample(sb, name + "_bucket", labels(recorder, "+Inf"), Long.toString(cumulative));
+        writeSample(sb, name + "_sum", labels(recorder, null), toSeconds(recorder.getSumNanos()));
+        writeSample(sb, name + "_count", labels(recorder, null), Long.toString(cumulative));
+    }
+
+    private static void writeSample(StringBuilder sb, String name, String labels, String value) {
+        sb.append(name).append(labels).append(' ').append(value).append('\n');
+    }
+
+    private static String labels(Metric metric, String le) {
+        StringBuilder sb = new StringBuilder();
+        if (metric.getLabelName() != null) {
+            sb.append(metric.getLabelName()).append("=\"").append(escapeLabel(metric.getLabelValue())).append('"');
+        }
+        if (le != null) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append("le=\"").append(le).append('"');
+        }
+        return sb.length() == 0 ? "" : "{" + sb + "}";
+    }
+
+    private static String valueOf(Metric metric) {
+        if (metric instanceof Counter) {
+            return Long.toString(((Counter) metric).get());
+        }
+        if (metric instanceof Gauge) {
+            return Long.toString(((Gauge) metric).get());
+        }
+        throw new IllegalArgumentException("Unsupported metric: " + metric.getClass().getName());
+    }
+
+    static String toSeconds(long nanos) {
+        return BigDecimal.valueOf(nanos).movePointLeft(9).stripTrailingZeros().toPlainString();
+    }
+
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,256 @@
+package com.tactics.server.spectator;
+
+import com.tactics.server.core.Match;
+import com.tactics.server.ws.ClientConnection;
+import com.tactics.server.ws.JsonHelper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Fan-out of match messages to spectators, kept off the player path.
+ *
+ * MatchWebSocketHandler sends each broadcast to the players first and then
+ * hands the same, already serialized JSON to publish(), which only
+ * schedules work, so player latency does not depend on spectator count.
+ *
+ * Delivery:
+ * - a single fan-out thread holds messages for delayMs (delay buffer, so
+ *   spectators cannot relay live positions to a player) and then copies
+ *   them, in publish order, into every spectator's bounded SpectatorChannel,
+ *   where obsolete state_update messages are coalesced;
+ * - a pool of send threads drains the channels, one task per channel at a
+ *   time, so a slow spectator ties up at most one sender and never the
+ *   fan-out or the other spectators' queues.
+ */
+public class SpectatorBroadcaster {
+
+    public static final long DEFAULT_DELAY_MS = 5_000;
+    public static final int DEFAULT_QUEUE_CAPACITY = 16;
+    public static final int DEFAULT_THREADS = 2;
+
+    private static final String COALESCABLE_TYPE = "state_update";
+
+    private final long delayMs;
+    private final int queueCapacity;
+    private final ScheduledExecutorService fanOutExecutor;
+    private final ExecutorService sendExecutor;
+    private final Map<String, SpectatorChannel> channels = new ConcurrentHashMap<>();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+
+    public SpectatorBroadcaster() {
+        this(DEFAULT_DELAY_MS, DEFAULT_QUEUE_CAPACITY, DEFAULT_THREADS);
+    }
+
+    /**
+     * @param delayMs how long messages are held before spectators get them
+     * @param queueCapacity maximum queued messages per spectator
+     * @param threads send threads
+     */
+    public SpectatorBroadcaster(long delayMs, int queueCapacity, int threads) {
+        if (delayMs < 0) {
+            throw new IllegalArgumentException("delayMs must not be negative");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be positive");
+        }
+        this.delayMs = delayMs;
+        this.queueCapacity = queueCapacity;
+        this.fanOutExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "Spectator-FanOut");
+            t.setDaemon(true);
+            return t;
+        });
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.sendExecutor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "Spectator-Send-" + threadCounter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public long getDelayMs() {
+        return delayMs;
+    }
+
+    // =========================================================================
+    // Spectators
+    // =========================================================================
+
+    /**
+     * Starts streaming a match to a connection, replacing any match it was
+     * already watching.
+     *
+     * The spectator is registered before the snapshot is taken, so a state
+     * published in between reaches it as a regular message instead of
+     * falling between the snapshot and the stream.
+     *
+     * @param snapshot builds the current state message, delivered through the
+     *                 delay buffer like every later message; may be null or
+     *                 return null
+     */
+    public void watch(Match match, ClientConnection connection, Supplier<String> snapshot) {
+        unwatch(connection);
+        SpectatorChannel channel = new SpectatorChannel(connection, match, queueCapacity);
+        channels.put(connection.getId(), channel);
+        match.addSpectator(connection);
+        String snapshotJson = snapshot != null ? snapshot.get() : null;
+        if (snapshotJson != null) {
+            schedule(() -> deliver(channel, snapshotJson, isCoalescable(snapshotJson)));
+        }
+    }
+
+    /**
+     * Stops streaming to a connection; queued messages are discarded.
+     *
+     * @return false if the connection was not spectating
+     */
+    public boolean unwatch(ClientConnection connection) {
+        SpectatorChannel channel = channels.remove(connection.getId());
+        if (channel == null) {
+            return false;
+        }
+        channel.getMatch().removeSpectator(connection);
+        return true;
+    }
+
+    /**
+     * Stops streaming a match to all its spectators, e.g. when the match is
+     * evicted.
+     *
+     * @return number of spectators removed
+     */
+    public int unwatchAll(Match match) {
+        int removed = 0;
+        for (ClientConnection spectator : match.getSpectators()) {
+            SpectatorChannel channel = channels.get(spectator.getId());
+            if (channel != null && channel.getMatch() == match && channels.remove(spectator.getId(), channel)) {
+                removed++;
+            }
+            match.removeSpectator(spectator);
+        }
+        return removed;
+    }
+
+    public boolean isWatching(ClientConnection connection) {
+        return channels.containsKey(connection.getId());
+    }
+
+    public int getSpectatorCount() {
+        return channels.size();
+    }
+
+    // =========================================================================
+    // Fan-out
+    // =========================================================================
+
+    /**
+     * Queues a message for the match's spectators. Returns immediately.
+     */
+    public void publish(Match match, String json) {
+        if (match.getSpectators().isEmpty()) {
+            return;
+        }
+        published.incrementAndGet();
+        boolean coalescable = isCoalescable(json);
+        schedule(() -> fanOut(match, json, coalescable));
+    }
+
+    private void fanOut(Match match, String json, boolean coalescable) {
+        // Spectator list read after the delay: late joiners get it too
+        List<ClientConnection> spectators = match.getSpectators();
+        for (ClientConnection spectator : spectators) {
+            SpectatorChannel channel = channels.get(spectator.getId());
+            if (channel != null && channel.getMatch() == match) {
+                deliver(channel, json, coalescable);
+            }
+        }
+    }
+
+    private void deliver(SpectatorChannel channel, String json, boolean coalescable) {
+        if (channel.offer(json, coalescable)) {
+            try {
+                sendExecutor.execute(() -> drain(channel));
+            } catch (RejectedExecutionException e) {
+                // Shut down: spectators simply stop receiving updates
+            }
+        }
+    }
+
+    private void drain(SpectatorChannel channel) {
+        String json;
+        while ((json = channel.poll()) != null) {
+            if (channels.get(channel.getConnection().getId()) != channel) {
+                continue; // Unwatched: discard what is left
+            }
+            try {
+                channel.getConnection().sendMessage(json);
+                delivered.incrementAndGet();
+            } catch (RuntimeException e) {
+                System.err.println("Spectator send failed for " + channel.getConnection().getId()
+                        + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private boolean isCoalescable(String json) {
+        return COALESCABLE_TYPE.equals(JsonHelper.peekType(json));
+    }
+
+    /**
+     * Runs a task on the fan-out thread after delayMs. Equal delays keep
+     * submission order, so spectators see states in the order published.
+     */
+    private void schedule(Runnable task) {
+        try {
+            fanOutExecutor.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shut down: spectators simply stop receiving updates
+        }
+    }
+
+    // =========================================================================
+    // Stats / Lifecycle
+    // =========================================================================
+
+    /**
+     * Messages accepted by publish() (those for matches with spectators).
+     */
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    /**
+     * Messages actually sent to spectator connections.
+     */
+    public long getDeliveredCount() {
+        return delivered.get();
+    }
+
+    /**
+     * Messages dropped or coalesced away across current spectators.
+     */
+    public long getDroppedCount() {
+        long dropped = 0;
+        for (SpectatorChannel channel : channels.values()) {
+            dropped += channel.getDroppedCount();
+        }
+        return dropped;
+    }
+
+    public void shutdown() {
+        fanOutExecutor.shutdownNow();
+        sendExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,103 @@
+package com.tactics.server.spectator;
+
+import com.tactics.server.core.Match;
+import com.tactics.server.ws.ClientConnection;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Bounded send queue for one spectator.
+ *
+ * A newer state_update makes queued ones obsolete (each carries the full
+ * state), so they are coalesced away instead of being delivered late.
+ * When the queue is still full the oldest message is dropped. Either way
+ * a slow spectator only ever holds capacity messages.
+ *
+ * At most one drain runs per channel; offer reports when a new drain
+ * must be scheduled.
+ */
+class SpectatorChannel {
+
+    private static final class Pending {
+        final String json;
+        final boolean coalescable;
+
+        Pending(String json, boolean coalescable) {
+            this.json = json;
+            this.coalescable = coalescable;
+        }
+    }
+
+    private final ClientConnection connection;
+    private final Match match;
+    private final int capacity;
+
+    // Guarded by this
+    private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+    private boolean draining;
+    private long dropped;
+
+    SpectatorChannel(ClientConnection connection, Match match, int capacity) {
+        this.connection = connection;
+        this.match = match;
+        this.capacity = capacity;
+    }
+
+    ClientConnection getConnection() {
+        return connection;
+    }
+
+    Match getMatch() {
+        return match;
+    }
+
+    /**
+     * Queues a message.
+     *
+     * @param coalescable true if a later coalescable message supersedes this one
+     * @return true if the caller must schedule drain()
+     */
+    synchronized boolean offer(String json, boolean coalescable) {
+        if (coalescable) {
+            Iterator<Pending> it = queue.iterator();
+            while (it.hasNext()) {
+                if (it.next().coalescable) {
+                    it.remove();
+                    dropped++;
+                }
+            }
+        }
+        if (queue.size() >= capacity) {
+            queue.poll();
+            dropped++;
+        }
+        queue.add(new Pending(json, coalescable));
+        if (draining) {
+            return false;
+        }
+        draining = true;
+        return true;
+    }
+
+    /**
+     * Next message to send, or null once the queue is empty (which also
+     * ends the current drain).
+     */
+    synchronized String poll() {
+        Pending next = queue.poll();
+        if (next == null) {
+            draining = false;
+            return null;
+        }
+        return next.json;
+    }
+
+    synchronized int size() {
+        return queue.size();
+    }
+
+    synchronized long getDroppedCount() {
+        return dropped;
+    }
+}
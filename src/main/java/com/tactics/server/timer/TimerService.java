@@ -5,9 +5,11 @@ import com.tactics.engine.model.PlayerId;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 /**
@@ -68,9 +70,21 @@ public class TimerService {
      * @param clock supplier providing current time in milliseconds
      */
     public TimerService(Supplier<Long> clock) {
+        this(clock, 1);
+    }
+
+    /**
+     * Creates a TimerService whose timeouts fire on several scheduler threads.
+     *
+     * @param clock supplier providing current time in milliseconds
+     * @param schedulerThreads threads running timeout callbacks
+     */
+    public TimerService(Supplier<Long> clock, int schedulerThreads) {
         this.clock = clock;
-        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
-            Thread t = new Thread(r, "TimerService-Scheduler");
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(schedulerThreads, r -> {
+            int n = threadCounter.incrementAndGet();
+            Thread t = new Thread(r, n == 1 ? "TimerService-Scheduler" : "TimerService-Scheduler-" + n);
             t.setDaemon(true);
             return t;
         });
@@ -132,9 +146,14 @@ public class TimerService {
 
         // Schedule timeout (duration + grace period)
         long totalDelayMs = durationMs + TimerConfig.GRACE_PERIOD_MS;
-        timer.scheduledTimeout = scheduler.schedule(() -> {
-            handleTimeout(key);
-        }, totalDelayMs, TimeUnit.MILLISECONDS);
+        try {
+            timer.scheduledTimeout = scheduler.schedule(() -> {
+                handleTimeout(key);
+            }, totalDelayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shut down: an action that arrives late gets no timer
+            return startTime;
+        }
 
         timers.put(key, timer);
         return startTime;
@@ -16,4 +16,21 @@ public interface ClientConnection {
     void setPlayerId(String playerId);
 
     void sendMessage(String message);
+
+    /**
+     * True for server-side connections with no socket behind them (bots).
+     * These are never closed by a transport, so whoever evicts their match
+     * must unregister them.
+     */
+    default boolean isVirtual() {
+        return false;
+    }
+
+    /**
+     * Messages accepted by sendMessage but not yet written to the transport.
+     * Always 0 for connections that deliver synchronously.
+     */
+    default int getOutboundDepth() {
+        return 0;
+    }
 }
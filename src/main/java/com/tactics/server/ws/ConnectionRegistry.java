@@ -32,4 +32,26 @@ public class ConnectionRegistry {
     public ClientConnection findById(String id) {
         return connections.get(id);
     }
+
+    /**
+     * Outbound messages queued across all connections.
+     */
+    public long getTotalOutboundDepth() {
+        long total = 0;
+        for (ClientConnection connection : connections.values()) {
+            total += connection.getOutboundDepth();
+        }
+        return total;
+    }
+
+    /**
+     * Deepest outbound queue of any single connection.
+     */
+    public int getMaxOutboundDepth() {
+        int max = 0;
+        for (ClientConnection connection : connections.values()) {
+            max = Math.max(max, connection.getOutboundDepth());
+        }
+        return max;
+    }
 }
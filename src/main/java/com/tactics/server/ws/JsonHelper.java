@@ -1,5 +1,7 @@
 package com.tactics.server.ws;
 
+import com.tactics.engine.metrics.Counter;
+import com.tactics.engine.metrics.LatencyRecorder;
 import com.tactics.server.dto.*;
 
 import java.util.ArrayList;
@@ -13,11 +15,38 @@ import java.util.Map;
  */
 public class JsonHelper {
 
+    // Process-wide parse metrics for incoming messages; null when metrics are off
+    private static volatile LatencyRecorder parseLatency;
+    private static volatile Counter parseErrors;
+
+    /**
+     * Times parseIncomingMessage into the given recorder and counts messages
+     * it could not parse; nulls turn this off.
+     */
+    public static void setParseMetrics(LatencyRecorder latency, Counter errors) {
+        parseLatency = latency;
+        parseErrors = errors;
+    }
+
     /**
      * Parse a JSON string into an IncomingMessage.
      * Returns null if parsing fails.
      */
     public static IncomingMessage parseIncomingMessage(String json) {
+        LatencyRecorder recorder = parseLatency;
+        long start = recorder == null ? 0 : System.nanoTime();
+        IncomingMessage message = doParseIncomingMessage(json);
+        if (recorder != null) {
+            recorder.recordNanos(System.nanoTime() - start);
+        }
+        Counter errors = parseErrors;
+        if (message == null && errors != null) {
+            errors.increment();
+        }
+        return message;
+    }
+
+    private static IncomingMessage doParseIncomingMessage(String json) {
         try {
             Map<String, Object> map = parseJsonObject(json.trim());
             if (map == null) {
@@ -45,6 +74,39 @@ public class JsonHelper {
         return sb.toString();
     }
 
+    /**
+     * Reads the "type" of a message built by toJson, which always writes it
+     * first, without parsing the (possibly large) payload.
+     * Returns null for anything else.
+     */
+    public static String peekType(String json) {
+        String prefix = "{\"type\":\"";
+        if (json == null || !json.startsWith(prefix)) {
+            return null;
+        }
+        int end = json.indexOf('"', prefix.length());
+        return end < 0 ? null : json.substring(prefix.length(), end);
+    }
+
+    /**
+     * Serialize a plain value (Map, List, String, Number, Boolean or null) to JSON.
+     */
+    public static String toJsonValue(Object value) {
+        return serializeValue(value);
+    }
+
+    /**
+     * Parse a JSON object string into a Map.
+     * Returns null if parsing fails.
+     */
+    public static Map<String, Object> parseObject(String json) {
+        try {
+            return parseJsonObject(json.trim());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     /**
      * Parse a JSON object string into a Map.
      */
@@ -229,7 +291,12 @@ public class JsonHelper {
         if (hasDecimal) {
             return new ParseResult(Double.parseDouble(numStr), i);
         } else {
-            return new ParseResult(Integer.parseInt(numStr), i);
+            // Integer where it fits; epoch-millisecond timestamps need a Long
+            long value = Long.parseLong(numStr);
+            if (value == (int) value) {
+                return new ParseResult((int) value, i);
+            }
+            return new ParseResult(value, i);
         }
     }
 
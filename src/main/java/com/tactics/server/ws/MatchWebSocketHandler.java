@@ -3,6 +3,7 @@ package com.tactics.server.ws;
 import com.tactics.engine.action.Action;
 import com.tactics.engine.action.ActionType;
 import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.HeroClass;
 import com.tactics.engine.model.PlayerId;
 import com.tactics.engine.model.Position;
 import com.tactics.server.core.ActionResult;
@@ -11,6 +12,8 @@ import com.tactics.server.core.Match;
 import com.tactics.server.core.MatchDraftTracker;
 import com.tactics.server.core.MatchService;
 import com.tactics.server.dto.*;
+import com.tactics.server.matchmaking.MatchmakingService;
+import com.tactics.server.spectator.SpectatorBroadcaster;
 import com.tactics.server.timer.TimerCallback;
 import com.tactics.server.timer.TimerConfig;
 import com.tactics.server.timer.TimerType;
@@ -26,6 +29,8 @@ public class MatchWebSocketHandler implements TimerCallback {
     private final MatchService matchService;
     private final ConnectionRegistry connectionRegistry;
     private final MatchDraftTracker draftTracker;
+    private volatile MatchmakingService matchmakingService;
+    private volatile SpectatorBroadcaster spectatorBroadcaster;
     private boolean useTimers = true;
 
     public MatchWebSocketHandler(MatchService matchService,
@@ -45,6 +50,32 @@ public class MatchWebSocketHandler implements TimerCallback {
         return connectionRegistry;
     }
 
+    public MatchDraftTracker getDraftTracker() {
+        return draftTracker;
+    }
+
+    public MatchmakingService getMatchmakingService() {
+        return matchmakingService;
+    }
+
+    /**
+     * Enables find_match / leave_queue. Without it those messages are rejected.
+     */
+    public void setMatchmakingService(MatchmakingService matchmakingService) {
+        this.matchmakingService = matchmakingService;
+    }
+
+    public SpectatorBroadcaster getSpectatorBroadcaster() {
+        return spectatorBroadcaster;
+    }
+
+    /**
+     * Enables spectate_match / leave_spectate. Without it those messages are rejected.
+     */
+    public void setSpectatorBroadcaster(SpectatorBroadcaster spectatorBroadcaster) {
+        this.spectatorBroadcaster = spectatorBroadcaster;
+    }
+
     /**
      * Enable or disable timer integration (for testing).
      */
@@ -59,6 +90,16 @@ public class MatchWebSocketHandler implements TimerCallback {
     public void onClose(ClientConnection connection) {
         connectionRegistry.unregister(connection);
 
+        MatchmakingService matchmaking = matchmakingService;
+        if (matchmaking != null) {
+            matchmaking.cancel(connection);
+        }
+
+        SpectatorBroadcaster spectators = spectatorBroadcaster;
+        if (spectators != null) {
+            spectators.unwatch(connection);
+        }
+
         // Remove from match if joined
         String matchId = connection.getMatchId();
         String playerId = connection.getPlayerId();
@@ -66,7 +107,7 @@ public class MatchWebSocketHandler implements TimerCallback {
             Match match = matchService.findMatch(matchId);
             if (match != null) {
                 ClientSlot slot = "P1".equals(playerId) ? ClientSlot.P1 : ClientSlot.P2;
-                match.getConnections().remove(slot);
+                match.releaseSlot(slot, connection);
 
                 // Notify remaining player (timer continues per TN-004)
                 OutgoingMessage disconnectMsg = new OutgoingMessage("player_disconnected",
@@ -111,6 +152,18 @@ public class MatchWebSocketHandler implements TimerCallback {
             case "select_team":
                 handleSelectTeam(connection, payload);
                 break;
+            case "find_match":
+                handleFindMatch(connection, payload);
+                break;
+            case "leave_queue":
+                handleLeaveQueue(connection);
+                break;
+            case "spectate_match":
+                handleSpectateMatch(connection, payload);
+                break;
+            case "leave_spectate":
+                handleLeaveSpectate(connection);
+                break;
             default:
                 sendValidationError(connection, "Unknown message type: " + type, null);
                 break;
@@ -210,10 +263,19 @@ public class MatchWebSocketHandler implements TimerCallback {
         if (matchId == null) {
             return; // Validation error already sent
         }
+        joinMatch(connection, matchId);
+    }
 
+    /**
+     * Seats a connection in a match (created if needed), sends match_joined
+     * and, once both slots are filled, broadcasts game_ready.
+     *
+     * @return false if the match is full (error sent to connection)
+     */
+    public boolean joinMatch(ClientConnection connection, String matchId) {
         PlayerAssignment assignment = assignPlayerToMatch(connection, matchId);
         if (assignment == null) {
-            return; // Error already sent
+            return false; // Error already sent
         }
 
         sendJoinConfirmation(connection, assignment);
@@ -221,6 +283,112 @@ public class MatchWebSocketHandler implements TimerCallback {
         if (assignment.isGameReady()) {
             broadcastGameStart(assignment);
         }
+        return true;
+    }
+
+    /**
+     * Undoes joinMatch for a match that never got going: frees the
+     * connection's slot, clears its match and player IDs if they still point
+     * at matchId, and removes the match once nobody is seated.
+     */
+    public void leaveMatch(ClientConnection connection, String matchId) {
+        Match match = matchService.findMatch(matchId);
+        if (match != null) {
+            for (ClientSlot slot : ClientSlot.values()) {
+                match.releaseSlot(slot, connection);
+            }
+            if (match.getConnectedCount() == 0) {
+                matchService.getMatchRegistry().removeMatch(matchId);
+            }
+        }
+        if (matchId.equals(connection.getMatchId())) {
+            connection.setMatchId(null);
+            connection.setPlayerId(null);
+        }
+    }
+
+    private void handleFindMatch(ClientConnection connection, Map<String, Object> payload) {
+        MatchmakingService matchmaking = matchmakingService;
+        if (matchmaking == null) {
+            sendValidationError(connection, "Matchmaking is not enabled", null);
+            return;
+        }
+        if (connection.getMatchId() != null) {
+            sendValidationError(connection, "Already in a match", null);
+            return;
+        }
+
+        Integer rating = getIntegerFromPayload(payload, "rating");
+        String heroName = getStringFromPayload(payload, "heroClass");
+        HeroClass preferredHero = null;
+        if (heroName != null) {
+            try {
+                preferredHero = HeroClass.valueOf(heroName);
+            } catch (IllegalArgumentException e) {
+                sendValidationError(connection, "Invalid hero class: " + heroName, null);
+                return;
+            }
+        }
+
+        int effectiveRating = rating != null ? rating : MatchmakingService.DEFAULT_RATING;
+        if (!matchmaking.enqueue(connection, effectiveRating, preferredHero)) {
+            sendValidationError(connection, "Already in matchmaking queue", null);
+            return;
+        }
+
+        Map<String, Object> queued = new java.util.HashMap<>();
+        queued.put("rating", effectiveRating);
+        queued.put("heroClass", heroName);
+        connection.sendMessage(JsonHelper.toJson(new OutgoingMessage("queue_joined", queued)));
+    }
+
+    private void handleLeaveQueue(ClientConnection connection) {
+        MatchmakingService matchmaking = matchmakingService;
+        if (matchmaking == null || !matchmaking.cancel(connection)) {
+            sendValidationError(connection, "Not in matchmaking queue", null);
+            return;
+        }
+        connection.sendMessage(JsonHelper.toJson(new OutgoingMessage("queue_left", Map.of())));
+    }
+
+    /**
+     * Handles spectate_match: streams a match to a connection that is not
+     * playing, through the spectator delay buffer.
+     * Payload: { matchId }
+     */
+    private void handleSpectateMatch(ClientConnection connection, Map<String, Object> payload) {
+        SpectatorBroadcaster spectators = spectatorBroadcaster;
+        if (spectators == null) {
+            sendValidationError(connection, "Spectating is not enabled", null);
+            return;
+        }
+        if (connection.getMatchId() != null) {
+            sendValidationError(connection, "Already in a match", null);
+            return;
+        }
+        String matchId = getStringFromPayload(payload, "matchId");
+        Match match = matchId != null ? matchService.findMatch(matchId) : null;
+        if (match == null) {
+            sendValidationError(connection, "Match not found: " + matchId, null);
+            return;
+        }
+
+        connection.sendMessage(JsonHelper.toJson(new OutgoingMessage("spectating",
+                Map.of("matchId", matchId, "delayMs", spectators.getDelayMs()))));
+        spectators.watch(match, connection, () -> {
+            Map<String, Object> stateMap = matchService.getGameStateSerializer().toJsonMap(match.getState());
+            stateMap.put("phase", draftTracker.getPhase(matchId).name());
+            return JsonHelper.toJson(new OutgoingMessage("state_update", new StateUpdatePayload(stateMap)));
+        });
+    }
+
+    private void handleLeaveSpectate(ClientConnection connection) {
+        SpectatorBroadcaster spectators = spectatorBroadcaster;
+        if (spectators == null || !spectators.unwatch(connection)) {
+            sendValidationError(connection, "Not spectating", null);
+            return;
+        }
+        connection.sendMessage(JsonHelper.toJson(new OutgoingMessage("spectate_left", Map.of())));
     }
 
     // ========== Join Match Helpers ==========
@@ -266,24 +434,18 @@ public class MatchWebSocketHandler implements TimerCallback {
      */
     private PlayerAssignment assignPlayerToMatch(ClientConnection connection, String matchId) {
         Match match = matchService.getOrCreateMatch(matchId);
-        Map<ClientSlot, ClientConnection> connections = match.getConnections();
-
-        String assignedPlayerId;
-        if (!connections.containsKey(ClientSlot.P1)) {
-            assignedPlayerId = "P1";
-            connections.put(ClientSlot.P1, connection);
-        } else if (!connections.containsKey(ClientSlot.P2)) {
-            assignedPlayerId = "P2";
-            connections.put(ClientSlot.P2, connection);
-        } else {
+
+        ClientSlot slot = match.claimFreeSlot(connection);
+        if (slot == null) {
             sendValidationError(connection, "Match is full", null);
             return null;
         }
+        String assignedPlayerId = slot.name();
+        boolean gameReady = match.getConnectedCount() == 2;
 
         connection.setMatchId(matchId);
         connection.setPlayerId(assignedPlayerId);
 
-        boolean gameReady = connections.size() == 2;
         return new PlayerAssignment(match, matchId, assignedPlayerId, gameReady);
     }
 
@@ -364,6 +526,38 @@ public class MatchWebSocketHandler implements TimerCallback {
             return;
         }
 
+        applyAndBroadcast(connection, matchId, playerId, action, actionPayload);
+    }
+
+    /**
+     * Submits an already-built engine Action on behalf of a server-side
+     * connection (e.g. a bot), using the connection's match and player.
+     * Goes through the same timer handling and broadcasts as an "action" message.
+     *
+     * @return true if the action was accepted
+     */
+    public boolean submitAction(ClientConnection connection, Action action) {
+        String matchId = connection.getMatchId();
+        String playerId = connection.getPlayerId();
+        if (matchId == null || playerId == null) {
+            sendValidationError(connection, "Not joined to a match", null);
+            return false;
+        }
+        ActionPayload actionPayload = new ActionPayload(
+                action.getType().name(),
+                action.getTargetPosition() != null ? action.getTargetPosition().getX() : null,
+                action.getTargetPosition() != null ? action.getTargetPosition().getY() : null,
+                action.getTargetUnitId(),
+                action.getActingUnitId());
+        return applyAndBroadcast(connection, matchId, playerId, action, actionPayload);
+    }
+
+    /**
+     * Applies an action and broadcasts the result; on rejection sends a
+     * validation error to the sender only.
+     */
+    private boolean applyAndBroadcast(ClientConnection connection, String matchId, String playerId,
+                                      Action action, ActionPayload actionPayload) {
         try {
             if (useTimers) {
                 // Apply action with timer management
@@ -374,10 +568,12 @@ public class MatchWebSocketHandler implements TimerCallback {
                 GameState newState = matchService.applyAction(matchId, new PlayerId(playerId), action);
                 handleLegacyActionResult(matchId, newState);
             }
+            return true;
 
         } catch (IllegalArgumentException e) {
             // Validation failed - send error only to sender
             sendValidationError(connection, e.getMessage(), actionPayload);
+            return false;
         }
     }
 
@@ -557,7 +753,7 @@ public class MatchWebSocketHandler implements TimerCallback {
         Match match = matchService.findMatch(matchId);
         if (match != null) {
             ClientSlot slot = "P1".equals(currentPlayerId) ? ClientSlot.P1 : ClientSlot.P2;
-            ClientConnection conn = match.getConnections().get(slot);
+            ClientConnection conn = match.getConnection(slot);
             if (conn != null) {
                 conn.sendMessage(json);
             }
@@ -619,22 +815,23 @@ public class MatchWebSocketHandler implements TimerCallback {
             return;
         }
 
-        Map<ClientSlot, ClientConnection> connections = match.getConnections();
-        if (connections == null) {
-            return;
-        }
-
         // Send to P1 if connected
-        ClientConnection p1 = connections.get(ClientSlot.P1);
+        ClientConnection p1 = match.getConnection(ClientSlot.P1);
         if (p1 != null) {
             p1.sendMessage(jsonMessage);
         }
 
         // Send to P2 if connected
-        ClientConnection p2 = connections.get(ClientSlot.P2);
+        ClientConnection p2 = match.getConnection(ClientSlot.P2);
         if (p2 != null) {
             p2.sendMessage(jsonMessage);
         }
+
+        // Spectators get the same JSON later, from the broadcast executor
+        SpectatorBroadcaster spectators = spectatorBroadcaster;
+        if (spectators != null) {
+            spectators.publish(match, jsonMessage);
+        }
     }
 
     private void sendValidationError(ClientConnection connection, String message, ActionPayload action) {
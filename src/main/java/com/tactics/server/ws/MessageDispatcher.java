@@ -0,0 +1,212 @@
+package com.tactics.server.ws;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs incoming messages off the transport's I/O threads.
+ *
+ * Tasks are grouped by key (the match id, or the connection id before a
+ * connection has joined a match). Tasks with the same key run one at a
+ * time in submission order, so two dispatched messages for a match never
+ * run at once; different keys run in parallel. Timer callbacks, bots and
+ * the matchmaking tick call into matches directly, not through here, so
+ * Match and MatchService still have to be safe under concurrent callers.
+ *
+ * A connection's key changes when it joins or leaves a match, possibly
+ * while earlier messages are still queued or running under the old key.
+ * On its first message under the new key, a gate is queued there that
+ * waits for everything already queued under the old key, so later
+ * messages neither overtake earlier ones nor run beside them.
+ *
+ * Each key's queue is drained by a task on the executor and dropped when
+ * empty, so idle connections cost nothing but their socket. On Java 21+
+ * the executor is virtual-thread-per-task (looked up reflectively so the
+ * same source builds on Java 17); otherwise a cached platform pool.
+ */
+public class MessageDispatcher {
+
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final Map<String, SerialQueue> queues = new ConcurrentHashMap<>();
+    // Connection id -> key its messages currently go to, when not its own
+    private final Map<String, String> routes = new ConcurrentHashMap<>();
+
+    /**
+     * Tasks for one key; retired once drained so the map does not grow.
+     */
+    private static final class SerialQueue {
+        final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        boolean running;
+        boolean retired;
+    }
+
+    public MessageDispatcher(ExecutorService executor) {
+        this(executor, false);
+    }
+
+    private MessageDispatcher(ExecutorService executor, boolean virtualThreads) {
+        this.executor = executor;
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Dispatcher on virtual threads when the runtime has them, else on a
+     * daemon cached thread pool.
+     */
+    public static MessageDispatcher create() {
+        ExecutorService virtual = newVirtualThreadExecutor();
+        return virtual != null ? new MessageDispatcher(virtual, true) : createPlatform();
+    }
+
+    /**
+     * Dispatcher on a daemon cached pool of platform threads.
+     */
+    public static MessageDispatcher createPlatform() {
+        AtomicInteger counter = new AtomicInteger();
+        return new MessageDispatcher(Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "Message-Dispatch-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }), false);
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null; // Pre-21 runtime
+        }
+    }
+
+    public boolean isUsingVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Routing key for a connection's messages: its match, else itself.
+     */
+    public static String keyFor(ClientConnection connection) {
+        String matchId = connection.getMatchId();
+        return matchId != null ? "match:" + matchId : "conn:" + connection.getId();
+    }
+
+    /**
+     * Queues a task for a connection under keyFor(connection), behind the
+     * connection's earlier tasks even if those went to another key. Calls for
+     * one connection must not race each other (transports deliver a
+     * connection's events one at a time).
+     */
+    public void dispatch(ClientConnection connection, Runnable task) {
+        String own = "conn:" + connection.getId();
+        String previous = routes.getOrDefault(connection.getId(), own);
+        String key = keyFor(connection);
+        if (!previous.equals(key)) {
+            handOver(previous, key);
+            if (key.equals(own)) {
+                routes.remove(connection.getId());
+            } else {
+                routes.put(connection.getId(), key);
+            }
+        }
+        dispatch(key, task);
+    }
+
+    /**
+     * Dispatches a connection's final task (its close) and forgets its route
+     * once the task has run.
+     */
+    public void dispatchLast(ClientConnection connection, Runnable task) {
+        dispatch(connection, () -> {
+            try {
+                task.run();
+            } finally {
+                routes.remove(connection.getId());
+            }
+        });
+    }
+
+    /**
+     * Holds the queue for key to until everything already queued for from
+     * has run.
+     */
+    private void handOver(String from, String to) {
+        CountDownLatch drained = new CountDownLatch(1);
+        dispatch(from, drained::countDown);
+        dispatch(to, () -> {
+            try {
+                drained.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    /**
+     * Queues a task behind any others with the same key. Returns immediately.
+     */
+    public void dispatch(String key, Runnable task) {
+        while (true) {
+            SerialQueue queue = queues.computeIfAbsent(key, k -> new SerialQueue());
+            boolean start;
+            synchronized (queue) {
+                if (queue.retired) {
+                    continue; // Lost a race with drain(); use a fresh queue
+                }
+                queue.tasks.add(task);
+                start = !queue.running;
+                queue.running = true;
+            }
+            if (start) {
+                try {
+                    executor.execute(() -> drain(key, queue));
+                } catch (RejectedExecutionException e) {
+                    synchronized (queue) {
+                        queue.tasks.clear();
+                        queue.running = false;
+                    }
+                }
+            }
+            return;
+        }
+    }
+
+    private void drain(String key, SerialQueue queue) {
+        while (true) {
+            Runnable task;
+            synchronized (queue) {
+                task = queue.tasks.poll();
+                if (task == null) {
+                    queue.running = false;
+                    queue.retired = true;
+                    queues.remove(key, queue);
+                    return;
+                }
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("Dispatched task for " + key + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Keys with queued or running tasks.
+     */
+    public int getActiveKeyCount() {
+        return queues.size();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
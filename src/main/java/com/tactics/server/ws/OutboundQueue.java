@@ -0,0 +1,237 @@
+package com.tactics.server.ws;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.tactics.engine.metrics.LatencyRecorder;
+
+/**
+ * Per-connection outbound message queue.
+ *
+ * sendMessage only appends here, so producers (WebSocket threads, the timer
+ * scheduler, the spectator fan-out) never block on a slow client. A writer
+ * task drains the queue; at most one runs per connection, so messages keep
+ * their order.
+ *
+ * - A new state_update replaces a state_update at the tail of the queue
+ *   (each carries the full state). Anything queued after a state_update
+ *   keeps it in place, so clients see messages in the order they were
+ *   produced.
+ * - If the queued size still exceeds maxQueuedChars the client is not
+ *   keeping up at all: the queue is discarded, closed, and onOverflow is
+ *   called to disconnect it.
+ *
+ * Sizes are counted in chars, which for our ASCII JSON equals bytes.
+ */
+public class OutboundQueue {
+
+    public static final long DEFAULT_MAX_QUEUED_CHARS = 1L << 20;
+
+    private static final String COALESCABLE_TYPE = "state_update";
+
+    private static final AtomicInteger WRITER_COUNTER = new AtomicInteger();
+
+    /**
+     * Shared writers: a thread per connection that currently has data to
+     * write, reclaimed when idle.
+     */
+    private static final ExecutorService SHARED_WRITER = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "Outbound-Writer-" + WRITER_COUNTER.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Process-wide transport write latency; null when metrics are off.
+     */
+    private static volatile LatencyRecorder sendLatency;
+
+    /**
+     * Writes one message to the transport; may block.
+     */
+    @FunctionalInterface
+    public interface MessageSink {
+        void write(String message) throws Exception;
+    }
+
+    private final String connectionId;
+    private final MessageSink sink;
+    private final Runnable onOverflow;
+    private final Executor writer;
+    private final long maxQueuedChars;
+
+    // Guarded by this
+    private final ArrayDeque<String> queue = new ArrayDeque<>();
+    private long queuedChars;
+    private boolean draining;
+    private boolean closed;
+    private long sent;
+    private long coalesced;
+    private int maxDepth;
+
+    public OutboundQueue(String connectionId, MessageSink sink, Runnable onOverflow) {
+        this(connectionId, sink, onOverflow, SHARED_WRITER, DEFAULT_MAX_QUEUED_CHARS);
+    }
+
+    /**
+     * @param onOverflow called once, outside the lock, when the queue overflows
+     * @param writer runs drain tasks
+     * @param maxQueuedChars queued size beyond which the client is disconnected
+     */
+    public OutboundQueue(String connectionId, MessageSink sink, Runnable onOverflow,
+                         Executor writer, long maxQueuedChars) {
+        this.connectionId = connectionId;
+        this.sink = sink;
+        this.onOverflow = onOverflow;
+        this.writer = writer;
+        this.maxQueuedChars = maxQueuedChars;
+    }
+
+    /**
+     * Queues a message for writing. Never blocks on the transport.
+     *
+     * @return false if the queue is closed (or was just closed by overflow)
+     */
+    public boolean offer(String message) {
+        boolean overflow = false;
+        boolean startDrain = false;
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+            if (COALESCABLE_TYPE.equals(JsonHelper.peekType(message))) {
+                replaceQueuedStateUpdate();
+            }
+            queue.add(message);
+            queuedChars += message.length();
+            maxDepth = Math.max(maxDepth, queue.size());
+
+            if (queuedChars > maxQueuedChars) {
+                closeLocked();
+                overflow = true;
+            } else if (!draining) {
+                draining = true;
+                startDrain = true;
+            }
+        }
+
+        if (overflow) {
+            System.err.println("Outbound queue overflow for " + connectionId + ", disconnecting");
+            onOverflow.run();
+            return false;
+        }
+        if (startDrain) {
+            try {
+                writer.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    draining = false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Discards queued messages and rejects further ones.
+     */
+    public synchronized void close() {
+        closeLocked();
+    }
+
+    private void closeLocked() {
+        closed = true;
+        queue.clear();
+        queuedChars = 0;
+    }
+
+    /**
+     * Drops the tail if it is a state_update the new one supersedes.
+     */
+    private void replaceQueuedStateUpdate() {
+        String tail = queue.peekLast();
+        if (tail != null && COALESCABLE_TYPE.equals(JsonHelper.peekType(tail))) {
+            queue.pollLast();
+            queuedChars -= tail.length();
+            coalesced++;
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            String next;
+            synchronized (this) {
+                next = queue.poll();
+                if (next == null) {
+                    draining = false;
+                    return;
+                }
+                queuedChars -= next.length();
+            }
+            try {
+                LatencyRecorder recorder = sendLatency;
+                if (recorder == null) {
+                    sink.write(next);
+                } else {
+                    long start = System.nanoTime();
+                    sink.write(next);
+                    recorder.recordNanos(System.nanoTime() - start);
+                }
+                synchronized (this) {
+                    sent++;
+                }
+            } catch (Exception e) {
+                System.err.println("Failed to send message to " + connectionId + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // =========================================================================
+    // Metrics
+    // =========================================================================
+
+    /**
+     * Times every queue's transport writes into the given recorder; null
+     * turns timing off.
+     */
+    public static void setSendLatency(LatencyRecorder recorder) {
+        sendLatency = recorder;
+    }
+
+    /**
+     * Messages queued and not yet handed to the transport.
+     */
+    public synchronized int getDepth() {
+        return queue.size();
+    }
+
+    public synchronized long getQueuedChars() {
+        return queuedChars;
+    }
+
+    /**
+     * Largest depth seen since the queue was created.
+     */
+    public synchronized int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public synchronized long getSentCount() {
+        return sent;
+    }
+
+    /**
+     * state_update messages dropped because a newer one replaced them.
+     */
+    public synchronized long getCoalescedCount() {
+        return coalesced;
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+}
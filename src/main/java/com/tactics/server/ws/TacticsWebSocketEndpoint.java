@@ -1,16 +1,20 @@
 package com.tactics.server.ws;
 
 import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.StatusCode;
 import org.eclipse.jetty.websocket.api.WebSocketListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.util.UUID;
 
 /**
  * Jetty WebSocket endpoint that bridges to MatchWebSocketHandler.
  * Implements ClientConnection for framework-agnostic message sending.
+ *
+ * Without a MessageDispatcher, messages are handled inline on Jetty's
+ * threads. With one, Jetty's threads only hand the text over and game
+ * logic runs on the dispatcher, serialized per match.
  */
 public class TacticsWebSocketEndpoint implements WebSocketListener, ClientConnection {
 
@@ -19,14 +23,27 @@ public class TacticsWebSocketEndpoint implements WebSocketListener, ClientConnec
     private final String id;
     private final MatchWebSocketHandler handler;
     private final ConnectionRegistry connectionRegistry;
-    private Session session;
-    private String matchId;
-    private String playerId;
+    private final OutboundQueue outbound;
+    private final MessageDispatcher dispatcher;
+    private volatile Session session;
+    // Set on the dispatcher thread, read by keyFor on Jetty's threads
+    private volatile String matchId;
+    private volatile String playerId;
 
     public TacticsWebSocketEndpoint(MatchWebSocketHandler handler, ConnectionRegistry connectionRegistry) {
+        this(handler, connectionRegistry, null);
+    }
+
+    /**
+     * @param dispatcher runs incoming messages off Jetty's threads; null for inline handling
+     */
+    public TacticsWebSocketEndpoint(MatchWebSocketHandler handler, ConnectionRegistry connectionRegistry,
+                                    MessageDispatcher dispatcher) {
         this.id = UUID.randomUUID().toString();
+        this.dispatcher = dispatcher;
         this.handler = handler;
         this.connectionRegistry = connectionRegistry;
+        this.outbound = new OutboundQueue(id, this::write, this::closeForOverflow);
     }
 
     // =========================================================================
@@ -43,7 +60,13 @@ public class TacticsWebSocketEndpoint implements WebSocketListener, ClientConnec
     @Override
     public void onWebSocketClose(int statusCode, String reason) {
         logger.info("WebSocket closed: {} (code={}, reason={})", id, statusCode, reason);
-        handler.onClose(this);
+        outbound.close();
+        if (dispatcher == null) {
+            handler.onClose(this);
+        } else {
+            // Behind any messages still queued for this match
+            dispatcher.dispatchLast(this, () -> handler.onClose(this));
+        }
     }
 
     @Override
@@ -54,6 +77,14 @@ public class TacticsWebSocketEndpoint implements WebSocketListener, ClientConnec
     @Override
     public void onWebSocketText(String message) {
         logger.debug("Received message from {}: {}", id, message);
+        if (dispatcher == null) {
+            handleText(message);
+        } else {
+            dispatcher.dispatch(this, () -> handleText(message));
+        }
+    }
+
+    private void handleText(String message) {
         try {
             handler.onMessage(this, message);
         } catch (Exception e) {
@@ -98,15 +129,34 @@ public class TacticsWebSocketEndpoint implements WebSocketListener, ClientConnec
 
     @Override
     public void sendMessage(String message) {
-        if (session != null && session.isOpen()) {
-            try {
-                session.getRemote().sendString(message);
-                logger.debug("Sent message to {}: {}", id, message);
-            } catch (IOException e) {
-                logger.error("Failed to send message to {}: {}", id, e.getMessage());
-            }
+        Session current = session;
+        if (current != null && current.isOpen()) {
+            outbound.offer(message);
         } else {
             logger.warn("Cannot send message to {}: session not open", id);
         }
     }
+
+    @Override
+    public int getOutboundDepth() {
+        return outbound.getDepth();
+    }
+
+    /**
+     * Blocking write, called from the outbound queue's writer only.
+     */
+    private void write(String message) throws Exception {
+        Session current = session;
+        if (current != null && current.isOpen()) {
+            current.getRemote().sendString(message);
+            logger.debug("Sent message to {}: {}", id, message);
+        }
+    }
+
+    private void closeForOverflow() {
+        Session current = session;
+        if (current != null) {
+            current.close(StatusCode.POLICY_VIOLATION, "Outbound queue overflow");
+        }
+    }
 }
@@ -8,8 +8,11 @@ import org.java_websocket.WebSocket;
  */
 public class WebSocketClientConnection implements ClientConnection {
 
+    private static final int POLICY_VIOLATION = 1008;
+
     private final String id;
     private final WebSocket webSocket;
+    private final OutboundQueue outbound;
     private String matchId;
     private String playerId;
 
@@ -22,6 +25,8 @@ public class WebSocketClientConnection implements ClientConnection {
     public WebSocketClientConnection(String id, WebSocket webSocket) {
         this.id = id;
         this.webSocket = webSocket;
+        this.outbound = new OutboundQueue(id, this::write,
+                () -> webSocket.close(POLICY_VIOLATION, "Outbound queue overflow"));
     }
 
     @Override
@@ -52,10 +57,28 @@ public class WebSocketClientConnection implements ClientConnection {
     @Override
     public void sendMessage(String message) {
         if (webSocket != null && webSocket.isOpen()) {
+            outbound.offer(message);
+        }
+    }
+
+    @Override
+    public int getOutboundDepth() {
+        return outbound.getDepth();
+    }
+
+    private void write(String message) {
+        if (webSocket.isOpen()) {
             webSocket.send(message);
         }
     }
 
+    /**
+     * Discards anything still queued; call when the socket closes.
+     */
+    public void closeOutbound() {
+        outbound.close();
+    }
+
     /**
      * Get the underlying WebSocket connection.
      *
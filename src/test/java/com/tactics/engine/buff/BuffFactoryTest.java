@@ -149,6 +149,92 @@ class BuffFactoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("Buff Identity Tests")
+    class BuffIdentity {
+
+        @Test
+        @DisplayName("Allocated ids serialize as b<id> and parse back")
+        void allocatedIdRoundTrips() {
+            BuffInstance buff = BuffFactory.create(BuffType.BLEED, SOURCE_ID, 42);
+
+            assertEquals(42, buff.getId());
+            assertEquals("b42", buff.getBuffId());
+            assertEquals(42, BuffInstance.parseId("b42"));
+            assertEquals(buff, new BuffInstance("b42", SOURCE_ID, BuffType.BLEED, buff.getDuration(),
+                buff.isStackable(), buff.getModifiers(), buff.getFlags(), buff.getInstantHpBonus()));
+        }
+
+        @Test
+        @DisplayName("Other strings are kept as external ids")
+        void externalIdsKept() {
+            BuffInstance buff = new BuffInstance("RAGE", SOURCE_ID, 2, false,
+                new BuffModifier(0, 1, 0, 0), BuffFlags.none());
+
+            assertEquals(BuffInstance.NO_ID, buff.getId());
+            assertEquals("RAGE", buff.getBuffId());
+            assertEquals(-1, BuffInstance.parseId("buff_1a2b3c4d"));
+            assertEquals(-1, BuffInstance.parseId("b01"));
+        }
+
+        @Test
+        @DisplayName("Duration changes keep the id")
+        void durationChangesKeepId() {
+            BuffInstance buff = BuffFactory.createPower(SOURCE_ID, 7);
+
+            assertEquals(7, buff.withDecreasedDuration().getId());
+            assertEquals(7, buff.withDuration(5).getId());
+        }
+    }
+
+    @Nested
+    @DisplayName("Buff Template Tests")
+    class BuffTemplates {
+
+        @Test
+        @DisplayName("Buffs of one type share their template, across duration changes")
+        void buffsOfOneTypeShareTemplate() {
+            BuffInstance first = BuffFactory.createBleed(SOURCE_ID, 1);
+            BuffInstance second = BuffFactory.createBleed("other", 2);
+
+            assertSame(first.getTemplate(), second.getTemplate());
+            assertSame(first.getTemplate(), first.withDecreasedDuration().getTemplate());
+            assertSame(first.getTemplate(), first.withDuration(5).getTemplate());
+            assertSame(BuffFlags.bleed(), second.getFlags());
+        }
+
+        @Test
+        @DisplayName("Constructors reuse the shared template when the parts match it")
+        void constructorsInternStandardParts() {
+            BuffInstance built = new BuffInstance("b9", SOURCE_ID, BuffType.SPEED, 2, false,
+                new BuffModifier(0, -1, 0, 0), new BuffFlags(false, false, false, false, false,
+                    false, true, false, false), 0);
+            BuffInstance custom = new BuffInstance("b9", SOURCE_ID, BuffType.SPEED, 2, false,
+                new BuffModifier(0, -3, 0, 0), BuffFlags.speed(), 0);
+
+            assertSame(BuffTemplate.of(BuffType.SPEED), built.getTemplate());
+            assertNotSame(BuffTemplate.of(BuffType.SPEED), custom.getTemplate());
+            assertEquals(-3, custom.getModifiers().getBonusAttack());
+            assertNotEquals(built, custom);
+        }
+
+        @Test
+        @DisplayName("Flag mask matches the flag getters")
+        void flagMaskMatchesGetters() {
+            for (BuffType type : BuffType.values()) {
+                BuffInstance buff = BuffFactory.create(type, SOURCE_ID);
+                BuffFlags flags = buff.getFlags();
+
+                assertEquals(flags.isSpeedBuff(), buff.hasFlag(BuffFlags.SPEED_BUFF), type.name());
+                assertEquals(flags.isBleedBuff(), buff.hasFlag(BuffFlags.BLEED_BUFF), type.name());
+                assertEquals(flags.isFeintBuff(), buff.hasFlag(BuffFlags.FEINT_BUFF), type.name());
+                assertEquals(flags.isInvulnerableBuff(), buff.hasFlag(BuffFlags.INVULNERABLE_BUFF), type.name());
+            }
+            BuffInstance untyped = new BuffInstance("atk", SOURCE_ID, 1, false, new BuffModifier(0, 1, 0, 0), null);
+            assertFalse(untyped.hasFlag(BuffFlags.POWER_BUFF));
+        }
+    }
+
     @Nested
     @DisplayName("Buff Expiration Tests")
     class BuffExpiration {
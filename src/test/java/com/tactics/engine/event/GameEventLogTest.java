@@ -0,0 +1,338 @@
+package com.tactics.engine.event;
+
+import com.tactics.engine.action.Action;
+import com.tactics.engine.buff.BuffFactory;
+import com.tactics.engine.buff.BuffInstance;
+import com.tactics.engine.buff.BuffType;
+import com.tactics.engine.draft.DraftResult;
+import com.tactics.engine.draft.DraftSetupService;
+import com.tactics.engine.model.Board;
+import com.tactics.engine.model.BuffTile;
+import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.HeroClass;
+import com.tactics.engine.model.MinionType;
+import com.tactics.engine.model.PlayerId;
+import com.tactics.engine.model.Position;
+import com.tactics.engine.model.Unit;
+import com.tactics.engine.model.UnitCategory;
+import com.tactics.engine.rules.ApplyResult;
+import com.tactics.engine.rules.RuleEngine;
+import com.tactics.engine.search.ActionGenerator;
+import com.tactics.engine.skill.SkillRegistry;
+import com.tactics.engine.tournament.Entrant;
+import com.tactics.engine.util.RngProvider;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GEL-Series: GameEventLog buffer and the events emitted by the executors.
+ */
+@DisplayName("GEL-Series: GameEventLog Tests")
+public class GameEventLogTest {
+
+    private static final PlayerId P1 = PlayerId.PLAYER_1;
+    private static final PlayerId P2 = PlayerId.PLAYER_2;
+
+    private final Board board = new Board(5, 5);
+
+    private static Unit hero(String id, PlayerId owner, Position pos, int hp) {
+        return new Unit(id, owner, hp, 1, 1, 1, pos, true,
+            UnitCategory.HERO, null, HeroClass.WARRIOR, hp,
+            null, 0, 0, false, false, false, 0, null);
+    }
+
+    private static Unit minion(String id, PlayerId owner, Position pos, int hp, int attack, MinionType type) {
+        return new Unit(id, owner, hp, attack, 1, 1, pos, true,
+            UnitCategory.MINION, type, null, hp,
+            null, 0, 0, false, false, false, 0, null);
+    }
+
+    private GameState state(List<Unit> units, Map<String, List<BuffInstance>> unitBuffs, List<BuffTile> buffTiles) {
+        return new GameState(board, units, P1, false, null, unitBuffs,
+            buffTiles, Collections.emptyList(), 1, null, false, false);
+    }
+
+    private static GameEvent event(GameEventType type, String unitId, String sourceId, int value) {
+        return new GameEvent(type, unitId, sourceId, value);
+    }
+
+    // =========================================================================
+    // Buffer
+    // =========================================================================
+
+    @Nested
+    @DisplayName("GEL1: Buffer")
+    class BufferTests {
+
+        @Test
+        @DisplayName("GEL1: Columns grow past the initial capacity and read back in order")
+        void growsAndReadsBack() {
+            GameEventLog log = new GameEventLog(2);
+            for (int i = 0; i < 20; i++) {
+                log.add(GameEventType.DAMAGE, "u" + i, null, i);
+            }
+
+            assertEquals(20, log.size());
+            assertEquals("u13", log.getUnitId(13));
+            assertEquals(13, log.getValue(13));
+            assertEquals(GameEventType.DAMAGE, log.getType(19));
+            assertEquals(event(GameEventType.DAMAGE, "u7", null, 7), log.toList().get(7));
+            assertThrows(IndexOutOfBoundsException.class, () -> log.getType(20));
+        }
+
+        @Test
+        @DisplayName("GEL1b: clear empties the log for reuse")
+        void clearEmptiesLog() {
+            GameEventLog log = new GameEventLog();
+            log.feintDodge("p2_hero", "p1_hero");
+            log.clear();
+
+            assertTrue(log.isEmpty());
+            log.tileTriggered("p1_hero", "tile1", BuffType.SPEED);
+            assertEquals(List.of(event(GameEventType.TILE_TRIGGERED, "p1_hero", "tile1", BuffType.SPEED.ordinal())),
+                log.toList());
+            assertEquals(BuffType.SPEED, log.get(0).getBuffType());
+        }
+
+        @Test
+        @DisplayName("GEL1c: Unit changes become DAMAGE, HEAL and DEATH")
+        void unitChangesBecomeEvents() {
+            GameEventLog log = new GameEventLog();
+            Unit unit = hero("p1_hero", P1, new Position(0, 0), 5);
+
+            log.unitChanged(unit, unit.withActionUsed());
+            log.unitChanged(unit, unit.withHpBonus(2));
+            log.unitChanged(unit, unit.withDamage(7));
+
+            assertEquals(List.of(
+                event(GameEventType.HEAL, "p1_hero", null, 2),
+                event(GameEventType.DAMAGE, "p1_hero", null, 7),
+                event(GameEventType.DEATH, "p1_hero", null, 0)), log.toList());
+        }
+
+        @Test
+        @DisplayName("GEL1d: The log is bound only while recording, and nested logs are restored")
+        void boundOnlyWhileRecording() {
+            GameEventLog outer = new GameEventLog();
+            GameEventLog inner = new GameEventLog();
+            assertNull(GameEventLog.current());
+
+            outer.record(() -> {
+                assertSame(outer, GameEventLog.current());
+                inner.record(() -> {
+                    assertSame(inner, GameEventLog.current());
+                    return null;
+                });
+                assertSame(outer, GameEventLog.current());
+                return null;
+            });
+
+            assertNull(GameEventLog.current());
+        }
+    }
+
+    // =========================================================================
+    // Executor Events
+    // =========================================================================
+
+    @Nested
+    @DisplayName("GEL2: Events from the executors")
+    class ExecutorTests {
+
+        private final RuleEngine ruleEngine = new RuleEngine();
+        private final GameEventLog log = new GameEventLog();
+
+        @Test
+        @DisplayName("GEL2: Guarded attack reports the intercept, then the damage to the TANK")
+        void guardedAttack() {
+            GameState state = state(List.of(
+                hero("p1_hero", P1, new Position(1, 1), 10),
+                hero("p2_hero", P2, new Position(1, 2), 10),
+                minion("p2_tank", P2, new Position(2, 2), 5, 1, MinionType.TANK)),
+                Collections.emptyMap(), Collections.emptyList());
+
+            ApplyResult result = ruleEngine.tryApply(state,
+                Action.attack("p1_hero", new Position(1, 2), "p2_hero"), log);
+
+            assertTrue(result.isValid(), result.getErrorMessage());
+            assertEquals(List.of(
+                event(GameEventType.GUARDIAN_INTERCEPT, "p2_tank", "p2_hero", 0),
+                event(GameEventType.DAMAGE, "p2_tank", null, 1)), log.toList());
+        }
+
+        @Test
+        @DisplayName("GEL2b: Lethal attack reports the damage, then the death")
+        void lethalAttack() {
+            GameState state = state(List.of(
+                hero("p1_hero", P1, new Position(1, 1), 10),
+                hero("p2_hero", P2, new Position(4, 4), 10),
+                minion("p2_archer", P2, new Position(1, 2), 1, 1, MinionType.ARCHER)),
+                Collections.emptyMap(), Collections.emptyList());
+
+            ruleEngine.applyAction(state, Action.attack("p1_hero", new Position(1, 2), "p2_archer"), log);
+
+            assertEquals(List.of(
+                event(GameEventType.DAMAGE, "p2_archer", null, 1),
+                event(GameEventType.DEATH, "p2_archer", null, 0)), log.toList());
+        }
+
+        @Test
+        @DisplayName("GEL2c: Feint dodge reports the dodge, then the counter damage")
+        void feintDodge() {
+            Map<String, List<BuffInstance>> buffs = new HashMap<>();
+            buffs.put("p2_hero", List.of(BuffFactory.createFeint("p2_hero")));
+            GameState state = state(List.of(
+                hero("p1_hero", P1, new Position(1, 1), 10),
+                hero("p2_hero", P2, new Position(1, 2), 10)),
+                buffs, Collections.emptyList());
+
+            ruleEngine.applyAction(state, Action.attack("p1_hero", new Position(1, 2), "p2_hero"), log);
+
+            assertEquals(List.of(
+                event(GameEventType.FEINT_DODGE, "p2_hero", "p1_hero", 0),
+                event(GameEventType.DAMAGE, "p1_hero", null, 2)), log.toList());
+        }
+
+        @Test
+        @DisplayName("GEL2d: Stepping on a buff tile reports the trigger, the buff and its instant HP")
+        void tileTrigger() {
+            GameState state = state(List.of(
+                hero("p1_hero", P1, new Position(1, 1), 10),
+                hero("p2_hero", P2, new Position(4, 4), 10)),
+                Collections.emptyMap(),
+                List.of(new BuffTile("tile1", new Position(1, 2), BuffType.POWER, 2, false)));
+
+            ruleEngine.applyAction(state, Action.move("p1_hero", new Position(1, 2)), log);
+
+            assertEquals(List.of(
+                event(GameEventType.TILE_TRIGGERED, "p1_hero", "tile1", BuffType.POWER.ordinal()),
+                event(GameEventType.BUFF_APPLIED, "p1_hero", "bufftile_tile1", BuffType.POWER.ordinal()),
+                event(GameEventType.HEAL, "p1_hero", null, 1)),
+                log.toList());
+        }
+
+        @Test
+        @DisplayName("GEL2e: Reused log is cleared per action; invalid actions and plain applies record nothing")
+        void reuseAndOff() {
+            GameState state = state(List.of(
+                hero("p1_hero", P1, new Position(1, 1), 10),
+                hero("p2_hero", P2, new Position(1, 2), 10)),
+                Collections.emptyMap(), Collections.emptyList());
+            Action attack = Action.attack("p1_hero", new Position(1, 2), "p2_hero");
+
+            ruleEngine.applyAction(state, attack, log);
+            assertEquals(1, log.size());
+
+            ApplyResult rejected = ruleEngine.tryApply(state, Action.move("p1_hero", new Position(4, 4)), log);
+            assertFalse(rejected.isValid());
+            assertTrue(log.isEmpty());
+
+            GameState withLog = ruleEngine.applyAction(state, attack, log);
+            GameState withoutLog = ruleEngine.applyAction(state, attack);
+            assertEquals(withLog.getUnits().toString(), withoutLog.getUnits().toString());
+            assertEquals(1, log.size(), "Plain applyAction does not touch the last log");
+        }
+
+        @Test
+        @DisplayName("GEL2f: Engines that never recorded do not report into a bound log")
+        void optInPerEngine() {
+            GameState state = state(List.of(
+                hero("p1_hero", P1, new Position(1, 1), 10),
+                hero("p2_hero", P2, new Position(1, 2), 10)),
+                Collections.emptyMap(), Collections.emptyList());
+            Action attack = Action.attack("p1_hero", new Position(1, 2), "p2_hero");
+            ruleEngine.applyAction(state, attack, new GameEventLog());
+
+            RuleEngine plainEngine = new RuleEngine();
+            log.record(() -> plainEngine.applyAction(state, attack));
+            assertTrue(log.isEmpty());
+
+            log.record(() -> ruleEngine.applyAction(state, attack));
+            assertEquals(1, log.size());
+        }
+    }
+
+    // =========================================================================
+    // Random Games
+    // =========================================================================
+
+    @Nested
+    @DisplayName("GEL3: Events against state diffs")
+    class GameTests {
+
+        private final List<Entrant> entrants = List.of(
+            new Entrant(HeroClass.MAGE, SkillRegistry.MAGE_WILD_MAGIC, MinionType.TANK, MinionType.ARCHER),
+            new Entrant(HeroClass.ROGUE, SkillRegistry.ROGUE_SHADOW_CLONE, MinionType.ASSASSIN, MinionType.TANK),
+            new Entrant(HeroClass.WARRIOR, SkillRegistry.WARRIOR_SHOCKWAVE, MinionType.ASSASSIN, MinionType.ARCHER),
+            new Entrant(HeroClass.CLERIC, SkillRegistry.CLERIC_POWER_OF_MANY, MinionType.TANK, MinionType.TANK));
+
+        @Test
+        @DisplayName("GEL3: HP events sum to each unit's HP change, and DEATH matches units that died")
+        void eventsMatchStateDiffs() {
+            ActionGenerator actionGenerator = new ActionGenerator();
+            DraftSetupService draftSetupService = new DraftSetupService();
+            GameEventLog log = new GameEventLog();
+            int deaths = 0;
+
+            for (int a = 0; a < entrants.size(); a++) {
+                for (int b = 0; b < entrants.size(); b++) {
+                    long seed = 17L * a + b;
+                    RuleEngine ruleEngine = new RuleEngine();
+                    ruleEngine.setRngProvider(new RngProvider(seed));
+                    Random random = new Random(seed);
+                    GameState state = draftSetupService.createGameState(new DraftResult(
+                        entrants.get(a).draft(P1), entrants.get(b).draft(P2)));
+
+                    for (int i = 0; i < 400 && !state.isGameOver(); i++) {
+                        List<Action> legal = actionGenerator.generateLegal(ruleEngine, state);
+                        if (legal.isEmpty()) {
+                            break;
+                        }
+                        GameState next = ruleEngine.applyAction(state, legal.get(random.nextInt(legal.size())), log);
+
+                        Map<String, Unit> nextUnits = new HashMap<>();
+                        for (Unit u : next.getUnits()) {
+                            nextUnits.put(u.getId(), u);
+                        }
+                        Map<String, Integer> hpDelta = new HashMap<>();
+                        Map<String, Integer> died = new HashMap<>();
+                        for (int e = 0; e < log.size(); e++) {
+                            String unitId = log.getUnitId(e);
+                            switch (log.getType(e)) {
+                                case DAMAGE -> hpDelta.merge(unitId, -log.getValue(e), Integer::sum);
+                                case HEAL -> hpDelta.merge(unitId, log.getValue(e), Integer::sum);
+                                case DEATH -> died.merge(unitId, 1, Integer::sum);
+                                default -> { }
+                            }
+                        }
+
+                        String context = "game " + a + "v" + b + ", action " + i + ", events " + log.toList();
+                        for (Unit before : state.getUnits()) {
+                            Unit after = nextUnits.get(before.getId());
+                            if (after == null) {
+                                continue;
+                            }
+                            assertEquals(after.getHp() - before.getHp(),
+                                (int) hpDelta.getOrDefault(before.getId(), 0), before.getId() + " in " + context);
+                            assertEquals(before.isAlive() && !after.isAlive() ? 1 : 0,
+                                (int) died.getOrDefault(before.getId(), 0), before.getId() + " in " + context);
+                        }
+                        deaths += died.size();
+                        state = next;
+                    }
+                }
+            }
+            assertTrue(deaths > entrants.size(), "Games should cover deaths");
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.tactics.engine.metrics;
+
+import com.tactics.engine.action.Action;
+import com.tactics.engine.action.ActionType;
+import com.tactics.engine.model.Board;
+import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.HeroClass;
+import com.tactics.engine.model.PlayerId;
+import com.tactics.engine.model.Position;
+import com.tactics.engine.model.Unit;
+import com.tactics.engine.model.UnitCategory;
+import com.tactics.engine.rules.RuleEngine;
+import com.tactics.engine.util.GameStateSerializer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for MetricsRegistry, LatencyRecorder and EngineMetrics wiring.
+ */
+class MetricsRegistryTest {
+
+    private MetricsRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new MetricsRegistry();
+    }
+
+    private static LatencyRecorder find(MetricsRegistry registry, String name, String labelValue) {
+        for (Metric metric : registry.getMetrics()) {
+            if (metric.getName().equals(name)
+                    && (labelValue == null || labelValue.equals(metric.getLabelValue()))) {
+                return (LatencyRecorder) metric;
+            }
+        }
+        throw new AssertionError("No metric " + name);
+    }
+
+    @Nested
+    @DisplayName("LatencyRecorder")
+    class Recorder {
+
+        @Test
+        @DisplayName("Values land in the smallest power-of-two bucket bounding them")
+        void bucketing() {
+            LatencyRecorder recorder = registry.recorder("r", "help");
+
+            recorder.recordNanos(0);
+            recorder.recordNanos(1);
+            recorder.recordNanos(2);
+            recorder.recordNanos(1000);
+            recorder.recordNanos(1024);
+            recorder.recordNanos(1025);
+
+            long[] counts = recorder.getBucketCounts();
+            assertEquals(2, counts[0]);    // 0 and 1
+            assertEquals(1, counts[1]);    // 2 <= 2^1
+            assertEquals(2, counts[10]);   // 1000 and 1024 <= 2^10
+            assertEquals(1, counts[11]);   // 1025 <= 2^11
+            assertEquals(6, recorder.getCount());
+            assertEquals(3052, recorder.getSumNanos());
+        }
+
+        @Test
+        @DisplayName("Huge and negative values are clamped")
+        void clamping() {
+            LatencyRecorder recorder = registry.recorder("r", "help");
+
+            recorder.recordNanos(Long.MAX_VALUE);
+            recorder.recordNanos(-5);
+
+            long[] counts = recorder.getBucketCounts();
+            assertEquals(1, counts[LatencyRecorder.MAX_BUCKET]);
+            assertEquals(1, counts[0]);
+        }
+    }
+
+    @Nested
+    @DisplayName("Registration")
+    class Registration {
+
+        @Test
+        @DisplayName("Same name and label returns the same instance")
+        void dedup() {
+            Counter first = registry.counter("c", "help", "kind", "a");
+            Counter again = registry.counter("c", "help", "kind", "a");
+            Counter other = registry.counter("c", "help", "kind", "b");
+
+            assertSame(first, again);
+            assertTrue(first != other);
+            assertEquals(2, registry.getMetrics().size());
+        }
+
+        @Test
+        @DisplayName("Reusing a name with another type is rejected")
+        void typeMismatch() {
+            registry.counter("x", "help");
+
+            assertThrows(IllegalArgumentException.class, () -> registry.recorder("x", "help"));
+            assertThrows(IllegalArgumentException.class, () -> registry.gauge("x", "help", () -> 1));
+        }
+
+        @Test
+        @DisplayName("Gauges read their supplier on every get")
+        void gauge() {
+            long[] value = {3};
+            Gauge gauge = registry.gauge("g", "help", () -> value[0]);
+
+            value[0] = 7;
+
+            assertEquals(7, gauge.get());
+            assertEquals(Metric.Type.GAUGE, gauge.getType());
+        }
+    }
+
+    @Nested
+    @DisplayName("EngineMetrics")
+    class Engine {
+
+        private final PlayerId p1 = new PlayerId("P1");
+        private final PlayerId p2 = new PlayerId("P2");
+
+        private Unit hero(String id, PlayerId owner, Position pos) {
+            return new Unit(id, owner, 10, 3, 2, 2, pos, true,
+                    UnitCategory.HERO, null, HeroClass.WARRIOR, 10,
+                    null, 0,
+                    0, false, false, false, 0, null,
+                    0, false, null,
+                    0, 0);
+        }
+
+        private GameState state() {
+            List<Unit> units = new ArrayList<>();
+            units.add(hero("p1_hero", p1, new Position(0, 0)));
+            units.add(hero("p2_hero", p2, new Position(4, 4)));
+            return new GameState(new Board(5, 5), units, p1, false, null, Collections.emptyMap());
+        }
+
+        @Test
+        @DisplayName("Validation, rejections, apply by type and round end are recorded")
+        void ruleEngine() {
+            RuleEngine ruleEngine = new RuleEngine();
+            ruleEngine.setMetrics(new EngineMetrics(registry));
+            GameState state = state();
+
+            assertTrue(ruleEngine.validateAction(state, Action.move("p1_hero", new Position(1, 0))).isValid());
+            ruleEngine.validateAction(state, Action.move("p1_hero", new Position(4, 0)));
+            state = ruleEngine.applyAction(state, Action.endTurn("p1_hero"));
+            ruleEngine.applyAction(state, Action.endTurn("p2_hero"));
+
+            assertEquals(2, find(registry, "tactics_validate_action_seconds", null).getCount());
+            assertEquals(1, registry.counter("tactics_actions_rejected_total", "").get());
+            assertEquals(2, find(registry, "tactics_apply_action_seconds", ActionType.END_TURN.name()).getCount());
+            assertEquals(0, find(registry, "tactics_apply_action_seconds", ActionType.MOVE.name()).getCount());
+            assertEquals(1, find(registry, "tactics_round_end_seconds", null).getCount());
+        }
+
+        @Test
+        @DisplayName("Engines without metrics record nothing")
+        void otherEnginesUntouched() {
+            new EngineMetrics(registry);
+            new RuleEngine().applyAction(state(), Action.endTurn("p1_hero"));
+
+            assertEquals(0, find(registry, "tactics_apply_action_seconds", ActionType.END_TURN.name()).getCount());
+        }
+
+        @Test
+        @DisplayName("Serializer records toJsonMap")
+        void serializer() {
+            GameStateSerializer serializer = new GameStateSerializer();
+            serializer.setMetrics(new EngineMetrics(registry));
+
+            serializer.toJsonMap(state());
+
+            assertEquals(1, find(registry, "tactics_serialize_state_seconds", null).getCount());
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.tactics.engine.rules;
+
+import com.tactics.engine.action.Action;
+import com.tactics.engine.draft.DraftResult;
+import com.tactics.engine.draft.DraftSetupService;
+import com.tactics.engine.model.AliveCounts;
+import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.HeroClass;
+import com.tactics.engine.model.MinionType;
+import com.tactics.engine.model.PlayerId;
+import com.tactics.engine.model.Position;
+import com.tactics.engine.model.Unit;
+import com.tactics.engine.model.UnitCategory;
+import com.tactics.engine.search.ActionGenerator;
+import com.tactics.engine.skill.SkillRegistry;
+import com.tactics.engine.tournament.Entrant;
+import com.tactics.engine.util.RngProvider;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GOC-Series: O(1) game-over detection from incrementally kept alive counts,
+ * checked against the unit list scan with randomized differential tests.
+ */
+@DisplayName("GOC-Series: GameOverChecker Tests")
+public class GameOverCheckerTest {
+
+    private static final PlayerId[] ACTIVE_PLAYERS = {null, PlayerId.PLAYER_1, PlayerId.PLAYER_2};
+
+    private final GameOverChecker checker = new GameOverChecker();
+
+    private static Unit randomUnit(Random random, int n) {
+        PlayerId owner = random.nextBoolean() ? PlayerId.PLAYER_1 : PlayerId.PLAYER_2;
+        boolean alive = random.nextInt(4) != 0;
+        int hp = alive ? 1 + random.nextInt(4) : 0;
+        Position position = new Position(n % 5, n / 5);
+        switch (random.nextInt(3)) {
+            case 0:
+                return new Unit("u" + n, owner, hp, 1, 1, 1, position, alive,
+                    UnitCategory.HERO, null, HeroClass.WARRIOR, 5,
+                    null, 0, 0, false, false, false, 0, null);
+            case 1:
+                return new Unit("u" + n, owner, hp, 1, 1, 1, position, alive,
+                    UnitCategory.MINION, MinionType.TANK, null, 5,
+                    null, 0, 0, false, false, false, 0, null);
+            default:
+                // Legacy unit without a category
+                return new Unit("u" + n, owner, hp, 1, 1, 1, position, alive);
+        }
+    }
+
+    private static List<Unit> randomUnits(Random random) {
+        List<Unit> units = new ArrayList<>();
+        int size = random.nextInt(9);
+        for (int i = 0; i < size; i++) {
+            units.add(randomUnit(random, i));
+        }
+        return units;
+    }
+
+    private void assertSameResult(List<Unit> units, AliveCounts counts, String context) {
+        for (PlayerId active : ACTIVE_PLAYERS) {
+            GameOverChecker.GameOverResult expected = checker.checkGameOver(units, active);
+            GameOverChecker.GameOverResult actual = checker.checkGameOver(counts, active);
+            assertEquals(expected.isGameOver(), actual.isGameOver(), context + ", active " + active);
+            assertEquals(expected.getWinner(), actual.getWinner(), context + ", active " + active);
+        }
+    }
+
+    @Nested
+    @DisplayName("GOC1: Counts against the list scan")
+    class DifferentialTests {
+
+        @Test
+        @DisplayName("GOC1: Same result as the scan on random unit lists")
+        void matchesScanOnRandomLists() {
+            Random random = new Random(11);
+            for (int i = 0; i < 5000; i++) {
+                List<Unit> units = randomUnits(random);
+                assertSameResult(units, AliveCounts.of(units), "list " + units);
+            }
+        }
+
+        @Test
+        @DisplayName("GOC1b: Incremental replace, add and remove equal a recount")
+        void incrementalUpdatesMatchRecount() {
+            Random random = new Random(23);
+            for (int round = 0; round < 200; round++) {
+                List<Unit> units = randomUnits(random);
+                AliveCounts counts = AliveCounts.of(units);
+                int nextId = units.size();
+
+                for (int step = 0; step < 50; step++) {
+                    int op = units.isEmpty() ? 0 : random.nextInt(4);
+                    if (op == 0) {
+                        Unit added = randomUnit(random, nextId++);
+                        units.add(added);
+                        counts = counts.add(added);
+                    } else if (op == 1) {
+                        counts = counts.remove(units.remove(random.nextInt(units.size())));
+                    } else if (op == 2) {
+                        int index = random.nextInt(units.size());
+                        Unit before = units.get(index);
+                        Unit after = random.nextBoolean()
+                            ? before.withDamage(1 + random.nextInt(3))
+                            : before.withHpBonus(random.nextInt(3));
+                        units.set(index, after);
+                        counts = counts.replace(before, after);
+                    } else {
+                        // Replacement that may change owner or category, like the legacy damage path
+                        int index = random.nextInt(units.size());
+                        Unit after = randomUnit(random, index);
+                        counts = counts.replace(units.set(index, after), after);
+                    }
+
+                    assertEquals(AliveCounts.of(units), counts, "after step " + step + " of round " + round);
+                    assertSameResult(units, counts, "step " + step + " of round " + round);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("GOC1c: Replacing a unit with an equivalent one keeps the same counts")
+        void unchangedReplacementReturnsSameInstance() {
+            Unit unit = new Unit("u1", PlayerId.PLAYER_1, 5, 1, 1, 1, new Position(0, 0), true);
+            AliveCounts counts = AliveCounts.of(List.of(unit));
+
+            assertSame(counts, counts.replace(unit, unit.withActionUsed()));
+            assertNotSame(counts, counts.replace(unit, unit.withDamage(5)));
+        }
+    }
+
+    @Nested
+    @DisplayName("GOC2: Counts kept by the executors")
+    class EngineTests {
+
+        private final List<Entrant> entrants = List.of(
+            new Entrant(HeroClass.MAGE, SkillRegistry.MAGE_WILD_MAGIC, MinionType.TANK, MinionType.ARCHER),
+            new Entrant(HeroClass.ROGUE, SkillRegistry.ROGUE_SHADOW_CLONE, MinionType.ASSASSIN, MinionType.TANK),
+            new Entrant(HeroClass.WARRIOR, SkillRegistry.WARRIOR_SHOCKWAVE, MinionType.ASSASSIN, MinionType.ARCHER),
+            new Entrant(HeroClass.CLERIC, SkillRegistry.CLERIC_POWER_OF_MANY, MinionType.TANK, MinionType.TANK));
+
+        @Test
+        @DisplayName("GOC2: Random games keep every state's counts equal to a recount")
+        void randomGamesKeepCountsInSync() {
+            ActionGenerator actionGenerator = new ActionGenerator();
+            DraftSetupService draftSetupService = new DraftSetupService();
+            int roundEnds = 0;
+            int gamesOver = 0;
+
+            for (int a = 0; a < entrants.size(); a++) {
+                for (int b = 0; b < entrants.size(); b++) {
+                    long seed = 31L * a + b;
+                    RuleEngine ruleEngine = new RuleEngine();
+                    ruleEngine.setRngProvider(new RngProvider(seed));
+                    Random random = new Random(seed);
+                    GameState state = draftSetupService.createGameState(new DraftResult(
+                        entrants.get(a).draft(PlayerId.PLAYER_1), entrants.get(b).draft(PlayerId.PLAYER_2)));
+
+                    for (int i = 0; i < 400 && !state.isGameOver(); i++) {
+                        List<Action> legal = actionGenerator.generateLegal(ruleEngine, state);
+                        if (legal.isEmpty()) {
+                            break;
+                        }
+                        GameState next = ruleEngine.applyAction(state, legal.get(random.nextInt(legal.size())));
+                        roundEnds += next.getCurrentRound() > state.getCurrentRound() ? 1 : 0;
+                        state = next;
+
+                        String context = "game " + a + "v" + b + ", action " + i;
+                        assertEquals(AliveCounts.of(state.getUnits()), state.getAliveCounts(), context);
+                        assertSameResult(state.getUnits(), state.getAliveCounts(), context);
+                    }
+                    gamesOver += state.isGameOver() ? 1 : 0;
+                }
+            }
+            assertTrue(roundEnds > 100, "Games should cover many round ends");
+            assertTrue(gamesOver > entrants.size(), "Games should end by hero death");
+        }
+    }
+}
@@ -2,10 +2,13 @@ package com.tactics.engine.rules;
 
 import com.tactics.engine.action.Action;
 import com.tactics.engine.action.ActionType;
+import com.tactics.engine.buff.BuffType;
 import com.tactics.engine.model.Board;
+import com.tactics.engine.model.BuffTile;
 import com.tactics.engine.model.GameState;
 import com.tactics.engine.model.HeroClass;
 import com.tactics.engine.model.MinionType;
+import com.tactics.engine.model.Obstacle;
 import com.tactics.engine.model.PlayerId;
 import com.tactics.engine.model.Position;
 import com.tactics.engine.model.Unit;
@@ -387,4 +390,83 @@ class RuleEngineAttritionTest {
             assertEquals(7, state.getCurrentRound(), "Should be at Round 7");
         }
     }
+
+    // ========== System Death Spawn Tests ==========
+
+    @Nested
+    @DisplayName("System Death Spawns")
+    class SystemDeathSpawnTests {
+
+        private GameState createStateWithMapObjects(List<Unit> units, int round,
+                                                    List<Obstacle> obstacles, List<BuffTile> buffTiles) {
+            return new GameState(board, units, p1, false, null,
+                                 Collections.emptyMap(), buffTiles, obstacles,
+                                 round, null, false, false);
+        }
+
+        private List<String> obstacleIds(GameState state) {
+            return state.getObstacles().stream().map(Obstacle::getId).toList();
+        }
+
+        @Test
+        @DisplayName("ATR12: Decay deaths on an odd round overwrite map objects with obstacles, in id order")
+        void decayDeathsSpawnObstacles() {
+            Unit p1Hero = withActionsUsed(createHero("p1_hero", p1, new Position(0, 0), 5));
+            Unit p1Archer = withActionsUsed(createArcher("p1_archer", p1, new Position(1, 0), 1));
+            Unit p2Archer = withActionsUsed(createArcher("p2_archer", p2, new Position(3, 4), 1));
+            Unit p2Hero = withActionsUsed(createHero("p2_hero", p2, new Position(4, 4), 5));
+
+            GameState state = createStateWithMapObjects(
+                Arrays.asList(p1Hero, p2Archer, p1Archer, p2Hero), 3,
+                Arrays.asList(new Obstacle("obstacle_keep", new Position(2, 2)),
+                              new Obstacle("obstacle_old", new Position(3, 4))),
+                Arrays.asList(new BuffTile("tile_a", new Position(1, 0), BuffType.POWER, 3, false)));
+
+            GameState result = ruleEngine.applyAction(state, new Action(ActionType.END_TURN, p1, null, null));
+
+            assertEquals(Arrays.asList("obstacle_keep", "obstacle_p1_archer_3", "obstacle_p2_archer_3"),
+                obstacleIds(result), "Overwritten obstacle removed, spawns appended in id order");
+            assertTrue(result.getBuffTiles().isEmpty(), "Buff tile under the dead minion is overwritten");
+        }
+
+        @Test
+        @DisplayName("ATR13: Decay death on an even round replaces the obstacle on its cell with a buff tile")
+        void decayDeathSpawnsBuffTile() {
+            Unit p1Hero = withActionsUsed(createHero("p1_hero", p1, new Position(0, 0), 5));
+            Unit p1Tank = withActionsUsed(createTank("p1_tank", p1, new Position(1, 1), 1));
+            Unit p2Hero = withActionsUsed(createHero("p2_hero", p2, new Position(4, 4), 5));
+
+            GameState state = createStateWithMapObjects(
+                Arrays.asList(p1Hero, p1Tank, p2Hero), 4,
+                Arrays.asList(new Obstacle("obstacle_old", new Position(1, 1))),
+                Collections.emptyList());
+
+            GameState result = ruleEngine.applyAction(state, new Action(ActionType.END_TURN, p1, null, null));
+
+            assertTrue(result.getObstacles().isEmpty(), "Obstacle on the death cell is overwritten");
+            assertEquals(1, result.getBuffTiles().size());
+            BuffTile spawned = result.getBuffTiles().get(0);
+            assertEquals("bufftile_p1_tank_4", spawned.getId());
+            assertEquals(new Position(1, 1), spawned.getPosition());
+        }
+
+        @Test
+        @DisplayName("ATR14: Every map object sharing the death cell is overwritten")
+        void sharedCellObjectsAllOverwritten() {
+            Unit p1Hero = withActionsUsed(createHero("p1_hero", p1, new Position(0, 0), 5));
+            Unit p1Tank = withActionsUsed(createTank("p1_tank", p1, new Position(2, 3), 1));
+            Unit p2Hero = withActionsUsed(createHero("p2_hero", p2, new Position(4, 4), 5));
+
+            GameState state = createStateWithMapObjects(
+                Arrays.asList(p1Hero, p1Tank, p2Hero), 5,
+                Arrays.asList(new Obstacle("obstacle_a", new Position(2, 3)),
+                              new Obstacle("obstacle_b", new Position(0, 4)),
+                              new Obstacle("obstacle_c", new Position(2, 3))),
+                Collections.emptyList());
+
+            GameState result = ruleEngine.applyAction(state, new Action(ActionType.END_TURN, p1, null, null));
+
+            assertEquals(Arrays.asList("obstacle_b", "obstacle_p1_tank_5"), obstacleIds(result));
+        }
+    }
 }
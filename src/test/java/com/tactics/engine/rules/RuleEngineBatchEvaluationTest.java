@@ -0,0 +1,214 @@
+package com.tactics.engine.rules;
+
+import com.tactics.engine.action.Action;
+import com.tactics.engine.action.ActionType;
+import com.tactics.engine.buff.BuffFactory;
+import com.tactics.engine.buff.BuffInstance;
+import com.tactics.engine.model.Board;
+import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.HeroClass;
+import com.tactics.engine.model.MinionType;
+import com.tactics.engine.model.Obstacle;
+import com.tactics.engine.model.PlayerId;
+import com.tactics.engine.model.Position;
+import com.tactics.engine.model.Unit;
+import com.tactics.engine.model.UnitCategory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for RuleEngine.applyAll / scoreAll (batch evaluation against a shared parent).
+ * Results must match validateAction + applyAction run on each candidate separately.
+ */
+class RuleEngineBatchEvaluationTest {
+
+    private RuleEngine ruleEngine;
+    private ForkJoinPool pool;
+    private PlayerId p1;
+    private PlayerId p2;
+
+    @BeforeEach
+    void setUp() {
+        ruleEngine = new RuleEngine();
+        pool = new ForkJoinPool(4);
+        p1 = new PlayerId("P1");
+        p2 = new PlayerId("P2");
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private Unit createUnit(String id, PlayerId owner, Position pos, int moveRange, int attackRange,
+                            UnitCategory category) {
+        return new Unit(id, owner, 8, 2, moveRange, attackRange, pos, true,
+                category, category == UnitCategory.MINION ? MinionType.ARCHER : null,
+                category == UnitCategory.HERO ? HeroClass.WARRIOR : null, 8,
+                null, 0,
+                0, false, false, false, 0, null,
+                0, false, null,
+                0, 0);
+    }
+
+    private GameState createState() {
+        List<Unit> units = new ArrayList<>();
+        units.add(createUnit("p1_hero", p1, new Position(2, 1), 2, 1, UnitCategory.HERO));
+        units.add(createUnit("p1_minion_1", p1, new Position(0, 1), 1, 3, UnitCategory.MINION));
+        units.add(createUnit("p1_minion_2", p1, new Position(4, 0), 1, 3, UnitCategory.MINION));
+        units.add(createUnit("p2_hero", p2, new Position(2, 3), 2, 1, UnitCategory.HERO));
+        units.add(createUnit("p2_minion_1", p2, new Position(0, 3), 1, 3, UnitCategory.MINION));
+        units.add(createUnit("p2_minion_2", p2, new Position(4, 4), 1, 3, UnitCategory.MINION));
+
+        Map<String, List<BuffInstance>> buffs = new HashMap<>();
+        buffs.put("p1_minion_2", List.of(BuffFactory.createSpeed("p1_minion_2")));
+        buffs.put("p2_minion_1", List.of(BuffFactory.createWeakness("p1_hero")));
+
+        List<Obstacle> obstacles = List.of(new Obstacle("obstacle_1", new Position(1, 2)));
+        return new GameState(new Board(5, 5), units, p1, false, null, buffs,
+                new ArrayList<>(), obstacles, 1, null);
+    }
+
+    /**
+     * Every MOVE / ATTACK / MOVE_AND_ATTACK / END_TURN P1 could plausibly send,
+     * with and without actingUnitId, including many invalid ones.
+     */
+    private List<Action> generateCandidates(GameState state) {
+        List<Action> candidates = new ArrayList<>();
+        for (int x = -1; x <= 5; x++) {
+            for (int y = -1; y <= 5; y++) {
+                Position pos = new Position(x, y);
+                candidates.add(new Action(ActionType.MOVE, p1, pos, null));
+                for (Unit u : state.getUnits()) {
+                    if (u.getOwner().equals(p1)) {
+                        candidates.add(Action.move(u.getId(), pos));
+                    }
+                }
+            }
+        }
+        for (Unit target : state.getUnits()) {
+            if (target.getOwner().equals(p2)) {
+                candidates.add(new Action(ActionType.ATTACK, p1, target.getPosition(), target.getId()));
+                for (Unit u : state.getUnits()) {
+                    if (u.getOwner().equals(p1)) {
+                        candidates.add(Action.attack(u.getId(), target.getPosition(), target.getId()));
+                    }
+                }
+                for (int x = 0; x < 5; x++) {
+                    for (int y = 0; y < 5; y++) {
+                        candidates.add(new Action(ActionType.MOVE_AND_ATTACK, p1, new Position(x, y),
+                                target.getId()));
+                    }
+                }
+            }
+        }
+        candidates.add(Action.attackObstacle(p1, new Position(1, 2)));
+        candidates.add(Action.endTurn("p1_hero"));
+        return candidates;
+    }
+
+    private void assertSameResult(Action action, ValidationResult expectedValidation,
+                                  GameState expectedState, ApplyResult actual) {
+        assertEquals(expectedValidation.isValid(), actual.isValid(), "validity for " + action.getType());
+        assertEquals(expectedValidation.getErrorMessage(), actual.getErrorMessage());
+        if (expectedValidation.isValid()) {
+            assertEquals(expectedState.getUnits(), actual.getNewState().getUnits());
+            assertEquals(expectedState.getCurrentPlayer(), actual.getNewState().getCurrentPlayer());
+            assertEquals(expectedState.getObstacles().size(), actual.getNewState().getObstacles().size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Sequential batch")
+    class SequentialBatch {
+
+        @Test
+        @DisplayName("applyAll matches per-candidate validate + apply")
+        void applyAllMatchesTwoCallPath() {
+            GameState state = createState();
+            List<Action> candidates = generateCandidates(state);
+
+            List<ApplyResult> results = ruleEngine.applyAll(state, candidates);
+
+            assertEquals(candidates.size(), results.size());
+            int validCount = 0;
+            for (int i = 0; i < candidates.size(); i++) {
+                Action action = candidates.get(i);
+                ValidationResult validation = ruleEngine.validateAction(state, action);
+                GameState expected = validation.isValid() ? ruleEngine.applyAction(state, action) : null;
+                assertSameResult(action, validation, expected, results.get(i));
+                if (validation.isValid()) {
+                    validCount++;
+                }
+            }
+            assertTrue(validCount > 5, "candidate set should include valid actions");
+        }
+
+        @Test
+        @DisplayName("scoreAll reports INVALID_SCORE for rejected candidates")
+        void scoreAllMarksInvalid() {
+            GameState state = createState();
+            List<Action> candidates = List.of(
+                    Action.move("p1_hero", new Position(2, 2)),
+                    Action.move("p1_hero", new Position(2, 3)));
+
+            int[] scores = ruleEngine.scoreAll(state, candidates,
+                    s -> s.getUnits().get(0).getPosition().getY(), null);
+
+            assertEquals(2, scores[0]);
+            assertEquals(BatchEvaluator.INVALID_SCORE, scores[1]);
+        }
+    }
+
+    @Nested
+    @DisplayName("ForkJoinPool batch")
+    class ParallelBatch {
+
+        @Test
+        @DisplayName("Parallel applyAll matches sequential applyAll")
+        void parallelMatchesSequential() {
+            GameState state = createState();
+            List<Action> candidates = generateCandidates(state);
+
+            List<ApplyResult> sequential = ruleEngine.applyAll(state, candidates);
+            List<ApplyResult> parallel = ruleEngine.applyAll(state, candidates, pool);
+
+            assertEquals(sequential.size(), parallel.size());
+            for (int i = 0; i < sequential.size(); i++) {
+                assertEquals(sequential.get(i).isValid(), parallel.get(i).isValid());
+                assertEquals(sequential.get(i).getErrorMessage(), parallel.get(i).getErrorMessage());
+                if (sequential.get(i).isValid()) {
+                    assertEquals(sequential.get(i).getNewState().getUnits(),
+                            parallel.get(i).getNewState().getUnits());
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Parallel scoreAll matches sequential scoreAll")
+        void parallelScoresMatchSequential() {
+            GameState state = createState();
+            List<Action> candidates = generateCandidates(state);
+            java.util.function.ToIntFunction<GameState> totalHp =
+                    s -> s.getUnits().stream().mapToInt(Unit::getHp).sum();
+
+            int[] sequential = ruleEngine.scoreAll(state, candidates, totalHp, null);
+            int[] parallel = ruleEngine.scoreAll(state, candidates, totalHp, pool);
+
+            assertEquals(java.util.Arrays.toString(sequential), java.util.Arrays.toString(parallel));
+        }
+    }
+}
@@ -16,9 +16,11 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -474,4 +476,74 @@ class RuleEngineGuardianTest {
             assertEquals(5, findUnitById(result, "p1_tank").getHp(), "TANK unaffected (too far)");
         }
     }
+
+    @Nested
+    @DisplayName("Guardian Index")
+    class GuardianIndexLookup {
+
+        /**
+         * Reference: the full unit scan the index replaces.
+         */
+        private Unit scanForGuardian(GameState state, Unit target) {
+            Unit guardian = null;
+            for (Unit u : state.getUnits()) {
+                if (!u.isAlive() || u.getMinionType() != MinionType.TANK
+                        || !u.getOwner().equals(target.getOwner()) || u.getId().equals(target.getId())) {
+                    continue;
+                }
+                int dx = Math.abs(u.getPosition().getX() - target.getPosition().getX());
+                int dy = Math.abs(u.getPosition().getY() - target.getPosition().getY());
+                if (dx + dy == 1 && (guardian == null || u.getId().compareTo(guardian.getId()) < 0)) {
+                    guardian = u;
+                }
+            }
+            return guardian;
+        }
+
+        @Test
+        @DisplayName("GRD17: TANKs guard each other, lowest id first, never across owners")
+        void tanksGuardEachOther() {
+            Unit tankA = createTank("p1_tank_a", p1, new Position(2, 1), 5);
+            Unit tankB = createTank("p1_tank_b", p1, new Position(1, 2), 5);
+            Unit tankC = createTank("p1_tank_c", p1, new Position(2, 2), 5);
+            Unit enemyTank = createTank("p2_tank", p2, new Position(3, 1), 5);
+            GameState state = new GameState(board, Arrays.asList(tankC, tankB, tankA, enemyTank), p1, false, null);
+
+            // (2,2) is guarded by a and b; a and b are each guarded only by c
+            assertEquals("p1_tank_a", state.getGuardianIndex().findGuardian(tankC).getId());
+            assertEquals("p1_tank_c", state.getGuardianIndex().findGuardian(tankA).getId());
+            assertEquals("p1_tank_c", state.getGuardianIndex().findGuardian(tankB).getId());
+            assertNull(state.getGuardianIndex().findGuardian(enemyTank));
+        }
+
+        @Test
+        @DisplayName("GRD18: Index matches a full scan on random boards")
+        void indexMatchesScan() {
+            Random random = new Random(44);
+            MinionType[] types = MinionType.values();
+            for (int trial = 0; trial < 500; trial++) {
+                List<Unit> units = new ArrayList<>();
+                int count = 2 + random.nextInt(10);
+                for (int i = 0; i < count; i++) {
+                    PlayerId owner = random.nextBoolean() ? p1 : p2;
+                    Position pos = new Position(random.nextInt(5), random.nextInt(5));
+                    MinionType type = types[random.nextInt(types.length)];
+                    boolean alive = random.nextInt(5) > 0;
+                    units.add(new Unit("u" + random.nextInt(20), owner, alive ? 5 : 0, 1, 1, 1, pos, alive,
+                        UnitCategory.MINION, type, null, 5,
+                        null, 0, 0, false, false, false, 0, null,
+                        0, false, null));
+                }
+                GameState state = new GameState(board, units, p1, false, null);
+
+                for (Unit target : units) {
+                    Unit expected = scanForGuardian(state, target);
+                    Unit actual = state.getGuardianIndex().findGuardian(target);
+                    assertEquals(expected == null ? null : expected.getId(),
+                        actual == null ? null : actual.getId(),
+                        "Trial " + trial + ", target " + target.getId() + " at " + target.getPosition());
+                }
+            }
+        }
+    }
 }
@@ -284,9 +284,7 @@ public class RuleEngineMageSkillTest {
         @DisplayName("SMG-E2: Beacon position persists across rounds")
         void beaconPositionPersistsAcrossRounds() {
             // Given: Mage places beacon
-            Map<String, Object> skillState = new HashMap<>();
-            skillState.put("beacon_x", 3);
-            skillState.put("beacon_y", 0);
+            SkillState skillState = SkillState.ofBeacon(new Position(3, 0));
 
             Unit mage = new Unit(P1_HERO, PlayerId.PLAYER_1, 10, 3, 2, 1, new Position(0, 0), true,
                 UnitCategory.HERO, null, HeroClass.MAGE, 10,
@@ -322,8 +320,8 @@ public class RuleEngineMageSkillTest {
             // Then: Beacon position should persist
             Unit updatedMage = findUnit(result, P1_HERO);
             assertNotNull(updatedMage.getSkillState());
-            assertEquals(3, updatedMage.getSkillState().get("beacon_x"));
-            assertEquals(0, updatedMage.getSkillState().get("beacon_y"));
+            assertEquals(3, updatedMage.getSkillState().getBeaconX());
+            assertEquals(0, updatedMage.getSkillState().getBeaconY());
         }
     }
 }
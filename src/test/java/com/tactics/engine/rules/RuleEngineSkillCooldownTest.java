@@ -445,7 +445,7 @@ public class RuleEngineSkillCooldownTest {
                 "Placing Warp Beacon should NOT trigger cooldown");
             // Beacon should be placed
             assertNotNull(updatedMage.getSkillState());
-            assertTrue(updatedMage.getSkillState().containsKey("beacon_x"),
+            assertTrue(updatedMage.getSkillState().hasBeacon(),
                 "Beacon should be placed");
         }
 
@@ -453,9 +453,7 @@ public class RuleEngineSkillCooldownTest {
         @DisplayName("SC12: Warp Beacon - Second use (teleport) triggers cooldown")
         void warpBeaconTeleportTriggersCooldown() {
             // Given: Mage with beacon already placed
-            Map<String, Object> skillState = new HashMap<>();
-            skillState.put("beacon_x", 3);
-            skillState.put("beacon_y", 0);
+            SkillState skillState = SkillState.ofBeacon(new Position(3, 0));
 
             Unit mage = new Unit(P1_HERO, PlayerId.PLAYER_1, 10, 3, 2, 1, new Position(0, 0), true,
                 UnitCategory.HERO, null, HeroClass.MAGE, 10,
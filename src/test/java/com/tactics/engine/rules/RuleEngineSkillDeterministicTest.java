@@ -27,6 +27,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * - SDT4: Temporary unit removal in deterministic order
  * - SDT5: Replay: Same actions produce identical state
  * - SDT6: Random effects use RngProvider
+ * - SDT7: Buff ids are allocated from the state
  */
 @DisplayName("SDT-Series: Deterministic Ordering")
 public class RuleEngineSkillDeterministicTest {
@@ -172,6 +173,50 @@ public class RuleEngineSkillDeterministicTest {
         }
     }
 
+    // ========== SDT7: Buff Ids Allocated From The State ==========
+
+    @Nested
+    @DisplayName("SDT7: Buff ids are allocated from the state")
+    class BuffIdAllocationTests {
+
+        @Test
+        @DisplayName("SDT7: Multi-target skill allocates consecutive ids and advances the counter")
+        void smokeBombAllocatesConsecutiveIds() {
+            Unit rogue = createHero(P1_HERO, P1, 10, 3, new Position(2, 2),
+                HeroClass.ROGUE, SkillRegistry.ROGUE_SMOKE_BOMB);
+            Unit enemy1 = createMinion(P2_ENEMY_1, P2, 10, 3, new Position(2, 3), MinionType.ARCHER);
+            Unit enemy2 = createMinion(P2_ENEMY_2, P2, 10, 3, new Position(3, 2), MinionType.ARCHER);
+            GameState initial = createGameState(Arrays.asList(rogue, enemy1, enemy2), P1);
+
+            GameState result = ruleEngine.applyAction(initial,
+                Action.useSkill(P1, P1_HERO, new Position(0, 0), null));
+
+            assertEquals(1, result.getUnitBuffs().get(P2_ENEMY_1).get(0).getId());
+            assertEquals(2, result.getUnitBuffs().get(P2_ENEMY_2).get(0).getId());
+            assertEquals("b1", result.getUnitBuffs().get(P2_ENEMY_1).get(0).getBuffId());
+            assertEquals(3, result.getNextBuffId());
+        }
+
+        @Test
+        @DisplayName("SDT7b: Replays and restored states produce identical buff ids")
+        void replayProducesIdenticalBuffIds() {
+            Unit duelist = createHero(P1_HERO, P1, 10, 3, new Position(0, 0),
+                HeroClass.DUELIST, SkillRegistry.DUELIST_FEINT);
+            Unit enemy = createMinion(P2_ENEMY_1, P2, 10, 3, new Position(4, 4), MinionType.ARCHER);
+            GameState initial = createGameState(Arrays.asList(duelist, enemy), P1);
+            GameStateSerializer serializer = new GameStateSerializer();
+
+            GameState first = new RuleEngine().applyAction(initial, Action.useSkill(P1, P1_HERO, null, null));
+            GameState second = new RuleEngine().applyAction(initial, Action.useSkill(P1, P1_HERO, null, null));
+            GameState restored = serializer.fromJsonMap(serializer.toJsonMap(first));
+
+            assertEquals(serializer.toJsonMap(first).toString(), serializer.toJsonMap(second).toString());
+            assertEquals(first.getUnitBuffs().get(P1_HERO).get(0).getId(),
+                restored.getUnitBuffs().get(P1_HERO).get(0).getId());
+            assertEquals(first.getNextBuffId(), restored.getNextBuffId());
+        }
+    }
+
     // ========== SDT6: Random Effects Use RngProvider ==========
 
     @Nested
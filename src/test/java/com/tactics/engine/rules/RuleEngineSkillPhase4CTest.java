@@ -43,7 +43,7 @@ public class RuleEngineSkillPhase4CTest {
     }
 
     private Unit createHeroWithSkillState(String id, PlayerId owner, int hp, int attack, Position pos,
-                                           HeroClass heroClass, String skillId, Map<String, Object> skillState) {
+                                           HeroClass heroClass, String skillId, SkillState skillState) {
         return new Unit(id, owner, hp, attack, 2, 1, pos, true,
             UnitCategory.HERO, null, heroClass, hp,
             skillId, 0,
@@ -429,16 +429,14 @@ public class RuleEngineSkillPhase4CTest {
             assertEquals(0, heroAfter.getPosition().getY());
             // Beacon should be stored in skillState
             assertNotNull(heroAfter.getSkillState());
-            assertEquals(2, heroAfter.getSkillState().get("beacon_x"));
-            assertEquals(2, heroAfter.getSkillState().get("beacon_y"));
+            assertEquals(2, heroAfter.getSkillState().getBeaconX());
+            assertEquals(2, heroAfter.getSkillState().getBeaconY());
         }
 
         @Test
         @DisplayName("SMG7: Second use teleports to beacon")
         void testWarpBeaconTeleports() {
-            Map<String, Object> skillState = new HashMap<>();
-            skillState.put("beacon_x", 3);
-            skillState.put("beacon_y", 3);
+            SkillState skillState = SkillState.ofBeacon(new Position(3, 3));
 
             Unit hero = createHeroWithSkillState("h1", PlayerId.PLAYER_1, 10, 3, new Position(0, 0),
                 HeroClass.MAGE, SkillRegistry.MAGE_WARP_BEACON, skillState);
@@ -458,9 +456,7 @@ public class RuleEngineSkillPhase4CTest {
         @Test
         @DisplayName("SMG8: Teleport triggers cooldown")
         void testWarpBeaconTeleportTriggersCooldown() {
-            Map<String, Object> skillState = new HashMap<>();
-            skillState.put("beacon_x", 3);
-            skillState.put("beacon_y", 3);
+            SkillState skillState = SkillState.ofBeacon(new Position(3, 3));
 
             Unit hero = createHeroWithSkillState("h1", PlayerId.PLAYER_1, 10, 3, new Position(0, 0),
                 HeroClass.MAGE, SkillRegistry.MAGE_WARP_BEACON, skillState);
@@ -494,9 +490,7 @@ public class RuleEngineSkillPhase4CTest {
         @Test
         @DisplayName("SMG9: Beacon removed after teleport")
         void testWarpBeaconRemovedAfterTeleport() {
-            Map<String, Object> skillState = new HashMap<>();
-            skillState.put("beacon_x", 3);
-            skillState.put("beacon_y", 3);
+            SkillState skillState = SkillState.ofBeacon(new Position(3, 3));
 
             Unit hero = createHeroWithSkillState("h1", PlayerId.PLAYER_1, 10, 3, new Position(0, 0),
                 HeroClass.MAGE, SkillRegistry.MAGE_WARP_BEACON, skillState);
@@ -514,9 +508,7 @@ public class RuleEngineSkillPhase4CTest {
         @Test
         @DisplayName("SMG10: Mage death removes beacon")
         void testWarpBeaconRemovedOnDeath() {
-            Map<String, Object> skillState = new HashMap<>();
-            skillState.put("beacon_x", 3);
-            skillState.put("beacon_y", 3);
+            SkillState skillState = SkillState.ofBeacon(new Position(3, 3));
 
             Unit hero = createHeroWithSkillState("h1", PlayerId.PLAYER_1, 1, 3, new Position(0, 0),
                 HeroClass.MAGE, SkillRegistry.MAGE_WARP_BEACON, skillState);
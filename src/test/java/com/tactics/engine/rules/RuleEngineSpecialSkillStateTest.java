@@ -66,7 +66,7 @@ public class RuleEngineSpecialSkillStateTest {
 
     private Unit createHeroWithSkillState(String id, PlayerId owner, int hp, int attack, Position pos,
                                           HeroClass heroClass, String skillId,
-                                          Map<String, Object> skillState, int actionsUsed) {
+                                          SkillState skillState, int actionsUsed) {
         return new Unit(id, owner, hp, attack, 2, 1, pos, true,
             UnitCategory.HERO, null, heroClass, hp,
             skillId, 0,
@@ -187,9 +187,7 @@ public class RuleEngineSpecialSkillStateTest {
         @DisplayName("SSP5: Cannot teleport to occupied tile (beacon was placed, someone moved there)")
         void cannotTeleportToOccupiedTile() {
             // Given: Mage with beacon placed at (3,0), but another unit now occupies (3,0)
-            Map<String, Object> skillState = new HashMap<>();
-            skillState.put("beacon_x", 3);
-            skillState.put("beacon_y", 0);
+            SkillState skillState = SkillState.ofBeacon(new Position(3, 0));
 
             Unit mage = createHeroWithSkillState(P1_HERO, P1, 10, 3, new Position(0, 0),
                 HeroClass.MAGE, SkillRegistry.MAGE_WARP_BEACON, skillState, 0);
@@ -0,0 +1,181 @@
+package com.tactics.engine.rules;
+
+import com.tactics.engine.action.Action;
+import com.tactics.engine.action.ActionType;
+import com.tactics.engine.buff.BuffFactory;
+import com.tactics.engine.buff.BuffInstance;
+import com.tactics.engine.model.Board;
+import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.HeroClass;
+import com.tactics.engine.model.MinionType;
+import com.tactics.engine.model.PlayerId;
+import com.tactics.engine.model.Position;
+import com.tactics.engine.model.Unit;
+import com.tactics.engine.model.UnitCategory;
+import com.tactics.engine.util.RngProvider;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for RuleEngine.tryApply (fused validate + apply).
+ * Every case checks that tryApply matches validateAction followed by applyAction.
+ */
+class RuleEngineTryApplyTest {
+
+    private RuleEngine ruleEngine;
+    private PlayerId p1;
+    private PlayerId p2;
+    private Board board;
+
+    @BeforeEach
+    void setUp() {
+        ruleEngine = new RuleEngine();
+        p1 = new PlayerId("P1");
+        p2 = new PlayerId("P2");
+        board = new Board(5, 5);
+    }
+
+    private Unit createHero(String id, PlayerId owner, Position pos) {
+        return new Unit(id, owner, 10, 3, 2, 2, pos, true,
+                UnitCategory.HERO, null, HeroClass.WARRIOR, 10,
+                null, 0,
+                0, false, false, false, 0, null,
+                0, false, null,
+                0, 0);
+    }
+
+    private Unit createMinion(String id, PlayerId owner, Position pos) {
+        return new Unit(id, owner, 4, 3, 2, 1, pos, true,
+                UnitCategory.MINION, MinionType.ASSASSIN, null, 4,
+                null, 0,
+                0, false, false, false, 0, null,
+                0, false, null,
+                0, 0);
+    }
+
+    private GameState createState(Map<String, List<BuffInstance>> buffs) {
+        List<Unit> units = new ArrayList<>();
+        units.add(createHero("p1_hero", p1, new Position(2, 1)));
+        units.add(createMinion("p1_minion_1", p1, new Position(1, 2)));
+        units.add(createHero("p2_hero", p2, new Position(2, 2)));
+        units.add(createMinion("p2_minion_1", p2, new Position(4, 4)));
+        return new GameState(board, units, p1, false, null, buffs);
+    }
+
+    private GameState createState() {
+        return createState(Collections.emptyMap());
+    }
+
+    /**
+     * Run both paths with identical seeds and check they agree.
+     */
+    private ApplyResult assertMatchesTwoCallPath(GameState state, Action action) {
+        RuleEngine twoCall = new RuleEngine();
+        twoCall.setRngProvider(new RngProvider(42L));
+        ruleEngine.setRngProvider(new RngProvider(42L));
+
+        ValidationResult validation = twoCall.validateAction(state, action);
+        ApplyResult fused = ruleEngine.tryApply(state, action);
+
+        assertEquals(validation.isValid(), fused.isValid());
+        assertEquals(validation.getErrorMessage(), fused.getErrorMessage());
+
+        if (validation.isValid()) {
+            GameState expected = twoCall.applyAction(state, action);
+            GameState actual = fused.getNewState();
+            assertNotNull(actual);
+            assertEquals(expected.getUnits(), actual.getUnits());
+            assertEquals(expected.getCurrentPlayer(), actual.getCurrentPlayer());
+            assertEquals(expected.isGameOver(), actual.isGameOver());
+            assertEquals(expected.getCurrentRound(), actual.getCurrentRound());
+            assertEquals(expected.getUnitBuffs().keySet(), actual.getUnitBuffs().keySet());
+        } else {
+            assertNull(fused.getNewState());
+        }
+        return fused;
+    }
+
+    @Nested
+    @DisplayName("Valid actions")
+    class ValidActions {
+
+        @Test
+        @DisplayName("MOVE with actingUnitId matches two-call path")
+        void moveWithActingUnit() {
+            ApplyResult result = assertMatchesTwoCallPath(createState(),
+                    Action.move("p1_hero", new Position(3, 1)));
+            assertTrue(result.isValid());
+        }
+
+        @Test
+        @DisplayName("Legacy MOVE without actingUnitId matches two-call path")
+        void legacyMove() {
+            Action move = new Action(ActionType.MOVE, p1, new Position(0, 2), null);
+            ApplyResult result = assertMatchesTwoCallPath(createState(), move);
+            assertTrue(result.isValid());
+        }
+
+        @Test
+        @DisplayName("ATTACK with actingUnitId matches two-call path")
+        void attackWithActingUnit() {
+            // Both P1 units are in range of p2_hero; applyAttack keeps its own attacker scan
+            ApplyResult result = assertMatchesTwoCallPath(createState(),
+                    Action.attack("p1_minion_1", new Position(2, 2), "p2_hero"));
+            assertTrue(result.isValid());
+        }
+
+        @Test
+        @DisplayName("MOVE onto SLOW unit enters preparing on both paths")
+        void slowedMove() {
+            Map<String, List<BuffInstance>> buffs = new HashMap<>();
+            buffs.put("p1_hero", List.of(BuffFactory.createSlow("p2_hero")));
+            ApplyResult result = assertMatchesTwoCallPath(createState(buffs),
+                    Action.move("p1_hero", new Position(3, 1)));
+            assertTrue(result.isValid());
+        }
+
+        @Test
+        @DisplayName("END_TURN matches two-call path")
+        void endTurn() {
+            ApplyResult result = assertMatchesTwoCallPath(createState(), Action.endTurn("p1_hero"));
+            assertTrue(result.isValid());
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalid actions")
+    class InvalidActions {
+
+        @Test
+        @DisplayName("Wrong player is rejected with the same error")
+        void wrongPlayer() {
+            ApplyResult result = assertMatchesTwoCallPath(createState(),
+                    Action.move("p2_hero", new Position(3, 2)));
+            assertFalse(result.isValid());
+            assertEquals("Not your turn", result.getErrorMessage());
+        }
+
+        @Test
+        @DisplayName("Ambiguous legacy attacker is rejected with the same error")
+        void ambiguousAttacker() {
+            Action attack = new Action(ActionType.ATTACK, p1, new Position(2, 2), "p2_hero");
+            ApplyResult result = assertMatchesTwoCallPath(createState(), attack);
+            assertFalse(result.isValid());
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.tactics.engine.search;
+
+import com.tactics.engine.action.Action;
+import com.tactics.engine.action.ActionType;
+import com.tactics.engine.buff.BuffFactory;
+import com.tactics.engine.buff.BuffInstance;
+import com.tactics.engine.draft.DraftResult;
+import com.tactics.engine.draft.DraftSetupService;
+import com.tactics.engine.draft.DraftState;
+import com.tactics.engine.model.Board;
+import com.tactics.engine.model.DeathChoice;
+import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.HeroClass;
+import com.tactics.engine.model.MinionType;
+import com.tactics.engine.model.PlayerId;
+import com.tactics.engine.model.Position;
+import com.tactics.engine.model.Unit;
+import com.tactics.engine.model.UnitCategory;
+import com.tactics.engine.rules.RuleEngine;
+import com.tactics.engine.util.GameStateFactory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for SearchAI (iterative-deepening alpha-beta / expectimax).
+ */
+class SearchAITest {
+
+    private final PlayerId p1 = PlayerId.PLAYER_1;
+    private final PlayerId p2 = PlayerId.PLAYER_2;
+
+    private Unit createUnit(String id, PlayerId owner, Position pos, int hp, int attack, UnitCategory category) {
+        return new Unit(id, owner, hp, attack, 1, 1, pos, true,
+                category, category == UnitCategory.MINION ? MinionType.TANK : null,
+                category == UnitCategory.HERO ? HeroClass.WARRIOR : null, 10,
+                null, 0,
+                0, false, false, false, 0, null,
+                0, false, null,
+                0, 0);
+    }
+
+    private GameState createState(List<Unit> units, PlayerId current) {
+        Map<String, List<BuffInstance>> buffs = new HashMap<>();
+        return new GameState(new Board(5, 5), units, current, false, null, buffs,
+                new ArrayList<>(), new ArrayList<>(), 1, null);
+    }
+
+    private GameState createDraftedGame() {
+        DraftState d1 = new DraftState(p1, HeroClass.MAGE)
+                .withMinion(MinionType.ARCHER).withMinion(MinionType.TANK);
+        d1 = d1.withSkill(d1.getAvailableSkillIds().get(0));
+        DraftState d2 = new DraftState(p2, HeroClass.WARRIOR)
+                .withMinion(MinionType.ASSASSIN).withMinion(MinionType.TANK);
+        d2 = d2.withSkill(d2.getAvailableSkillIds().get(0));
+        return new DraftSetupService().createGameState(new DraftResult(d1, d2));
+    }
+
+    @Nested
+    @DisplayName("Tactics")
+    class Tactics {
+
+        @Test
+        @DisplayName("Takes a winning attack on the enemy hero")
+        void takesWinningAttack() {
+            List<Unit> units = new ArrayList<>();
+            units.add(createUnit("p1_hero", p1, new Position(2, 2), 10, 3, UnitCategory.HERO));
+            units.add(createUnit("p1_minion_1", p1, new Position(0, 0), 5, 1, UnitCategory.MINION));
+            units.add(createUnit("p2_hero", p2, new Position(2, 3), 2, 3, UnitCategory.HERO));
+            units.add(createUnit("p2_minion_1", p2, new Position(4, 4), 1, 1, UnitCategory.MINION));
+            GameState state = createState(units, p1);
+
+            SearchResult result = new SearchAI().search(state, 3, 5_000);
+
+            Action best = result.getBestAction();
+            assertNotNull(best);
+            assertEquals(ActionType.ATTACK, best.getType());
+            assertEquals("p2_hero", best.getTargetUnitId());
+            assertTrue(result.getScore() >= SearchAI.WIN_SCORE - 10, "score " + result.getScore());
+        }
+
+        @Test
+        @DisplayName("Resolves a pending death choice for its owner")
+        void resolvesDeathChoice() {
+            List<Unit> units = new ArrayList<>();
+            units.add(createUnit("p1_hero", p1, new Position(0, 0), 10, 3, UnitCategory.HERO));
+            units.add(createUnit("p2_hero", p2, new Position(4, 4), 10, 3, UnitCategory.HERO));
+            GameState state = createState(units, p2)
+                    .withPendingDeathChoice(new DeathChoice("p1_minion_1", p1, new Position(2, 2)));
+
+            SearchResult result = new SearchAI().search(state, 2, 5_000);
+
+            assertEquals(ActionType.DEATH_CHOICE, result.getBestAction().getType());
+            assertEquals(p1, result.getBestAction().getPlayerId());
+            assertEquals(2, result.getCompletedDepth());
+        }
+
+        @Test
+        @DisplayName("Never picks an action for a unit that already acted")
+        void skipsActedUnits() {
+            List<Unit> units = new ArrayList<>();
+            units.add(createUnit("p1_hero", p1, new Position(0, 0), 10, 3, UnitCategory.HERO).withActionsUsed(1));
+            units.add(createUnit("p1_minion_1", p1, new Position(4, 0), 5, 1, UnitCategory.MINION));
+            units.add(createUnit("p2_hero", p2, new Position(4, 4), 10, 3, UnitCategory.HERO).withActionsUsed(1));
+            GameState state = createState(units, p1);
+
+            List<Action> candidates = new ActionGenerator().generateCandidates(state);
+
+            assertTrue(!candidates.isEmpty());
+            assertTrue(candidates.stream().allMatch(a -> "p1_minion_1".equals(a.getActingUnitId())));
+            assertEquals("p1_minion_1", new SearchAI().search(state, 2, 5_000).getBestAction().getActingUnitId());
+        }
+
+        @Test
+        @DisplayName("Offers the second action of a SPEED unit")
+        void offersSpeedSecondAction() {
+            List<Unit> units = new ArrayList<>();
+            units.add(createUnit("p1_hero", p1, new Position(0, 0), 10, 3, UnitCategory.HERO).withActionsUsed(1));
+            units.add(createUnit("p1_minion_1", p1, new Position(4, 0), 5, 1, UnitCategory.MINION));
+            units.add(createUnit("p2_hero", p2, new Position(0, 1), 10, 3, UnitCategory.HERO));
+            Map<String, List<BuffInstance>> buffs = new HashMap<>();
+            buffs.put("p1_hero", List.of(BuffFactory.createSpeed("p1_hero")));
+            GameState state = createState(units, p1).withUnitBuffs(buffs);
+
+            List<Action> legal = new ActionGenerator().generateLegal(new RuleEngine(), state);
+
+            assertTrue(legal.stream().anyMatch(a -> a.getType() == ActionType.MOVE
+                    && "p1_hero".equals(a.getActingUnitId())));
+            assertTrue(legal.stream().anyMatch(a -> a.getType() == ActionType.ATTACK
+                    && "p1_hero".equals(a.getActingUnitId()) && "p2_hero".equals(a.getTargetUnitId())));
+            // Mid-SPEED, other units may not move or attack
+            assertTrue(legal.stream().noneMatch(a -> a.getType() != ActionType.END_TURN
+                    && "p1_minion_1".equals(a.getActingUnitId())));
+            Action best = new SearchAI().search(state, 2, 5_000).getBestAction();
+            assertTrue(best.getType() == ActionType.MOVE || best.getType() == ActionType.ATTACK, best.toString());
+            assertEquals("p1_hero", best.getActingUnitId());
+        }
+
+        @Test
+        @DisplayName("Passes with a plain END_TURN when every unit already acted")
+        void passesWhenAllActed() {
+            List<Unit> units = new ArrayList<>();
+            units.add(createUnit("p1_hero", p1, new Position(0, 0), 10, 3, UnitCategory.HERO).withActionsUsed(1));
+            units.add(createUnit("p2_hero", p2, new Position(4, 4), 10, 3, UnitCategory.HERO));
+            GameState state = createState(units, p1);
+
+            Action action = new SearchAI().chooseAction(state);
+
+            assertEquals(ActionType.END_TURN, action.getType());
+            assertNull(action.getActingUnitId());
+            assertEquals(p2, new RuleEngine().applyAction(state, action).getCurrentPlayer());
+        }
+
+        @Test
+        @DisplayName("Returns no action when the game is over")
+        void noActionWhenGameOver() {
+            List<Unit> units = new ArrayList<>();
+            units.add(createUnit("p1_hero", p1, new Position(0, 0), 10, 3, UnitCategory.HERO));
+            GameState state = createState(units, p1).withGameOver(true, p1);
+
+            assertNull(new SearchAI().chooseAction(state));
+        }
+    }
+
+    @Nested
+    @DisplayName("Determinism and budget")
+    class DeterminismAndBudget {
+
+        @Test
+        @DisplayName("Fixed-depth search is deterministic")
+        void fixedDepthIsDeterministic() {
+            GameState state = createDraftedGame();
+
+            SearchResult first = new SearchAI().search(state, 2, 60_000);
+            SearchResult second = new SearchAI().search(state, 2, 60_000);
+
+            assertEquals(2, first.getCompletedDepth());
+            assertEquals(first.getBestAction(), second.getBestAction());
+            assertEquals(first.getScore(), second.getScore());
+            assertEquals(first.getNodes(), second.getNodes());
+        }
+
+        @Test
+        @DisplayName("State and action keys are the same in every JVM run")
+        void keysAreStableAcrossRuns() {
+            // Golden values: identity-based enum hashCodes would change these between runs
+            GameState state = GameStateFactory.createStandardGame();
+            assertEquals(-5236396803566896431L, TranspositionTable.keyOf(state));
+            assertEquals(-892290675369350275L, TranspositionTable.keyOf(Action.move("u1_p1", new Position(0, 0))));
+        }
+
+        @Test
+        @DisplayName("States that differ only in turn-ended flags or winner get different keys")
+        void keysCoverTurnFlagsAndWinner() {
+            GameState state = GameStateFactory.createStandardGame();
+            long key = TranspositionTable.keyOf(state);
+
+            assertNotEquals(key, TranspositionTable.keyOf(state.withTurnEndedFlags(true, false)));
+            assertNotEquals(key, TranspositionTable.keyOf(state.withTurnEndedFlags(false, true)));
+            assertNotEquals(TranspositionTable.keyOf(state.withTurnEndedFlags(true, false)),
+                    TranspositionTable.keyOf(state.withTurnEndedFlags(false, true)));
+            assertNotEquals(TranspositionTable.keyOf(state.withGameOver(true, p1)),
+                    TranspositionTable.keyOf(state.withGameOver(true, p2)));
+        }
+
+        @Test
+        @DisplayName("Search stops at the deadline with a legal action")
+        void respectsDeadline() {
+            GameState state = createDraftedGame();
+            SearchAI ai = new SearchAI(new MaterialEvaluator(), 100);
+
+            long start = System.nanoTime();
+            SearchResult result = ai.search(state);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+
+            assertTrue(elapsedMs < 1_000, "took " + elapsedMs + "ms");
+            assertNotNull(result.getBestAction());
+            assertTrue(new RuleEngine().validateAction(state, result.getBestAction()).isValid());
+        }
+
+        @Test
+        @DisplayName("Search does not modify the input state")
+        void inputStateUnchanged() {
+            GameState state = createDraftedGame();
+            List<Unit> unitsBefore = new ArrayList<>(state.getUnits());
+
+            new SearchAI().search(state, 2, 60_000);
+
+            assertEquals(unitsBefore, state.getUnits());
+        }
+    }
+
+    @Nested
+    @DisplayName("Pluggable evaluation")
+    class PluggableEvaluation {
+
+        @Test
+        @DisplayName("Leaves are scored by the supplied evaluator from the mover's perspective")
+        void usesSuppliedEvaluator() {
+            GameState state = createDraftedGame();
+            AtomicInteger calls = new AtomicInteger();
+            List<PlayerId> perspectives = new ArrayList<>();
+            Evaluator evaluator = (s, perspective) -> {
+                calls.incrementAndGet();
+                if (perspectives.isEmpty()) {
+                    perspectives.add(perspective);
+                }
+                return 0;
+            };
+
+            new SearchAI(evaluator, 60_000).search(state, 1, 60_000);
+
+            assertTrue(calls.get() > 0);
+            assertSame(state.getCurrentPlayer(), perspectives.get(0));
+        }
+    }
+}
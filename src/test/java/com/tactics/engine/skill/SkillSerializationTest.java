@@ -44,7 +44,7 @@ public class SkillSerializationTest {
 
     private Unit createHeroWithSkillState(String id, PlayerId owner, int hp, Position pos,
                                           HeroClass heroClass, String skillId, int cooldown,
-                                          Map<String, Object> skillState) {
+                                          SkillState skillState) {
         return new Unit(id, owner, hp, 3, 2, 1, pos, true,
             UnitCategory.HERO, null, heroClass, hp,
             skillId, cooldown,
@@ -244,9 +244,7 @@ public class SkillSerializationTest {
         @DisplayName("SS5: SkillState (beacon_position) serializes")
         void skillStateSerializes() {
             // Given: Mage with Warp Beacon placed at (3, 3)
-            Map<String, Object> skillState = new HashMap<>();
-            skillState.put("beacon_x", 3);
-            skillState.put("beacon_y", 3);
+            SkillState skillState = SkillState.ofBeacon(new Position(3, 3));
 
             Unit mage = createHeroWithSkillState("p1_mage", PlayerId.PLAYER_1, 10, new Position(0, 0),
                 HeroClass.MAGE, SkillRegistry.MAGE_WARP_BEACON, 0, skillState);
@@ -278,9 +276,7 @@ public class SkillSerializationTest {
         @DisplayName("SS5b: SkillState roundtrip preserves beacon position")
         void skillStateRoundtripPreservesBeacon() {
             // Given: Mage with Warp Beacon
-            Map<String, Object> skillState = new HashMap<>();
-            skillState.put("beacon_x", 3);
-            skillState.put("beacon_y", 3);
+            SkillState skillState = SkillState.ofBeacon(new Position(3, 3));
 
             Unit mage = createHeroWithSkillState("p1_mage", PlayerId.PLAYER_1, 10, new Position(0, 0),
                 HeroClass.MAGE, SkillRegistry.MAGE_WARP_BEACON, 0, skillState);
@@ -299,8 +295,41 @@ public class SkillSerializationTest {
                 .findFirst().orElseThrow();
 
             assertNotNull(mageAfter.getSkillState(), "SkillState should be reconstructed");
-            assertEquals(3, mageAfter.getSkillState().get("beacon_x"));
-            assertEquals(3, mageAfter.getSkillState().get("beacon_y"));
+            assertEquals(3, mageAfter.getSkillState().getBeaconX());
+            assertEquals(3, mageAfter.getSkillState().getBeaconY());
+        }
+
+        @Test
+        @DisplayName("SS5c: Beacon coordinates parsed as Long deserialize")
+        void skillStateAcceptsLongCoordinates() {
+            // Given: Serialized mage whose beacon coordinates came back from a JSON parser as Long
+            Unit mage = createHeroWithSkillState("p1_mage", PlayerId.PLAYER_1, 10, new Position(0, 0),
+                HeroClass.MAGE, SkillRegistry.MAGE_WARP_BEACON, 0, null);
+            Unit enemy = createMinion("p2_minion", PlayerId.PLAYER_2, 10, new Position(4, 4),
+                MinionType.ARCHER);
+            Map<String, Object> json = serializer.toJsonMap(
+                createGameState(Arrays.asList(mage, enemy), PlayerId.PLAYER_1));
+
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> units = (List<Map<String, Object>>) json.get("units");
+            Map<String, Object> beacon = new HashMap<>();
+            beacon.put("beacon_x", 4L);
+            beacon.put("beacon_y", 1L);
+            units.stream().filter(u -> "p1_mage".equals(u.get("id"))).findFirst().orElseThrow()
+                .put("skillState", beacon);
+
+            // When: Deserialize
+            GameState reconstructed = serializer.fromJsonMap(json);
+
+            // Then: Beacon is restored, and units without one keep the empty state
+            Unit mageAfter = reconstructed.getUnits().stream()
+                .filter(u -> u.getId().equals("p1_mage"))
+                .findFirst().orElseThrow();
+            assertEquals(new Position(4, 1), mageAfter.getSkillState().getBeaconPosition());
+            Unit enemyAfter = reconstructed.getUnits().stream()
+                .filter(u -> u.getId().equals("p2_minion"))
+                .findFirst().orElseThrow();
+            assertSame(SkillState.EMPTY, enemyAfter.getSkillState());
         }
     }
 
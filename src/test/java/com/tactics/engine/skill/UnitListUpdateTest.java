@@ -0,0 +1,92 @@
+package com.tactics.engine.skill;
+
+import com.tactics.engine.model.AliveCounts;
+import com.tactics.engine.model.PlayerId;
+import com.tactics.engine.model.Position;
+import com.tactics.engine.model.Unit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UL-Series: Batched unit list update used by the skill executors.
+ */
+@DisplayName("UL-Series: UnitListUpdate Tests")
+public class UnitListUpdateTest {
+
+    private List<Unit> createUnits() {
+        return new ArrayList<>(Arrays.asList(
+            new Unit("u1", PlayerId.PLAYER_1, 10, 3, 2, 1, new Position(0, 0), true),
+            new Unit("u2", PlayerId.PLAYER_1, 10, 3, 2, 1, new Position(1, 0), true),
+            new Unit("u3", PlayerId.PLAYER_2, 10, 3, 2, 1, new Position(2, 0), true)
+        ));
+    }
+
+    @Nested
+    @DisplayName("UL1: Staging and commit")
+    class StagingTests {
+
+        @Test
+        @DisplayName("UL1: indexOf finds units by id, -1 when absent")
+        void indexOfFindsUnits() {
+            UnitListUpdate update = new UnitListUpdate(createUnits());
+
+            assertEquals(3, update.size());
+            assertEquals(0, update.indexOf("u1"));
+            assertEquals(2, update.indexOf("u3"));
+            assertEquals(-1, update.indexOf("missing"));
+        }
+
+        @Test
+        @DisplayName("UL1b: Repeated updates to one unit chain in order")
+        void repeatedUpdatesChain() {
+            UnitListUpdate update = new UnitListUpdate(createUnits());
+            int index = update.indexOf("u2");
+
+            update.set(index, update.get(index).withDamage(3));
+            update.set(index, update.get(index).withHpBonus(1));
+
+            assertEquals(8, update.commit().get(index).getHp());
+        }
+
+        @Test
+        @DisplayName("UL1c: Commit copies once and leaves the source list untouched")
+        void commitLeavesSourceUntouched() {
+            List<Unit> units = createUnits();
+            UnitListUpdate update = new UnitListUpdate(units);
+            update.set(2, update.get(2).withDamage(10));
+
+            List<Unit> result = update.commit();
+
+            assertNotSame(units, result);
+            assertEquals(10, units.get(2).getHp());
+            assertFalse(result.get(2).isAlive());
+            assertSame(units.get(0), result.get(0), "Unchanged units are shared");
+            assertSame(units.get(1), result.get(1), "Unchanged units are shared");
+        }
+
+        @Test
+        @DisplayName("UL1d: Alive counts follow staged units and match the committed list")
+        void aliveCountsFollowStagedUnits() {
+            UnitListUpdate update = new UnitListUpdate(createUnits());
+
+            update.set(2, update.get(2).withDamage(10));
+            assertFalse(update.getAliveCounts().hasLivingUnit(PlayerId.PLAYER_2));
+
+            update.set(2, update.get(2).withHp(4));
+            assertTrue(update.update("u1", u -> u.withDamage(10)));
+            assertFalse(update.update("missing", u -> u.withDamage(10)));
+
+            assertEquals(AliveCounts.of(update.commit()), update.getAliveCounts());
+            assertEquals(1, update.getAliveCounts().getLivingUnitCount(PlayerId.PLAYER_1));
+            assertEquals(1, update.getAliveCounts().getLivingUnitCount(PlayerId.PLAYER_2));
+        }
+    }
+}
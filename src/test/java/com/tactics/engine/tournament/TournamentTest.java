@@ -0,0 +1,171 @@
+package com.tactics.engine.tournament;
+
+import com.tactics.engine.model.HeroClass;
+import com.tactics.engine.model.MinionType;
+import com.tactics.engine.skill.SkillRegistry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the balance tournament: entrants, the SPRT stopping rule and
+ * checkpoint resume.
+ */
+class TournamentTest {
+
+    private static final int MAX_ACTIONS = 300;
+
+    @TempDir
+    Path directory;
+
+    private static List<Entrant> smallField() {
+        return List.of(
+                new Entrant(HeroClass.MAGE, SkillRegistry.MAGE_ELEMENTAL_BLAST, MinionType.TANK, MinionType.ARCHER),
+                new Entrant(HeroClass.MAGE, SkillRegistry.MAGE_WILD_MAGIC, MinionType.TANK, MinionType.ARCHER),
+                new Entrant(HeroClass.WARRIOR, SkillRegistry.WARRIOR_SHOCKWAVE, MinionType.ASSASSIN, MinionType.ASSASSIN));
+    }
+
+    private Tournament tournament(Path checkpoint, int threads) {
+        return new Tournament(smallField(), new Sprt(0.1, 0.05, 0.05, 4, 12), GamePlayer.RANDOM_DEPTH,
+                MAX_ACTIONS, 7, threads, checkpoint);
+    }
+
+    private static List<String> lines(List<PairingResult> results) {
+        return results.stream().map(PairingResult::toLine).collect(Collectors.toList());
+    }
+
+    @Nested
+    @DisplayName("Entrants")
+    class Entrants {
+
+        @Test
+        @DisplayName("Every class, skill and unordered minion pair is enumerated once")
+        void enumeratesAllDrafts() {
+            List<Entrant> all = Entrant.enumerateAll();
+
+            assertEquals(HeroClass.values().length * 3 * 6, all.size());
+            assertEquals(all.size(), new HashSet<>(all).size());
+        }
+
+        @Test
+        @DisplayName("Keys parse back to the same entrant")
+        void keysRoundTrip() {
+            for (Entrant entrant : Entrant.enumerateAll()) {
+                assertEquals(entrant, Entrant.parse(entrant.key()));
+            }
+            assertThrows(IllegalArgumentException.class, () -> Entrant.parse("MAGE/mage_wild_magic"));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new Entrant(HeroClass.MAGE, SkillRegistry.WARRIOR_SHOCKWAVE, MinionType.TANK, MinionType.TANK));
+        }
+    }
+
+    @Nested
+    @DisplayName("SPRT")
+    class SprtTests {
+
+        private final Sprt sprt = new Sprt(0.1, 0.05, 0.05, 4, 50);
+
+        @Test
+        @DisplayName("A side winning every pair is imbalanced once minPairs is reached")
+        void unanimousIsImbalanced() {
+            assertEquals(Sprt.Verdict.CONTINUE, sprt.decide(3, 3.0, 3.0));
+            assertEquals(Sprt.Verdict.IMBALANCED, sprt.decide(4, 4.0, 4.0));
+            assertEquals(Sprt.Verdict.IMBALANCED, sprt.decide(4, 0.0, 0.0), "Either side can be favoured");
+        }
+
+        @Test
+        @DisplayName("Split pairs are balanced; noisy even results run to maxPairs")
+        void evenResults() {
+            assertEquals(Sprt.Verdict.BALANCED, sprt.decide(4, 2.0, 1.0));
+
+            // Alternating 1.0 / 0.0 pairs: mean 0.5 but maximal variance
+            assertEquals(Sprt.Verdict.CONTINUE, sprt.decide(10, 5.0, 5.0));
+            assertEquals(Sprt.Verdict.INCONCLUSIVE, sprt.decide(50, 25.0, 25.0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Running and resuming")
+    class Running {
+
+        @Test
+        @DisplayName("Results do not depend on the thread count")
+        void deterministicAcrossThreads() throws Exception {
+            List<PairingResult> single = tournament(directory.resolve("one.ckpt"), 1).run();
+            List<PairingResult> parallel = tournament(directory.resolve("two.ckpt"), 2).run();
+
+            assertEquals(3, single.size());
+            assertEquals(lines(single), lines(parallel));
+            for (PairingResult result : single) {
+                assertTrue(result.isFinished());
+                assertEquals(2 * result.getPairs(), result.getWins() + result.getDraws() + result.getLosses());
+            }
+        }
+
+        @Test
+        @DisplayName("Replaying a searched pairing gives identical results")
+        void searchedPairingReplays() throws Exception {
+            List<Entrant> pairing = smallField().subList(0, 2);
+            Sprt sprt = new Sprt(0.1, 0.05, 0.05, 2, 2);
+
+            List<PairingResult> first = new Tournament(pairing, sprt, 1, 120, 11, 1,
+                    directory.resolve("replay-1.ckpt")).run();
+            List<PairingResult> second = new Tournament(pairing, sprt, 1, 120, 11, 1,
+                    directory.resolve("replay-2.ckpt")).run();
+
+            assertEquals(1, first.size());
+            assertEquals(2, first.get(0).getPairs());
+            assertEquals(lines(first), lines(second));
+        }
+
+        @Test
+        @DisplayName("A rerun restores finished pairings from the checkpoint")
+        void resumesFromCheckpoint() throws Exception {
+            Path checkpoint = directory.resolve("resume.ckpt");
+            List<PairingResult> first = tournament(checkpoint, 2).run();
+
+            // Drop the last pairing and leave a torn line, as if killed mid-write
+            List<String> saved = Files.readAllLines(checkpoint, StandardCharsets.UTF_8);
+            Files.write(checkpoint, saved.subList(0, saved.size() - 1), StandardCharsets.UTF_8);
+            Files.writeString(checkpoint, "MAGE/mage_wild", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+            Tournament resumed = tournament(checkpoint, 2);
+            List<PairingResult> second = resumed.run();
+
+            assertEquals(lines(first), lines(second));
+            assertEquals(2L * second.stream()
+                    .filter(r -> r.key().equals(saved.get(saved.size() - 1).split("\t")[0] + " vs "
+                            + saved.get(saved.size() - 1).split("\t")[1]))
+                    .findFirst().orElseThrow().getPairs(), resumed.getGamesPlayed());
+
+            Tournament again = tournament(checkpoint, 2);
+            assertEquals(lines(first), lines(again.run()));
+            assertEquals(0, again.getGamesPlayed());
+        }
+
+        @Test
+        @DisplayName("A checkpoint from other settings is rejected")
+        void rejectsOtherSettings() throws Exception {
+            Path checkpoint = directory.resolve("settings.ckpt");
+            tournament(checkpoint, 1).run();
+
+            Tournament other = new Tournament(smallField(), Sprt.defaults(), GamePlayer.RANDOM_DEPTH,
+                    MAX_ACTIONS, 7, 1, checkpoint);
+            assertThrows(IllegalStateException.class, other::run);
+        }
+    }
+}
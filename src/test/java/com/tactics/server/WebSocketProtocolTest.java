@@ -730,5 +730,22 @@ public class WebSocketProtocolTest {
             // Timer should not be present when null
             assertFalse(json.contains("\"timer\":null"), "Should not contain timer:null");
         }
+
+        @Test
+        @DisplayName("WSP-TIMER4: Timestamps beyond int range parse back as Long")
+        void timerPayloadRoundTrip() {
+            long startTime = 1700000000000L;
+            StateUpdatePayload payload = new StateUpdatePayload(new HashMap<>(),
+                    new TimerPayload(startTime, 10000, "ACTION"), "P1");
+            String json = JsonHelper.toJson(new OutgoingMessage("state_update", payload));
+
+            Map<String, Object> parsed = JsonHelper.parseObject(json);
+
+            assertNotNull(parsed, "state_update with a timer must parse");
+            @SuppressWarnings("unchecked")
+            Map<String, Object> timer = (Map<String, Object>) ((Map<String, Object>) parsed.get("payload")).get("timer");
+            assertEquals(startTime, timer.get("actionStartTime"));
+            assertEquals(10000, timer.get("timeoutMs"));
+        }
     }
 }
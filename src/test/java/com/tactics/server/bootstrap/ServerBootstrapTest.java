@@ -0,0 +1,115 @@
+package com.tactics.server.bootstrap;
+
+import org.java_websocket.client.WebSocketClient;
+import org.java_websocket.handshake.ServerHandshake;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for ServerBootstrap: each transport / worker pool serves a join.
+ */
+class ServerBootstrapTest {
+
+    private static final String JOIN =
+            "{\"type\":\"join_match\",\"payload\":{\"matchId\":\"boot-1\",\"playerId\":\"P1\"}}";
+
+    private static ServerConfig config(String transport, String workerPool) {
+        return ServerConfig.defaults()
+                .with("port", "0")
+                .with("journal.type", "memory")
+                .with("transport", transport)
+                .with("worker.pool", workerPool);
+    }
+
+    /**
+     * Starts a server, joins a match over a real socket, and returns the first reply.
+     */
+    private static String joinOnce(ServerConfig config) throws Exception {
+        ServerBootstrap bootstrap = new ServerBootstrap(config);
+        try {
+            ServerTransport transport = bootstrap.start();
+            BlockingQueue<String> received = new LinkedBlockingQueue<>();
+            WebSocketClient client = new WebSocketClient(new URI("ws://localhost:" + transport.getPort() + "/ws")) {
+                @Override
+                public void onOpen(ServerHandshake handshake) { }
+
+                @Override
+                public void onMessage(String message) {
+                    received.add(message);
+                }
+
+                @Override
+                public void onClose(int code, String reason, boolean remote) { }
+
+                @Override
+                public void onError(Exception ex) { }
+            };
+            assertTrue(client.connectBlocking(5, TimeUnit.SECONDS));
+            client.send(JOIN);
+            String reply = received.poll(5, TimeUnit.SECONDS);
+            client.closeBlocking();
+            return reply;
+        } finally {
+            bootstrap.stop();
+        }
+    }
+
+    @Nested
+    @DisplayName("Transports")
+    class Transports {
+
+        @Test
+        @DisplayName("Jetty transport answers join_match")
+        void jetty() throws Exception {
+            String reply = joinOnce(config("jetty", "inline"));
+
+            assertNotNull(reply);
+            assertTrue(reply.contains("\"match_joined\""));
+        }
+
+        @Test
+        @DisplayName("Java-WebSocket transport answers join_match")
+        void javaWebSocket() throws Exception {
+            String reply = joinOnce(config("java-websocket", "inline"));
+
+            assertNotNull(reply);
+            assertTrue(reply.contains("\"match_joined\""));
+        }
+
+        @Test
+        @DisplayName("Dispatching to a worker pool gives the same reply")
+        void pooled() throws Exception {
+            String reply = joinOnce(config("java-websocket", "platform"));
+
+            assertNotNull(reply);
+            assertTrue(reply.contains("\"match_joined\""));
+        }
+    }
+
+    @Nested
+    @DisplayName("Wiring")
+    class Wiring {
+
+        @Test
+        @DisplayName("Inline worker pool has no dispatcher")
+        void inlineHasNoDispatcher() throws Exception {
+            ServerBootstrap bootstrap = new ServerBootstrap(config("jetty", "inline"));
+            try {
+                assertNull(bootstrap.getDispatcher());
+                assertTrue(bootstrap.getHandler().getSpectatorBroadcaster() != null);
+            } finally {
+                bootstrap.stop();
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.tactics.server.bootstrap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for ServerConfig (file / environment / system property settings).
+ */
+class ServerConfigTest {
+
+    private static Properties props(String... keyValues) {
+        Properties properties = new Properties();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            properties.setProperty(keyValues[i], keyValues[i + 1]);
+        }
+        return properties;
+    }
+
+    @Nested
+    @DisplayName("Defaults")
+    class Defaults {
+
+        @Test
+        @DisplayName("Defaults match the previous hard-coded Main")
+        void defaults() {
+            ServerConfig config = ServerConfig.defaults();
+
+            assertEquals(ServerConfig.Transport.JETTY, config.getTransport());
+            assertEquals(8080, config.getPort());
+            assertEquals(0, config.getIoThreads());
+            assertEquals(ServerConfig.WorkerPool.INLINE, config.getWorkerPool());
+            assertEquals(1, config.getTimerThreads());
+            assertEquals(ServerConfig.JournalType.MAPPED, config.getJournalType());
+            assertEquals(Paths.get("data/archive"), config.getJournalDirectory());
+            assertEquals(5000, config.getSpectatorDelayMs());
+            assertEquals("client", config.getStaticDirectory());
+            assertTrue(config.isMetricsEnabled());
+        }
+
+        @Test
+        @DisplayName("Enum values accept dashes and any case")
+        void enumSpelling() {
+            ServerConfig config = ServerConfig.fromProperties(
+                    props("transport", "Java-WebSocket", "worker.pool", "VIRTUAL", "journal.type", "memory"));
+
+            assertEquals(ServerConfig.Transport.JAVA_WEBSOCKET, config.getTransport());
+            assertEquals(ServerConfig.WorkerPool.VIRTUAL, config.getWorkerPool());
+            assertEquals(ServerConfig.JournalType.MEMORY, config.getJournalType());
+        }
+    }
+
+    @Nested
+    @DisplayName("Precedence")
+    class Precedence {
+
+        @Test
+        @DisplayName("System properties override environment, which overrides the file")
+        void layered(@TempDir Path dir) throws Exception {
+            Path file = dir.resolve("server.properties");
+            Files.writeString(file, "port=9000\nio.threads=2\ntimer.threads=3\n");
+
+            Map<String, String> env = new HashMap<>();
+            env.put("TACTICS_CONFIG", file.toString());
+            env.put("TACTICS_IO_THREADS", "4");
+            env.put("TACTICS_TIMER_THREADS", "5");
+            env.put("PATH", "/usr/bin");
+            Properties system = props("tactics.timer.threads", "6", "java.version", "17");
+
+            ServerConfig config = ServerConfig.load(env, system);
+
+            assertEquals(9000, config.getPort());
+            assertEquals(4, config.getIoThreads());
+            assertEquals(6, config.getTimerThreads());
+        }
+
+        @Test
+        @DisplayName("Environment names map to dotted keys")
+        void envKeys() throws Exception {
+            Map<String, String> env = new HashMap<>();
+            env.put("TACTICS_WORKER_POOL", "platform");
+            env.put("TACTICS_SPECTATOR_DELAY_MS", "250");
+
+            ServerConfig config = ServerConfig.load(env, new Properties());
+
+            assertEquals(ServerConfig.WorkerPool.PLATFORM, config.getWorkerPool());
+            assertEquals(250, config.getSpectatorDelayMs());
+        }
+
+        @Test
+        @DisplayName("with() replaces one setting and keeps the rest")
+        void with() {
+            ServerConfig config = ServerConfig.fromProperties(props("port", "9000", "journal.type", "memory"))
+                    .with("port", "0");
+
+            assertEquals(0, config.getPort());
+            assertEquals(ServerConfig.JournalType.MEMORY, config.getJournalType());
+        }
+    }
+
+    @Nested
+    @DisplayName("Validation")
+    class Validation {
+
+        @Test
+        @DisplayName("Unknown enum values are rejected with the key name")
+        void badEnum() {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> ServerConfig.fromProperties(props("transport", "netty")));
+            assertEquals("Invalid transport: netty", e.getMessage());
+        }
+
+        @Test
+        @DisplayName("Non-numeric and out-of-range numbers are rejected")
+        void badNumbers() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> ServerConfig.fromProperties(props("port", "eighty")));
+            assertThrows(IllegalArgumentException.class,
+                    () -> ServerConfig.fromProperties(props("timer.threads", "0")));
+            assertThrows(IllegalArgumentException.class,
+                    () -> ServerConfig.fromProperties(props("journal.retention.ms", "-1")));
+            assertThrows(IllegalArgumentException.class,
+                    () -> ServerConfig.fromProperties(props("metrics.enabled", "yes")));
+        }
+
+        @Test
+        @DisplayName("A named config file that is missing is an error")
+        void missingFile(@TempDir Path dir) {
+            Properties system = props("tactics.config", dir.resolve("absent.properties").toString());
+
+            assertThrows(java.io.IOException.class, () -> ServerConfig.load(new HashMap<>(), system));
+        }
+
+        @Test
+        @DisplayName("toString names the chosen transport and pool")
+        void describes() {
+            String text = ServerConfig.defaults().toString();
+            assertTrue(text.contains("JETTY"));
+            assertTrue(text.contains("INLINE"));
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.tactics.server.bot;
+
+import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.HeroClass;
+import com.tactics.engine.model.MinionType;
+import com.tactics.engine.rules.RuleEngine;
+import com.tactics.engine.search.MaterialEvaluator;
+import com.tactics.engine.search.SearchAI;
+import com.tactics.engine.util.GameStateSerializer;
+import com.tactics.server.core.MatchRegistry;
+import com.tactics.server.core.MatchService;
+import com.tactics.server.dto.OutgoingMessage;
+import com.tactics.server.timer.TimerService;
+import com.tactics.server.ws.ClientConnection;
+import com.tactics.server.ws.ConnectionRegistry;
+import com.tactics.server.ws.JsonHelper;
+import com.tactics.server.ws.MatchWebSocketHandler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for BotClientConnection and BotPool.
+ */
+class BotClientConnectionTest {
+
+    private TimerService timerService;
+    private MatchService matchService;
+    private MatchWebSocketHandler handler;
+    private BotPool pool;
+
+    @BeforeEach
+    void setUp() {
+        timerService = new TimerService();
+        matchService = new MatchService(new MatchRegistry(), new RuleEngine(),
+                new GameStateSerializer(), timerService);
+        handler = new MatchWebSocketHandler(matchService, new ConnectionRegistry());
+        pool = new BotPool(2, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+        timerService.shutdown();
+    }
+
+    private SearchAI fastSearch() {
+        return new SearchAI(new MaterialEvaluator(), 10);
+    }
+
+    private boolean waitFor(BooleanSupplier condition, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return condition.getAsBoolean();
+    }
+
+    static class RecordingConnection implements ClientConnection {
+        private final String id;
+        private volatile String matchId;
+        private volatile String playerId;
+        final List<String> sentMessages = new CopyOnWriteArrayList<>();
+
+        RecordingConnection(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public String getId() { return id; }
+
+        @Override
+        public String getMatchId() { return matchId; }
+
+        @Override
+        public void setMatchId(String matchId) { this.matchId = matchId; }
+
+        @Override
+        public String getPlayerId() { return playerId; }
+
+        @Override
+        public void setPlayerId(String playerId) { this.playerId = playerId; }
+
+        @Override
+        public void sendMessage(String message) { sentMessages.add(message); }
+
+        long count(String type) {
+            return sentMessages.stream().filter(m -> m.contains("\"type\":\"" + type + "\"")).count();
+        }
+    }
+
+    @Nested
+    @DisplayName("Bot play")
+    class BotPlay {
+
+        @Test
+        @DisplayName("Two bots draft and play a match to completion")
+        void twoBotsPlayToGameOver() throws Exception {
+            BotClientConnection first = pool.seatBot(handler, "bot-match", fastSearch());
+            BotClientConnection second = pool.createBot(handler, fastSearch());
+            second.setTeam(HeroClass.MAGE, MinionType.ASSASSIN, MinionType.TANK);
+            second.join("bot-match");
+
+            assertEquals("P1", first.getPlayerId());
+            assertEquals("P2", second.getPlayerId());
+            assertTrue(waitFor(() -> first.isFinished() && second.isFinished(), 60_000),
+                    "bots did not finish the match");
+
+            GameState finalState = matchService.getCurrentState("bot-match");
+            assertTrue(finalState.isGameOver());
+        }
+
+        @Test
+        @DisplayName("Bot drafts and moves against a human connection")
+        void botRespondsToHuman() throws Exception {
+            RecordingConnection human = new RecordingConnection("human");
+            handler.onOpen(human);
+            handler.onMessage(human, JsonHelper.toJson(
+                    new OutgoingMessage("join_match", Map.of("matchId", "mixed"))));
+            BotClientConnection bot = pool.seatBot(handler, "mixed", fastSearch());
+
+            handler.onMessage(human, JsonHelper.toJson(new OutgoingMessage("select_team", Map.of(
+                    "matchId", "mixed", "playerId", "P1",
+                    "heroClass", "WARRIOR", "minions", List.of("TANK", "ARCHER")))));
+
+            // Bot submits its draft, battle starts
+            assertTrue(waitFor(() -> human.count("draft_ready") >= 2, 5_000));
+            assertEquals("P2", bot.getPlayerId());
+
+            // Human ends turns until it is P2's turn, then the bot must act
+            AtomicReference<GameState> seenByBot = new AtomicReference<>();
+            for (int i = 0; i < 10; i++) {
+                GameState state = matchService.getCurrentState("mixed");
+                if (!state.getCurrentPlayer().getValue().equals("P1")) {
+                    seenByBot.set(state);
+                    break;
+                }
+                String unitId = state.getUnits().stream()
+                        .filter(u -> u.isAlive() && u.getOwner().getValue().equals("P1"))
+                        .filter(u -> u.getActionsUsed() == 0)
+                        .map(u -> u.getId()).findFirst().orElse("p1_hero");
+                handler.onMessage(human, JsonHelper.toJson(new OutgoingMessage("action", Map.of(
+                        "matchId", "mixed", "playerId", "P1",
+                        "action", Map.of("type", "END_TURN", "actingUnitId", unitId)))));
+            }
+            GameState botTurn = seenByBot.get();
+            if (botTurn != null) {
+                assertTrue(waitFor(() -> matchService.getCurrentState("mixed") != botTurn, 5_000),
+                        "bot did not act on its turn");
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("BotPool bounds")
+    class PoolBounds {
+
+        @Test
+        @DisplayName("Work beyond threads + queue capacity is rejected, not run on the caller")
+        void rejectsWhenSaturated() throws Exception {
+            BotPool small = new BotPool(1, 1);
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch started = new CountDownLatch(1);
+            AtomicReference<String> ranOn = new AtomicReference<>();
+            try {
+                assertTrue(small.submit(() -> {
+                    ranOn.set(Thread.currentThread().getName());
+                    started.countDown();
+                    awaitQuietly(release);
+                }));
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+                assertTrue(small.submit(() -> { }));
+                assertFalse(small.submit(() -> { }));
+                assertEquals(1, small.getRejectedCount());
+                assertTrue(ranOn.get().startsWith("bot-worker-"));
+            } finally {
+                release.countDown();
+                small.shutdown();
+            }
+        }
+
+        @Test
+        @DisplayName("A bot whose draft is rejected leaves the match visibly")
+        void rejectedDraftLeavesMatch() {
+            RecordingConnection human = new RecordingConnection("human");
+            handler.onOpen(human);
+            handler.onMessage(human, JsonHelper.toJson(
+                    new OutgoingMessage("join_match", Map.of("matchId", "stalled"))));
+            BotClientConnection bot = pool.createBot(handler, fastSearch());
+            pool.shutdown();
+
+            bot.join("stalled");
+
+            assertTrue(bot.isFinished());
+            assertEquals(1, human.count("player_disconnected"));
+            assertEquals(1, matchService.findMatch("stalled").getConnectedCount());
+            assertEquals(1, pool.getRejectedCount());
+        }
+
+        @Test
+        @DisplayName("Rejects non-positive sizes")
+        void rejectsBadSizes() {
+            assertThrows(IllegalArgumentException.class, () -> new BotPool(0, 1));
+            assertThrows(IllegalArgumentException.class, () -> new BotPool(1, 0));
+        }
+
+        private void awaitQuietly(CountDownLatch latch) {
+            try {
+                latch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Message type extraction")
+    class MessageTypes {
+
+        @Test
+        @DisplayName("Reads the leading type written by JsonHelper")
+        void readsType() {
+            String json = JsonHelper.toJson(new OutgoingMessage("your_turn", Map.of("unitId", "p1_hero")));
+            assertEquals("your_turn", BotClientConnection.messageType(json));
+            assertNull(BotClientConnection.messageType("not json"));
+            assertNull(BotClientConnection.messageType(null));
+        }
+    }
+}
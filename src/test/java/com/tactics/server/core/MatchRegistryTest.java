@@ -15,8 +15,10 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -174,5 +176,86 @@ class MatchRegistryTest {
             // Then
             assertTrue(matches.isEmpty());
         }
+
+        @Test
+        @DisplayName("MR6 - updateMatchState increments the match version")
+        void mr6_updateMatchStateIncrementsVersion() {
+            // Given
+            registry.createMatch("match-1", createDefaultState());
+            assertEquals(0, registry.getMatch("match-1").getVersion());
+
+            // When
+            registry.updateMatchState("match-1", createStateWithPlayer(p2));
+            registry.updateMatchState("match-1", createStateWithPlayer(p1));
+
+            // Then
+            assertEquals(2, registry.getMatch("match-1").getVersion());
+        }
+
+        @Test
+        @DisplayName("MR7 - removeMatch removes and returns the match")
+        void mr7_removeMatchRemovesAndReturns() {
+            // Given
+            Match created = registry.createMatch("match-1", createDefaultState());
+
+            // When
+            Match removed = registry.removeMatch("match-1");
+
+            // Then
+            assertSame(created, removed);
+            assertNull(registry.getMatch("match-1"));
+            assertNull(registry.removeMatch("match-1"));
+        }
+
+        @Test
+        @DisplayName("MR8 - updateMatchState keeps the same Match instance")
+        void mr8_updateMatchStateKeepsInstance() {
+            // Given
+            Match created = registry.createMatch("match-1", createDefaultState());
+            GameState newState = createStateWithPlayer(p2);
+
+            // When
+            registry.updateMatchState("match-1", newState);
+
+            // Then
+            assertSame(created, registry.getMatch("match-1"));
+            assertSame(newState, created.getState());
+        }
+
+        @Test
+        @DisplayName("MR9 - compareAndSetMatchState rejects a stale expected state")
+        void mr9_compareAndSetRejectsStaleState() {
+            // Given
+            GameState original = createDefaultState();
+            registry.createMatch("match-1", original);
+            registry.updateMatchState("match-1", createStateWithPlayer(p2));
+
+            // When / Then
+            assertFalse(registry.compareAndSetMatchState("match-1", original, createStateWithPlayer(p1), null));
+            assertFalse(registry.compareAndSetMatchState("unknown", original, original, null));
+            assertEquals(1, registry.getMatch("match-1").getVersion());
+        }
+
+        @Test
+        @DisplayName("MR10 - getOrCreateMatch creates once and then returns the same match")
+        void mr10_getOrCreateMatchIsIdempotent() {
+            // Given
+            AtomicInteger created = new AtomicInteger();
+
+            // When
+            Match first = registry.getOrCreateMatch("match-1", () -> {
+                created.incrementAndGet();
+                return createDefaultState();
+            });
+            Match second = registry.getOrCreateMatch("match-1", () -> {
+                created.incrementAndGet();
+                return createDefaultState();
+            });
+
+            // Then
+            assertSame(first, second);
+            assertEquals(1, created.get());
+            assertSame(first, registry.getMatch("match-1"));
+        }
     }
 }
@@ -0,0 +1,273 @@
+package com.tactics.server.core;
+
+import com.tactics.engine.action.Action;
+import com.tactics.engine.model.Board;
+import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.PlayerId;
+import com.tactics.server.ws.ClientConnection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for Match: state CAS, atomic slot claims and spectators.
+ */
+class MatchTest {
+
+    private Match match;
+    private GameState initial;
+
+    @BeforeEach
+    void setUp() {
+        initial = state("P1");
+        match = new Match(new MatchId("m"), initial);
+    }
+
+    private static GameState state(String currentPlayer) {
+        return new GameState(new Board(5, 5), new ArrayList<>(), new PlayerId(currentPlayer), false, null);
+    }
+
+    static class StubConnection implements ClientConnection {
+        private final String id;
+
+        StubConnection(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public String getId() { return id; }
+
+        @Override
+        public String getMatchId() { return null; }
+
+        @Override
+        public void setMatchId(String matchId) { }
+
+        @Override
+        public String getPlayerId() { return null; }
+
+        @Override
+        public void setPlayerId(String playerId) { }
+
+        @Override
+        public void sendMessage(String message) { }
+    }
+
+    @Nested
+    @DisplayName("State")
+    class State {
+
+        @Test
+        @DisplayName("compareAndSetState succeeds only against the current state")
+        void compareAndSet() {
+            GameState next = state("P2");
+            Action endTurn = Action.endTurn("p1_hero");
+
+            assertFalse(match.compareAndSetState(next, state("P1"), endTurn));
+            assertEquals(0, match.getVersion());
+            assertTrue(match.getActionLog().isEmpty());
+
+            assertTrue(match.compareAndSetState(initial, next, endTurn));
+            assertSame(next, match.getState());
+            assertEquals(1, match.getVersion());
+            assertEquals(List.of(endTurn), match.getActionLog());
+        }
+
+        @Test
+        @DisplayName("setState updates in place and bumps the version")
+        void setStateInPlace() {
+            match.setState(state("P2"), null);
+            match.setState(state("P1"), null);
+
+            assertEquals(2, match.getVersion());
+            assertTrue(match.getActionLog().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Exactly one of many racing CAS updates wins")
+        void racingCompareAndSet() throws Exception {
+            int threads = 8;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Boolean> results = Collections.synchronizedList(new ArrayList<>());
+            try {
+                for (int i = 0; i < threads; i++) {
+                    executor.submit(() -> {
+                        start.await();
+                        results.add(match.compareAndSetState(initial, state("P2"), null));
+                        return null;
+                    });
+                }
+                start.countDown();
+                executor.shutdown();
+                assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertEquals(1, results.stream().filter(b -> b).count());
+            assertEquals(1, match.getVersion());
+        }
+
+        @Test
+        @DisplayName("Racing writers log their actions in the order of the states they installed")
+        void actionLogFollowsStateOrder() throws Exception {
+            int threads = 8;
+            int updatesPerThread = 500;
+            Map<GameState, GameState> parentOf = new ConcurrentHashMap<>();
+            Map<GameState, Action> actionOf = new ConcurrentHashMap<>();
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            try {
+                for (int t = 0; t < threads; t++) {
+                    String unitId = "u" + t;
+                    executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < updatesPerThread; i++) {
+                            Action action = Action.endTurn(unitId + "_" + i);
+                            while (true) {
+                                GameState expected = match.getState();
+                                GameState next = state("P1");
+                                if (match.compareAndSetState(expected, next, action)) {
+                                    parentOf.put(next, expected);
+                                    actionOf.put(next, action);
+                                    break;
+                                }
+                            }
+                        }
+                        return null;
+                    });
+                }
+                start.countDown();
+                executor.shutdown();
+                assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+            } finally {
+                executor.shutdownNow();
+            }
+
+            List<Action> expectedLog = new ArrayList<>();
+            for (GameState s = match.getState(); s != initial; s = parentOf.get(s)) {
+                expectedLog.add(actionOf.get(s));
+            }
+            Collections.reverse(expectedLog);
+            assertEquals(threads * updatesPerThread, expectedLog.size());
+            assertEquals(expectedLog, match.getActionLog());
+            assertEquals(threads * updatesPerThread, match.getVersion());
+        }
+    }
+
+    @Nested
+    @DisplayName("Player slots")
+    class Slots {
+
+        @Test
+        @DisplayName("claimFreeSlot fills P1 then P2, then reports full")
+        void claimInOrder() {
+            StubConnection a = new StubConnection("a");
+            StubConnection b = new StubConnection("b");
+
+            assertEquals(ClientSlot.P1, match.claimFreeSlot(a));
+            assertEquals(ClientSlot.P2, match.claimFreeSlot(b));
+            assertNull(match.claimFreeSlot(new StubConnection("c")));
+            assertSame(a, match.getConnection(ClientSlot.P1));
+            assertEquals(2, match.getConnectedCount());
+        }
+
+        @Test
+        @DisplayName("releaseSlot only empties the slot for its holder")
+        void releaseOnlyByHolder() {
+            StubConnection a = new StubConnection("a");
+            match.claimSlot(ClientSlot.P1, a);
+
+            assertFalse(match.releaseSlot(ClientSlot.P1, new StubConnection("other")));
+            assertSame(a, match.getConnection(ClientSlot.P1));
+            assertTrue(match.releaseSlot(ClientSlot.P1, a));
+            assertEquals(0, match.getConnectedCount());
+        }
+
+        @Test
+        @DisplayName("Concurrent joins never seat more than two players")
+        void concurrentClaims() throws Exception {
+            int threads = 16;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            Map<ClientSlot, Integer> claims = new ConcurrentHashMap<>();
+            try {
+                for (int i = 0; i < threads; i++) {
+                    StubConnection connection = new StubConnection("c" + i);
+                    executor.submit(() -> {
+                        start.await();
+                        ClientSlot slot = match.claimFreeSlot(connection);
+                        if (slot != null) {
+                            claims.merge(slot, 1, Integer::sum);
+                        }
+                        return null;
+                    });
+                }
+                start.countDown();
+                executor.shutdown();
+                assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertEquals(Map.of(ClientSlot.P1, 1, ClientSlot.P2, 1), claims);
+        }
+
+        @Test
+        @DisplayName("getConnections is a live view of the slots")
+        void mapView() {
+            StubConnection a = new StubConnection("a");
+            Map<ClientSlot, ClientConnection> view = match.getConnections();
+
+            assertTrue(view.isEmpty());
+            view.put(ClientSlot.P2, a);
+            assertSame(a, match.getConnection(ClientSlot.P2));
+            assertEquals(1, view.size());
+            assertTrue(view.containsKey(ClientSlot.P2));
+            assertEquals(List.of(a), new ArrayList<>(view.values()));
+
+            view.remove(ClientSlot.P2);
+            assertNull(match.getConnection(ClientSlot.P2));
+        }
+    }
+
+    @Nested
+    @DisplayName("Spectators")
+    class Spectators {
+
+        @Test
+        @DisplayName("Add and remove; snapshots are unaffected by later changes")
+        void copyOnWrite() {
+            StubConnection s1 = new StubConnection("s1");
+            StubConnection s2 = new StubConnection("s2");
+            match.addSpectator(s1);
+            match.addSpectator(s2);
+
+            List<ClientConnection> snapshot = match.getSpectators();
+            assertTrue(match.removeSpectator(s1));
+            assertFalse(match.removeSpectator(s1));
+
+            assertEquals(List.of(s1, s2), snapshot);
+            assertEquals(List.of(s2), match.getSpectators());
+        }
+    }
+}
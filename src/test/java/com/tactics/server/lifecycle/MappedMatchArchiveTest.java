@@ -0,0 +1,298 @@
+package com.tactics.server.lifecycle;
+
+import com.tactics.engine.action.Action;
+import com.tactics.engine.buff.BuffType;
+import com.tactics.engine.model.Board;
+import com.tactics.engine.model.DeathChoice;
+import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.PlayerId;
+import com.tactics.engine.model.Position;
+import com.tactics.engine.util.GameStateSerializer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for MappedMatchArchive.
+ */
+class MappedMatchArchiveTest {
+
+    private static final int SMALL_SEGMENT = 4 * 1024;
+    private static final long RETENTION_MS = 10_000;
+
+    @TempDir
+    Path directory;
+
+    private final List<MappedMatchArchive> opened = new ArrayList<>();
+    private final AtomicLong now = new AtomicLong();
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(MappedMatchArchive::close);
+    }
+
+    private MappedMatchArchive open(int segmentSize) {
+        MappedMatchArchive archive = new MappedMatchArchive(directory, segmentSize, RETENTION_MS,
+                new GameStateSerializer(), now::get);
+        opened.add(archive);
+        return archive;
+    }
+
+    private GameState finalState() {
+        return new GameState(new Board(5, 5), new ArrayList<>(), new PlayerId("P1"), true, new PlayerId("P2"));
+    }
+
+    private List<Action> sampleActions() {
+        PlayerId p1 = new PlayerId("P1");
+        return List.of(
+                Action.move("p1_hero", new Position(2, 1)),
+                Action.attack("p2_minion_1", new Position(2, 2), "p1_hero"),
+                Action.useSkillWithBuffChoice(p1, "p1_hero", "p2_hero", BuffType.POWER),
+                Action.deathChoice(p1, DeathChoice.ChoiceType.SPAWN_OBSTACLE),
+                Action.endTurn("p1_hero"));
+    }
+
+    private ArchivedMatch match(String id, long archivedAtMs) {
+        return new ArchivedMatch(id, ArchivedMatch.Outcome.FINISHED, "P2", 5, "0123456789abcdef",
+                archivedAtMs, sampleActions(), finalState());
+    }
+
+    private long segmentFiles() throws Exception {
+        try (var files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    @Nested
+    @DisplayName("Round trip")
+    class RoundTrip {
+
+        @Test
+        @DisplayName("Lookup returns every field, actions and final state")
+        void roundTrip() {
+            MappedMatchArchive archive = open(SMALL_SEGMENT);
+            ArchivedMatch original = match("m1", 1_000);
+            archive.archive(original);
+
+            ArchivedMatch found = archive.find("m1");
+            assertNotNull(found);
+            assertEquals(ArchivedMatch.Outcome.FINISHED, found.getOutcome());
+            assertEquals("P2", found.getWinner());
+            assertEquals(5, found.getActionCount());
+            assertEquals("0123456789abcdef", found.getFinalStateHash());
+            assertEquals(1_000, found.getArchivedAtMs());
+            assertEquals(original.getActions(), found.getActions());
+            assertEquals(original.getFinalState().getWinner(), found.getFinalState().getWinner());
+            assertEquals(original.getFinalState().isGameOver(), found.getFinalState().isGameOver());
+        }
+
+        @Test
+        @DisplayName("Null winner and missing state survive encoding")
+        void nullFields() {
+            MappedMatchArchive archive = open(SMALL_SEGMENT);
+            archive.archive(new ArchivedMatch("idle", ArchivedMatch.Outcome.ABANDONED, null, 0, "h", 5));
+
+            ArchivedMatch found = archive.find("idle");
+            assertEquals(ArchivedMatch.Outcome.ABANDONED, found.getOutcome());
+            assertNull(found.getWinner());
+            assertNull(found.getFinalState());
+            assertEquals(0, found.getActions().size());
+        }
+
+        @Test
+        @DisplayName("Unknown match is null")
+        void unknownMatch() {
+            assertNull(open(SMALL_SEGMENT).find("missing"));
+        }
+
+        @Test
+        @DisplayName("Re-archiving a match replaces the indexed record")
+        void rearchiveReplaces() {
+            MappedMatchArchive archive = open(SMALL_SEGMENT);
+            archive.archive(match("m1", 100));
+            archive.archive(match("m1", 200));
+
+            assertEquals(1, archive.size());
+            assertEquals(200, archive.find("m1").getArchivedAtMs());
+            assertEquals(0, archive.findFinishedBetween(0, 150).size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Range scans")
+    class RangeScans {
+
+        @Test
+        @DisplayName("Returns matches in [from, to) ordered by finish time")
+        void rangeByFinishTime() {
+            MappedMatchArchive archive = open(SMALL_SEGMENT * 4);
+            archive.archive(match("c", 300));
+            archive.archive(match("a", 100));
+            archive.archive(match("b", 200));
+            archive.archive(match("b2", 200));
+
+            List<String> ids = archive.findFinishedBetween(150, 300).stream()
+                    .map(ArchivedMatch::getMatchId).collect(Collectors.toList());
+            assertEquals(List.of("b", "b2"), ids);
+            assertEquals(4, archive.findFinishedBetween(0, 301).size());
+            assertEquals(0, archive.findFinishedBetween(300, 300).size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Segments")
+    class Segments {
+
+        @Test
+        @DisplayName("Rolls over to a new segment when the active one is full")
+        void rollover() throws Exception {
+            MappedMatchArchive archive = open(SMALL_SEGMENT);
+            for (int i = 0; i < 40; i++) {
+                archive.archive(match("m" + i, i));
+            }
+
+            assertEquals(40, archive.size());
+            assertEquals(archive.getSegmentCount(), segmentFiles());
+            assertTrue(archive.getSegmentCount() > 1);
+            assertNotNull(archive.find("m0"));
+            assertNotNull(archive.find("m39"));
+        }
+
+        @Test
+        @DisplayName("Segments older than the retention period are deleted on rollover")
+        void retentionDeletesOldSegments() throws Exception {
+            MappedMatchArchive archive = open(SMALL_SEGMENT);
+            for (int i = 0; i < 20; i++) {
+                archive.archive(match("old" + i, i));
+            }
+            int before = archive.getSegmentCount();
+
+            // Newest record far past retention: next rollovers drop the old segments
+            for (int i = 0; i < 20; i++) {
+                archive.archive(match("new" + i, RETENTION_MS * 2 + i));
+            }
+
+            // Whole segments only: the segment shared by old and new records is kept
+            assertNull(archive.find("old0"));
+            assertNotNull(archive.find("new19"));
+            assertTrue(archive.findFinishedBetween(0, RETENTION_MS).size() < 20);
+            assertEquals(20, archive.findFinishedBetween(RETENTION_MS, Long.MAX_VALUE).size());
+            assertEquals(archive.getSegmentCount(), segmentFiles());
+            assertTrue(before > 1);
+        }
+
+        @Test
+        @DisplayName("A quiet archive still expires its active segment")
+        void expireWithoutRollover() throws Exception {
+            MappedMatchArchive archive = open(SMALL_SEGMENT);
+            archive.archive(match("only", 1));
+
+            archive.expire(RETENTION_MS);
+            assertNotNull(archive.find("only"), "Still within retention");
+
+            archive.expire(RETENTION_MS + 2);
+            assertNull(archive.find("only"));
+            assertEquals(0, archive.getSegmentCount());
+            assertEquals(0, segmentFiles());
+
+            archive.archive(match("next", RETENTION_MS + 3));
+            assertNotNull(archive.find("next"));
+            assertEquals(1, segmentFiles());
+        }
+
+        @Test
+        @DisplayName("A segment whose file cannot be deleted keeps its records until a retry succeeds")
+        void failedDeleteKeepsSegment() throws Exception {
+            MappedMatchArchive archive = open(SMALL_SEGMENT);
+            archive.archive(match("only", 1));
+
+            // A non-empty directory in place of the file makes the delete fail
+            Path segment;
+            try (var files = Files.list(directory)) {
+                segment = files.findFirst().orElseThrow();
+            }
+            Files.delete(segment);
+            Files.createDirectory(segment);
+            Files.createFile(segment.resolve("blocker"));
+
+            assertEquals(0, archive.deleteSegmentsBefore(Long.MAX_VALUE));
+            assertNotNull(archive.find("only"));
+            assertEquals(1, archive.getSegmentCount());
+
+            Files.delete(segment.resolve("blocker"));
+            assertEquals(1, archive.deleteSegmentsBefore(Long.MAX_VALUE));
+            assertNull(archive.find("only"));
+            assertEquals(0, segmentFiles());
+        }
+
+        @Test
+        @DisplayName("Record larger than a segment is rejected")
+        void oversizedRecordRejected() {
+            MappedMatchArchive archive = open(64);
+            assertThrows(IllegalArgumentException.class, () -> archive.archive(match("big", 1)));
+            assertEquals(0, archive.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Reopen")
+    class Reopen {
+
+        @Test
+        @DisplayName("Reopening the directory rebuilds the index and keeps appending")
+        void reopenRebuildsIndex() {
+            MappedMatchArchive first = open(SMALL_SEGMENT);
+            for (int i = 0; i < 30; i++) {
+                first.archive(match("m" + i, i * 10L));
+            }
+            int segments = first.getSegmentCount();
+            first.close();
+
+            MappedMatchArchive second = open(SMALL_SEGMENT);
+            assertEquals(30, second.size());
+            assertEquals(segments, second.getSegmentCount());
+            assertEquals(sampleActions(), second.find("m17").getActions());
+            assertEquals(3, second.findFinishedBetween(100, 130).size());
+
+            second.archive(match("after", 1_000));
+            assertEquals(31, second.size());
+            assertNotNull(second.find("m29"));
+            assertNotNull(second.find("after"));
+        }
+
+        @Test
+        @DisplayName("Reopening applies retention to the segments found on disk")
+        void reopenExpires() throws Exception {
+            MappedMatchArchive first = open(SMALL_SEGMENT);
+            for (int i = 0; i < 30; i++) {
+                first.archive(match("m" + i, i * 10L));
+            }
+            first.close();
+
+            now.set(RETENTION_MS * 2);
+            MappedMatchArchive second = open(SMALL_SEGMENT);
+            assertEquals(0, second.size());
+            assertEquals(0, second.getSegmentCount());
+            assertEquals(0, segmentFiles());
+
+            second.archive(match("after", RETENTION_MS * 2));
+            assertNotNull(second.find("after"));
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.tactics.server.lifecycle;
+
+import com.tactics.engine.action.Action;
+import com.tactics.engine.model.Board;
+import com.tactics.engine.model.GameState;
+import com.tactics.engine.model.PlayerId;
+import com.tactics.engine.rules.RuleEngine;
+import com.tactics.engine.util.GameStateSerializer;
+import com.tactics.server.core.ClientSlot;
+import com.tactics.server.core.Match;
+import com.tactics.server.core.MatchRegistry;
+import com.tactics.server.core.MatchService;
+import com.tactics.server.spectator.SpectatorBroadcaster;
+import com.tactics.server.timer.TimerService;
+import com.tactics.server.timer.TimerType;
+import com.tactics.server.ws.ClientConnection;
+import com.tactics.server.ws.ConnectionRegistry;
+import com.tactics.server.ws.MatchWebSocketHandler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for MatchLifecycleManager archival and eviction.
+ */
+class MatchLifecycleManagerTest {
+
+    private static final long GRACE_MS = 1_000;
+    private static final long IDLE_MS = 5_000;
+
+    private AtomicLong mockTime;
+    private TimerService timerService;
+    private MatchService matchService;
+    private ConnectionRegistry connectionRegistry;
+    private MatchWebSocketHandler handler;
+    private InMemoryMatchArchive archive;
+    private MatchLifecycleManager manager;
+
+    @BeforeEach
+    void setUp() {
+        mockTime = new AtomicLong(1_000_000L);
+        timerService = new TimerService(mockTime::get);
+        matchService = new MatchService(new MatchRegistry(), new RuleEngine(),
+                new GameStateSerializer(), timerService);
+        connectionRegistry = new ConnectionRegistry();
+        handler = new MatchWebSocketHandler(matchService, connectionRegistry);
+        archive = new InMemoryMatchArchive();
+        manager = new MatchLifecycleManager(handler, archive, GRACE_MS, IDLE_MS, mockTime::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.shutdown();
+        timerService.shutdown();
+    }
+
+    static class StubConnection implements ClientConnection {
+        private final String id;
+        private final boolean virtual;
+        private String matchId;
+        private String playerId;
+
+        StubConnection(String id, boolean virtual) {
+            this.id = id;
+            this.virtual = virtual;
+        }
+
+        @Override
+        public String getId() { return id; }
+
+        @Override
+        public String getMatchId() { return matchId; }
+
+        @Override
+        public void setMatchId(String matchId) { this.matchId = matchId; }
+
+        @Override
+        public String getPlayerId() { return playerId; }
+
+        @Override
+        public void setPlayerId(String playerId) { this.playerId = playerId; }
+
+        @Override
+        public void sendMessage(String message) { }
+
+        @Override
+        public boolean isVirtual() { return virtual; }
+    }
+
+    private GameState finishedState() {
+        return new GameState(new Board(5, 5), new ArrayList<>(), new PlayerId("P1"), true, new PlayerId("P2"));
+    }
+
+    private void seat(Match match, ClientSlot slot, StubConnection connection) {
+        connectionRegistry.register(connection);
+        connection.setMatchId(match.getMatchId().getValue());
+        connection.setPlayerId(slot.name());
+        match.getConnections().put(slot, connection);
+    }
+
+    private MatchRegistry registry() {
+        return matchService.getMatchRegistry();
+    }
+
+    @Nested
+    @DisplayName("Finished matches")
+    class FinishedMatches {
+
+        @Test
+        @DisplayName("Archived on first sweep, evicted after the grace period")
+        void archivedThenEvictedAfterGrace() {
+            Match match = matchService.getOrCreateMatch("m1");
+            seat(match, ClientSlot.P1, new StubConnection("human", false));
+            handler.getDraftTracker().recordSelection("m1", "P1", "WARRIOR", List.of("TANK", "ARCHER"));
+            matchService.startTurnTimer("m1");
+            registry().updateMatchState("m1", finishedState());
+
+            assertEquals(0, manager.sweep());
+            ArchivedMatch archived = archive.find("m1");
+            assertNotNull(archived);
+            assertEquals(ArchivedMatch.Outcome.FINISHED, archived.getOutcome());
+            assertEquals("P2", archived.getWinner());
+            assertEquals(1, archived.getActionCount());
+            assertEquals(16, archived.getFinalStateHash().length());
+            assertNotNull(registry().getMatch("m1"), "still live during grace period");
+            assertNull(timerService.getTimerState("m1", TimerType.ACTION), "timers cancelled on archive");
+
+            mockTime.addAndGet(GRACE_MS);
+            assertEquals(1, manager.sweep());
+            assertNull(registry().getMatch("m1"));
+            assertFalse(handler.getDraftTracker().hasPlayerSubmitted("m1", "P1"));
+        }
+
+        @Test
+        @DisplayName("In-memory archive keeps only the summary")
+        void summaryOnlyArchived() {
+            matchService.getOrCreateMatch("m3");
+            GameState state = registry().getMatch("m3").getState();
+            Action endTurn = Action.endTurn("p1_hero");
+            registry().updateMatchState("m3", state, endTurn);
+            registry().updateMatchState("m3", finishedState(), null);
+
+            manager.sweep();
+
+            ArchivedMatch archived = archive.find("m3");
+            assertEquals(2, archived.getActionCount());
+            assertEquals(16, archived.getFinalStateHash().length());
+            assertTrue(archived.getActions().isEmpty());
+            assertNull(archived.getFinalState());
+        }
+
+        @Test
+        @DisplayName("Same final state gives the same hash")
+        void hashIsStable() {
+            matchService.getOrCreateMatch("a");
+            matchService.getOrCreateMatch("b");
+            registry().updateMatchState("a", finishedState());
+            registry().updateMatchState("b", finishedState());
+
+            manager.sweep();
+
+            assertEquals(archive.find("a").getFinalStateHash(), archive.find("b").getFinalStateHash());
+        }
+
+        @Test
+        @DisplayName("Eviction detaches humans and unregisters bots")
+        void evictionDetachesConnections() {
+            Match match = matchService.getOrCreateMatch("m2");
+            StubConnection human = new StubConnection("human", false);
+            StubConnection bot = new StubConnection("bot", true);
+            seat(match, ClientSlot.P1, human);
+            seat(match, ClientSlot.P2, bot);
+            registry().updateMatchState("m2", finishedState());
+
+            manager.sweep();
+            mockTime.addAndGet(GRACE_MS);
+            manager.sweep();
+
+            assertNull(human.getMatchId());
+            assertNull(bot.getPlayerId());
+            assertNotNull(connectionRegistry.findById("human"));
+            assertNull(connectionRegistry.findById("bot"));
+        }
+
+        @Test
+        @DisplayName("Eviction stops the match's spectators watching")
+        void evictionUnwatchesSpectators() {
+            SpectatorBroadcaster spectators = new SpectatorBroadcaster(0, 4, 1);
+            handler.setSpectatorBroadcaster(spectators);
+            try {
+                Match match = matchService.getOrCreateMatch("watched");
+                StubConnection spectator = new StubConnection("spectator", false);
+                spectators.watch(match, spectator, null);
+                registry().updateMatchState("watched", finishedState());
+
+                manager.sweep();
+                assertTrue(spectators.isWatching(spectator));
+                mockTime.addAndGet(GRACE_MS);
+                manager.sweep();
+
+                assertFalse(spectators.isWatching(spectator));
+                assertTrue(match.getSpectators().isEmpty());
+            } finally {
+                spectators.shutdown();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Idle matches")
+    class IdleMatches {
+
+        @Test
+        @DisplayName("Match without connections is abandoned after the idle timeout")
+        void abandonedAfterIdleTimeout() {
+            matchService.getOrCreateMatch("idle");
+
+            manager.sweep();
+            mockTime.addAndGet(IDLE_MS - 1);
+            assertEquals(0, manager.sweep());
+
+            mockTime.addAndGet(1);
+            assertEquals(1, manager.sweep());
+            assertNull(registry().getMatch("idle"));
+            assertEquals(ArchivedMatch.Outcome.ABANDONED, archive.find("idle").getOutcome());
+            assertNull(archive.find("idle").getWinner());
+        }
+
+        @Test
+        @DisplayName("State changes reset the idle clock")
+        void activityResetsIdleClock() {
+            Match match = matchService.getOrCreateMatch("busy");
+            manager.sweep();
+
+            mockTime.addAndGet(IDLE_MS - 1);
+            registry().updateMatchState("busy", match.getState());
+            manager.sweep();
+
+            mockTime.addAndGet(IDLE_MS - 1);
+            assertEquals(0, manager.sweep());
+            assertNotNull(registry().getMatch("busy"));
+        }
+
+        @Test
+        @DisplayName("Matches with a connection are never idle-evicted")
+        void connectedMatchKept() {
+            Match match = matchService.getOrCreateMatch("waiting");
+            seat(match, ClientSlot.P1, new StubConnection("human", false));
+
+            manager.sweep();
+            mockTime.addAndGet(IDLE_MS * 10);
+
+            assertEquals(0, manager.sweep());
+            assertEquals(0, archive.size());
+        }
+
+        @Test
+        @DisplayName("Each sweep expires the archive at the sweep time")
+        void sweepExpiresArchive() {
+            List<Long> expired = new ArrayList<>();
+            MatchArchive expiring = new InMemoryMatchArchive() {
+                @Override
+                public void expire(long nowMs) {
+                    expired.add(nowMs);
+                }
+            };
+            MatchLifecycleManager sweeper = new MatchLifecycleManager(handler, expiring, GRACE_MS, IDLE_MS,
+                    mockTime::get);
+
+            sweeper.sweep();
+            mockTime.addAndGet(1_000);
+            sweeper.sweep();
+
+            assertEquals(List.of(mockTime.get() - 1_000, mockTime.get()), expired);
+        }
+    }
+
+    @Nested
+    @DisplayName("InMemoryMatchArchive")
+    class ArchiveCapacity {
+
+        @Test
+        @DisplayName("Drops the oldest entries beyond capacity")
+        void dropsOldest() {
+            InMemoryMatchArchive small = new InMemoryMatchArchive(2);
+            for (int i = 0; i < 3; i++) {
+                small.archive(new ArchivedMatch("m" + i, ArchivedMatch.Outcome.FINISHED, "P1", i, "h", i));
+            }
+
+            assertEquals(2, small.size());
+            assertNull(small.find("m0"));
+            assertNotNull(small.find("m2"));
+        }
+    }
+}
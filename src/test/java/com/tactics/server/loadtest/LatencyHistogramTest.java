@@ -0,0 +1,114 @@
+package com.tactics.server.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for LatencyHistogram (bucketing, percentiles, .hgrm output).
+ */
+class LatencyHistogramTest {
+
+    @Nested
+    @DisplayName("Bucketing")
+    class Bucketing {
+
+        @Test
+        @DisplayName("Small values are exact, buckets are contiguous")
+        void contiguousBuckets() {
+            for (long value = 0; value < 100_000; value++) {
+                int index = LatencyHistogram.indexOf(value);
+                assertTrue(LatencyHistogram.highestEquivalentValue(index) >= value);
+                if (index > 0) {
+                    assertTrue(LatencyHistogram.highestEquivalentValue(index - 1) < value);
+                }
+            }
+            assertEquals(1999, LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(1999)));
+        }
+
+        @Test
+        @DisplayName("Large values are reported within 0.1%")
+        void relativePrecision() {
+            for (long value = 2048; value < LatencyHistogram.MAX_VALUE_US; value = value * 3 + 7) {
+                long reported = LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(value));
+                assertTrue(reported >= value);
+                assertTrue(reported - value <= value / 1000 + 1, "value " + value + " reported " + reported);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Percentiles")
+    class Percentiles {
+
+        @Test
+        @DisplayName("Percentiles of 1..1000 land on the matching value")
+        void uniform() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (int i = 1; i <= 1000; i++) {
+                histogram.recordValue(i);
+            }
+
+            assertEquals(1000, histogram.getTotalCount());
+            assertEquals(500, histogram.getValueAtPercentile(50.0));
+            assertEquals(990, histogram.getValueAtPercentile(99.0));
+            assertEquals(999, histogram.getValueAtPercentile(99.9));
+            assertEquals(1000, histogram.getValueAtPercentile(100.0));
+            assertEquals(1000, histogram.getMaxValue());
+            assertEquals(500.5, histogram.getMean(), 0.001);
+        }
+
+        @Test
+        @DisplayName("add merges counts and max")
+        void merge() {
+            LatencyHistogram a = new LatencyHistogram();
+            LatencyHistogram b = new LatencyHistogram();
+            a.recordValue(10);
+            b.recordValue(5_000_000);
+
+            a.add(b);
+
+            assertEquals(2, a.getTotalCount());
+            assertEquals(5_000_000, a.getMaxValue());
+            assertEquals(10, a.getValueAtPercentile(50.0));
+        }
+
+        @Test
+        @DisplayName("Reporting steps halve towards 100%")
+        void reportingSteps() {
+            assertEquals(10.0, LatencyHistogram.nextReportingPercentile(0.0), 1e-9);
+            assertEquals(55.0, LatencyHistogram.nextReportingPercentile(50.0), 1e-9);
+            assertEquals(77.5, LatencyHistogram.nextReportingPercentile(75.0), 1e-9);
+        }
+    }
+
+    @Nested
+    @DisplayName("Output")
+    class Output {
+
+        @Test
+        @DisplayName("Distribution is written in .hgrm layout")
+        void hgrmLayout() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (int i = 1; i <= 100; i++) {
+                histogram.recordValue(i);
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+            histogram.outputPercentileDistribution(new PrintStream(bytes, true, StandardCharsets.UTF_8), 1.0);
+
+            String text = bytes.toString(StandardCharsets.UTF_8);
+            assertTrue(text.startsWith("       Value     Percentile TotalCount 1/(1-Percentile)"));
+            assertTrue(text.contains("      50.000 0.500000000000         50           2.00"));
+            assertTrue(text.contains("     100.000 1.000000000000        100"));
+            assertTrue(text.contains("#[Max     =      100.000, Total count    =          100]"));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.tactics.server.loadtest;
+
+import com.tactics.server.bootstrap.ServerBootstrap;
+import com.tactics.server.bootstrap.ServerConfig;
+import com.tactics.server.bootstrap.ServerTransport;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end smoke test: simulated players against an in-process server.
+ */
+class LoadGeneratorTest {
+
+    @Test
+    @DisplayName("Simulated players draft, act and get their actions timed")
+    void playsAgainstEmbeddedServer(@TempDir Path dir) throws Exception {
+        ServerBootstrap bootstrap = new ServerBootstrap(ServerConfig.defaults()
+                .with("port", "0")
+                .with("journal.type", "memory"));
+        try {
+            ServerTransport transport = bootstrap.start();
+            LoadGenerator generator = new LoadGenerator(
+                    URI.create("ws://localhost:" + transport.getPort() + "/ws"), 4, 3_000, "random", 0, 7);
+
+            LoadReport report = generator.run(ProcessHandle.current());
+
+            LoadStats stats = report.getStats();
+            assertTrue(stats.getActionsSent() > 0, report.toSummary());
+            assertEquals(0, stats.getActionsRejected(), report.toSummary());
+            assertEquals(0, stats.getErrors(), report.toSummary());
+            assertTrue(stats.getLatency().getTotalCount() > 0);
+            assertTrue(report.getMessagesPerSecond() > 0);
+
+            Path out = dir.resolve("run.hgrm");
+            report.writeHistogram(out);
+            assertTrue(Files.readString(out).contains("Percentile"));
+        } finally {
+            bootstrap.stop();
+        }
+    }
+}
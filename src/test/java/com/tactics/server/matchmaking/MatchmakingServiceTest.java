@@ -0,0 +1,470 @@
+package com.tactics.server.matchmaking;
+
+import com.tactics.engine.model.HeroClass;
+import com.tactics.engine.rules.RuleEngine;
+import com.tactics.engine.util.GameStateSerializer;
+import com.tactics.server.core.MatchRegistry;
+import com.tactics.server.core.MatchService;
+import com.tactics.server.dto.OutgoingMessage;
+import com.tactics.server.ws.ClientConnection;
+import com.tactics.server.ws.ConnectionRegistry;
+import com.tactics.server.ws.JsonHelper;
+import com.tactics.server.ws.MatchWebSocketHandler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for MatchmakingService, MpscQueue and the find_match message.
+ */
+class MatchmakingServiceTest {
+
+    private static final long WIDEN_MS = 1_000;
+
+    private AtomicLong mockTime;
+    private MatchService matchService;
+    private MatchWebSocketHandler handler;
+    private MatchmakingService matchmaking;
+
+    @BeforeEach
+    void setUp() {
+        mockTime = new AtomicLong(1_000_000L);
+        matchService = new MatchService(new MatchRegistry(), new RuleEngine(), new GameStateSerializer());
+        handler = new MatchWebSocketHandler(matchService, new ConnectionRegistry());
+        handler.setUseTimers(false);
+        matchmaking = new MatchmakingService(handler, 200, WIDEN_MS, mockTime::get);
+        handler.setMatchmakingService(matchmaking);
+    }
+
+    static class RecordingConnection implements ClientConnection {
+        private final String id;
+        private volatile String matchId;
+        private volatile String playerId;
+        final List<String> sentMessages = new CopyOnWriteArrayList<>();
+
+        RecordingConnection(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public String getId() { return id; }
+
+        @Override
+        public String getMatchId() { return matchId; }
+
+        @Override
+        public void setMatchId(String matchId) { this.matchId = matchId; }
+
+        @Override
+        public String getPlayerId() { return playerId; }
+
+        @Override
+        public void setPlayerId(String playerId) { this.playerId = playerId; }
+
+        @Override
+        public void sendMessage(String message) { sentMessages.add(message); }
+
+        boolean received(String type) {
+            return sentMessages.stream().anyMatch(m -> m.startsWith("{\"type\":\"" + type + "\""));
+        }
+    }
+
+    private RecordingConnection open(String id) {
+        RecordingConnection connection = new RecordingConnection(id);
+        handler.onOpen(connection);
+        return connection;
+    }
+
+    private RecordingConnection queued(String id, int rating, HeroClass hero) {
+        RecordingConnection connection = open(id);
+        assertTrue(matchmaking.enqueue(connection, rating, hero));
+        return connection;
+    }
+
+    @Nested
+    @DisplayName("Pairing")
+    class Pairing {
+
+        @Test
+        @DisplayName("Two players in the same bucket are seated in a new match")
+        void pairsSameBucket() {
+            RecordingConnection a = queued("a", 1000, HeroClass.MAGE);
+            RecordingConnection b = queued("b", 1100, HeroClass.MAGE);
+
+            assertEquals(1, matchmaking.tick());
+
+            assertNotNull(a.getMatchId());
+            assertEquals(a.getMatchId(), b.getMatchId());
+            assertNotNull(matchService.findMatch(a.getMatchId()));
+            assertNotEquals(a.getPlayerId(), b.getPlayerId());
+            assertTrue(a.received("match_joined"));
+            assertTrue(b.received("game_ready"));
+            assertEquals(0, matchmaking.getQueuedCount());
+        }
+
+        @Test
+        @DisplayName("Closest ratings in a bucket are paired together")
+        void pairsNeighboursByRating() {
+            RecordingConnection low1 = queued("low1", 1000, null);
+            RecordingConnection high1 = queued("high1", 1190, null);
+            RecordingConnection low2 = queued("low2", 1010, null);
+            RecordingConnection high2 = queued("high2", 1180, null);
+
+            assertEquals(2, matchmaking.tick());
+
+            assertEquals(low1.getMatchId(), low2.getMatchId());
+            assertEquals(high1.getMatchId(), high2.getMatchId());
+            assertNotEquals(low1.getMatchId(), high1.getMatchId());
+        }
+
+        @Test
+        @DisplayName("Odd ticket waits for the next tick")
+        void oddTicketWaits() {
+            queued("a", 1000, null);
+            queued("b", 1000, null);
+            RecordingConnection c = queued("c", 1000, null);
+
+            assertEquals(1, matchmaking.tick());
+            assertNull(c.getMatchId());
+            assertTrue(matchmaking.isQueued(c));
+
+            RecordingConnection d = queued("d", 1000, null);
+            assertEquals(1, matchmaking.tick());
+            assertEquals(c.getMatchId(), d.getMatchId());
+        }
+
+        @Test
+        @DisplayName("Match ids cannot be guessed and pre-joined")
+        void matchIdsNotGuessable() {
+            RecordingConnection squatter = open("squatter");
+            handler.onMessage(squatter, JsonHelper.toJson(new OutgoingMessage("join_match",
+                    Map.of("matchId", "mm-1"))));
+            assertEquals("mm-1", squatter.getMatchId());
+
+            RecordingConnection a = queued("a", 1000, null);
+            RecordingConnection b = queued("b", 1000, null);
+            RecordingConnection c = queued("c", 1500, null);
+            RecordingConnection d = queued("d", 1500, null);
+            assertEquals(2, matchmaking.tick());
+
+            assertTrue(a.getMatchId().startsWith("mm-"));
+            assertNotEquals("mm-1", a.getMatchId());
+            assertNotEquals(a.getMatchId(), c.getMatchId());
+            assertEquals(a.getMatchId(), b.getMatchId());
+            assertEquals(c.getMatchId(), d.getMatchId());
+            assertTrue(a.received("game_ready"));
+            assertTrue(c.received("game_ready"));
+            assertFalse(squatter.received("game_ready"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Buckets and widening")
+    class Widening {
+
+        @Test
+        @DisplayName("Different hero preferences pair only after the widen delay")
+        void heroPreferenceWidens() {
+            RecordingConnection a = queued("a", 1000, HeroClass.MAGE);
+            RecordingConnection b = queued("b", 1000, HeroClass.ROGUE);
+
+            assertEquals(0, matchmaking.tick());
+            mockTime.addAndGet(WIDEN_MS);
+            assertEquals(1, matchmaking.tick());
+            assertEquals(a.getMatchId(), b.getMatchId());
+        }
+
+        @Test
+        @DisplayName("Adjacent rating bands pair after twice the widen delay")
+        void adjacentBandsWiden() {
+            RecordingConnection a = queued("a", 1190, null);
+            RecordingConnection b = queued("b", 1210, null);
+
+            mockTime.addAndGet(WIDEN_MS);
+            assertEquals(0, matchmaking.tick());
+            mockTime.addAndGet(WIDEN_MS);
+            assertEquals(1, matchmaking.tick());
+            assertEquals(a.getMatchId(), b.getMatchId());
+        }
+
+        @Test
+        @DisplayName("Distant rating bands are never paired")
+        void distantBandsNeverPair() {
+            queued("a", 600, null);
+            queued("b", 1600, null);
+
+            mockTime.addAndGet(WIDEN_MS * 10);
+            assertEquals(0, matchmaking.tick());
+            assertEquals(2, matchmaking.getQueuedCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Cancellation")
+    class Cancellation {
+
+        @Test
+        @DisplayName("Cancelled and closed connections are skipped")
+        void cancelledAndClosedSkipped() {
+            RecordingConnection cancelled = queued("cancelled", 1000, null);
+            RecordingConnection closed = queued("closed", 1000, null);
+            RecordingConnection waiting = queued("waiting", 1000, null);
+
+            assertTrue(matchmaking.cancel(cancelled));
+            handler.onClose(closed);
+
+            assertEquals(0, matchmaking.tick());
+            assertNull(cancelled.getMatchId());
+            assertNull(waiting.getMatchId());
+            assertEquals(1, matchmaking.getQueuedCount());
+        }
+
+        @Test
+        @DisplayName("A partner closing during its join puts the seated player back in the queue")
+        void secondJoinFails() {
+            RecordingConnection live = queued("live", 1000, null);
+            RecordingConnection dying = closingOnJoin("dying", 1100);
+
+            assertEquals(0, matchmaking.tick());
+
+            assertTrue(live.received("match_joined"));
+            assertTrue(live.received("queue_joined"));
+            assertNull(live.getMatchId());
+            assertNull(live.getPlayerId());
+            assertTrue(matchmaking.isQueued(live));
+            assertFalse(matchmaking.isQueued(dying));
+            assertTrue(matchService.getMatchRegistry().listMatches().isEmpty());
+            assertEquals(0, matchmaking.getMatchesCreated());
+
+            RecordingConnection next = queued("next", 1000, null);
+            assertEquals(1, matchmaking.tick());
+            assertNotNull(live.getMatchId());
+            assertEquals(live.getMatchId(), next.getMatchId());
+        }
+
+        @Test
+        @DisplayName("A first player closing during its join leaves the partner queued and untouched")
+        void firstJoinFails() {
+            RecordingConnection dying = closingOnJoin("dying", 1000);
+            RecordingConnection live = queued("live", 1100, null);
+
+            assertEquals(0, matchmaking.tick());
+
+            assertFalse(live.received("match_joined"));
+            assertNull(live.getMatchId());
+            assertTrue(matchmaking.isQueued(live));
+            assertFalse(matchmaking.isQueued(dying));
+            assertTrue(matchService.getMatchRegistry().listMatches().isEmpty());
+        }
+
+        /**
+         * Queued connection whose socket closes while match_joined is sent.
+         */
+        private RecordingConnection closingOnJoin(String id, int rating) {
+            RecordingConnection connection = new RecordingConnection(id) {
+                @Override
+                public void sendMessage(String message) {
+                    super.sendMessage(message);
+                    if (message.startsWith("{\"type\":\"match_joined\"")) {
+                        handler.onClose(this);
+                    }
+                }
+            };
+            handler.onOpen(connection);
+            assertTrue(matchmaking.enqueue(connection, rating, null));
+            return connection;
+        }
+
+        @Test
+        @DisplayName("Enqueueing the same connection twice is rejected")
+        void duplicateRejected() {
+            RecordingConnection a = queued("a", 1000, null);
+            assertFalse(matchmaking.enqueue(a, 1000, null));
+            assertEquals(1, matchmaking.getQueuedCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrency")
+    class Concurrency {
+
+        @Test
+        @DisplayName("Concurrent joins are all paired exactly once")
+        void concurrentJoins() throws Exception {
+            int threads = 8;
+            int perThread = 250;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<RecordingConnection> all = new CopyOnWriteArrayList<>();
+            try {
+                for (int t = 0; t < threads; t++) {
+                    int thread = t;
+                    executor.submit(() -> {
+                        awaitQuietly(start);
+                        for (int i = 0; i < perThread; i++) {
+                            RecordingConnection c = open("c-" + thread + "-" + i);
+                            all.add(c);
+                            matchmaking.enqueue(c, 1000 + (i % 3) * 200, null);
+                            if (i % 50 == 0) {
+                                matchmaking.tick();
+                            }
+                        }
+                    });
+                }
+                start.countDown();
+                executor.shutdown();
+                assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+            } finally {
+                executor.shutdownNow();
+            }
+            matchmaking.tick();
+
+            Map<String, Integer> seatsPerMatch = new HashMap<>();
+            for (RecordingConnection c : all) {
+                assertNotNull(c.getMatchId(), c.getId() + " not seated");
+                seatsPerMatch.merge(c.getMatchId(), 1, Integer::sum);
+            }
+            assertEquals(threads * perThread / 2, seatsPerMatch.size());
+            assertTrue(seatsPerMatch.values().stream().allMatch(n -> n == 2));
+            assertEquals(threads * perThread / 2, matchmaking.getMatchesCreated());
+        }
+
+        @Test
+        @DisplayName("MpscQueue keeps every element from many producers, FIFO per producer")
+        void mpscQueueNoLoss() throws Exception {
+            MpscQueue<int[]> queue = new MpscQueue<>();
+            int producers = 4;
+            int perProducer = 10_000;
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        queue.offer(new int[]{producer, i});
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+
+            int[] lastSeen = new int[producers];
+            Arrays.fill(lastSeen, -1);
+            int received = 0;
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (received < producers * perProducer && System.currentTimeMillis() < deadline) {
+                int[] item = queue.poll();
+                if (item == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                assertEquals(lastSeen[item[0]] + 1, item[1]);
+                lastSeen[item[0]] = item[1];
+                received++;
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertEquals(producers * perProducer, received);
+            assertNull(queue.poll());
+            assertTrue(queue.isEmpty());
+        }
+
+        private void awaitQuietly(CountDownLatch latch) {
+            try {
+                latch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("find_match message")
+    class FindMatchMessage {
+
+        @Test
+        @DisplayName("find_match queues the sender and acknowledges with queue_joined")
+        void findMatchQueues() {
+            RecordingConnection a = open("a");
+            handler.onMessage(a, JsonHelper.toJson(new OutgoingMessage("find_match",
+                    Map.of("rating", 1250, "heroClass", "CLERIC"))));
+
+            assertTrue(a.received("queue_joined"));
+            assertTrue(matchmaking.isQueued(a));
+        }
+
+        @Test
+        @DisplayName("leave_queue removes the sender")
+        void leaveQueue() {
+            RecordingConnection a = open("a");
+            handler.onMessage(a, JsonHelper.toJson(new OutgoingMessage("find_match", Map.of())));
+            handler.onMessage(a, JsonHelper.toJson(new OutgoingMessage("leave_queue", Map.of())));
+
+            assertTrue(a.received("queue_left"));
+            assertFalse(matchmaking.isQueued(a));
+        }
+
+        @Test
+        @DisplayName("Invalid hero class and players already in a match are rejected")
+        void rejectsInvalidRequests() {
+            RecordingConnection badHero = open("bad");
+            handler.onMessage(badHero, JsonHelper.toJson(new OutgoingMessage("find_match",
+                    Map.of("heroClass", "NECROMANCER"))));
+            assertTrue(badHero.received("validation_error"));
+
+            RecordingConnection seated = open("seated");
+            handler.joinMatch(seated, "manual");
+            handler.onMessage(seated, JsonHelper.toJson(new OutgoingMessage("find_match", Map.of())));
+            assertFalse(matchmaking.isQueued(seated));
+            assertEquals(0, matchmaking.getQueuedCount());
+        }
+
+        @Test
+        @DisplayName("find_match without a matchmaking service is rejected")
+        void disabledMatchmaking() {
+            handler.setMatchmakingService(null);
+            RecordingConnection a = open("a");
+            handler.onMessage(a, JsonHelper.toJson(new OutgoingMessage("find_match", Map.of())));
+            assertTrue(a.received("validation_error"));
+        }
+
+        @Test
+        @DisplayName("Two find_match players end up in the same match after a tick")
+        void endToEnd() {
+            RecordingConnection a = open("a");
+            RecordingConnection b = open("b");
+            handler.onMessage(a, JsonHelper.toJson(new OutgoingMessage("find_match", Map.of())));
+            handler.onMessage(b, JsonHelper.toJson(new OutgoingMessage("find_match", Map.of())));
+
+            matchmaking.tick();
+
+            Set<String> players = new HashSet<>(List.of(a.getPlayerId(), b.getPlayerId()));
+            assertEquals(Set.of("P1", "P2"), players);
+            assertEquals(a.getMatchId(), b.getMatchId());
+        }
+    }
+}
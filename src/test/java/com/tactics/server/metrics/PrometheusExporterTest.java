@@ -0,0 +1,133 @@
+package com.tactics.server.metrics;
+
+import com.tactics.engine.metrics.LatencyRecorder;
+import com.tactics.engine.metrics.MetricsRegistry;
+import com.tactics.server.bootstrap.ServerBootstrap;
+import com.tactics.server.bootstrap.ServerConfig;
+import com.tactics.server.bootstrap.ServerTransport;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for PrometheusExporter and the /metrics endpoint.
+ */
+class PrometheusExporterTest {
+
+    @Nested
+    @DisplayName("Text format")
+    class Format {
+
+        @Test
+        @DisplayName("Counters and gauges get one HELP/TYPE header per family")
+        void scalars() {
+            MetricsRegistry registry = new MetricsRegistry();
+            registry.counter("requests_total", "Requests", "kind", "a").add(3);
+            registry.counter("requests_total", "Requests", "kind", "b").increment();
+            registry.gauge("open", "Open things", () -> 5);
+
+            String text = new PrometheusExporter(registry).export();
+
+            assertEquals("# HELP requests_total Requests\n"
+                    + "# TYPE requests_total counter\n"
+                    + "requests_total{kind=\"a\"} 3\n"
+                    + "requests_total{kind=\"b\"} 1\n"
+                    + "# HELP open Open things\n"
+                    + "# TYPE open gauge\n"
+                    + "open 5\n", text);
+        }
+
+        @Test
+        @DisplayName("Histograms export cumulative buckets in seconds, sum and count")
+        void histogram() {
+            MetricsRegistry registry = new MetricsRegistry();
+            LatencyRecorder recorder = registry.recorder("op_seconds", "Op latency", "type", "MOVE");
+            recorder.recordNanos(100);       // folded into the lowest exported bucket
+            recorder.recordNanos(2_048);     // <= 2^11, on the bound
+            recorder.recordNanos(3_000);     // <= 2^12
+
+            String text = new PrometheusExporter(registry).export();
+
+            assertTrue(text.contains("# TYPE op_seconds histogram\n"));
+            assertTrue(text.contains("op_seconds_bucket{type=\"MOVE\",le=\"0.000001024\"} 1\n"));
+            assertTrue(text.contains("op_seconds_bucket{type=\"MOVE\",le=\"0.000002048\"} 2\n"));
+            assertTrue(text.contains("op_seconds_bucket{type=\"MOVE\",le=\"0.000004096\"} 3\n"));
+            assertTrue(text.contains("op_seconds_bucket{type=\"MOVE\",le=\"+Inf\"} 3\n"));
+            assertTrue(text.contains("op_seconds_sum{type=\"MOVE\"} 0.000005148\n"));
+            assertTrue(text.contains("op_seconds_count{type=\"MOVE\"} 3\n"));
+        }
+
+        @Test
+        @DisplayName("Label values are escaped")
+        void escaping() {
+            MetricsRegistry registry = new MetricsRegistry();
+            registry.counter("c_total", "Help", "v", "a\"b\\c");
+
+            String text = new PrometheusExporter(registry).export();
+
+            assertTrue(text.contains("c_total{v=\"a\\\"b\\\\c\"} 0\n"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Endpoint")
+    class Endpoint {
+
+        private ServerConfig config(boolean metrics) {
+            return ServerConfig.defaults()
+                    .with("port", "0")
+                    .with("journal.type", "memory")
+                    .with("metrics.enabled", Boolean.toString(metrics));
+        }
+
+        private HttpResponse<String> get(int port) throws Exception {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/metrics")).build();
+            return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        }
+
+        @Test
+        @DisplayName("Jetty serves engine and server metrics on /metrics")
+        void served() throws Exception {
+            ServerBootstrap bootstrap = new ServerBootstrap(config(true));
+            try {
+                ServerTransport transport = bootstrap.start();
+                HttpResponse<String> response = get(transport.getPort());
+
+                assertEquals(200, response.statusCode());
+                assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/plain"));
+                assertTrue(response.body().contains("# TYPE tactics_validate_action_seconds histogram"));
+                assertTrue(response.body().contains("tactics_apply_action_seconds_count{action_type=\"MOVE\"} 0"));
+                assertTrue(response.body().contains("tactics_message_parse_seconds_count 0"));
+                assertTrue(response.body().contains("tactics_connections 0"));
+            } finally {
+                bootstrap.stop();
+            }
+        }
+
+        @Test
+        @DisplayName("metrics.enabled=false leaves /metrics unmapped")
+        void disabled() throws Exception {
+            ServerBootstrap bootstrap = new ServerBootstrap(config(false));
+            try {
+                ServerTransport transport = bootstrap.start();
+                HttpResponse<String> response = get(transport.getPort());
+
+                assertNull(bootstrap.getMetricsRegistry());
+                assertFalse(response.statusCode() == 200 && response.body().contains("tactics_"));
+            } finally {
+                bootstrap.stop();
+            }
+        }
+    }
+}
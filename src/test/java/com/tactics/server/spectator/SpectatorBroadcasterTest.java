@@ -0,0 +1,357 @@
+package com.tactics.server.spectator;
+
+import com.tactics.engine.rules.RuleEngine;
+import com.tactics.engine.util.GameStateSerializer;
+import com.tactics.server.core.Match;
+import com.tactics.server.core.MatchRegistry;
+import com.tactics.server.core.MatchService;
+import com.tactics.server.dto.OutgoingMessage;
+import com.tactics.server.ws.ClientConnection;
+import com.tactics.server.ws.ConnectionRegistry;
+import com.tactics.server.ws.JsonHelper;
+import com.tactics.server.ws.MatchWebSocketHandler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for SpectatorBroadcaster, SpectatorChannel and the spectate_match message.
+ */
+class SpectatorBroadcasterTest {
+
+    private SpectatorBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        if (broadcaster != null) {
+            broadcaster.shutdown();
+        }
+    }
+
+    private static String message(String type, int n) {
+        return JsonHelper.toJson(new OutgoingMessage(type, Map.of("n", n)));
+    }
+
+    private boolean waitFor(BooleanSupplier condition, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(5);
+        }
+        return condition.getAsBoolean();
+    }
+
+    static class RecordingConnection implements ClientConnection {
+        private final String id;
+        private volatile String matchId;
+        private volatile String playerId;
+        final List<String> sentMessages = new CopyOnWriteArrayList<>();
+
+        RecordingConnection(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public String getId() { return id; }
+
+        @Override
+        public String getMatchId() { return matchId; }
+
+        @Override
+        public void setMatchId(String matchId) { this.matchId = matchId; }
+
+        @Override
+        public String getPlayerId() { return playerId; }
+
+        @Override
+        public void setPlayerId(String playerId) { this.playerId = playerId; }
+
+        @Override
+        public void sendMessage(String message) { sentMessages.add(message); }
+
+        boolean received(String type) {
+            return sentMessages.stream().anyMatch(m -> type.equals(JsonHelper.peekType(m)));
+        }
+    }
+
+    /**
+     * Blocks every send until released, like a spectator on a slow link.
+     */
+    static class SlowConnection extends RecordingConnection {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        SlowConnection(String id) {
+            super(id);
+        }
+
+        @Override
+        public void sendMessage(String message) {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.sendMessage(message);
+        }
+    }
+
+    @Nested
+    @DisplayName("SpectatorChannel")
+    class Channel {
+
+        @Test
+        @DisplayName("A newer state_update replaces queued ones; other messages are kept in order")
+        void coalescesStateUpdates() {
+            SpectatorChannel channel = new SpectatorChannel(new RecordingConnection("s"), null, 8);
+
+            assertTrue(channel.offer(message("state_update", 1), true));
+            assertFalse(channel.offer(message("timeout", 2), false));
+            assertFalse(channel.offer(message("state_update", 3), true));
+
+            assertEquals(message("timeout", 2), channel.poll());
+            assertEquals(message("state_update", 3), channel.poll());
+            assertNull(channel.poll());
+            assertEquals(1, channel.getDroppedCount());
+        }
+
+        @Test
+        @DisplayName("A full queue drops its oldest message")
+        void boundedQueue() {
+            SpectatorChannel channel = new SpectatorChannel(new RecordingConnection("s"), null, 2);
+
+            channel.offer(message("timeout", 1), false);
+            channel.offer(message("timeout", 2), false);
+            channel.offer(message("timeout", 3), false);
+
+            assertEquals(2, channel.size());
+            assertEquals(message("timeout", 2), channel.poll());
+            assertEquals(1, channel.getDroppedCount());
+        }
+
+        @Test
+        @DisplayName("A new drain is requested only after the previous one emptied the queue")
+        void singleDrain() {
+            SpectatorChannel channel = new SpectatorChannel(new RecordingConnection("s"), null, 4);
+
+            assertTrue(channel.offer(message("timeout", 1), false));
+            assertFalse(channel.offer(message("timeout", 2), false));
+            channel.poll();
+            channel.poll();
+            assertNull(channel.poll());
+            assertTrue(channel.offer(message("timeout", 3), false));
+        }
+    }
+
+    @Nested
+    @DisplayName("Fan-out")
+    class FanOut {
+
+        private final MatchService matchService =
+                new MatchService(new MatchRegistry(), new RuleEngine(), new GameStateSerializer());
+
+        @Test
+        @DisplayName("Messages are held back for the configured delay")
+        void delayBuffer() throws Exception {
+            broadcaster = new SpectatorBroadcaster(300, 8, 1);
+            Match match = matchService.getOrCreateMatch("m");
+            RecordingConnection spectator = new RecordingConnection("s");
+            broadcaster.watch(match, spectator, null);
+
+            long start = System.currentTimeMillis();
+            broadcaster.publish(match, message("timeout", 1));
+
+            assertTrue(spectator.sentMessages.isEmpty());
+            assertTrue(waitFor(() -> !spectator.sentMessages.isEmpty(), 5_000));
+            assertTrue(System.currentTimeMillis() - start >= 300);
+            assertEquals(1, broadcaster.getDeliveredCount());
+        }
+
+        @Test
+        @DisplayName("A slow spectator neither delays publishers nor other spectators, and is coalesced")
+        void slowSpectatorIsolated() throws Exception {
+            broadcaster = new SpectatorBroadcaster(0, 4, 2);
+            Match match = matchService.getOrCreateMatch("m");
+            SlowConnection slow = new SlowConnection("slow");
+            RecordingConnection fast = new RecordingConnection("fast");
+            broadcaster.watch(match, slow, null);
+            broadcaster.watch(match, fast, null);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < 100; i++) {
+                broadcaster.publish(match, message("state_update", i));
+            }
+            long publishMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertTrue(publishMs < 1_000, "publish took " + publishMs + "ms");
+            assertTrue(waitFor(() -> fast.sentMessages.contains(message("state_update", 99)), 5_000));
+
+            slow.release.countDown();
+            assertTrue(waitFor(() -> slow.sentMessages.contains(message("state_update", 99)), 5_000));
+            assertTrue(slow.sentMessages.size() < 100, "slow spectator got " + slow.sentMessages.size());
+            assertTrue(broadcaster.getDroppedCount() > 0);
+        }
+
+        @Test
+        @DisplayName("Nothing is scheduled for a match without spectators")
+        void noSpectators() {
+            broadcaster = new SpectatorBroadcaster(0, 4, 1);
+            Match match = matchService.getOrCreateMatch("m");
+
+            broadcaster.publish(match, message("state_update", 1));
+
+            assertEquals(0, broadcaster.getPublishedCount());
+        }
+
+        @Test
+        @DisplayName("unwatch removes the spectator from its match")
+        void unwatch() {
+            broadcaster = new SpectatorBroadcaster(0, 4, 1);
+            Match match = matchService.getOrCreateMatch("m");
+            RecordingConnection spectator = new RecordingConnection("s");
+            broadcaster.watch(match, spectator, null);
+
+            assertTrue(broadcaster.unwatch(spectator));
+            assertFalse(broadcaster.unwatch(spectator));
+            assertTrue(match.getSpectators().isEmpty());
+            assertEquals(0, broadcaster.getSpectatorCount());
+        }
+
+        @Test
+        @DisplayName("The snapshot is taken after the spectator is registered")
+        void snapshotAfterRegistration() throws Exception {
+            broadcaster = new SpectatorBroadcaster(0, 4, 1);
+            Match match = matchService.getOrCreateMatch("m");
+            RecordingConnection spectator = new RecordingConnection("s");
+            List<Boolean> registeredAtSnapshot = new ArrayList<>();
+
+            broadcaster.watch(match, spectator, () -> {
+                registeredAtSnapshot.add(match.getSpectators().contains(spectator));
+                return message("state_update", 1);
+            });
+
+            assertEquals(List.of(true), registeredAtSnapshot);
+            assertTrue(waitFor(() -> spectator.sentMessages.size() == 1, 5_000));
+        }
+
+        @Test
+        @DisplayName("unwatchAll drops every spectator of a match and no others")
+        void unwatchAll() {
+            broadcaster = new SpectatorBroadcaster(0, 4, 1);
+            Match match = matchService.getOrCreateMatch("m");
+            Match other = matchService.getOrCreateMatch("other");
+            RecordingConnection a = new RecordingConnection("a");
+            RecordingConnection b = new RecordingConnection("b");
+            RecordingConnection c = new RecordingConnection("c");
+            broadcaster.watch(match, a, null);
+            broadcaster.watch(match, b, null);
+            broadcaster.watch(other, c, null);
+
+            assertEquals(2, broadcaster.unwatchAll(match));
+            assertTrue(match.getSpectators().isEmpty());
+            assertFalse(broadcaster.isWatching(a));
+            assertFalse(broadcaster.isWatching(b));
+            assertTrue(broadcaster.isWatching(c));
+            assertEquals(List.of(c), other.getSpectators());
+        }
+    }
+
+    @Nested
+    @DisplayName("spectate_match message")
+    class Protocol {
+
+        private final MatchService matchService =
+                new MatchService(new MatchRegistry(), new RuleEngine(), new GameStateSerializer());
+        private final MatchWebSocketHandler handler =
+                new MatchWebSocketHandler(matchService, new ConnectionRegistry());
+
+        private RecordingConnection open(String id) {
+            RecordingConnection connection = new RecordingConnection(id);
+            handler.onOpen(connection);
+            return connection;
+        }
+
+        private void send(ClientConnection connection, String type, Map<String, Object> payload) {
+            handler.onMessage(connection, JsonHelper.toJson(new OutgoingMessage(type, payload)));
+        }
+
+        @Test
+        @DisplayName("A spectator gets the current state and later match broadcasts, but no seat")
+        void spectateMatch() throws Exception {
+            handler.setUseTimers(false);
+            broadcaster = new SpectatorBroadcaster(0, 8, 1);
+            handler.setSpectatorBroadcaster(broadcaster);
+            RecordingConnection p1 = open("p1");
+            handler.joinMatch(p1, "m");
+
+            RecordingConnection spectator = open("s");
+            send(spectator, "spectate_match", Map.of("matchId", "m"));
+
+            assertTrue(spectator.received("spectating"));
+            assertTrue(waitFor(() -> spectator.received("state_update"), 5_000));
+            assertNull(spectator.getMatchId());
+
+            handler.joinMatch(open("p2"), "m");
+            assertTrue(waitFor(() -> spectator.received("game_ready"), 5_000));
+            assertEquals(2, matchService.findMatch("m").getConnectedCount());
+        }
+
+        @Test
+        @DisplayName("Closing a spectator connection stops the stream")
+        void closeUnwatches() {
+            broadcaster = new SpectatorBroadcaster(0, 8, 1);
+            handler.setSpectatorBroadcaster(broadcaster);
+            handler.joinMatch(open("p1"), "m");
+            RecordingConnection spectator = open("s");
+            send(spectator, "spectate_match", Map.of("matchId", "m"));
+
+            handler.onClose(spectator);
+
+            assertFalse(broadcaster.isWatching(spectator));
+            assertTrue(matchService.findMatch("m").getSpectators().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Rejected: disabled, unknown match, players, and leaving when not spectating")
+        void rejections() {
+            RecordingConnection spectator = open("s");
+            send(spectator, "spectate_match", Map.of("matchId", "m"));
+            assertTrue(spectator.sentMessages.get(0).contains("Spectating is not enabled"));
+
+            broadcaster = new SpectatorBroadcaster(0, 8, 1);
+            handler.setSpectatorBroadcaster(broadcaster);
+            List<String> errors = new ArrayList<>();
+
+            send(spectator, "spectate_match", Map.of("matchId", "missing"));
+            errors.add(spectator.sentMessages.get(1));
+
+            RecordingConnection player = open("p1");
+            handler.joinMatch(player, "m");
+            send(player, "spectate_match", Map.of("matchId", "m"));
+            errors.add(player.sentMessages.get(player.sentMessages.size() - 1));
+
+            send(spectator, "leave_spectate", Map.of());
+            errors.add(spectator.sentMessages.get(2));
+
+            assertTrue(errors.get(0).contains("Match not found"));
+            assertTrue(errors.get(1).contains("Already in a match"));
+            assertTrue(errors.get(2).contains("Not spectating"));
+        }
+    }
+}
@@ -155,6 +155,17 @@ class TimerServiceTest {
             assertEquals(TimerState.RUNNING, timerService.getTimerState(matchId, TimerType.ACTION));
         }
 
+        @Test
+        @DisplayName("Starting a timer after shutdown is dropped without throwing")
+        void startAfterShutdownIsDropped() {
+            // Given: Server stopping (e.g. a bot action arrives late)
+            timerService.shutdown();
+
+            // When/Then: No RejectedExecutionException reaches the caller
+            assertEquals(1000000L, timerService.startActionTimer("match-1", player1, () -> {}));
+            assertNull(timerService.getTimerState("match-1", TimerType.ACTION));
+        }
+
         @Test
         @DisplayName("Timer transitions to COMPLETED on valid action")
         void timerTransitionsToCompletedOnValidAction() {
@@ -0,0 +1,234 @@
+package com.tactics.server.ws;
+
+import com.tactics.engine.rules.RuleEngine;
+import com.tactics.engine.util.GameStateSerializer;
+import com.tactics.server.core.MatchRegistry;
+import com.tactics.server.core.MatchService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for MessageDispatcher (per-key serialized dispatch).
+ */
+class MessageDispatcherTest {
+
+    private final MessageDispatcher dispatcher = new MessageDispatcher(Executors.newCachedThreadPool());
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    private static void awaitIdle(MessageDispatcher dispatcher) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (dispatcher.getActiveKeyCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static ClientConnection connection(String id) {
+        return new ClientConnection() {
+            private volatile String matchId;
+
+            @Override
+            public String getId() { return id; }
+
+            @Override
+            public String getMatchId() { return matchId; }
+
+            @Override
+            public void setMatchId(String matchId) { this.matchId = matchId; }
+
+            @Override
+            public String getPlayerId() { return null; }
+
+            @Override
+            public void setPlayerId(String playerId) { }
+
+            @Override
+            public void sendMessage(String message) { }
+        };
+    }
+
+    @Nested
+    @DisplayName("Ordering")
+    class Ordering {
+
+        @Test
+        @DisplayName("Tasks with the same key run one at a time, in order")
+        void serializedPerKey() throws Exception {
+            List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+
+            for (int i = 0; i < 200; i++) {
+                int n = i;
+                dispatcher.dispatch("match:m", () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    order.add(n);
+                    running.decrementAndGet();
+                });
+            }
+            awaitIdle(dispatcher);
+
+            assertEquals(200, order.size());
+            for (int i = 0; i < 200; i++) {
+                assertEquals(i, order.get(i));
+            }
+            assertEquals(1, maxRunning.get());
+        }
+
+        @Test
+        @DisplayName("Different keys run in parallel")
+        void parallelAcrossKeys() throws Exception {
+            CountDownLatch bothStarted = new CountDownLatch(2);
+            CountDownLatch done = new CountDownLatch(2);
+            for (String key : List.of("match:a", "match:b")) {
+                dispatcher.dispatch(key, () -> {
+                    bothStarted.countDown();
+                    try {
+                        if (bothStarted.await(5, TimeUnit.SECONDS)) {
+                            done.countDown();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        }
+
+        @Test
+        @DisplayName("A failing task does not stop the ones behind it")
+        void failureIsolated() throws Exception {
+            CountDownLatch ran = new CountDownLatch(1);
+            dispatcher.dispatch("k", () -> {
+                throw new IllegalStateException("boom");
+            });
+            dispatcher.dispatch("k", ran::countDown);
+
+            assertTrue(ran.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Nested
+    @DisplayName("Keys")
+    class Keys {
+
+        @Test
+        @DisplayName("Queues are dropped once drained")
+        void idleKeysRetired() throws Exception {
+            for (int i = 0; i < 100; i++) {
+                dispatcher.dispatch("conn:" + i, () -> { });
+            }
+            awaitIdle(dispatcher);
+
+            assertEquals(0, dispatcher.getActiveKeyCount());
+        }
+
+        @Test
+        @DisplayName("Connections are keyed by match once joined")
+        void keyFor() {
+            ClientConnection connection = connection("c1");
+
+            assertEquals("conn:c1", MessageDispatcher.keyFor(connection));
+            connection.setMatchId("m1");
+            assertEquals("match:m1", MessageDispatcher.keyFor(connection));
+        }
+
+        @Test
+        @DisplayName("A message after a join waits for the connection's earlier ones")
+        void handOverWaitsForOldKey() throws Exception {
+            ClientConnection connection = connection("c1");
+            List<String> handled = Collections.synchronizedList(new ArrayList<>());
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            CountDownLatch release = new CountDownLatch(1);
+
+            dispatcher.dispatch(connection, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                handled.add("join");
+                running.decrementAndGet();
+            });
+            connection.setMatchId("m1");
+            dispatcher.dispatch(connection, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                handled.add("action");
+                running.decrementAndGet();
+            });
+            connection.setMatchId(null);
+            dispatcher.dispatchLast(connection, () -> handled.add("close"));
+
+            Thread.sleep(50);
+            assertTrue(handled.isEmpty(), "later messages wait behind the join");
+
+            release.countDown();
+            awaitIdle(dispatcher);
+            assertEquals(List.of("join", "action", "close"), handled);
+            assertEquals(1, maxRunning.get());
+            assertEquals(0, dispatcher.getActiveKeyCount());
+        }
+
+        @Test
+        @DisplayName("Endpoint messages sent right after join queue behind the match")
+        void endpointKeyedByMatchAfterJoin() throws Exception {
+            List<String> handled = Collections.synchronizedList(new ArrayList<>());
+            MatchService matchService = new MatchService(new MatchRegistry(), new RuleEngine(),
+                    new GameStateSerializer());
+            MatchWebSocketHandler handler = new MatchWebSocketHandler(matchService, new ConnectionRegistry()) {
+                @Override
+                public void onMessage(ClientConnection connection, String text) {
+                    super.onMessage(connection, text);
+                    handled.add(text);
+                }
+            };
+            handler.setUseTimers(false);
+            TacticsWebSocketEndpoint endpoint = new TacticsWebSocketEndpoint(handler, new ConnectionRegistry(),
+                    dispatcher);
+            endpoint.onWebSocketConnect(null);
+
+            endpoint.onWebSocketText("{\"type\":\"join_match\",\"payload\":{\"matchId\":\"m1\"}}");
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (endpoint.getMatchId() == null && System.currentTimeMillis() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertEquals("m1", endpoint.getMatchId());
+
+            CountDownLatch release = new CountDownLatch(1);
+            dispatcher.dispatch("match:m1", () -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            endpoint.onWebSocketText("{\"type\":\"leave_queue\",\"payload\":{}}");
+            Thread.sleep(50);
+            assertEquals(1, handled.size(), "second message waits behind the match queue");
+
+            release.countDown();
+            awaitIdle(dispatcher);
+            assertEquals(2, handled.size());
+        }
+    }
+}
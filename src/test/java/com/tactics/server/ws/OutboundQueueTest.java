@@ -0,0 +1,229 @@
+package com.tactics.server.ws;
+
+import com.tactics.server.dto.OutgoingMessage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for OutboundQueue and outbound depth metrics.
+ */
+class OutboundQueueTest {
+
+    private static String message(String type, int n) {
+        return JsonHelper.toJson(new OutgoingMessage(type, Map.of("n", n)));
+    }
+
+    /**
+     * Executor that only runs tasks when asked, for deterministic drains.
+     */
+    static class ManualExecutor implements Executor {
+        final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Queueing")
+    class Queueing {
+
+        @Test
+        @DisplayName("Messages are written in order by a single drain")
+        void writesInOrder() {
+            ManualExecutor writer = new ManualExecutor();
+            List<String> written = new ArrayList<>();
+            OutboundQueue queue = new OutboundQueue("c", written::add, () -> { }, writer, 10_000);
+
+            queue.offer(message("your_turn", 1));
+            queue.offer(message("timeout", 2));
+
+            assertEquals(1, writer.tasks.size());
+            assertEquals(2, queue.getDepth());
+            writer.runAll();
+            assertEquals(List.of(message("your_turn", 1), message("timeout", 2)), written);
+            assertEquals(0, queue.getDepth());
+            assertEquals(0, queue.getQueuedChars());
+            assertEquals(2, queue.getSentCount());
+        }
+
+        @Test
+        @DisplayName("A newer state_update replaces one at the tail")
+        void coalescesStateUpdates() {
+            ManualExecutor writer = new ManualExecutor();
+            List<String> written = new ArrayList<>();
+            OutboundQueue queue = new OutboundQueue("c", written::add, () -> { }, writer, 10_000);
+
+            queue.offer(message("your_turn", 1));
+            queue.offer(message("state_update", 2));
+            queue.offer(message("state_update", 3));
+            queue.offer(message("state_update", 4));
+            writer.runAll();
+
+            assertEquals(List.of(message("your_turn", 1), message("state_update", 4)), written);
+            assertEquals(2, queue.getCoalescedCount());
+        }
+
+        @Test
+        @DisplayName("A state_update followed by another message type keeps its place")
+        void coalescingKeepsOrder() {
+            ManualExecutor writer = new ManualExecutor();
+            List<String> written = new ArrayList<>();
+            OutboundQueue queue = new OutboundQueue("c", written::add, () -> { }, writer, 10_000);
+
+            queue.offer(message("state_update", 1));
+            queue.offer(message("your_turn", 2));
+            queue.offer(message("state_update", 3));
+            writer.runAll();
+
+            assertEquals(List.of(message("state_update", 1), message("your_turn", 2),
+                    message("state_update", 3)), written);
+            assertEquals(0, queue.getCoalescedCount());
+        }
+
+        @Test
+        @DisplayName("A producer is never blocked by a stalled transport")
+        void producerDoesNotBlock() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+            List<String> written = new CopyOnWriteArrayList<>();
+            OutboundQueue queue = new OutboundQueue("c", m -> {
+                release.await(10, TimeUnit.SECONDS);
+                written.add(m);
+            }, () -> { });
+
+            long start = System.nanoTime();
+            for (int i = 0; i < 50; i++) {
+                queue.offer(message("timeout", i));
+            }
+            long offerMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue(offerMs < 1_000, "offer took " + offerMs + "ms");
+
+            release.countDown();
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (written.size() < 50 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(50, written.size());
+            assertEquals(message("timeout", 49), written.get(49));
+        }
+    }
+
+    @Nested
+    @DisplayName("Backpressure")
+    class Backpressure {
+
+        @Test
+        @DisplayName("Exceeding the size limit discards the queue and disconnects once")
+        void overflowDisconnects() {
+            ManualExecutor writer = new ManualExecutor();
+            AtomicInteger disconnects = new AtomicInteger();
+            String big = message("timeout", 1);
+            OutboundQueue queue = new OutboundQueue("c", m -> { }, disconnects::incrementAndGet,
+                    writer, big.length() * 2L);
+
+            assertTrue(queue.offer(big));
+            assertTrue(queue.offer(big));
+            assertFalse(queue.offer(big));
+            assertFalse(queue.offer(big));
+
+            assertTrue(queue.isClosed());
+            assertEquals(0, queue.getDepth());
+            assertEquals(1, disconnects.get());
+            assertEquals(3, queue.getMaxDepth());
+        }
+
+        @Test
+        @DisplayName("Coalescing keeps a client sent only state updates under the limit")
+        void coalescingAvoidsOverflow() {
+            ManualExecutor writer = new ManualExecutor();
+            AtomicInteger disconnects = new AtomicInteger();
+            String update = message("state_update", 1);
+            OutboundQueue queue = new OutboundQueue("c", m -> { }, disconnects::incrementAndGet,
+                    writer, update.length() * 2L);
+
+            for (int i = 0; i < 100; i++) {
+                assertTrue(queue.offer(update));
+            }
+
+            assertEquals(1, queue.getDepth());
+            assertEquals(0, disconnects.get());
+        }
+
+        @Test
+        @DisplayName("A closed queue rejects messages")
+        void closedRejects() {
+            ManualExecutor writer = new ManualExecutor();
+            OutboundQueue queue = new OutboundQueue("c", m -> { }, () -> { }, writer, 10_000);
+            queue.offer(message("timeout", 1));
+
+            queue.close();
+
+            assertFalse(queue.offer(message("timeout", 2)));
+            assertEquals(0, queue.getDepth());
+        }
+    }
+
+    @Nested
+    @DisplayName("Metrics")
+    class Metrics {
+
+        @Test
+        @DisplayName("ConnectionRegistry sums and maxes outbound depth")
+        void registryDepth() {
+            ConnectionRegistry registry = new ConnectionRegistry();
+            registry.register(depthConnection("a", 3));
+            registry.register(depthConnection("b", 5));
+            registry.register(depthConnection("c", 0));
+
+            assertEquals(8, registry.getTotalOutboundDepth());
+            assertEquals(5, registry.getMaxOutboundDepth());
+        }
+
+        private ClientConnection depthConnection(String id, int depth) {
+            return new ClientConnection() {
+                @Override
+                public String getId() { return id; }
+
+                @Override
+                public String getMatchId() { return null; }
+
+                @Override
+                public void setMatchId(String matchId) { }
+
+                @Override
+                public String getPlayerId() { return null; }
+
+                @Override
+                public void setPlayerId(String playerId) { }
+
+                @Override
+                public void sendMessage(String message) { }
+
+                @Override
+                public int getOutboundDepth() { return depth; }
+            };
+        }
+    }
+}